@@ -27,6 +27,8 @@ public class DefaultUserActivityMonitor extends AbstractUserActivityMonitor {
 
 	private Display display;
 
+	private volatile MonitorUserActivityJob activityJob;
+
 	public DefaultUserActivityMonitor() {
 	}
 
@@ -36,6 +38,10 @@ public class DefaultUserActivityMonitor extends AbstractUserActivityMonitor {
 		interactionActivityListener = new Listener() {
 			public void handleEvent(Event event) {
 				setLastEventTime(System.currentTimeMillis());
+				MonitorUserActivityJob job = activityJob;
+				if (job != null) {
+					job.activityObserved();
+				}
 			}
 		};
 
@@ -56,4 +62,11 @@ public class DefaultUserActivityMonitor extends AbstractUserActivityMonitor {
 		return 0;
 	}
 
+	/**
+	 * Sets the job that is notified of interactions.
+	 */
+	void setActivityJob(MonitorUserActivityJob activityJob) {
+		this.activityJob = activityJob;
+	}
+
 }
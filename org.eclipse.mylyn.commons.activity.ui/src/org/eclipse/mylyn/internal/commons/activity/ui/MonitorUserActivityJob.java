@@ -17,9 +17,11 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.commons.core.UserActivityTracker;
 
 /**
- * A job that is scheduled periodically to check for user activity.
+ * A job that checks for user activity. The job is scheduled when the inactivity deadline passes or, if activity is
+ * reported through {@link #activityObserved()}, when the user becomes active.
  * 
  * @author Robert Elves
  * @author Steffen Pingel
@@ -27,23 +29,20 @@ import org.eclipse.mylyn.commons.core.StatusHandler;
 public class MonitorUserActivityJob extends Job {
 
 	/**
-	 * If true, the user is assumed to be active.
-	 */
-	private boolean active;
-
-	/**
-	 * The rescheduling interval in ms when active. Should be reasonably short to provide accurate tracking.
+	 * The accuracy in ms for detecting that the computer resumed from sleep and the interval for recording activity
+	 * when timeouts are disabled.
 	 */
 	private final int ACTIVE_TICK = 30 * 1000;
 
 	private final IUserActivityManagerCallback callback;
 
+	private final UserActivityTracker tracker;
+
 	/**
-	 * The timeout when to assume a user is inactive. If set to 0 it is assumed that a user is always active.
+	 * If true, activity is reported through {@link #activityObserved()} and the job does not need to run while the user
+	 * is inactive.
 	 */
-	private int inactivityTimeout;
-
-	protected long previousEventTime;
+	private volatile boolean eventDriven;
 
 	/**
 	 * Protected for testing.
@@ -55,14 +54,40 @@ public class MonitorUserActivityJob extends Job {
 	public MonitorUserActivityJob(IUserActivityManagerCallback callback) {
 		super(Messages.CheckActivityJob_Activity_Monitor_Job);
 		this.callback = callback;
+		this.tracker = new UserActivityTracker(new UserActivityTracker.Callback() {
+			public void active() {
+				MonitorUserActivityJob.this.callback.active();
+			}
+
+			public void addMonitoredActivityTime(long start, long end) {
+				MonitorUserActivityJob.this.callback.addMonitoredActivityTime(start, end);
+			}
+
+			public void inactive() {
+				MonitorUserActivityJob.this.callback.inactive();
+			}
+		});
+	}
+
+	/**
+	 * Notifies the job of a user interaction. Schedules the job if the user was inactive.
+	 */
+	public void activityObserved() {
+		if (tracker.activityObserved()) {
+			schedule();
+		}
 	}
 
 	public int getInactivityTimeout() {
-		return this.inactivityTimeout;
+		return tracker.getInactivityTimeout();
 	}
 
 	public boolean isActive() {
-		return active;
+		return tracker.isActive();
+	}
+
+	public boolean isEventDriven() {
+		return eventDriven;
 	}
 
 	protected boolean isEnabled() {
@@ -70,11 +95,15 @@ public class MonitorUserActivityJob extends Job {
 	}
 
 	/**
-	 * Uses a short interval when inactive. This makes event notifications more accurate when switching from an inactive
-	 * to an active state, e.g. to ensure lively updates of the UI.
+	 * Schedules the job for the next inactivity deadline. If the user is inactive and activity is reported through
+	 * {@link #activityObserved()} the job is not rescheduled.
 	 */
 	public void reschedule() {
-		schedule(active ? tick : tick / 6);
+		long delay = tracker.getNextCheckDelay(callback.getLastEventTime(), System.currentTimeMillis(), tick,
+				eventDriven);
+		if (delay >= 0) {
+			schedule(delay);
+		}
 	}
 
 	@Override
@@ -82,50 +111,7 @@ public class MonitorUserActivityJob extends Job {
 		try {
 			if (isEnabled()) {
 				try {
-					long lastEventTime = callback.getLastEventTime();
-					long currentTime = System.currentTimeMillis();
-					// check if the last activity exceeds timeout
-					if ((currentTime - lastEventTime) >= inactivityTimeout && inactivityTimeout != 0) {
-						if (active) {
-							// time out
-							active = false;
-							callback.inactive();
-						}
-					} else {
-						if (!active) {
-							active = true;
-							// back, start recording activity
-							if (inactivityTimeout != 0) {
-								previousEventTime = lastEventTime;
-							} else {
-								// if timeouts are disabled only the currentTime is relevant for tracking activity 
-								previousEventTime = currentTime;
-							}
-							callback.active();
-						} else {
-							// check if the activity internal is unreasonably long, it is likely that 
-							// the computer came back from sleep at worst difference should be tick * 2
-							if (currentTime - previousEventTime > tick * 3) {
-								if (inactivityTimeout != 0) {
-									// check for recent event
-									if (currentTime - lastEventTime <= tick) {
-										// event since resume
-										previousEventTime = lastEventTime;
-									} else {
-										// time out
-										active = false;
-										callback.inactive();
-									}
-								} else {
-									// if timeouts are disabled only the currentTime is relevant for tracking activity 
-									previousEventTime = currentTime;
-								}
-							} else {
-								callback.addMonitoredActivityTime(previousEventTime, currentTime);
-								previousEventTime = currentTime;
-							}
-						}
-					}
+					tracker.update(callback.getLastEventTime(), System.currentTimeMillis(), tick);
 				} finally {
 					reschedule();
 				}
@@ -142,7 +128,15 @@ public class MonitorUserActivityJob extends Job {
 	}
 
 	public void setInactivityTimeout(int inactivityTimeout) {
-		this.inactivityTimeout = inactivityTimeout;
+		tracker.setInactivityTimeout(inactivityTimeout);
+	}
+
+	/**
+	 * Sets whether all user interactions are reported through {@link #activityObserved()}. If false, the job checks for
+	 * activity periodically while the user is inactive.
+	 */
+	public void setEventDriven(boolean eventDriven) {
+		this.eventDriven = eventDriven;
 	}
 
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.commons.activity.ui;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -102,6 +103,7 @@ public class UserActivityManager implements IUserActivityManager {
 				}
 			});
 		}
+		updateEventDriven();
 		monitorJob.reschedule();
 	}
 
@@ -147,6 +149,22 @@ public class UserActivityManager implements IUserActivityManager {
 		StatusHandler.log(new Status(IStatus.WARNING, IActivityUiConstants.ID_PLUGIN, NLS.bind(
 				"Activity monitor ''{0}'' was disabled due to a failure", monitor.getClass()), e)); //$NON-NLS-1$
 		activityMonitors.remove(monitor);
+		updateEventDriven();
+	}
+
+	/**
+	 * Interactions are only reported to the job if the preferred monitor is the {@link DefaultUserActivityMonitor}.
+	 * Other monitors, e.g. monitors that track the idle time of the operating system, require periodic checks.
+	 */
+	private void updateEventDriven() {
+		Iterator<AbstractUserActivityMonitor> it = activityMonitors.iterator();
+		AbstractUserActivityMonitor monitor = (it.hasNext()) ? it.next() : null;
+		if (monitor instanceof DefaultUserActivityMonitor) {
+			((DefaultUserActivityMonitor) monitor).setActivityJob(monitorJob);
+			monitorJob.setEventDriven(true);
+		} else {
+			monitorJob.setEventDriven(false);
+		}
 	}
 
 	private void fireActive() {
@@ -22,7 +22,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.net.ssl.SSLSocket;
 
@@ -57,6 +60,8 @@ public class NetUtil {
 
 	private static final int MAX_HTTP_TOTAL_CONNECTIONS_DEFAULT = 1000;
 
+	private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age\\s*=\\s*\"?(\\d+)\"?"); //$NON-NLS-1$
+
 	private final static String[] enabledProtocols;
 
 	private final static AtomicBoolean loggedEnabledProtocolsException = new AtomicBoolean();
@@ -306,6 +311,28 @@ public class NetUtil {
 		return getSystemPropertyAndParseInt(PROPERTY_MAX_HTTP_TOTAL_CONNECTIONS, MAX_HTTP_TOTAL_CONNECTIONS_DEFAULT);
 	}
 
+	/**
+	 * Returns the <code>max-age</code> directive of a <code>Cache-Control</code> header value in milliseconds.
+	 * 
+	 * @param cacheControl
+	 *            the value of the header or null
+	 * @return the max-age in milliseconds or -1, if not specified
+	 * @since 3.26
+	 */
+	public static long getMaxAge(String cacheControl) {
+		if (cacheControl != null) {
+			Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl.toLowerCase(Locale.ENGLISH));
+			if (matcher.find()) {
+				try {
+					return Long.parseLong(matcher.group(1)) * 1000;
+				} catch (NumberFormatException e) {
+					// ignore
+				}
+			}
+		}
+		return -1;
+	}
+
 	private static int getSystemPropertyAndParseInt(String key, int defaultValue) {
 		String property = System.getProperty(key);
 		if (property != null) {
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.core;
+
+/**
+ * Tracks periods of user activity based on the time of the last interaction. Instead of checking for activity at a
+ * fixed rate the tracker computes the time of the next check from the inactivity deadline: interactions push the
+ * deadline forward and a check is only required when the deadline has passed. If interactions are reported through
+ * {@link #activityObserved()} no checks are required while the user is inactive.
+ * <p>
+ * Clients invoke {@link #update(long, long, long)} when a check is due and {@link #getNextCheckDelay(long, long, long,
+ * boolean)} to determine when to check next.
+ */
+public class UserActivityTracker {
+
+	public interface Callback {
+
+		public abstract void active();
+
+		public abstract void addMonitoredActivityTime(long start, long end);
+
+		public abstract void inactive();
+
+	}
+
+	private final Callback callback;
+
+	/**
+	 * If true, the user is assumed to be active.
+	 */
+	private boolean active;
+
+	/**
+	 * The timeout when to assume a user is inactive. If set to 0 it is assumed that a user is always active.
+	 */
+	private int inactivityTimeout;
+
+	/**
+	 * The time up to which activity has been recorded.
+	 */
+	private long previousEventTime;
+
+	/**
+	 * The time when the next check was expected to run or 0, if no check has been scheduled through
+	 * {@link #getNextCheckDelay(long, long, long, boolean)}.
+	 */
+	private long nextCheckTime;
+
+	private boolean checkRequested;
+
+	public UserActivityTracker(Callback callback) {
+		this.callback = callback;
+	}
+
+	public synchronized int getInactivityTimeout() {
+		return inactivityTimeout;
+	}
+
+	public synchronized boolean isActive() {
+		return active;
+	}
+
+	public synchronized void setInactivityTimeout(int inactivityTimeout) {
+		this.inactivityTimeout = inactivityTimeout;
+	}
+
+	/**
+	 * Notifies the tracker of a user interaction. Returns true, if a check is required to detect the transition to the
+	 * active state. Subsequent interactions return false until the next {@link #update(long, long, long)}.
+	 */
+	public synchronized boolean activityObserved() {
+		if (active || checkRequested) {
+			return false;
+		}
+		checkRequested = true;
+		return true;
+	}
+
+	/**
+	 * Updates the activity state and records the time the user was active since the last update.
+	 * 
+	 * @param lastEventTime
+	 *            the time of the last user interaction
+	 * @param currentTime
+	 *            the current time
+	 * @param tick
+	 *            the accuracy of checks, if an update happens more than a tick after it was expected it is assumed
+	 *            that the computer was sleeping
+	 */
+	public synchronized void update(long lastEventTime, long currentTime, long tick) {
+		long dueTime = nextCheckTime;
+		boolean scheduled = dueTime > 0;
+		// check if the activity interval is unreasonably long, it is likely that the computer came back from sleep
+		boolean sleeping = (scheduled) ? currentTime - dueTime > tick : currentTime - previousEventTime > tick * 3;
+		checkRequested = false;
+		nextCheckTime = 0;
+		// check if the last activity exceeds timeout
+		if ((currentTime - lastEventTime) >= inactivityTimeout && inactivityTimeout != 0) {
+			if (active) {
+				if (scheduled) {
+					// the check was scheduled for the deadline, record activity up to the deadline; if the check ran
+					// late the computer was sleeping and the user was at most active until the check was due
+					long deadline = Math.min(lastEventTime + inactivityTimeout, (sleeping) ? dueTime : currentTime);
+					if (deadline > previousEventTime) {
+						callback.addMonitoredActivityTime(previousEventTime, deadline);
+					}
+				}
+				// time out
+				active = false;
+				callback.inactive();
+			}
+		} else {
+			if (!active) {
+				active = true;
+				// back, start recording activity
+				if (inactivityTimeout != 0) {
+					previousEventTime = lastEventTime;
+				} else {
+					// if timeouts are disabled only the currentTime is relevant for tracking activity 
+					previousEventTime = currentTime;
+				}
+				callback.active();
+			} else {
+				if (sleeping) {
+					if (inactivityTimeout != 0) {
+						// check for recent event
+						if (currentTime - lastEventTime <= tick) {
+							// event since resume
+							previousEventTime = lastEventTime;
+						} else {
+							// time out
+							active = false;
+							callback.inactive();
+						}
+					} else {
+						// if timeouts are disabled only the currentTime is relevant for tracking activity 
+						previousEventTime = currentTime;
+					}
+				} else {
+					callback.addMonitoredActivityTime(previousEventTime, currentTime);
+					previousEventTime = currentTime;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the delay in milliseconds until the next check or -1, if no check is required until
+	 * {@link #activityObserved()} requests one.
+	 * 
+	 * @param lastEventTime
+	 *            the time of the last user interaction
+	 * @param currentTime
+	 *            the current time
+	 * @param tick
+	 *            the interval for recording activity when timeouts are disabled
+	 * @param eventDriven
+	 *            true, if interactions are reported through {@link #activityObserved()}; otherwise the tracker falls
+	 *            back to checking every <code>tick / 6</code> while inactive
+	 */
+	public synchronized long getNextCheckDelay(long lastEventTime, long currentTime, long tick, boolean eventDriven) {
+		long delay;
+		if (inactivityTimeout == 0) {
+			// always active, only record activity periodically
+			delay = (active) ? tick : 0;
+		} else if (active) {
+			// the deadline is pushed forward by every interaction, the check only needs to run once it has passed
+			delay = Math.max(lastEventTime + inactivityTimeout - currentTime, 0);
+		} else if (eventDriven) {
+			if (checkRequested) {
+				// an interaction was observed while the previous check was running
+				delay = 0;
+			} else {
+				nextCheckTime = 0;
+				return -1;
+			}
+		} else {
+			// uses a short interval when inactive to ensure lively updates of the UI when activity resumes 
+			delay = tick / 6;
+		}
+		nextCheckTime = currentTime + delay;
+		return delay;
+	}
+
+}
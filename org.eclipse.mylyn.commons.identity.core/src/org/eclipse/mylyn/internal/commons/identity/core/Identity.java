@@ -15,24 +15,25 @@ package org.eclipse.mylyn.internal.commons.identity.core;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.OperationCanceledException;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.commons.identity.core.Account;
 import org.eclipse.mylyn.commons.identity.core.IIdentity;
 import org.eclipse.mylyn.commons.identity.core.IProfile;
@@ -45,73 +46,124 @@ import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
  */
 public class Identity implements IIdentity {
 
-	private static abstract class FutureJob<T> extends Job implements Future<T> {
+	/**
+	 * A request that is processed by the request executor of the model. Concurrent callers share a request and each
+	 * receive their own future from {@link #subscribe()}. The request is cancelled once all callers have cancelled
+	 * their future and observes cancellation through the progress monitor.
+	 */
+	private static abstract class Request<T> implements Callable<T> {
 
-		private boolean cancelled;
+		private final String name;
 
-		private final AtomicReference<Throwable> futureException = new AtomicReference<Throwable>();
+		private volatile FutureTask<T> future;
 
-		private final AtomicReference<T> futureResult = new AtomicReference<T>();
+		private int subscribers;
 
-		private final CountDownLatch resultLatch = new CountDownLatch(1);
+		private boolean cancelled;
 
-		public FutureJob(String name) {
-			super(name);
+		public Request(String name) {
+			this.name = name;
 		}
 
-		public boolean cancel(boolean mayInterruptIfRunning) {
-			this.cancelled = true;
-			return this.cancel();
+		public T call() throws Exception {
+			IProgressMonitor monitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return super.isCanceled() || future.isCancelled();
+				}
+			};
+			monitor.beginTask(name, IProgressMonitor.UNKNOWN);
+			try {
+				return run(monitor);
+			} finally {
+				monitor.done();
+			}
 		}
 
-		public T get() throws InterruptedException, ExecutionException {
-			resultLatch.await();
-			return getFutureResult();
+		public void schedule(Executor executor) {
+			future = new FutureTask<T>(this) {
+				@Override
+				protected void done() {
+					Request.this.done();
+				}
+			};
+			executor.execute(future);
 		}
 
-		public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-			if (!resultLatch.await(timeout, unit)) {
-				throw new TimeoutException();
+		/**
+		 * Returns a future for a new caller of this request or <code>null</code>, if the request has been cancelled.
+		 */
+		public synchronized Future<T> subscribe() {
+			if (cancelled) {
+				return null;
 			}
-			return getFutureResult();
+			subscribers++;
+			return new RequestFuture<T>(this);
 		}
 
-		public boolean isCancelled() {
-			return this.cancelled;
+		void unsubscribe(boolean mayInterruptIfRunning) {
+			boolean cancel;
+			synchronized (this) {
+				cancel = --subscribers == 0;
+				cancelled = cancel;
+			}
+			// cancel outside of the lock since done() acquires the lock on the identity
+			if (cancel) {
+				future.cancel(mayInterruptIfRunning);
+			}
 		}
 
-		public boolean isDone() {
-			return getResult() != null;
+		protected void done() {
 		}
 
-		private T getFutureResult() throws ExecutionException {
-			Throwable t = futureException.get();
-			if (t != null) {
-				throw new ExecutionException(t);
+		protected abstract T run(IProgressMonitor monitor) throws Exception;
+
+	}
+
+	/**
+	 * The future of a single caller of a shared {@link Request}.
+	 */
+	private static final class RequestFuture<T> implements Future<T> {
+
+		private final Request<T> request;
+
+		private boolean cancelled;
+
+		private RequestFuture(Request<T> request) {
+			this.request = request;
+		}
+
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized (this) {
+				if (cancelled || request.future.isDone()) {
+					return false;
+				}
+				cancelled = true;
 			}
-			return futureResult.get();
+			request.unsubscribe(mayInterruptIfRunning);
+			return true;
 		}
 
-		protected void done() {
-			if (resultLatch.getCount() > 0) {
-				error(new RuntimeException());
+		public T get() throws InterruptedException, ExecutionException {
+			if (isCancelled()) {
+				throw new CancellationException();
 			}
-			resultLatch.countDown();
+			return request.future.get();
 		}
 
-		protected IStatus error(Throwable t) {
-			futureException.set(t);
-			resultLatch.countDown();
-			if (t instanceof OperationCanceledException) {
-				return Status.CANCEL_STATUS;
+		public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			if (isCancelled()) {
+				throw new CancellationException();
 			}
-			return Status.OK_STATUS;
+			return request.future.get(timeout, unit);
 		}
 
-		protected IStatus success(T result) {
-			futureResult.set(result);
-			resultLatch.countDown();
-			return Status.OK_STATUS;
+		public synchronized boolean isCancelled() {
+			return cancelled;
+		}
+
+		public boolean isDone() {
+			return isCancelled() || request.future.isDone();
 		}
 
 	}
@@ -155,19 +207,29 @@ public class Identity implements IIdentity {
 
 	private final IdentityModel model;
 
+	/**
+	 * Image requests in progress by requested size, concurrent requests for the same size share the same request.
+	 */
+	private final Map<Long, Request<IProfileImage>> pendingImageRequests;
+
+	private Request<IProfile> pendingProfileRequest;
+
 	private Profile profile;
 
-	private boolean refreshProfile;
+	private volatile boolean refreshProfile;
 
 	public Identity(IdentityModel model) {
 		this.model = model;
 		this.id = UUID.randomUUID();
 		this.accounts = new CopyOnWriteArraySet<Account>();
 		this.listeners = new CopyOnWriteArrayList<PropertyChangeListener>();
+		this.pendingImageRequests = new HashMap<Long, Request<IProfileImage>>();
 	}
 
 	public void addAccount(Account account) {
-		accounts.add(account);
+		if (accounts.add(account)) {
+			model.accountAdded(this, account);
+		}
 		refreshProfile = true;
 	}
 
@@ -224,7 +286,9 @@ public class Identity implements IIdentity {
 	}
 
 	public void removeAccount(Account account) {
-		accounts.remove(account);
+		if (accounts.remove(account)) {
+			model.accountRemoved(this, account);
+		}
 	}
 
 	public void removePropertyChangeListener(PropertyChangeListener listener) {
@@ -239,49 +303,76 @@ public class Identity implements IIdentity {
 				}
 			}
 		}
-		FutureJob<IProfileImage> job = new FutureJob<IProfileImage>(Messages.Identity_Retrieving_Image) {
+
+		final Long key = Long.valueOf(((long) preferredWidth << 32) | (preferredHeight & 0xFFFFFFFFL));
+		Request<IProfileImage> pendingRequest = pendingImageRequests.get(key);
+		if (pendingRequest != null) {
+			Future<IProfileImage> future = pendingRequest.subscribe();
+			if (future != null) {
+				return future;
+			}
+		}
+
+		Request<IProfileImage> request = new Request<IProfileImage>(Messages.Identity_Retrieving_Image) {
+			@Override
+			protected IProfileImage run(IProgressMonitor monitor) throws Exception {
+				ProfileImage image = model.getImage(Identity.this, preferredWidth, preferredHeight, monitor);
+				if (image != null) {
+					addImage(image);
+				}
+				return image;
+			}
+
 			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				try {
-					ProfileImage image = model.getImage(Identity.this, preferredWidth, preferredHeight, monitor);
-					if (image != null) {
-						addImage(image);
+			protected void done() {
+				synchronized (Identity.this) {
+					if (pendingImageRequests.get(key) == this) {
+						pendingImageRequests.remove(key);
 					}
-					return success(image);
-				} catch (Throwable t) {
-					return error(t);
-				} finally {
-					done();
 				}
 			}
 		};
-		job.schedule();
-		return job;
+		// the request is removed again on completion which waits for the lock on this identity
+		request.schedule(model.getRequestExecutor());
+		pendingImageRequests.put(key, request);
+		return request.subscribe();
 	}
 
-	public Future<IProfile> requestProfile() {
-		if (profile != null && !refreshProfile) {
-			return new FutureResult<IProfile>(profile);
+	public synchronized Future<IProfile> requestProfile() {
+		if (!refreshProfile) {
+			if (pendingProfileRequest != null) {
+				Future<IProfile> future = pendingProfileRequest.subscribe();
+				if (future != null) {
+					return future;
+				}
+			}
+			if (profile != null) {
+				return new FutureResult<IProfile>(profile);
+			}
 		}
 
 		refreshProfile = false;
-		FutureJob<IProfile> job = new FutureJob<IProfile>(Messages.Identity_Retrieving_Profile) {
+		Request<IProfile> request = new Request<IProfile>(Messages.Identity_Retrieving_Profile) {
+			@Override
+			protected IProfile run(IProgressMonitor monitor) throws Exception {
+				Profile profile = new Profile(Identity.this);
+				model.updateProfile(profile, monitor);
+				setProfile(profile);
+				return profile;
+			}
+
 			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				try {
-					Profile profile = new Profile(Identity.this);
-					model.updateProfile(profile, monitor);
-					setProfile(profile);
-					return success(profile);
-				} catch (Throwable t) {
-					return error(t);
-				} finally {
-					done();
+			protected void done() {
+				synchronized (Identity.this) {
+					if (pendingProfileRequest == this) {
+						pendingProfileRequest = null;
+					}
 				}
 			}
 		};
-		job.schedule();
-		return job;
+		request.schedule(model.getRequestExecutor());
+		pendingProfileRequest = request;
+		return request.subscribe();
 	}
 
 	private void firePropertyChangeEvent(String propertyName, Object oldValue, Object newValue) {
@@ -12,13 +12,26 @@
 
 package org.eclipse.mylyn.internal.commons.identity.core;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.mylyn.commons.identity.core.Account;
@@ -26,7 +39,6 @@ import org.eclipse.mylyn.commons.identity.core.IIdentity;
 import org.eclipse.mylyn.commons.identity.core.spi.IdentityConnector;
 import org.eclipse.mylyn.commons.identity.core.spi.Profile;
 import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
-import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarConnector;
 
 /**
  * @author Steffen Pingel
@@ -34,54 +46,261 @@ import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarConnect
  */
 public final class IdentityModel implements Serializable {
 
+	/**
+	 * A weak reference to an identity that is registered in the bucket for <code>accountId</code>.
+	 */
+	private static final class IdentityReference extends WeakReference<Identity> {
+
+		private final String accountId;
+
+		private IdentityReference(Identity identity, String accountId, ReferenceQueue<Identity> queue) {
+			super(identity, queue);
+			this.accountId = accountId;
+		}
+
+	}
+
+	/**
+	 * The default number of image and profile requests that are processed in parallel.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
 	private static final long serialVersionUID = -8812399358357509612L;
 
 	private transient final List<IdentityConnector> connectors;
 
 	private final Map<UUID, Identity> identityById;
 
+	/**
+	 * Maps account ids to the identities that own accounts with that id. The id is the only immutable property of an
+	 * account, other properties such as the kind may change after an account was added to an identity. Identities are
+	 * weakly referenced and removed from the index once they have been garbage collected.
+	 */
+	private transient final ConcurrentMap<String, List<IdentityReference>> identitiesByAccountId;
+
+	private transient final ReferenceQueue<Identity> collectedIdentities;
+
+	private transient final ThreadPoolExecutor requestExecutor;
+
+	private transient final ProfileImageCache imageCache;
+
 	public IdentityModel() {
 		connectors = new CopyOnWriteArrayList<IdentityConnector>();
 		identityById = new WeakHashMap<UUID, Identity>();
+		identitiesByAccountId = new ConcurrentHashMap<String, List<IdentityReference>>();
+		collectedIdentities = new ReferenceQueue<Identity>();
+		imageCache = new ProfileImageCache();
+		requestExecutor = new ThreadPoolExecutor(DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_MAX_CONCURRENT_REQUESTS, 30L,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "Identity Request-" + count.incrementAndGet()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		// do not keep idle threads around
+		requestExecutor.allowCoreThreadTimeOut(true);
 	}
 
 	public void addConnector(IdentityConnector connector) {
-		connectors.add(new GravatarConnector());
+		connectors.add(connector);
 	}
 
-	public synchronized IIdentity getIdentity(Account account) {
-		for (Identity identity : identityById.values()) {
-			if (identity.is(account)) {
+	public IIdentity getIdentity(Account account) {
+		expungeCollectedIdentities();
+
+		String key = account.getId();
+		List<IdentityReference> bucket = identitiesByAccountId.get(key);
+		if (bucket != null) {
+			Identity identity = findIdentity(bucket, account);
+			if (identity != null) {
 				return identity;
 			}
 		}
 
-		Identity identity = new Identity(this);
-		identity.addAccount(account);
+		while (true) {
+			// lock the bucket to avoid creating several identities for the same account concurrently
+			bucket = getOrCreateBucket(key);
+			synchronized (bucket) {
+				if (identitiesByAccountId.get(key) != bucket) {
+					// the bucket was removed after becoming empty
+					continue;
+				}
+
+				Identity identity = findIdentity(bucket, account);
+				if (identity != null) {
+					return identity;
+				}
+
+				identity = new Identity(this);
+				identity.addAccount(account);
 
-		// cache identity
-		identityById.put(identity.getId(), identity);
+				// cache identity
+				synchronized (identityById) {
+					identityById.put(identity.getId(), identity);
+				}
 
-		return identity;
+				return identity;
+			}
+		}
 	}
 
 	public void removeConnector(IdentityConnector connector) {
-		connectors.remove(new GravatarConnector());
+		connectors.remove(connector);
+	}
+
+	public int getMaxConcurrentRequests() {
+		return requestExecutor.getMaximumPoolSize();
+	}
+
+	/**
+	 * Sets the number of image and profile requests that are processed in parallel. Additional requests are queued.
+	 */
+	public synchronized void setMaxConcurrentRequests(int maxConcurrentRequests) {
+		Assert.isLegal(maxConcurrentRequests > 0, "maxConcurrentRequests must be greater than 0"); //$NON-NLS-1$
+		// the core pool size may never exceed the maximum pool size
+		if (maxConcurrentRequests > requestExecutor.getMaximumPoolSize()) {
+			requestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+			requestExecutor.setCorePoolSize(maxConcurrentRequests);
+		} else {
+			requestExecutor.setCorePoolSize(maxConcurrentRequests);
+			requestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+		}
+	}
+
+	/**
+	 * Returns the executor that processes image and profile requests of identities.
+	 */
+	Executor getRequestExecutor() {
+		return requestExecutor;
 	}
 
 	public IIdentity[] getIdentities() {
-		return identityById.values().toArray(new IIdentity[identityById.values().size()]);
+		synchronized (identityById) {
+			return identityById.values().toArray(new IIdentity[identityById.values().size()]);
+		}
+	}
+
+	void accountAdded(Identity identity, Account account) {
+		String key = account.getId();
+		while (true) {
+			List<IdentityReference> bucket = getOrCreateBucket(key);
+			synchronized (bucket) {
+				if (identitiesByAccountId.get(key) != bucket) {
+					// the bucket was removed after becoming empty
+					continue;
+				}
+
+				for (IdentityReference reference : bucket) {
+					if (reference.get() == identity) {
+						return;
+					}
+				}
+				bucket.add(new IdentityReference(identity, key, collectedIdentities));
+				return;
+			}
+		}
+	}
+
+	void accountRemoved(Identity identity, Account account) {
+		String key = account.getId();
+		List<IdentityReference> bucket = identitiesByAccountId.get(key);
+		if (bucket != null) {
+			synchronized (bucket) {
+				for (IdentityReference reference : bucket) {
+					// the identity may still own an account with the same id
+					if (reference.get() == identity && !identity.is(key)) {
+						bucket.remove(reference);
+					}
+				}
+				if (bucket.isEmpty()) {
+					identitiesByAccountId.remove(key, bucket);
+				}
+			}
+		}
+	}
+
+	private void expungeCollectedIdentities() {
+		Reference<? extends Identity> reference;
+		while ((reference = collectedIdentities.poll()) != null) {
+			String key = ((IdentityReference) reference).accountId;
+			List<IdentityReference> bucket = identitiesByAccountId.get(key);
+			if (bucket != null) {
+				synchronized (bucket) {
+					bucket.remove(reference);
+					if (bucket.isEmpty()) {
+						identitiesByAccountId.remove(key, bucket);
+					}
+				}
+			}
+		}
+	}
+
+	private Identity findIdentity(List<IdentityReference> bucket, Account account) {
+		for (IdentityReference reference : bucket) {
+			Identity identity = reference.get();
+			if (identity != null && identity.is(account)) {
+				return identity;
+			}
+		}
+		return null;
+	}
+
+	private List<IdentityReference> getOrCreateBucket(String key) {
+		List<IdentityReference> bucket = identitiesByAccountId.get(key);
+		if (bucket == null) {
+			bucket = new CopyOnWriteArrayList<IdentityReference>();
+			List<IdentityReference> existingBucket = identitiesByAccountId.putIfAbsent(key, bucket);
+			if (existingBucket != null) {
+				bucket = existingBucket;
+			}
+		}
+		return bucket;
+	}
+
+	/**
+	 * Returns the images of identities at the sizes that have been requested or retrieved.
+	 */
+	public ProfileImageCache getImageCache() {
+		return imageCache;
 	}
 
 	public ProfileImage getImage(Identity identity, int preferredWidth, int preferredHeight, IProgressMonitor monitor)
 			throws CoreException {
-		for (IdentityConnector connector : connectors) {
-			ProfileImage image = connector.getImage(identity, preferredHeight, preferredHeight, monitor);
-			if (image != null) {
-				return image;
+		ProfileImage image = imageCache.get(identity.getId(), preferredWidth, preferredHeight);
+		if (image != null) {
+			return image;
+		}
+
+		// scale down an image that was retrieved for a larger size to avoid another retrieval
+		ProfileImage source = imageCache.getSource(identity.getId(), preferredWidth, preferredHeight);
+		if (source == null) {
+			for (IdentityConnector connector : connectors) {
+				// connectors may return images that are larger than requested
+				source = connector.getImage(identity, preferredWidth, preferredHeight, monitor);
+				if (source != null) {
+					imageCache.put(identity.getId(), source);
+					break;
+				}
 			}
 		}
-		return null;
+		if (source == null) {
+			return null;
+		}
+		if (source.getWidth() <= preferredWidth && source.getHeight() <= preferredHeight) {
+			return source;
+		}
+
+		try {
+			image = ProfileImageScaler.scale(source, preferredWidth, preferredHeight);
+			imageCache.put(identity.getId(), image);
+			return image;
+		} catch (IOException e) {
+			// clients scale images that do not have the requested size
+			return source;
+		}
 	}
 
 	public void updateProfile(Profile profile, IProgressMonitor monitor) throws CoreException {
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.identity.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+
+/**
+ * Keeps recently used profile images of identities at different sizes in memory up to a budget in bytes. Least
+ * recently used images are evicted first.
+ */
+public class ProfileImageCache {
+
+	private static final class Key {
+
+		private final UUID id;
+
+		private final int width;
+
+		private final int height;
+
+		private Key(UUID id, int width, int height) {
+			this.id = id;
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return id.equals(other.id) && width == other.width && height == other.height;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * id.hashCode() + width) + height;
+		}
+
+	}
+
+	public static final long DEFAULT_MEMORY_BUDGET = 2 * 1024 * 1024;
+
+	private final LinkedHashMap<Key, ProfileImage> images = new LinkedHashMap<Key, ProfileImage>(16, 0.75f, true);
+
+	private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+	private long memorySize;
+
+	public synchronized void clear() {
+		images.clear();
+		memorySize = 0;
+	}
+
+	/**
+	 * Returns the image of the identity with <code>id</code> that has exactly the requested size, or <code>null</code>
+	 * if none is cached.
+	 */
+	public synchronized ProfileImage get(UUID id, int width, int height) {
+		return images.get(new Key(id, width, height));
+	}
+
+	/**
+	 * Returns the smallest image of the identity with <code>id</code> that is at least as large as the requested size,
+	 * or <code>null</code> if none is cached.
+	 */
+	public synchronized ProfileImage getSource(UUID id, int width, int height) {
+		ProfileImage source = null;
+		for (Map.Entry<Key, ProfileImage> entry : images.entrySet()) {
+			Key key = entry.getKey();
+			if (key.id.equals(id) && key.width >= width && key.height >= height) {
+				if (source == null || key.width * key.height < source.getWidth() * source.getHeight()) {
+					source = entry.getValue();
+				}
+			}
+		}
+		if (source != null) {
+			// mark the source as recently used
+			images.get(new Key(id, source.getWidth(), source.getHeight()));
+		}
+		return source;
+	}
+
+	public synchronized long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Returns the number of bytes of the cached images.
+	 */
+	public synchronized long getMemorySize() {
+		return memorySize;
+	}
+
+	public synchronized void put(UUID id, ProfileImage image) {
+		ProfileImage oldImage = images.put(new Key(id, image.getWidth(), image.getHeight()), image);
+		if (oldImage != null) {
+			memorySize -= getWeight(oldImage);
+		}
+		memorySize += getWeight(image);
+		evict();
+	}
+
+	/**
+	 * Removes all images of the identity with <code>id</code>.
+	 */
+	public synchronized void remove(UUID id) {
+		Iterator<Map.Entry<Key, ProfileImage>> it = images.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Key, ProfileImage> entry = it.next();
+			if (entry.getKey().id.equals(id)) {
+				memorySize -= getWeight(entry.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	public synchronized void setMemoryBudget(long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		evict();
+	}
+
+	public synchronized int size() {
+		return images.size();
+	}
+
+	private void evict() {
+		Iterator<ProfileImage> it = images.values().iterator();
+		while (memorySize > memoryBudget && it.hasNext()) {
+			memorySize -= getWeight(it.next());
+			it.remove();
+		}
+	}
+
+	private int getWeight(ProfileImage image) {
+		return (image.getData() != null) ? image.getData().length : 0;
+	}
+
+}
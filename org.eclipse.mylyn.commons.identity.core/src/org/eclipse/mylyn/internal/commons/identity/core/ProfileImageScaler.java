@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.identity.core;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+
+/**
+ * Scales profile images down without relying on a windowing system. Each target pixel is the area weighted average of
+ * the source pixels it covers which avoids the aliasing of nearest neighbour scaling for small avatars.
+ */
+public final class ProfileImageScaler {
+
+	private static final String FORMAT = "png"; //$NON-NLS-1$
+
+	/**
+	 * Returns a copy of <code>image</code> scaled to <code>width</code> x <code>height</code>. Images that are not larger
+	 * than the requested size are returned as is.
+	 * 
+	 * @throws IOException
+	 *             if the image data can not be decoded
+	 */
+	public static ProfileImage scale(ProfileImage image, int width, int height) throws IOException {
+		Assert.isLegal(width > 0 && height > 0, "width and height must be greater than 0"); //$NON-NLS-1$
+		if (image.getWidth() <= width && image.getHeight() <= height) {
+			return image;
+		}
+
+		BufferedImage source = ImageIO.read(new ByteArrayInputStream(image.getData()));
+		if (source == null) {
+			throw new IOException("Unsupported image format"); //$NON-NLS-1$
+		}
+		int sourceWidth = source.getWidth();
+		int sourceHeight = source.getHeight();
+		int[] pixels = source.getRGB(0, 0, sourceWidth, sourceHeight, null, 0, sourceWidth);
+
+		BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		target.setRGB(0, 0, width, height, scale(pixels, sourceWidth, sourceHeight, width, height), 0, width);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(target, FORMAT, out);
+		ProfileImage scaledImage = new ProfileImage(out.toByteArray(), width, height, FORMAT);
+		scaledImage.setTimestamp(image.getTimestamp());
+		return scaledImage;
+	}
+
+	/**
+	 * Scales ARGB <code>pixels</code> to <code>width</code> x <code>height</code>.
+	 */
+	static int[] scale(int[] pixels, int sourceWidth, int sourceHeight, int width, int height) {
+		// scale premultiplied channels to avoid dark fringes around transparent areas
+		float[][] channels = new float[4][pixels.length];
+		for (int i = 0; i < pixels.length; i++) {
+			int argb = pixels[i];
+			float alpha = (argb >>> 24) / 255f;
+			channels[0][i] = argb >>> 24;
+			channels[1][i] = ((argb >> 16) & 0xFF) * alpha;
+			channels[2][i] = ((argb >> 8) & 0xFF) * alpha;
+			channels[3][i] = (argb & 0xFF) * alpha;
+		}
+
+		for (int c = 0; c < channels.length; c++) {
+			// scale rows first, then scale columns by scaling the rows of the transposed image
+			float[] channel = scaleRows(channels[c], sourceWidth, sourceHeight, width);
+			channel = transpose(channel, width, sourceHeight);
+			channel = scaleRows(channel, sourceHeight, width, height);
+			channels[c] = transpose(channel, height, width);
+		}
+
+		int[] result = new int[width * height];
+		for (int i = 0; i < result.length; i++) {
+			float alpha = channels[0][i];
+			if (alpha > 0) {
+				float factor = 255f / alpha;
+				result[i] = (toByte(alpha) << 24) | (toByte(channels[1][i] * factor) << 16)
+						| (toByte(channels[2][i] * factor) << 8) | toByte(channels[3][i] * factor);
+			}
+		}
+		return result;
+	}
+
+	private static float[] scaleRows(float[] source, int sourceWidth, int rows, int width) {
+		float[] result = new float[width * rows];
+		float ratio = (float) sourceWidth / width;
+		for (int x = 0; x < width; x++) {
+			float start = x * ratio;
+			float end = start + ratio;
+			int first = (int) start;
+			int last = Math.min((int) Math.ceil(end), sourceWidth);
+			for (int y = 0; y < rows; y++) {
+				int offset = y * sourceWidth;
+				float sum = 0;
+				for (int i = first; i < last; i++) {
+					// weight each source pixel by the fraction that is covered by the target pixel
+					float coverage = Math.min(end, i + 1) - Math.max(start, i);
+					sum += source[offset + i] * coverage;
+				}
+				result[y * width + x] = sum / ratio;
+			}
+		}
+		return result;
+	}
+
+	private static int toByte(float value) {
+		return Math.max(0, Math.min(255, Math.round(value)));
+	}
+
+	private static float[] transpose(float[] source, int width, int height) {
+		float[] result = new float[source.length];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				result[x * height + y] = source[y * width + x];
+			}
+		}
+		return result;
+	}
+
+	private ProfileImageScaler() {
+	}
+
+}
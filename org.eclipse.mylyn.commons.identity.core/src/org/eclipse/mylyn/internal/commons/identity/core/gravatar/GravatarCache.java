@@ -0,0 +1,616 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.identity.core.gravatar;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * A cache for avatars that keeps recently used entries in memory up to a budget in bytes and optionally stores entries
+ * on disk so they survive restarts. Each entry has an expiry time after which it needs to be revalidated. Entries
+ * without image data record that no avatar exists.
+ * <p>
+ * The disk tier is limited by a separate budget. Files are pruned when the directory is first accessed: expired
+ * negative entries are deleted, expired avatars are kept for {@link #MAX_STALE} to allow conditional revalidation, and
+ * the least recently used files are deleted once the budget is exceeded. The budget is enforced again on every put.
+ */
+public class GravatarCache implements Serializable {
+
+	/**
+	 * A cached avatar or the absence of an avatar for a hash, size and rating.
+	 */
+	public static class Entry implements Serializable {
+
+		private static final long serialVersionUID = -2415212950733541290L;
+
+		private final String hash;
+
+		private final int size;
+
+		private final String rating;
+
+		private final long updateTime;
+
+		private final long expiry;
+
+		private final String etag;
+
+		private final long lastModified;
+
+		private final byte[] bytes;
+
+		public Entry(String hash, int size, String rating, long updateTime, long expiry, String etag,
+				long lastModified, byte[] bytes) {
+			Assert.isNotNull(hash);
+			this.hash = hash;
+			this.size = size;
+			this.rating = rating;
+			this.updateTime = updateTime;
+			this.expiry = expiry;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.bytes = bytes;
+		}
+
+		/**
+		 * Returns the image data or <code>null</code>, if no avatar exists.
+		 */
+		public byte[] getBytes() {
+			return bytes;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public long getExpiry() {
+			return expiry;
+		}
+
+		public String getHash() {
+			return hash;
+		}
+
+		public String getKey() {
+			return GravatarCache.getKey(hash, size, rating);
+		}
+
+		public long getLastModified() {
+			return lastModified;
+		}
+
+		public String getRating() {
+			return rating;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public long getUpdateTime() {
+			return updateTime;
+		}
+
+		public boolean isExpired(long now) {
+			return expiry <= now;
+		}
+
+		public boolean isNegative() {
+			return bytes == null;
+		}
+
+		/**
+		 * Returns a copy of this entry that expires at <code>expiry</code>.
+		 */
+		public Entry revalidated(long expiry) {
+			return new Entry(hash, size, rating, updateTime, expiry, etag, lastModified, bytes);
+		}
+
+		int getWeight() {
+			// account for the overhead of negative entries
+			return (bytes != null) ? bytes.length : 64;
+		}
+
+	}
+
+	public static final long DEFAULT_MEMORY_BUDGET = 2 * 1024 * 1024;
+
+	public static final long DEFAULT_DISK_BUDGET = 16 * 1024 * 1024;
+
+	/**
+	 * The time in milliseconds that expired avatars are kept on disk for revalidation.
+	 */
+	public static final long MAX_STALE = 30 * 24 * 60 * 60 * 1000L;
+
+	private static final String FILE_SUFFIX = ".avatar"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	private static final int FILE_VERSION = 1;
+
+	private static final long serialVersionUID = 3427587101372829457L;
+
+	public static String getKey(String hash, int size, String rating) {
+		StringBuilder sb = new StringBuilder(hash);
+		if (size != -1) {
+			sb.append('-');
+			sb.append(size);
+		}
+		if (rating != null) {
+			sb.append('-');
+			sb.append(rating);
+		}
+		return sb.toString();
+	}
+
+	private final File directory;
+
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+	private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+	private long memorySize;
+
+	private long diskBudget = DEFAULT_DISK_BUDGET;
+
+	private transient long diskSize;
+
+	/**
+	 * The lengths of the files in the cache directory by key in least recently used order, or <code>null</code> if
+	 * the directory has not been read yet.
+	 */
+	private transient LinkedHashMap<String, Long> files;
+
+	/**
+	 * The keys of all entries in memory or on disk by hash.
+	 */
+	private transient Map<String, Set<String>> keysByHash = new HashMap<String, Set<String>>();
+
+	/**
+	 * Creates a cache that only keeps entries in memory.
+	 */
+	public GravatarCache() {
+		this(null);
+	}
+
+	/**
+	 * Creates a cache that stores entries in <code>directory</code>.
+	 * 
+	 * @param directory
+	 *            the cache directory or <code>null</code> to keep entries in memory only
+	 */
+	public GravatarCache(File directory) {
+		this.directory = directory;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		memorySize = 0;
+		keysByHash.clear();
+		if (directory != null) {
+			File[] list = directory.listFiles();
+			if (list != null) {
+				for (File file : list) {
+					if (file.getName().endsWith(FILE_SUFFIX) || file.getName().endsWith(TEMP_FILE_SUFFIX)) {
+						file.delete();
+					}
+				}
+			}
+			files = new LinkedHashMap<String, Long>(16, 0.75f, true);
+			diskSize = 0;
+		}
+	}
+
+	public synchronized boolean contains(String key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Returns the entry for <code>key</code> from memory or disk, or <code>null</code> if none is cached. Expired
+	 * entries are returned as well.
+	 */
+	public synchronized Entry get(String key) {
+		Entry entry = entries.get(key);
+		if (directory != null) {
+			readDirectory();
+			if (files.get(key) != null && entry == null) {
+				File file = getFile(key);
+				entry = read(file);
+				if (entry != null) {
+					// track recent use across restarts
+					file.setLastModified(System.currentTimeMillis());
+					addToMemory(key, entry);
+				} else {
+					removeFile(key);
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns an entry for <code>hash</code> of any size and rating, or <code>null</code> if none is cached. Entries
+	 * for the default size and rating are preferred, followed by the largest cached avatar. Negative entries are only
+	 * returned if no avatar is cached for <code>hash</code>.
+	 */
+	public synchronized Entry getByHash(String hash) {
+		if (directory != null) {
+			readDirectory();
+		}
+		Set<String> keys = keysByHash.get(hash);
+		if (keys == null) {
+			return null;
+		}
+		Entry result = null;
+		// copy keys since reading entries that turn out to be corrupt updates the index
+		for (String key : keys.toArray(new String[keys.size()])) {
+			Entry entry = get(key);
+			if (entry != null && isPreferred(entry, result)) {
+				result = entry;
+			}
+		}
+		return result;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the keys of all cached entries.
+	 */
+	public synchronized Set<String> getKeys() {
+		Set<String> keys = new LinkedHashSet<String>(entries.keySet());
+		if (directory != null) {
+			readDirectory();
+			keys.addAll(files.keySet());
+		}
+		return keys;
+	}
+
+	public synchronized long getDiskBudget() {
+		return diskBudget;
+	}
+
+	/**
+	 * Returns the number of bytes of the files in the cache directory.
+	 */
+	public synchronized long getDiskSize() {
+		if (directory != null) {
+			readDirectory();
+		}
+		return diskSize;
+	}
+
+	public synchronized long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Returns the number of bytes of the entries held in memory.
+	 */
+	public synchronized long getMemorySize() {
+		return memorySize;
+	}
+
+	public synchronized void put(Entry entry) {
+		String key = entry.getKey();
+		addToMemory(key, entry);
+		if (directory != null) {
+			readDirectory();
+			File file = getFile(key);
+			if (write(file, entry)) {
+				addFile(key, file.length());
+				evictFiles();
+			} else {
+				removeFile(key);
+			}
+		}
+	}
+
+	public synchronized void remove(String key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) {
+			memorySize -= entry.getWeight();
+		}
+		if (directory != null) {
+			readDirectory();
+			getFile(key).delete();
+			removeFile(key);
+		}
+		unindex(key);
+	}
+
+	public synchronized void setDiskBudget(long diskBudget) {
+		this.diskBudget = diskBudget;
+		if (directory != null) {
+			readDirectory();
+			evictFiles();
+		}
+	}
+
+	public synchronized void setMemoryBudget(long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		evict();
+	}
+
+	private void addFile(String key, long length) {
+		Long oldLength = files.put(key, length);
+		if (oldLength != null) {
+			diskSize -= oldLength;
+		}
+		diskSize += length;
+		index(key);
+	}
+
+	private void addToMemory(String key, Entry entry) {
+		Entry oldEntry = entries.put(key, entry);
+		if (oldEntry != null) {
+			memorySize -= oldEntry.getWeight();
+		}
+		memorySize += entry.getWeight();
+		index(key);
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+		while (memorySize > memoryBudget && it.hasNext()) {
+			Map.Entry<String, Entry> entry = it.next();
+			memorySize -= entry.getValue().getWeight();
+			it.remove();
+			unindex(entry.getKey());
+		}
+	}
+
+	private void evictFiles() {
+		Iterator<Map.Entry<String, Long>> it = files.entrySet().iterator();
+		while (diskSize > diskBudget && it.hasNext()) {
+			Map.Entry<String, Long> file = it.next();
+			getFile(file.getKey()).delete();
+			diskSize -= file.getValue();
+			it.remove();
+			unindex(file.getKey());
+		}
+	}
+
+	private File getFile(String key) {
+		return new File(directory, key + FILE_SUFFIX);
+	}
+
+	private String getHash(String key) {
+		// hashes are hexadecimal and never contain the separator
+		int i = key.indexOf('-');
+		return (i != -1) ? key.substring(0, i) : key;
+	}
+
+	private void index(String key) {
+		String hash = getHash(key);
+		Set<String> keys = keysByHash.get(hash);
+		if (keys == null) {
+			keys = new LinkedHashSet<String>();
+			keysByHash.put(hash, keys);
+		}
+		keys.add(key);
+	}
+
+	private boolean isObsolete(File file, long now) {
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != FILE_VERSION) {
+					return true;
+				}
+				in.readUTF();
+				in.readInt();
+				readString(in);
+				in.readLong();
+				long expiry = in.readLong();
+				readString(in);
+				in.readLong();
+				boolean negative = in.readInt() < 0;
+				return (negative) ? expiry <= now : expiry + MAX_STALE <= now;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			// the file is truncated or corrupt
+			return true;
+		}
+	}
+
+	private boolean isPreferred(Entry entry, Entry current) {
+		if (current == null) {
+			return true;
+		}
+		if (entry.isNegative() != current.isNegative()) {
+			return current.isNegative();
+		}
+		if (entry.getKey().equals(entry.getHash())) {
+			return true;
+		}
+		return !current.getKey().equals(current.getHash()) && entry.getSize() > current.getSize();
+	}
+
+	/**
+	 * Reads the cache directory once to index the cached files and prune obsolete ones.
+	 */
+	private void readDirectory() {
+		if (files != null) {
+			return;
+		}
+		files = new LinkedHashMap<String, Long>(16, 0.75f, true);
+		diskSize = 0;
+		File[] list = directory.listFiles();
+		if (list == null) {
+			return;
+		}
+		// add files in least recently used order
+		Arrays.sort(list, new Comparator<File>() {
+			public int compare(File f1, File f2) {
+				long m1 = f1.lastModified();
+				long m2 = f2.lastModified();
+				return (m1 < m2) ? -1 : ((m1 == m2) ? 0 : 1);
+			}
+		});
+		long now = System.currentTimeMillis();
+		for (File file : list) {
+			String name = file.getName();
+			if (name.endsWith(TEMP_FILE_SUFFIX)) {
+				// left over from an interrupted write
+				file.delete();
+			} else if (name.endsWith(FILE_SUFFIX)) {
+				if (isObsolete(file, now)) {
+					file.delete();
+				} else {
+					addFile(name.substring(0, name.length() - FILE_SUFFIX.length()), file.length());
+				}
+			}
+		}
+		evictFiles();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		keysByHash = new HashMap<String, Set<String>>();
+		for (String key : entries.keySet()) {
+			index(key);
+		}
+	}
+
+	private void removeFile(String key) {
+		Long length = files.remove(key);
+		if (length != null) {
+			diskSize -= length;
+		}
+		unindex(key);
+	}
+
+	private void unindex(String key) {
+		if (entries.containsKey(key) || (files != null && files.containsKey(key))) {
+			// still cached in the other tier
+			return;
+		}
+		String hash = getHash(key);
+		Set<String> keys = keysByHash.get(hash);
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				keysByHash.remove(hash);
+			}
+		}
+	}
+
+	private Entry read(File file) {
+		if (!file.exists()) {
+			return null;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != FILE_VERSION) {
+					file.delete();
+					return null;
+				}
+				String hash = in.readUTF();
+				int size = in.readInt();
+				String rating = readString(in);
+				long updateTime = in.readLong();
+				long expiry = in.readLong();
+				String etag = readString(in);
+				long lastModified = in.readLong();
+				int length = in.readInt();
+				byte[] bytes = null;
+				if (length >= 0) {
+					bytes = new byte[length];
+					in.readFully(bytes);
+				}
+				return new Entry(hash, size, rating, updateTime, expiry, etag, lastModified, bytes);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			// the file is truncated or corrupt
+			file.delete();
+			return null;
+		}
+	}
+
+	private String readString(DataInputStream in) throws IOException {
+		return (in.readBoolean()) ? in.readUTF() : null;
+	}
+
+	private boolean write(File file, Entry entry) {
+		directory.mkdirs();
+		File tempFile = new File(directory, file.getName() + TEMP_FILE_SUFFIX);
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(FILE_VERSION);
+				out.writeUTF(entry.getHash());
+				out.writeInt(entry.getSize());
+				writeString(out, entry.getRating());
+				out.writeLong(entry.getUpdateTime());
+				out.writeLong(entry.getExpiry());
+				writeString(out, entry.getEtag());
+				out.writeLong(entry.getLastModified());
+				byte[] bytes = entry.getBytes();
+				if (bytes != null) {
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				} else {
+					out.writeInt(-1);
+				}
+			} finally {
+				out.close();
+			}
+			// entries are written to a temporary file first to never expose partially written entries
+			file.delete();
+			if (!tempFile.renameTo(file)) {
+				tempFile.delete();
+				return false;
+			}
+			return true;
+		} catch (IOException ignore) {
+			// the entry remains cached in memory
+			tempFile.delete();
+			return false;
+		}
+	}
+
+	private void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+}
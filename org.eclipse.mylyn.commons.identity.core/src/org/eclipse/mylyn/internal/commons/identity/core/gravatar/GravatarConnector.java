@@ -12,19 +12,21 @@
 
 package org.eclipse.mylyn.internal.commons.identity.core.gravatar;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.identity.core.Account;
 import org.eclipse.mylyn.commons.identity.core.IIdentity;
 import org.eclipse.mylyn.commons.identity.core.spi.IdentityConnector;
 import org.eclipse.mylyn.commons.identity.core.spi.Profile;
 import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * @author Steffen Pingel
@@ -37,10 +39,29 @@ public class GravatarConnector extends IdentityConnector {
 
 	private final int DEFAULT_SIZE = 80;
 
-	private final Map<String, Long> noImageHashByTimeStamp = new ConcurrentHashMap<String, Long>();
-
 	public GravatarConnector() {
 		this.store = new GravatarStore();
+		File directory = getCacheDirectory();
+		if (directory != null) {
+			store.setCacheDirectory(directory);
+		} else {
+			store.setCacheEnabled(true);
+		}
+	}
+
+	private static File getCacheDirectory() {
+		if (!Platform.isRunning()) {
+			return null;
+		}
+		try {
+			Bundle bundle = FrameworkUtil.getBundle(GravatarConnector.class);
+			if (bundle != null) {
+				return Platform.getStateLocation(bundle).append("avatars").toFile(); //$NON-NLS-1$
+			}
+		} catch (IllegalStateException e) {
+			// no instance location
+		}
+		return null;
 	}
 
 	@Override
@@ -51,15 +72,10 @@ public class GravatarConnector extends IdentityConnector {
 			return null;
 		}
 
-		// avoid retrieving image again i
-		if (noImageHashByTimeStamp.containsKey(id)) {
-			return null;
-		}
-
 		// store id for future retrieval
 		identity.addAccount(Account.id(id).kind(KIND));
 
-		int size = getSize(preferredWidth);
+		int size = getSourceSize(getSize(preferredWidth));
 		Gravatar gravatar;
 		try {
 			gravatar = store.loadGravatarByHash(id, size, null);
@@ -69,19 +85,26 @@ public class GravatarConnector extends IdentityConnector {
 
 		if (gravatar != null) {
 			return new ProfileImage(gravatar.getBytes(), size, size, "jpg"); //$NON-NLS-1$
-		} else {
-			noImageHashByTimeStamp.put(id, Long.valueOf(System.currentTimeMillis()));
 		}
+		// the absence of an avatar is cached by the store
 		return null;
 	}
 
 	private int getSize(int preferredSize) {
-		if (preferredSize < 1 && preferredSize > 512) {
+		if (preferredSize < 1 || preferredSize > 512) {
 			return DEFAULT_SIZE;
 		}
 		return preferredSize;
 	}
 
+	/**
+	 * Avatars are retrieved at twice the requested size, but not smaller than the default size, so that smaller sizes
+	 * and the sizes used on high resolution displays can be scaled locally from a single download.
+	 */
+	private int getSourceSize(int size) {
+		return Math.min(512, Math.max(DEFAULT_SIZE, size * 2));
+	}
+
 	@Override
 	public boolean supportsImageSize(int preferredWidth, int preferredHeight) {
 		return (preferredWidth >= 1 && preferredWidth <= 512 && preferredHeight >= 1 && preferredHeight <= 512 && preferredWidth == preferredHeight);
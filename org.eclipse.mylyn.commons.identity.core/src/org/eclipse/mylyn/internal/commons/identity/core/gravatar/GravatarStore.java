@@ -13,15 +13,21 @@
 package org.eclipse.mylyn.internal.commons.identity.core.gravatar;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.text.MessageFormat;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -30,6 +36,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.commons.core.net.NetUtil;
 
 /**
  * Class that loads and stores gravatars.
@@ -48,6 +55,16 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 */
 	public static final int BUFFER_SIZE = 8192;
 
+	/**
+	 * The default time in milliseconds before a cached avatar is revalidated.
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE = 7 * 24 * 60 * 60 * 1000L;
+
+	/**
+	 * The default time in milliseconds before the absence of an avatar is checked again.
+	 */
+	public static final long DEFAULT_NEGATIVE_TIME_TO_LIVE = 24 * 60 * 60 * 1000L;
+
 	public enum Rating {
 		G, PG, R, X
 	};
@@ -58,7 +75,16 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 
 	private final String url;
 
-	private Map<String, Gravatar> avatars;
+	private GravatarCache cache;
+
+	private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	private long negativeTimeToLive = DEFAULT_NEGATIVE_TIME_TO_LIVE;
+
+	/**
+	 * Downloads in progress by cache key, concurrent requests for the same avatar wait for the same download.
+	 */
+	private transient ConcurrentMap<String, FutureTask<Gravatar>> pendingLoads;
 
 	/**
 	 * Create gravatar store
@@ -79,20 +105,69 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 			url += "/"; //$NON-NLS-1$
 		}
 		this.url = url;
+		this.pendingLoads = new ConcurrentHashMap<String, FutureTask<Gravatar>>();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.pendingLoads = new ConcurrentHashMap<String, FutureTask<Gravatar>>();
 	}
 
 	public boolean isCacheEnabled() {
-		return avatars != null;
+		return cache != null;
 	}
 
+	/**
+	 * Enables caching of avatars in memory.
+	 * 
+	 * @see #setCacheDirectory(File)
+	 */
 	public void setCacheEnabled(boolean cacheEnabled) {
-		if (cacheEnabled && avatars == null) {
-			avatars = Collections.synchronizedMap(new HashMap<String, Gravatar>());
-		} else if (!cacheEnabled && avatars != null) {
-			avatars = null;
+		if (cacheEnabled && cache == null) {
+			cache = new GravatarCache();
+		} else if (!cacheEnabled && cache != null) {
+			cache = null;
 		}
 	}
 
+	/**
+	 * Enables caching of avatars in memory and in <code>directory</code>. Avatars cached on disk are reused across
+	 * restarts until they expire.
+	 */
+	public void setCacheDirectory(File directory) {
+		Assert.isNotNull(directory);
+		cache = new GravatarCache(directory);
+	}
+
+	/**
+	 * Returns the cache or <code>null</code>, if caching is disabled.
+	 */
+	public GravatarCache getCache() {
+		return cache;
+	}
+
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Sets the time in milliseconds before a cached avatar is revalidated. Servers may request a longer time.
+	 */
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	public long getNegativeTimeToLive() {
+		return negativeTimeToLive;
+	}
+
+	/**
+	 * Sets the time in milliseconds before the server is asked again for an avatar that did not exist.
+	 */
+	public void setNegativeTimeToLive(long negativeTimeToLive) {
+		this.negativeTimeToLive = negativeTimeToLive;
+	}
+
 	/**
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#getRefreshTime()
 	 */
@@ -104,7 +179,12 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#containsGravatar(java.lang.String)
 	 */
 	public boolean containsGravatar(String hash) {
-		return hash != null && avatars != null ? this.avatars.containsKey(hash) : false;
+		GravatarCache cache = this.cache;
+		if (hash != null && cache != null) {
+			GravatarCache.Entry entry = cache.getByHash(hash);
+			return entry != null && !entry.isNegative();
+		}
+		return false;
 	}
 
 	/**
@@ -128,26 +208,30 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#refresh(org.eclipse.core.runtime.IProgressMonitor)
 	 */
 	public GravatarStore refresh(IProgressMonitor monitor) {
-		if (this.avatars == null) {
+		GravatarCache cache = this.cache;
+		if (cache == null) {
 			return this;
 		}
 		if (monitor == null) {
 			monitor = new NullProgressMonitor();
 		}
-		String[] entries = null;
-		synchronized (this.avatars) {
-			entries = new String[this.avatars.size()];
-			entries = this.avatars.keySet().toArray(entries);
-		}
-		monitor.beginTask("", entries.length); //$NON-NLS-1$
-		for (String entry : entries) {
+		Set<String> keys = cache.getKeys();
+		monitor.beginTask("", keys.size()); //$NON-NLS-1$
+		long now = System.currentTimeMillis();
+		for (String key : keys) {
 			if (monitor.isCanceled()) {
 				break;
 			}
-			monitor.setTaskName(MessageFormat.format(Messages.GravatarStore_LoadingAvatar, entry));
-			try {
-				loadGravatarByHash(entry);
-			} catch (IOException ignore) {
+			// only revalidate expired entries, others are still considered current
+			GravatarCache.Entry entry = cache.get(key);
+			if (entry != null && entry.isExpired(now)) {
+				monitor.setTaskName(MessageFormat.format(Messages.GravatarStore_LoadingAvatar, entry.getHash()));
+				try {
+					loadGravatarByHash(entry.getHash(), entry.getSize(),
+							(entry.getRating() != null) ? Rating.valueOf(entry.getRating()) : null);
+				} catch (IOException ignore) {
+				} catch (IllegalArgumentException ignore) {
+				}
 			}
 			monitor.worked(1);
 		}
@@ -179,7 +263,7 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 				return Status.OK_STATUS;
 			}
 		};
-		job.setRule(this);
+		// loads of different avatars run in parallel, loads of the same avatar are coalesced by the store
 		job.schedule();
 		return this;
 	}
@@ -200,13 +284,56 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	/**
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#loadGravatarByHash(java.lang.String)
 	 */
-	public Gravatar loadGravatarByHash(String hash, int size, Rating rating) throws IOException {
+	public Gravatar loadGravatarByHash(final String hash, final int size, final Rating rating) throws IOException {
 		Assert.isLegal(size == -1 || (size >= 1 && size <= 512), "size must have a value of -1 or between 1 and 512"); //$NON-NLS-1$
 		if (!GravatarUtils.isValidHash(hash)) {
 			return null;
 		}
 
-		Gravatar avatar = null;
+		String key = GravatarCache.getKey(hash, size, (rating != null) ? rating.name() : null);
+		FutureTask<Gravatar> task = new FutureTask<Gravatar>(new Callable<Gravatar>() {
+			public Gravatar call() throws Exception {
+				return fetchGravatar(hash, size, rating);
+			}
+		});
+		FutureTask<Gravatar> pendingTask = pendingLoads.putIfAbsent(key, task);
+		if (pendingTask == null) {
+			try {
+				task.run();
+			} finally {
+				pendingLoads.remove(key, task);
+			}
+			pendingTask = task;
+		}
+
+		try {
+			return pendingTask.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private Gravatar fetchGravatar(String hash, int size, Rating rating) throws IOException {
+		GravatarCache cache = this.cache;
+		GravatarCache.Entry entry = null;
+		if (cache != null) {
+			entry = cache.get(GravatarCache.getKey(hash, size, (rating != null) ? rating.name() : null));
+			if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+				return toGravatar(entry);
+			}
+		}
+
 		String location = this.url + hash + "?d=404"; //$NON-NLS-1$
 		if (size != -1) {
 			location += "&s=" + size; //$NON-NLS-1$
@@ -217,9 +344,30 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 		HttpURLConnection connection = (HttpURLConnection) new URL(location).openConnection();
 		connection.setConnectTimeout(TIMEOUT);
 		connection.setUseCaches(false);
+		if (entry != null && !entry.isNegative()) {
+			// revalidate cached avatar
+			if (entry.getEtag() != null) {
+				connection.setRequestProperty("If-None-Match", entry.getEtag()); //$NON-NLS-1$
+			}
+			if (entry.getLastModified() > 0) {
+				connection.setIfModifiedSince(entry.getLastModified());
+			}
+		}
 		connection.connect();
 
-		if (connection.getResponseCode() != 200) {
+		int responseCode = connection.getResponseCode();
+		long now = System.currentTimeMillis();
+		if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null && !entry.isNegative()) {
+			entry = entry.revalidated(now + getTimeToLive(connection, timeToLive));
+			cache.put(entry);
+			return toGravatar(entry);
+		} else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+			if (cache != null) {
+				cache.put(new GravatarCache.Entry(hash, size, (rating != null) ? rating.name() : null, now, now
+						+ negativeTimeToLive, null, 0, null));
+			}
+			return null;
+		} else if (responseCode != HttpURLConnection.HTTP_OK) {
 			return null;
 		}
 
@@ -237,11 +385,22 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 			} catch (IOException ignore) {
 			}
 		}
-		avatar = new Gravatar(hash, System.currentTimeMillis(), output.toByteArray());
-		if (this.avatars != null) {
-			this.avatars.put(hash, avatar);
+		byte[] bytes = output.toByteArray();
+		if (cache != null) {
+			String etag = connection.getHeaderField("ETag"); //$NON-NLS-1$
+			cache.put(new GravatarCache.Entry(hash, size, (rating != null) ? rating.name() : null, now, now
+					+ getTimeToLive(connection, timeToLive), etag, connection.getLastModified(), bytes));
 		}
-		return avatar;
+		return new Gravatar(hash, now, bytes);
+	}
+
+	private long getTimeToLive(HttpURLConnection connection, long defaultTimeToLive) {
+		// honor longer lifetimes requested by the server
+		return Math.max(NetUtil.getMaxAge(connection.getHeaderField("Cache-Control")), defaultTimeToLive); //$NON-NLS-1$
+	}
+
+	private Gravatar toGravatar(GravatarCache.Entry entry) {
+		return (entry.isNegative()) ? null : new Gravatar(entry.getHash(), entry.getUpdateTime(), entry.getBytes());
 	}
 
 	/**
@@ -255,7 +414,14 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#getGravatarByHash(java.lang.String)
 	 */
 	public Gravatar getGravatarByHash(String hash) {
-		return hash != null && avatars != null ? this.avatars.get(hash) : null;
+		GravatarCache cache = this.cache;
+		if (hash != null && cache != null) {
+			GravatarCache.Entry entry = cache.getByHash(hash);
+			if (entry != null) {
+				return toGravatar(entry);
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Groups bursts of notifications for presentation. Notifications that map to the same key are collapsed into a single
+ * entry that holds the most recent notification. Pending notifications are released as a batch once no further
+ * notifications have arrived for the quiet period or the oldest pending notification has waited for the grouping
+ * window, whichever comes first, and no more than a fixed number of batches is released per minute. Notifications that
+ * arrive while the limit is reached are folded into the next batch.
+ * <p>
+ * Times are passed in explicitly by the caller and are expected to be monotonic.
+ */
+public class NotificationCoalescer {
+
+	/**
+	 * Determines which notifications are collapsed into the same entry.
+	 */
+	public interface KeyProvider {
+
+		Object getKey(AbstractNotification notification);
+
+	}
+
+	/**
+	 * Collapses notifications that have the same event id.
+	 */
+	public static final KeyProvider EVENT_ID = new KeyProvider() {
+		public Object getKey(AbstractNotification notification) {
+			return notification.getEventId();
+		}
+	};
+
+	/**
+	 * Collapses notifications that originate from the same source as identified by
+	 * {@link AbstractNotification#getToken()}. Notifications without a token are not collapsed.
+	 */
+	public static final KeyProvider TOKEN = new KeyProvider() {
+		public Object getKey(AbstractNotification notification) {
+			Object token = notification.getToken();
+			return (token != null) ? token : notification;
+		}
+	};
+
+	/**
+	 * Collapses notifications that are equal.
+	 */
+	public static final KeyProvider NOTIFICATION = new KeyProvider() {
+		public Object getKey(AbstractNotification notification) {
+			return notification;
+		}
+	};
+
+	/**
+	 * A set of notifications released for presentation.
+	 */
+	public static class Batch {
+
+		private final List<AbstractNotification> notifications;
+
+		private final int notificationCount;
+
+		private final Set<Object> overflowTokens;
+
+		Batch(List<AbstractNotification> notifications, int notificationCount, Set<Object> overflowTokens) {
+			this.notifications = notifications;
+			this.notificationCount = notificationCount;
+			this.overflowTokens = overflowTokens;
+		}
+
+		/**
+		 * Returns one notification for each group in the order the groups were created.
+		 */
+		public List<AbstractNotification> getNotifications() {
+			return notifications;
+		}
+
+		/**
+		 * Returns the total number of notifications that were added to this batch.
+		 */
+		public int getNotificationCount() {
+			return notificationCount;
+		}
+
+		/**
+		 * Returns the number of notifications that are not represented by an entry of {@link #getNotifications()}
+		 * since they were collapsed into another entry or exceeded the maximum number of entries.
+		 */
+		public int getOverflowCount() {
+			return notificationCount - notifications.size();
+		}
+
+		/**
+		 * Returns the tokens of notifications that are only reflected in {@link #getOverflowCount()}.
+		 */
+		public Set<Object> getOverflowTokens() {
+			return Collections.unmodifiableSet(overflowTokens);
+		}
+
+	}
+
+	private static final long MINUTE = 60 * 1000;
+
+	public static final long DEFAULT_QUIET_PERIOD = 1 * 1000;
+
+	public static final long DEFAULT_WINDOW = 5 * 1000;
+
+	public static final int DEFAULT_MAX_BATCHES_PER_MINUTE = 4;
+
+	public static final int DEFAULT_MAX_ENTRIES = 100;
+
+	private final KeyProvider keyProvider;
+
+	private final Map<Object, AbstractNotification> pending = new LinkedHashMap<Object, AbstractNotification>();
+
+	private final Set<Object> overflowTokens = new LinkedHashSet<Object>();
+
+	private final LinkedList<Long> releaseTimes = new LinkedList<Long>();
+
+	private int pendingCount;
+
+	private long firstPendingTime;
+
+	private long lastPendingTime;
+
+	private long quietPeriod = DEFAULT_QUIET_PERIOD;
+
+	private long window = DEFAULT_WINDOW;
+
+	private int maxBatchesPerMinute = DEFAULT_MAX_BATCHES_PER_MINUTE;
+
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+	public NotificationCoalescer(KeyProvider keyProvider) {
+		Assert.isNotNull(keyProvider);
+		this.keyProvider = keyProvider;
+	}
+
+	public synchronized void add(Collection<? extends AbstractNotification> notifications, long now) {
+		for (AbstractNotification notification : notifications) {
+			if (pendingCount == 0) {
+				firstPendingTime = now;
+			}
+			Object key = keyProvider.getKey(notification);
+			if (pending.containsKey(key) || pending.size() < maxEntries) {
+				AbstractNotification collapsed = pending.put(key, notification);
+				if (collapsed != null) {
+					addOverflowToken(collapsed, notification);
+				}
+			} else {
+				addOverflowToken(notification, null);
+			}
+			pendingCount++;
+		}
+		lastPendingTime = now;
+	}
+
+	/**
+	 * Returns the number of milliseconds until pending notifications are due for release, <code>0</code> if they are
+	 * due now and <code>-1</code> if there are no pending notifications.
+	 */
+	public synchronized long getDelay(long now) {
+		if (pendingCount == 0) {
+			return -1;
+		}
+		long due = Math.min(lastPendingTime + quietPeriod, firstPendingTime + window);
+		while (!releaseTimes.isEmpty() && releaseTimes.getFirst() + MINUTE <= now) {
+			releaseTimes.removeFirst();
+		}
+		if (releaseTimes.size() >= maxBatchesPerMinute) {
+			due = Math.max(due, releaseTimes.getFirst() + MINUTE);
+		}
+		return Math.max(0, due - now);
+	}
+
+	/**
+	 * Returns all pending notifications as a batch regardless of whether they are due and counts the release towards
+	 * the rate limit. Returns <code>null</code> if there are no pending notifications.
+	 * 
+	 * @see #getDelay(long)
+	 */
+	public synchronized Batch release(long now) {
+		if (pendingCount == 0) {
+			return null;
+		}
+		Batch batch = new Batch(new ArrayList<AbstractNotification>(pending.values()), pendingCount,
+				new LinkedHashSet<Object>(overflowTokens));
+		pending.clear();
+		overflowTokens.clear();
+		pendingCount = 0;
+		releaseTimes.add(now);
+		return batch;
+	}
+
+	private void addOverflowToken(AbstractNotification notification, AbstractNotification replacement) {
+		Object token = notification.getToken();
+		if (token != null && (replacement == null || !token.equals(replacement.getToken()))) {
+			overflowTokens.add(token);
+		}
+	}
+
+	/**
+	 * Returns one notification for each pending group.
+	 */
+	public synchronized List<AbstractNotification> getPendingNotifications() {
+		return Collections.unmodifiableList(new ArrayList<AbstractNotification>(pending.values()));
+	}
+
+	/**
+	 * Returns the number of notifications that were added since the last release.
+	 */
+	public synchronized int getPendingCount() {
+		return pendingCount;
+	}
+
+	public KeyProvider getKeyProvider() {
+		return keyProvider;
+	}
+
+	public synchronized long getQuietPeriod() {
+		return quietPeriod;
+	}
+
+	public synchronized void setQuietPeriod(long quietPeriod) {
+		Assert.isLegal(quietPeriod >= 0);
+		this.quietPeriod = quietPeriod;
+	}
+
+	public synchronized long getWindow() {
+		return window;
+	}
+
+	/**
+	 * Sets the longest time in milliseconds that notifications are held back while further notifications keep arriving.
+	 */
+	public synchronized void setWindow(long window) {
+		Assert.isLegal(window >= 0);
+		this.window = window;
+	}
+
+	public synchronized int getMaxBatchesPerMinute() {
+		return maxBatchesPerMinute;
+	}
+
+	public synchronized void setMaxBatchesPerMinute(int maxBatchesPerMinute) {
+		Assert.isLegal(maxBatchesPerMinute > 0);
+		this.maxBatchesPerMinute = maxBatchesPerMinute;
+	}
+
+	public synchronized int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Sets the maximum number of entries per batch. Notifications that do not match an existing entry once the limit
+	 * is reached are only reflected in {@link Batch#getOverflowCount()}.
+	 */
+	public synchronized void setMaxEntries(int maxEntries) {
+		Assert.isLegal(maxEntries > 0);
+		this.maxEntries = maxEntries;
+	}
+
+}
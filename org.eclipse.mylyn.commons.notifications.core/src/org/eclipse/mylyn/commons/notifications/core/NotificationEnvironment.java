@@ -12,14 +12,20 @@
 
 package org.eclipse.mylyn.commons.notifications.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.mylyn.commons.core.CoreUtil;
 import org.eclipse.osgi.service.resolver.VersionRange;
@@ -30,14 +36,120 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.Version;
 
 /**
+ * Matches filters of notifications against the running environment. Version ranges and filter expressions are parsed
+ * once and cached, the versions and system properties of the environment are computed on first use and recomputed when
+ * the installed features change.
+ * 
  * @author Steffen Pingel
  */
 public class NotificationEnvironment {
 
-	private final Dictionary<Object, Object> environment;
+	/**
+	 * Caches parsed expressions up to {@link #MAX_CACHED_EXPRESSIONS}, evicting the least recently used expression
+	 * first. Invalid expressions are cached as <code>null</code>.
+	 */
+	private static abstract class ExpressionCache<T> {
+
+		private final LinkedHashMap<String, T> values = new LinkedHashMap<String, T>(16, 0.75f, true);
+
+		public synchronized T get(String expression) {
+			T value = values.get(expression);
+			if (value == null && !values.containsKey(expression)) {
+				value = parse(expression);
+				values.put(expression, value);
+				if (values.size() > MAX_CACHED_EXPRESSIONS) {
+					Iterator<String> it = values.keySet().iterator();
+					it.next();
+					it.remove();
+				}
+			}
+			return value;
+		}
+
+		/**
+		 * Returns the parsed <code>expression</code> or <code>null</code>, if <code>expression</code> is invalid.
+		 */
+		protected abstract T parse(String expression);
+
+	}
+
+	/**
+	 * Retrieves the installed features at most once for an evaluation and only if an entry depends on them.
+	 */
+	private class InstalledFeatures {
+
+		private final IProgressMonitor monitor;
+
+		private Set<String> features;
+
+		public InstalledFeatures(IProgressMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		public boolean contains(String feature) {
+			if (features == null) {
+				features = getInstalledFeatures(monitor);
+				installedFeaturesRetrieved(features);
+			}
+			return features.contains(feature);
+		}
+
+	}
+
+	/**
+	 * The values of the environment that filters are evaluated against.
+	 */
+	private static class Snapshot {
+
+		private final Version frameworkVersion;
+
+		private final Version platformVersion;
+
+		private final Version runtimeVersion;
+
+		private final Dictionary<Object, Object> properties;
+
+		public Snapshot(Version frameworkVersion, Version platformVersion, Version runtimeVersion,
+				Dictionary<Object, Object> properties) {
+			this.frameworkVersion = frameworkVersion;
+			this.platformVersion = platformVersion;
+			this.runtimeVersion = runtimeVersion;
+			this.properties = properties;
+		}
+
+	}
+
+	private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+	private static final ExpressionCache<VersionRange> versionRanges = new ExpressionCache<VersionRange>() {
+		@Override
+		protected VersionRange parse(String expression) {
+			try {
+				return new VersionRange(expression);
+			} catch (IllegalArgumentException e) {
+				// ignore
+				return null;
+			}
+		}
+	};
+
+	private static final ExpressionCache<Filter> filters = new ExpressionCache<Filter>() {
+		@Override
+		protected Filter parse(String expression) {
+			try {
+				return FrameworkUtil.createFilter(expression);
+			} catch (InvalidSyntaxException e) {
+				// ignore that filter
+				return null;
+			}
+		}
+	};
+
+	private volatile Snapshot snapshot;
+
+	private Set<String> lastInstalledFeatures;
 
 	public NotificationEnvironment() {
-		environment = new Hashtable<Object, Object>(System.getProperties());
 	}
 
 	public Version getFrameworkVersion() {
@@ -64,61 +176,103 @@ public class NotificationEnvironment {
 		return CoreUtil.getRuntimeVersion();
 	}
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public boolean matches(IAdaptable item, IProgressMonitor monitor) {
 		IFilterable entry = (IFilterable) item.getAdapter(IFilterable.class);
 		if (entry == null) {
 			return true;
 		}
+		return matches(entry, getSnapshot(), new InstalledFeatures(monitor));
+	}
+
+	/**
+	 * Returns the elements of <code>items</code> that match the environment in iteration order. The installed features
+	 * are retrieved at most once for all items.
+	 */
+	public <T extends IFilterable> List<T> matchAll(Collection<? extends T> items, IProgressMonitor monitor) {
+		Snapshot snapshot = getSnapshot();
+		InstalledFeatures installedFeatures = new InstalledFeatures(monitor);
+		List<T> result = new ArrayList<T>(items.size());
+		for (T item : items) {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (matches(item, snapshot, installedFeatures)) {
+				result.add(item);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the cached versions and system properties of the environment. They are computed again on the next
+	 * evaluation.
+	 */
+	public void invalidate() {
+		snapshot = null;
+	}
+
+	public Set<String> getInstalledFeatures(IProgressMonitor monitor) {
+		return Collections.emptySet();
+	}
 
-		if (!matchesVersion(entry.getFilter("frameworkVersion"), getFrameworkVersion())) { //$NON-NLS-1$
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private boolean matches(IFilterable entry, Snapshot snapshot, InstalledFeatures installedFeatures) {
+		if (!matchesVersion(entry.getFilter("frameworkVersion"), snapshot.frameworkVersion)) { //$NON-NLS-1$
 			return false;
 		}
-		if (!matchesVersion(entry.getFilter("platformVersion"), getPlatformVersion())) { //$NON-NLS-1$
+		if (!matchesVersion(entry.getFilter("platformVersion"), snapshot.platformVersion)) { //$NON-NLS-1$
 			return false;
 		}
-		if (!matchesVersion(entry.getFilter("runtimeVersion"), getRuntimeVersion())) { //$NON-NLS-1$
+		if (!matchesVersion(entry.getFilter("runtimeVersion"), snapshot.runtimeVersion)) { //$NON-NLS-1$
 			return false;
 		}
 		List<String> filterExpressions = entry.getFilters("filter"); //$NON-NLS-1$
 		for (String filterExpression : filterExpressions) {
-			try {
-				Filter filter = FrameworkUtil.createFilter(filterExpression);
-				if (!filter.match((Dictionary) environment)) {
-					return false;
-				}
-			} catch (InvalidSyntaxException e) {
-				// ignore that filter
+			Filter filter = filters.get(filterExpression);
+			if (filter != null && !filter.match((Dictionary) snapshot.properties)) {
+				return false;
 			}
 		}
 		List<String> requiredFeatures = entry.getFilters("requires"); //$NON-NLS-1$
 		for (String requiredFeature : requiredFeatures) {
-			if (!getInstalledFeatures(monitor).contains(parseFeature(requiredFeature))) {
+			if (!installedFeatures.contains(parseFeature(requiredFeature))) {
 				return false;
 			}
 		}
 		List<String> conflictedFeatures = entry.getFilters("conflicts"); //$NON-NLS-1$
 		for (String conflictedFeature : conflictedFeatures) {
-			if (getInstalledFeatures(monitor).contains(parseFeature(conflictedFeature))) {
+			if (installedFeatures.contains(parseFeature(conflictedFeature))) {
 				return false;
 			}
 		}
 		return true;
 	}
 
-	public Set<String> getInstalledFeatures(IProgressMonitor monitor) {
-		return Collections.emptySet();
+	private Snapshot getSnapshot() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			snapshot = new Snapshot(getFrameworkVersion(), getPlatformVersion(), getRuntimeVersion(),
+					new Hashtable<Object, Object>(System.getProperties()));
+			this.snapshot = snapshot;
+		}
+		return snapshot;
+	}
+
+	private synchronized void installedFeaturesRetrieved(Set<String> installedFeatures) {
+		if (!installedFeatures.equals(lastInstalledFeatures)) {
+			if (lastInstalledFeatures != null) {
+				// installing features may have updated the framework or the platform
+				invalidate();
+			}
+			lastInstalledFeatures = new HashSet<String>(installedFeatures);
+		}
 	}
 
 	private boolean matchesVersion(String expectedVersionRangeExpression, Version actualVersion) {
 		if (expectedVersionRangeExpression != null) {
-			try {
-				VersionRange versionRange = new VersionRange(expectedVersionRangeExpression);
-				if (!versionRange.isIncluded(actualVersion)) {
-					return false;
-				}
-			} catch (IllegalArgumentException e) {
-				// ignore
+			VersionRange versionRange = versionRanges.get(expectedVersionRangeExpression);
+			if (versionRange != null && !versionRange.isIncluded(actualVersion)) {
+				return false;
 			}
 		}
 		return true;
@@ -0,0 +1,532 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.feed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.commons.notifications.feed.INotificationsFeed;
+
+/**
+ * Checks several service message feeds with a shared number of connections. Each feed is checked at its interval
+ * unless the server asks for a longer delay through the <code>Cache-Control</code> max-age or the
+ * <code>Retry-After</code> header. Failed checks are retried with an exponentially increasing delay that starts at the
+ * minimum backoff and is limited by the interval of the feed. All delays are spread randomly so that feeds do not fall
+ * into step.
+ * <p>
+ * The validators and the time of the next check of each feed are optionally persisted, so that feeds are neither
+ * retrieved again nor checked early after a restart.
+ * <p>
+ * The scheduling methods take the current time as a parameter. {@link #start()} runs a job that checks due feeds at
+ * system time.
+ */
+public class FeedScheduler {
+
+	public static final long DEFAULT_INTERVAL = TimeUnit.DAYS.toMillis(14);
+
+	public static final int DEFAULT_MAX_CONNECTIONS = 2;
+
+	/**
+	 * The delay after the first failed check.
+	 */
+	public static final long DEFAULT_MIN_BACKOFF = TimeUnit.MINUTES.toMillis(15);
+
+	/**
+	 * The maximum delay after failed checks, unless the interval of the feed is shorter.
+	 */
+	public static final long DEFAULT_MAX_BACKOFF = TimeUnit.DAYS.toMillis(1);
+
+	/**
+	 * The maximum delay that is honored when requested by a server, unless the interval of the feed is longer.
+	 */
+	public static final long DEFAULT_MAX_DELAY = TimeUnit.DAYS.toMillis(30);
+
+	public static final long START_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+	/**
+	 * The maximum fraction by which delays are randomly extended.
+	 */
+	public static final double DEFAULT_JITTER = 0.1;
+
+	private static final int STATE_VERSION = 1;
+
+	private static FeedScheduler defaultScheduler;
+
+	private static class FeedState {
+
+		private final String url;
+
+		private String lastModified;
+
+		private String eTag;
+
+		private long lastCheck;
+
+		private long nextCheck;
+
+		private int failures;
+
+		private ServiceMessageManager feed;
+
+		private long interval;
+
+		private boolean running;
+
+		public FeedState(String url) {
+			this.url = url;
+		}
+
+	}
+
+	private final File stateFile;
+
+	private final Random random;
+
+	private final Map<String, FeedState> stateByUrl = new HashMap<String, FeedState>();
+
+	private final Map<ServiceMessageManager, FeedState> stateByFeed = new HashMap<ServiceMessageManager, FeedState>();
+
+	private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+	private long minBackoff = DEFAULT_MIN_BACKOFF;
+
+	private long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+	private long maxDelay = DEFAULT_MAX_DELAY;
+
+	private double jitter = DEFAULT_JITTER;
+
+	private int runningCount;
+
+	private boolean loaded;
+
+	private Job schedulerJob;
+
+	public FeedScheduler() {
+		this(null, new Random());
+	}
+
+	/**
+	 * @param stateFile
+	 *            the file that the state of feeds is persisted in; null, to not persist state
+	 */
+	public FeedScheduler(File stateFile) {
+		this(stateFile, new Random());
+	}
+
+	/**
+	 * @param stateFile
+	 *            the file that the state of feeds is persisted in; null, to not persist state
+	 * @param random
+	 *            the source for spreading delays
+	 */
+	public FeedScheduler(File stateFile, Random random) {
+		Assert.isNotNull(random);
+		this.stateFile = stateFile;
+		this.random = random;
+	}
+
+	/**
+	 * Returns the scheduler that checks the feeds of started {@link ServiceMessageManager}s. The scheduler is started
+	 * when it is first accessed.
+	 * 
+	 * @see ServiceMessageManager#start()
+	 */
+	public static synchronized FeedScheduler getDefault() {
+		if (defaultScheduler == null) {
+			defaultScheduler = new FeedScheduler();
+			defaultScheduler.start();
+		}
+		return defaultScheduler;
+	}
+
+	public synchronized int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * Sets the maximum number of feeds that are checked at the same time.
+	 */
+	public synchronized void setMaxConnections(int maxConnections) {
+		Assert.isLegal(maxConnections > 0);
+		this.maxConnections = maxConnections;
+	}
+
+	public synchronized long getMinBackoff() {
+		return minBackoff;
+	}
+
+	public synchronized void setMinBackoff(long minBackoff) {
+		Assert.isLegal(minBackoff > 0);
+		this.minBackoff = minBackoff;
+	}
+
+	public synchronized long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	public synchronized void setMaxBackoff(long maxBackoff) {
+		this.maxBackoff = maxBackoff;
+	}
+
+	public synchronized long getMaxDelay() {
+		return maxDelay;
+	}
+
+	public synchronized void setMaxDelay(long maxDelay) {
+		this.maxDelay = maxDelay;
+	}
+
+	public synchronized double getJitter() {
+		return jitter;
+	}
+
+	public synchronized void setJitter(double jitter) {
+		Assert.isLegal(jitter >= 0);
+		this.jitter = jitter;
+	}
+
+	/**
+	 * Adds a feed that is checked at the default interval.
+	 * 
+	 * @see #add(ServiceMessageManager, long, long)
+	 */
+	public void add(ServiceMessageManager feed) {
+		add(feed, DEFAULT_INTERVAL, System.currentTimeMillis());
+	}
+
+	/**
+	 * Adds a feed that is checked every <code>interval</code> milliseconds. If state was persisted for the URL of the
+	 * feed, the persisted validators are set on the feed and the next check is scheduled as before. Otherwise the
+	 * feed is checked shortly after <code>now</code> or, if it has been checked before, one interval after its check
+	 * time.
+	 */
+	public synchronized void add(ServiceMessageManager feed, long interval, long now) {
+		Assert.isNotNull(feed);
+		Assert.isLegal(interval > 0);
+		Assert.isLegal(!stateByFeed.containsKey(feed));
+		load();
+		FeedState state = stateByUrl.get(feed.getUrl());
+		if (state != null && state.feed == null) {
+			feed.setValidators(state.lastModified, state.eTag);
+		} else {
+			state = new FeedState(feed.getUrl());
+			state.lastModified = feed.getLastModified();
+			state.eTag = feed.getETag();
+			state.lastCheck = feed.getChecktime();
+			state.nextCheck = (feed.getChecktime() > 0) ? feed.getChecktime() + interval : 0;
+			stateByUrl.put(feed.getUrl(), state);
+		}
+		state.feed = feed;
+		state.interval = interval;
+		state.running = false;
+		long startTime = now + START_DELAY;
+		if (state.nextCheck < startTime) {
+			state.nextCheck = startTime + jitter(START_DELAY);
+		}
+		stateByFeed.put(feed, state);
+		reschedule(now);
+	}
+
+	public synchronized void remove(ServiceMessageManager feed) {
+		FeedState state = stateByFeed.remove(feed);
+		if (state != null) {
+			if (state.running) {
+				runningCount--;
+			}
+			state.feed = null;
+			state.running = false;
+		}
+	}
+
+	public synchronized List<ServiceMessageManager> getFeeds() {
+		return new ArrayList<ServiceMessageManager>(stateByFeed.keySet());
+	}
+
+	/**
+	 * Returns the time of the next check of <code>feed</code> or -1, if the feed is not scheduled.
+	 */
+	public synchronized long getNextCheck(ServiceMessageManager feed) {
+		FeedState state = stateByFeed.get(feed);
+		return (state != null) ? state.nextCheck : -1;
+	}
+
+	/**
+	 * Returns the time until the next feed is due to be checked, 0 if a feed is already due or -1, if no feed can be
+	 * checked until a feed is added or a running check completes.
+	 */
+	public synchronized long getDelay(long now) {
+		if (runningCount >= maxConnections) {
+			return -1;
+		}
+		long nextCheck = Long.MAX_VALUE;
+		for (FeedState state : stateByFeed.values()) {
+			if (!state.running) {
+				nextCheck = Math.min(nextCheck, state.nextCheck);
+			}
+		}
+		return (nextCheck == Long.MAX_VALUE) ? -1 : Math.max(0, nextCheck - now);
+	}
+
+	/**
+	 * Returns the feeds that are due at <code>now</code>, at most as many as connections are available, and marks them
+	 * as running. The caller needs to invoke {@link #completed(ServiceMessageManager, long)} for each feed after it
+	 * has been refreshed.
+	 */
+	public synchronized List<ServiceMessageManager> acquireDueFeeds(long now) {
+		List<FeedState> due = new ArrayList<FeedState>();
+		for (FeedState state : stateByFeed.values()) {
+			if (!state.running && state.nextCheck <= now) {
+				due.add(state);
+			}
+		}
+		Collections.sort(due, new Comparator<FeedState>() {
+			public int compare(FeedState o1, FeedState o2) {
+				return (o1.nextCheck < o2.nextCheck) ? -1 : ((o1.nextCheck == o2.nextCheck) ? 0 : 1);
+			}
+		});
+		List<ServiceMessageManager> feeds = new ArrayList<ServiceMessageManager>();
+		for (FeedState state : due) {
+			if (runningCount >= maxConnections) {
+				break;
+			}
+			state.running = true;
+			runningCount++;
+			feeds.add(state.feed);
+		}
+		return feeds;
+	}
+
+	/**
+	 * Schedules the next check of <code>feed</code> based on the outcome of its last refresh and releases its
+	 * connection.
+	 */
+	public synchronized void completed(ServiceMessageManager feed, long now) {
+		FeedState state = stateByFeed.get(feed);
+		if (state == null || !state.running) {
+			return;
+		}
+		state.running = false;
+		runningCount--;
+		state.lastCheck = now;
+		state.lastModified = feed.getLastModified();
+		state.eTag = feed.getETag();
+
+		long delay;
+		if (isSuccess(feed.getLastStatus())) {
+			state.failures = 0;
+			delay = state.interval;
+			if (feed.getMaxAge() > 0) {
+				delay = Math.max(delay, Math.min(feed.getMaxAge(), Math.max(state.interval, maxDelay)));
+			}
+		} else {
+			state.failures++;
+			delay = getBackoff(state);
+		}
+		if (feed.getRetryAfter() > 0) {
+			delay = Math.max(delay, Math.min(feed.getRetryAfter(), Math.max(state.interval, maxDelay)));
+		}
+		state.nextCheck = now + delay + jitter(delay);
+
+		save();
+		reschedule(now);
+	}
+
+	private boolean isSuccess(int status) {
+		// a missing feed is not an error, it means that there are no messages
+		return status == 200 || status == 304 || status == 404;
+	}
+
+	/**
+	 * Doubles the minimum backoff for each consecutive failure up to the maximum backoff or the interval, whichever is
+	 * shorter.
+	 */
+	private long getBackoff(FeedState state) {
+		long limit = Math.min(state.interval, maxBackoff);
+		long delay = minBackoff;
+		for (int i = 1; i < state.failures && delay < limit; i++) {
+			delay *= 2;
+		}
+		return Math.min(delay, limit);
+	}
+
+	private long jitter(long delay) {
+		return (long) (delay * jitter * random.nextDouble());
+	}
+
+	/**
+	 * Starts a job that checks feeds when they are due.
+	 */
+	public synchronized void start() {
+		if (schedulerJob == null) {
+			schedulerJob = new Job("Checking for new service messages") { //$NON-NLS-1$
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					dispatch();
+					return Status.OK_STATUS;
+				}
+			};
+			schedulerJob.setSystem(true);
+			schedulerJob.setPriority(Job.DECORATE);
+		}
+		reschedule(System.currentTimeMillis());
+	}
+
+	public synchronized void stop() {
+		if (schedulerJob != null) {
+			schedulerJob.cancel();
+			schedulerJob = null;
+		}
+		save();
+	}
+
+	private synchronized void dispatch() {
+		long now = System.currentTimeMillis();
+		for (ServiceMessageManager feed : acquireDueFeeds(now)) {
+			schedule(feed);
+		}
+		reschedule(now);
+	}
+
+	private void schedule(final ServiceMessageManager feed) {
+		Job job = new Job("Checking for new service message") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					feed.refresh(monitor);
+				} catch (Throwable t) {
+					// fail silently
+				} finally {
+					completed(feed, System.currentTimeMillis());
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
+
+	private void reschedule(long now) {
+		if (schedulerJob != null) {
+			long delay = getDelay(now);
+			if (delay >= 0) {
+				schedulerJob.schedule(delay);
+			}
+		}
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (stateFile == null || !stateFile.exists()) {
+			return;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(stateFile)));
+			try {
+				if (in.readInt() != STATE_VERSION) {
+					return;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					FeedState state = new FeedState(in.readUTF());
+					state.lastModified = in.readBoolean() ? in.readUTF() : null;
+					state.eTag = in.readBoolean() ? in.readUTF() : null;
+					state.lastCheck = in.readLong();
+					state.nextCheck = in.readLong();
+					state.failures = in.readInt();
+					stateByUrl.put(state.url, state);
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, INotificationsFeed.ID_PLUGIN,
+					"Failed to read state of service message feeds", e)); //$NON-NLS-1$
+			stateByUrl.clear();
+		}
+	}
+
+	/**
+	 * Writes the state of all feeds to the state file.
+	 */
+	public synchronized void save() {
+		if (stateFile == null) {
+			return;
+		}
+		load();
+		File tempFile = new File(stateFile.getParentFile(), stateFile.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			if (stateFile.getParentFile() != null && !stateFile.getParentFile().exists()
+					&& !stateFile.getParentFile().mkdirs()) {
+				throw new IOException("Failed to create " + stateFile.getParentFile()); //$NON-NLS-1$
+			}
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(STATE_VERSION);
+				out.writeInt(stateByUrl.size());
+				for (FeedState state : stateByUrl.values()) {
+					out.writeUTF(state.url);
+					writeString(out, state.lastModified);
+					writeString(out, state.eTag);
+					out.writeLong(state.lastCheck);
+					out.writeLong(state.nextCheck);
+					out.writeInt(state.failures);
+				}
+			} finally {
+				out.close();
+			}
+			if (stateFile.exists() && !stateFile.delete()) {
+				throw new IOException("Failed to replace " + stateFile); //$NON-NLS-1$
+			}
+			if (!tempFile.renameTo(stateFile)) {
+				throw new IOException("Failed to rename " + tempFile); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, INotificationsFeed.ID_PLUGIN,
+					"Failed to write state of service message feeds", e)); //$NON-NLS-1$
+			tempFile.delete();
+		}
+	}
+
+	private void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+}
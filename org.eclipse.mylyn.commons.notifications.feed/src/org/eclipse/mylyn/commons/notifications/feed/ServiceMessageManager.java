@@ -30,9 +30,6 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.IJobChangeEvent;
-import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.commons.core.net.NetUtil;
 import org.eclipse.mylyn.commons.notifications.core.NotificationEnvironment;
@@ -41,6 +38,9 @@ import org.eclipse.mylyn.internal.commons.notifications.feed.INotificationsFeed;
 import org.eclipse.mylyn.internal.commons.notifications.feed.ServiceMessage;
 
 /**
+ * Retrieves service messages from a feed. Feeds are checked periodically by a {@link FeedScheduler}, either the
+ * default scheduler through {@link #start()} or a scheduler that the manager is added to.
+ * 
  * @author Robert Elves
  * @author Steffen Pingel
  */
@@ -48,10 +48,6 @@ public class ServiceMessageManager {
 
 	private static final String ID_EVENT_SERVICE_MESSAGE = "org.eclipse.mylyn.notifications.feed.events.ServiceMessage"; //$NON-NLS-1$
 
-	private static final long RECHECK_DELAY = 14 * 24 * 60 * 60 * 1000;
-
-	private static final long START_DELAY = 30 * 1000;
-
 	private final long checktime;
 
 	private final NotificationEnvironment environment;
@@ -64,14 +60,18 @@ public class ServiceMessageManager {
 
 	private final List<IServiceMessageListener> listeners = new CopyOnWriteArrayList<IServiceMessageListener>();
 
-	private Job messageCheckJob;
-
 	private volatile List<? extends ServiceMessage> messages = Collections.emptyList();
 
 	private boolean statusLogged;
 
 	private String url;
 
+	private volatile int lastStatus = -1;
+
+	private volatile long maxAge = -1;
+
+	private volatile long retryAfter = -1;
+
 	public ServiceMessageManager(String serviceMessageUrl, String lastModified, String eTag, long checktime) {
 		this(serviceMessageUrl, lastModified, eTag, checktime, new NotificationEnvironment());
 	}
@@ -102,6 +102,49 @@ public class ServiceMessageManager {
 		return url;
 	}
 
+	public long getChecktime() {
+		return checktime;
+	}
+
+	public String getETag() {
+		return eTag;
+	}
+
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Sets the validators that are sent with the next request to only retrieve messages if the feed has changed.
+	 */
+	public void setValidators(String lastModified, String eTag) {
+		this.lastModified = lastModified;
+		this.eTag = eTag;
+	}
+
+	/**
+	 * Returns the HTTP status of the last refresh or -1, if the feed has not been refreshed or the request failed.
+	 */
+	public int getLastStatus() {
+		return lastStatus;
+	}
+
+	/**
+	 * Returns the time in milliseconds that the last response may be cached as specified by the
+	 * <code>Cache-Control</code> header or -1, if not specified.
+	 */
+	public long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Returns the time in milliseconds the server asked to wait before making another request in the
+	 * <code>Retry-After</code> header of the last response or -1, if not specified.
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
+	}
+
 	public void removeServiceMessageListener(IServiceMessageListener listener) {
 		listeners.remove(listener);
 	}
@@ -115,54 +158,23 @@ public class ServiceMessageManager {
 		this.url = url;
 	}
 
+	/**
+	 * Adds the feed to the default {@link FeedScheduler} which checks it at the default interval. Managers that are
+	 * added to a different scheduler should not be started.
+	 * 
+	 * @see FeedScheduler#getDefault()
+	 */
 	public void start() {
-		if (messageCheckJob == null) {
-			messageCheckJob = new Job("Checking for new service message") { //$NON-NLS-1$
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					try {
-						refresh(monitor);
-						return Status.OK_STATUS;
-					} catch (Throwable t) {
-						// fail silently
-						return Status.CANCEL_STATUS;
-					}
-				}
-
-			};
-			messageCheckJob.setSystem(true);
-			messageCheckJob.setPriority(Job.DECORATE);
-			messageCheckJob.addJobChangeListener(new JobChangeAdapter() {
-				@Override
-				public void done(IJobChangeEvent event) {
-					if (messageCheckJob != null) {
-						messageCheckJob.schedule(RECHECK_DELAY);
-					}
-				}
-			});
-		}
-		if (checktime == 0) {
-			messageCheckJob.schedule(START_DELAY);
-		} else {
-			long nextCheckTime = checktime + RECHECK_DELAY;
-			long now = System.currentTimeMillis();
-			if (nextCheckTime < now) {
-				messageCheckJob.schedule(START_DELAY);
-			} else if (nextCheckTime > now) {
-				if (nextCheckTime - now < START_DELAY) {
-					messageCheckJob.schedule(START_DELAY);
-				} else {
-					messageCheckJob.schedule(nextCheckTime - now);
-				}
+		FeedScheduler scheduler = FeedScheduler.getDefault();
+		synchronized (scheduler) {
+			if (!scheduler.getFeeds().contains(this)) {
+				scheduler.add(this);
 			}
 		}
 	}
 
 	public void stop() {
-		if (messageCheckJob != null) {
-			messageCheckJob.cancel();
-			messageCheckJob = null;
-		}
+		FeedScheduler.getDefault().remove(this);
 
 		final ServiceMessageEvent event = new ServiceMessageEvent(this, ServiceMessageEvent.Kind.STOP);
 
@@ -182,6 +194,8 @@ public class ServiceMessageManager {
 
 	public int refresh(IProgressMonitor monitor) {
 		int status = -1;
+		maxAge = -1;
+		retryAfter = -1;
 		List<? extends ServiceMessage> messages = null;
 		try {
 			HttpURLConnection connection = openConnection(url);
@@ -189,7 +203,8 @@ public class ServiceMessageManager {
 				try {
 					connection.setIfModifiedSince(Long.parseLong(lastModified));
 				} catch (NumberFormatException e) {
-					// ignore
+					// the value of a Last-Modified header
+					connection.setRequestProperty("If-Modified-Since", lastModified); //$NON-NLS-1$
 				}
 			}
 			if (eTag != null && eTag.length() > 0) {
@@ -200,6 +215,8 @@ public class ServiceMessageManager {
 				connection.connect();
 
 				status = connection.getResponseCode();
+				maxAge = NetUtil.getMaxAge(connection.getHeaderField("Cache-Control")); //$NON-NLS-1$
+				retryAfter = parseRetryAfter(connection);
 				if (status == HttpURLConnection.HTTP_OK && !monitor.isCanceled()) {
 					lastModified = connection.getHeaderField("Last-Modified"); //$NON-NLS-1$
 					eTag = connection.getHeaderField("ETag"); //$NON-NLS-1$
@@ -226,12 +243,34 @@ public class ServiceMessageManager {
 					"Http error retrieving service message.", e)); //$NON-NLS-1$
 		}
 
+		lastStatus = status;
 		if (messages != null && messages.size() > 0) {
 			notifyListeners(messages);
 		}
 		return status;
 	}
 
+	/**
+	 * Parses the <code>Retry-After</code> header which is either a number of seconds or a date.
+	 */
+	private long parseRetryAfter(HttpURLConnection connection) {
+		String value = connection.getHeaderField("Retry-After"); //$NON-NLS-1$
+		if (value == null) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(value.trim()) * 1000;
+		} catch (NumberFormatException e) {
+			// fall through
+		}
+		long date = connection.getHeaderFieldDate("Retry-After", 0); //$NON-NLS-1$
+		if (date > 0) {
+			long now = (connection.getDate() > 0) ? connection.getDate() : System.currentTimeMillis();
+			return Math.max(0, date - now);
+		}
+		return -1;
+	}
+
 	private HttpURLConnection openConnection(String url) throws IOException, MalformedURLException {
 		Proxy proxy = NetUtil.getProxyForUrl(url);
 		if (proxy != null) {
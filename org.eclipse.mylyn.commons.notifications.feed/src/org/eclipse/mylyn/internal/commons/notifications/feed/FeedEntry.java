@@ -66,6 +66,17 @@ public class FeedEntry extends ServiceMessage {
 	}
 
 	public List<String> getFilters(String key) {
+		return getFilters(source, key);
+	}
+
+	public String getFilter(String key) {
+		return getFilter(source, key);
+	}
+
+	/**
+	 * Returns the values of all filters of <code>source</code> with <code>key</code>.
+	 */
+	static List<String> getFilters(RSSItem source, String key) {
 		Assert.isNotNull(key);
 		List<String> result = new ArrayList<String>();
 
@@ -80,7 +91,10 @@ public class FeedEntry extends ServiceMessage {
 		return result;
 	}
 
-	public String getFilter(String key) {
+	/**
+	 * Returns the value of the first filter of <code>source</code> with <code>key</code>.
+	 */
+	static String getFilter(RSSItem source, String key) {
 		Assert.isNotNull(key);
 		if (source.getSubjects() != null) {
 			for (String subject : source.getSubjects()) {
@@ -93,7 +107,7 @@ public class FeedEntry extends ServiceMessage {
 		return null;
 	}
 
-	private String parseFilter(String key, String category) {
+	private static String parseFilter(String key, String category) {
 		if (category != null) {
 			int i = category.indexOf("="); //$NON-NLS-1$
 			if (i != -1) {
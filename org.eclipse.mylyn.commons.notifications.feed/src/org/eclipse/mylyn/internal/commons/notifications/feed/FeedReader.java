@@ -18,23 +18,80 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.notifications.core.IFilterable;
 import org.eclipse.mylyn.commons.notifications.core.NotificationEnvironment;
 
 /**
+ * Reads the items of an RSS feed. Items are streamed and matched against the notification environment as they are
+ * read, entries are only created for matching items.
+ * 
  * @author Steffen Pingel
  */
 public class FeedReader {
 
+	/**
+	 * Adapts an item to {@link IFilterable} for matching and creates the entry only when it is requested.
+	 */
+	private class ItemAdapter implements IAdaptable {
+
+		private final RSSItem item;
+
+		private FeedEntry entry;
+
+		public ItemAdapter(RSSItem item) {
+			this.item = item;
+		}
+
+		public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
+			if (adapter == IFilterable.class) {
+				return new IFilterable() {
+					public List<String> getFilters(String key) {
+						return FeedEntry.getFilters(item, key);
+					}
+
+					public String getFilter(String key) {
+						return FeedEntry.getFilter(item, key);
+					}
+				};
+			} else if (adapter == FeedEntry.class) {
+				return getEntry();
+			}
+			return null;
+		}
+
+		public FeedEntry getEntry() {
+			if (entry == null) {
+				entry = createEntry(item);
+			}
+			return entry;
+		}
+
+	}
+
+	private static final String NAMESPACE_DC = "http://purl.org/dc/elements/1.1/"; //$NON-NLS-1$
+
+	private static XMLInputFactory inputFactory;
+
+	private static synchronized XMLInputFactory getInputFactory() {
+		if (inputFactory == null) {
+			inputFactory = XMLInputFactory.newInstance();
+			inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+			inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		}
+		return inputFactory;
+	}
+
 	private final NotificationEnvironment environment;
 
 	private final List<FeedEntry> entries;
@@ -48,39 +105,32 @@ public class FeedReader {
 	}
 
 	public IStatus parse(InputStream in, IProgressMonitor monitor) {
-
+		XMLStreamReader reader = null;
 		try {
-			JAXBContext jc = com.sun.xml.bind.v2.ContextFactory.createContext(new Class[] { RSS.class }, null);
-			Unmarshaller unmarshaller = jc.createUnmarshaller();
-			JAXBElement<RSS> rss = unmarshaller.unmarshal(new StreamSource(in), RSS.class);
-
-			for (RSSItem rssItem : rss.getValue().getItems()) {
-				final FeedEntry entry = createEntry(rssItem);
-				if (environment.matches(new IAdaptable() {
-					public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
-						if (adapter == IFilterable.class) {
-							return new IFilterable() {
-								public List<String> getFilters(String key) {
-									return entry.getFilters(key);
-								}
-
-								public String getFilter(String key) {
-									return entry.getFilter(key);
-								}
-							};
-						} else if (adapter == FeedEntry.class) {
-							return entry;
-						}
-						return null;
+			reader = getInputFactory().createXMLStreamReader(in);
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT && "item".equals(reader.getLocalName())) { //$NON-NLS-1$
+					RSSItem item = parseItem(reader);
+					if (monitor != null && monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					ItemAdapter adapter = new ItemAdapter(item);
+					if (environment.matches(adapter, monitor)) {
+						entries.add(adapter.getEntry());
 					}
-				}, monitor)) {
-					entries.add(entry);
 				}
 			}
 			return Status.OK_STATUS;
 		} catch (Exception e) {
 			return new Status(IStatus.ERROR, INotificationsFeed.ID_PLUGIN, IStatus.ERROR, "Failed to parse RSS feed", e); //$NON-NLS-1$ 
 		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					//ignore
+				}
+			}
 			try {
 				in.close();
 			} catch (IOException e) {
@@ -89,6 +139,66 @@ public class FeedReader {
 		}
 	}
 
+	private RSSItem parseItem(XMLStreamReader reader) throws XMLStreamException {
+		RSSItem item = new RSSItem();
+		int event;
+		while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+			if (event != XMLStreamConstants.START_ELEMENT) {
+				continue;
+			}
+			String name = reader.getLocalName();
+			String namespace = reader.getNamespaceURI();
+			if (NAMESPACE_DC.equals(namespace)) {
+				if ("creator".equals(name)) { //$NON-NLS-1$
+					item.setCreator(readText(reader));
+				} else if ("subject".equals(name)) { //$NON-NLS-1$
+					item.getSubjects().add(readText(reader));
+				} else {
+					readText(reader);
+				}
+			} else if (namespace == null || namespace.length() == 0) {
+				if ("title".equals(name)) { //$NON-NLS-1$
+					item.setTitle(readText(reader));
+				} else if ("link".equals(name)) { //$NON-NLS-1$
+					item.setLink(readText(reader));
+				} else if ("pubDate".equals(name)) { //$NON-NLS-1$
+					item.setPubDate(readText(reader));
+				} else if ("description".equals(name)) { //$NON-NLS-1$
+					item.setDescription(readText(reader));
+				} else if ("guid".equals(name)) { //$NON-NLS-1$
+					item.setGuid(readText(reader));
+				} else if ("category".equals(name)) { //$NON-NLS-1$
+					item.getCategories().add(readText(reader));
+				} else {
+					readText(reader);
+				}
+			} else {
+				readText(reader);
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * Returns the text of the current element and advances to its end tag. Text of nested elements is ignored.
+	 */
+	private String readText(XMLStreamReader reader) throws XMLStreamException {
+		StringBuilder text = new StringBuilder();
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			} else if (depth == 1 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+					|| event == XMLStreamConstants.SPACE)) {
+				text.append(reader.getText());
+			}
+		}
+		return text.toString();
+	}
+
 	protected FeedEntry createEntry(RSSItem rssItem) {
 		return new FeedEntry(eventId, rssItem);
 	}
@@ -15,8 +15,6 @@ package org.eclipse.mylyn.internal.commons.notifications.feed;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.annotation.XmlElement;
-
 public class RSSItem {
 
 	private String title;
@@ -38,7 +36,6 @@ public class RSSItem {
 	/**
 	 * @return the guid
 	 */
-	@XmlElement(name = "guid")
 	public String getGuid() {
 		return guid;
 	}
@@ -54,7 +51,6 @@ public class RSSItem {
 	/**
 	 * @return the categories
 	 */
-	@XmlElement(name = "category", nillable = true)
 	public List<String> getCategories() {
 		if (categories == null) {
 			synchronized (this) {
@@ -77,7 +73,6 @@ public class RSSItem {
 	/**
 	 * @return the link
 	 */
-	@XmlElement(name = "link")
 	public String getLink() {
 		return link;
 	}
@@ -93,7 +88,6 @@ public class RSSItem {
 	/**
 	 * @return the description
 	 */
-	@XmlElement(name = "description")
 	public String getDescription() {
 		return description;
 	}
@@ -109,7 +103,6 @@ public class RSSItem {
 	/**
 	 * @return the title
 	 */
-	@XmlElement(name = "title")
 	public String getTitle() {
 		return title;
 	}
@@ -125,7 +118,6 @@ public class RSSItem {
 	/**
 	 * @return the pubDate
 	 */
-	@XmlElement(name = "pubDate")
 	public String getPubDate() {
 		return pubDate;
 	}
@@ -141,7 +133,6 @@ public class RSSItem {
 	/**
 	 * @return the creator
 	 */
-	@XmlElement(name = "creator", namespace = "http://purl.org/dc/elements/1.1/")
 	public String getCreator() {
 		return creator;
 	}
@@ -157,7 +148,6 @@ public class RSSItem {
 	/**
 	 * @return the subject
 	 */
-	@XmlElement(name = "subject", namespace = "http://purl.org/dc/elements/1.1/")
 	public List<String> getSubjects() {
 		if (subjects == null) {
 			synchronized (this) {
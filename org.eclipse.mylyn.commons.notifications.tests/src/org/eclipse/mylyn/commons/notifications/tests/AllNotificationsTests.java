@@ -15,10 +15,13 @@ package org.eclipse.mylyn.commons.notifications.tests;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
+import org.eclipse.mylyn.commons.notifications.tests.core.NotificationCoalescerTest;
 import org.eclipse.mylyn.commons.notifications.tests.core.NotificationEnvironmentTest;
 import org.eclipse.mylyn.commons.notifications.tests.feed.FeedReaderTest;
+import org.eclipse.mylyn.commons.notifications.tests.feed.FeedSchedulerTest;
 import org.eclipse.mylyn.commons.notifications.tests.feed.ServiceMessageManagerTest;
 import org.eclipse.mylyn.commons.notifications.tests.feed.ServiceMessageTest;
+import org.eclipse.mylyn.commons.notifications.tests.ui.NotificationSinkDispatcherTest;
 
 /**
  * @author Steffen Pingel
@@ -28,9 +31,12 @@ public class AllNotificationsTests {
 	public static Test suite() {
 		TestSuite suite = new TestSuite(AllNotificationsTests.class.getName());
 		suite.addTestSuite(NotificationEnvironmentTest.class);
+		suite.addTestSuite(NotificationCoalescerTest.class);
 		suite.addTestSuite(FeedReaderTest.class);
+		suite.addTestSuite(FeedSchedulerTest.class);
 		suite.addTestSuite(ServiceMessageManagerTest.class);
 		suite.addTestSuite(ServiceMessageTest.class);
+		suite.addTestSuite(NotificationSinkDispatcherTest.class);
 		return suite;
 	}
 
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
+import org.eclipse.mylyn.commons.notifications.core.NotificationCoalescer;
+import org.eclipse.mylyn.commons.notifications.core.NotificationCoalescer.Batch;
+
+public class NotificationCoalescerTest extends TestCase {
+
+	private NotificationCoalescer coalescer;
+
+	@Override
+	protected void setUp() throws Exception {
+		coalescer = new NotificationCoalescer(NotificationCoalescer.EVENT_ID);
+		coalescer.setQuietPeriod(1000);
+		coalescer.setWindow(5000);
+		coalescer.setMaxBatchesPerMinute(2);
+	}
+
+	public void testReleaseEmpty() {
+		assertEquals(-1, coalescer.getDelay(0));
+		assertNull(coalescer.release(0));
+	}
+
+	public void testCollapseByEventId() {
+		TestNotification a1 = new TestNotification("a", 1);
+		TestNotification b1 = new TestNotification("b", 2);
+		TestNotification a2 = new TestNotification("a", 3);
+		coalescer.add(Arrays.asList(a1, b1, a2), 0);
+		assertEquals(3, coalescer.getPendingCount());
+
+		Batch batch = coalescer.release(0);
+		assertEquals(Arrays.<AbstractNotification> asList(a2, b1), batch.getNotifications());
+		assertEquals(3, batch.getNotificationCount());
+		assertEquals(1, batch.getOverflowCount());
+		assertEquals(0, coalescer.getPendingCount());
+	}
+
+	public void testCollapseByToken() {
+		coalescer = new NotificationCoalescer(NotificationCoalescer.TOKEN);
+		Object token = new Object();
+		coalescer.add(Arrays.asList(new TestNotification("a", 1, token), new TestNotification("b", 2, token),
+				new TestNotification("c", 3), new TestNotification("c", 4)), 0);
+
+		Batch batch = coalescer.release(0);
+		assertEquals(3, batch.getNotifications().size());
+		assertEquals(4, batch.getNotificationCount());
+	}
+
+	public void testMaxEntries() {
+		coalescer = new NotificationCoalescer(NotificationCoalescer.NOTIFICATION);
+		coalescer.setMaxEntries(2);
+		for (int i = 0; i < 5; i++) {
+			coalescer.add(Collections.singletonList(new TestNotification("a", i)), i);
+		}
+
+		Batch batch = coalescer.release(5);
+		assertEquals(2, batch.getNotifications().size());
+		assertEquals(3, batch.getOverflowCount());
+	}
+
+	public void testOverflowTokens() {
+		coalescer.setMaxEntries(2);
+		coalescer.add(Arrays.asList(new TestNotification("a", 1, "a1"), new TestNotification("b", 2, "b1"),
+				new TestNotification("a", 3, "a2"), new TestNotification("c", 4, "c1"), new TestNotification("c", 5)),
+				0);
+
+		Batch batch = coalescer.release(0);
+		assertEquals(3, batch.getOverflowCount());
+		assertEquals(new HashSet<Object>(Arrays.asList("a1", "c1")), batch.getOverflowTokens());
+
+		coalescer.add(Collections.singletonList(new TestNotification("d", 6, "d1")), 6);
+		assertEquals(Collections.emptySet(), coalescer.release(6).getOverflowTokens());
+	}
+
+	public void testQuietPeriod() {
+		add("a", 0);
+		assertEquals(1000, coalescer.getDelay(0));
+		add("a", 500);
+		assertEquals(1000, coalescer.getDelay(500));
+		assertEquals(0, coalescer.getDelay(1500));
+	}
+
+	public void testWindowLimitsDelay() {
+		for (long time = 0; time <= 4500; time += 500) {
+			add("a", time);
+		}
+		assertEquals(500, coalescer.getDelay(4500));
+		assertEquals(0, coalescer.getDelay(5000));
+	}
+
+	public void testRateLimit() {
+		add("a", 0);
+		assertNotNull(coalescer.release(1000));
+		add("a", 2000);
+		assertNotNull(coalescer.release(3000));
+
+		add("a", 4000);
+		assertEquals(56000, coalescer.getDelay(5000));
+		assertEquals(0, coalescer.getDelay(61000));
+	}
+
+	public void testStorm() {
+		int popups = 0;
+		long now = 0;
+		int released = 0;
+		for (int i = 0; i < 10000; i++) {
+			now = i * 10;
+			long delay = coalescer.getDelay(now);
+			if (delay == 0) {
+				Batch batch = coalescer.release(now);
+				released += batch.getNotificationCount();
+				assertTrue(batch.getNotifications().size() <= 10);
+				popups++;
+			}
+			add("event" + (i % 10), now);
+		}
+		now += coalescer.getDelay(now);
+		released += coalescer.release(now).getNotificationCount();
+		popups++;
+
+		assertEquals(10000, released);
+		// 100 seconds of notifications allow at most 2 popups per minute
+		assertTrue("Expected at most 5 popups, got " + popups, popups <= 5);
+	}
+
+	private void add(String eventId, long time) {
+		List<TestNotification> notifications = Collections.singletonList(new TestNotification(eventId, time));
+		coalescer.add(notifications, time);
+	}
+
+}
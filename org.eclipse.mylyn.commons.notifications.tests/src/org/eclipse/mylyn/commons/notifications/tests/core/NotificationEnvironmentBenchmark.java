@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.notifications.core.IFilterable;
+import org.eclipse.mylyn.commons.notifications.core.NotificationEnvironment;
+
+/**
+ * Measures the cost of matching notifications against a {@link NotificationEnvironment} for feeds of increasing size.
+ * The cost per element is expected to remain constant as the number of elements grows. Run as a Java application;
+ * the argument is the size of the largest feed.
+ */
+public class NotificationEnvironmentBenchmark {
+
+	private static final int EXPRESSION_COUNT = 50;
+
+	private static final int ROUNDS = 5;
+
+	private static class Item implements IAdaptable, IFilterable {
+
+		private final Map<String, String> filters = new HashMap<String, String>();
+
+		public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
+			if (adapter == IFilterable.class) {
+				return this;
+			}
+			return null;
+		}
+
+		public String getFilter(String key) {
+			return filters.get(key);
+		}
+
+		public List<String> getFilters(String key) {
+			String value = filters.get(key);
+			return (value != null) ? Collections.singletonList(value) : Collections.<String> emptyList();
+		}
+
+	}
+
+	public static void main(String[] args) {
+		int maxSize = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+
+		NotificationEnvironment environment = new NotificationEnvironment() {
+			@Override
+			public Set<String> getInstalledFeatures(IProgressMonitor monitor) {
+				return Collections.singleton("org.eclipse.mylyn"); //$NON-NLS-1$
+			}
+		};
+		// warm up
+		List<Item> warmUpItems = createItems(10000);
+		for (int round = 0; round < ROUNDS; round++) {
+			runMatches(environment, warmUpItems, false);
+			runMatchAll(environment, warmUpItems, false);
+		}
+
+		for (int size = 100; size <= maxSize; size *= 10) {
+			List<Item> items = createItems(size);
+			for (int round = 0; round < ROUNDS; round++) {
+				boolean report = round == ROUNDS - 1;
+				runMatches(environment, items, report);
+				runMatchAll(environment, items, report);
+			}
+		}
+	}
+
+	private static void runMatches(NotificationEnvironment environment, List<Item> items, boolean report) {
+		long start = System.nanoTime();
+		int count = 0;
+		for (Item item : items) {
+			if (environment.matches(item, null)) {
+				count++;
+			}
+		}
+		print(report, "matches", items.size(), count, start); //$NON-NLS-1$
+	}
+
+	private static void runMatchAll(NotificationEnvironment environment, List<Item> items, boolean report) {
+		long start = System.nanoTime();
+		int count = environment.matchAll(items, null).size();
+		print(report, "matchAll", items.size(), count, start); //$NON-NLS-1$
+	}
+
+	private static void print(boolean report, String name, int size, int count, long start) {
+		if (report) {
+			long elapsed = System.nanoTime() - start;
+			System.out.println(String.format("%-9s %7d elements, %7d matched, %8.1f ns/element", name, size, count, //$NON-NLS-1$
+					(double) elapsed / size));
+		}
+	}
+
+	private static List<Item> createItems(int count) {
+		Random random = new Random(1);
+		List<Item> items = new ArrayList<Item>(count);
+		for (int i = 0; i < count; i++) {
+			Item item = new Item();
+			int expression = random.nextInt(EXPRESSION_COUNT);
+			item.filters.put("frameworkVersion", "[" + expression + ".0.0,100.0.0)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			item.filters.put("runtimeVersion", "[1." + expression + ".0,2.0.0)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			item.filters.put("filter", "(osgi.os=os" + expression + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (random.nextBoolean()) {
+				item.filters.put("requires", "org.eclipse.mylyn"); //$NON-NLS-1$ //$NON-NLS-2$
+			} else {
+				item.filters.put("conflicts", "org.eclipse.cdt"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			items.add(item);
+		}
+		return items;
+	}
+
+}
@@ -12,6 +12,8 @@
 
 package org.eclipse.mylyn.commons.notifications.tests.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -73,6 +75,10 @@ public class NotificationEnvironmentTest extends TestCase {
 
 	Set<String> installedFeatures;
 
+	int installedFeaturesCount;
+
+	int platformVersionCount;
+
 	@Override
 	protected void setUp() throws Exception {
 		installedFeatures = new HashSet<String>();
@@ -80,8 +86,15 @@ public class NotificationEnvironmentTest extends TestCase {
 		environment = new NotificationEnvironment() {
 			@Override
 			public Set<String> getInstalledFeatures(IProgressMonitor monitor) {
+				installedFeaturesCount++;
 				return installedFeatures;
 			}
+
+			@Override
+			public Version getPlatformVersion() {
+				platformVersionCount++;
+				return super.getPlatformVersion();
+			}
 		};
 	}
 
@@ -162,4 +175,52 @@ public class NotificationEnvironmentTest extends TestCase {
 		assertTrue(environment.matches(new StubEntry(values), null));
 	}
 
+	public void testMatchesInvalidExpressions() {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("frameworkVersion", "invalid");
+		values.put("filter", "(invalid");
+		assertTrue(environment.matches(new StubEntry(values), null));
+		assertTrue(environment.matches(new StubEntry(values), null));
+	}
+
+	public void testMatchAll() {
+		Map<String, String> values1 = new HashMap<String, String>();
+		values1.put("requires", "org.eclipse.mylyn");
+		Map<String, String> values2 = new HashMap<String, String>();
+		values2.put("frameworkVersion", "[1.0.0,2.0.0)");
+		Map<String, String> values3 = new HashMap<String, String>();
+		values3.put("conflicts", "org.eclipse.cdt");
+		StubEntry entry1 = new StubEntry(values1);
+		StubEntry entry2 = new StubEntry(values2);
+		StubEntry entry3 = new StubEntry(values3);
+		installedFeatures.add("org.eclipse.mylyn");
+
+		List<StubEntry> result = environment.matchAll(Arrays.asList(entry1, entry2, entry3), null);
+		assertEquals(Arrays.asList(entry1, entry3), result);
+		assertEquals(1, installedFeaturesCount);
+	}
+
+	public void testMatchAllEmpty() {
+		assertEquals(Collections.emptyList(), environment.matchAll(new ArrayList<IFilterable>(), null));
+		assertEquals(0, installedFeaturesCount);
+	}
+
+	public void testEnvironmentRecomputedWhenInstalledFeaturesChange() {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("requires", "org.eclipse.mylyn");
+		values.put("platformVersion", "[0.0.0,10.0.0)");
+		environment.matches(new StubEntry(values), null);
+		environment.matches(new StubEntry(values), null);
+		assertEquals(1, platformVersionCount);
+
+		installedFeatures.add("org.eclipse.mylyn");
+		environment.matches(new StubEntry(values), null);
+		environment.matches(new StubEntry(values), null);
+		assertEquals(2, platformVersionCount);
+
+		environment.invalidate();
+		environment.matches(new StubEntry(values), null);
+		assertEquals(3, platformVersionCount);
+	}
+
 }
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.core;
+
+import java.util.Date;
+
+import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
+
+public class TestNotification extends AbstractNotification {
+
+	private final Date date;
+
+	private final Object token;
+
+	public TestNotification(String eventId, long time) {
+		this(eventId, time, null);
+	}
+
+	public TestNotification(String eventId, long time, Object token) {
+		super(eventId);
+		this.date = new Date(time);
+		this.token = token;
+	}
+
+	@Override
+	public Date getDate() {
+		return date;
+	}
+
+	@Override
+	public String getDescription() {
+		return "Description of " + getEventId();
+	}
+
+	@Override
+	public String getLabel() {
+		return getEventId();
+	}
+
+	@Override
+	public Object getToken() {
+		return token;
+	}
+
+	public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
+		return null;
+	}
+
+}
@@ -12,18 +12,23 @@
 
 package org.eclipse.mylyn.commons.notifications.tests.feed;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
 import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.notifications.core.NotificationEnvironment;
 import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
 import org.eclipse.mylyn.internal.commons.notifications.feed.FeedEntry;
 import org.eclipse.mylyn.internal.commons.notifications.feed.FeedReader;
+import org.eclipse.mylyn.internal.commons.notifications.feed.RSSItem;
 
 /**
  * @author Steffen Pingel
@@ -83,4 +88,42 @@ public class FeedReaderTest extends TestCase {
 		}
 	}
 
+	public void testParseCreatesEntriesForMatchingItemsOnly() throws Exception {
+		final List<RSSItem> items = new ArrayList<RSSItem>();
+		reader = new FeedReader("eventId", environment) {
+			@Override
+			protected FeedEntry createEntry(RSSItem rssItem) {
+				items.add(rssItem);
+				return super.createEntry(rssItem);
+			}
+		};
+		assertEquals(Status.OK_STATUS, reader.parse(
+				CommonTestUtil.getResource(FeedReaderTest.class, "testdata/FeedReaderTest/update1.xml"), null));
+		assertEquals(2, reader.getEntries().size());
+		assertEquals(2, items.size());
+		assertEquals("20110527-0000", items.get(0).getGuid());
+		assertEquals("Steffen Pingel", items.get(0).getCreator());
+		assertEquals(Collections.singletonList("Mylyn"), items.get(0).getCategories());
+		assertEquals("20110527-0001", items.get(1).getGuid());
+	}
+
+	public void testParseIgnoresUnknownElements() throws Exception {
+		String feed = "<rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\" xmlns:x=\"urn:x\"><channel>"
+				+ "<item><title>Title</title><x:title>Other</x:title><unknown><guid>nested</guid></unknown>"
+				+ "<guid>id</guid><pubDate>Fri, 27 May 2011 12:00:00 +0000</pubDate>"
+				+ "<description><![CDATA[<p>text</p>]]></description></item></channel></rss>";
+		assertEquals(Status.OK_STATUS, reader.parse(new ByteArrayInputStream(feed.getBytes("UTF-8")), null));
+		assertEquals(1, reader.getEntries().size());
+		FeedEntry entry = reader.getEntries().get(0);
+		assertEquals("Title", entry.getTitle());
+		assertEquals("id", entry.getId());
+		assertEquals("<p>text</p>", entry.getDescription());
+	}
+
+	public void testParseInvalidFeed() throws Exception {
+		IStatus status = reader.parse(new ByteArrayInputStream("<rss><channel><item>".getBytes("UTF-8")), null);
+		assertEquals(IStatus.ERROR, status.getSeverity());
+		assertEquals(0, reader.getEntries().size());
+	}
+
 }
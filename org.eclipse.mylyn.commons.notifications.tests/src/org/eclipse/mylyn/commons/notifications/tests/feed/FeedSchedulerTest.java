@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.feed;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.notifications.feed.FeedScheduler;
+import org.eclipse.mylyn.commons.notifications.feed.ServiceMessageManager;
+
+public class FeedSchedulerTest extends TestCase {
+
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+	private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+	private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+	private static final long LATENCY = TimeUnit.SECONDS.toMillis(2);
+
+	private static class VirtualClock {
+
+		long now;
+
+	}
+
+	/**
+	 * Simulates the responses of a server without making requests.
+	 */
+	private static class SimulatedFeed extends ServiceMessageManager {
+
+		private final VirtualClock clock;
+
+		private final List<Long> requestTimes = new ArrayList<Long>();
+
+		private String serverETag = "\"1\"";
+
+		private int downloadCount;
+
+		int status = -1;
+
+		long maxAge = -1;
+
+		long retryAfter = -1;
+
+		public SimulatedFeed(VirtualClock clock, String url) {
+			super(url, null, null, 0);
+			this.clock = clock;
+		}
+
+		@Override
+		public int refresh(IProgressMonitor monitor) {
+			requestTimes.add(clock.now);
+			maxAge = -1;
+			retryAfter = -1;
+			status = respond(clock.now);
+			return status;
+		}
+
+		protected int respond(long now) {
+			if (serverETag.equals(getETag())) {
+				return 304;
+			}
+			downloadCount++;
+			setValidators(null, serverETag);
+			return 200;
+		}
+
+		@Override
+		public int getLastStatus() {
+			return status;
+		}
+
+		@Override
+		public long getMaxAge() {
+			return maxAge;
+		}
+
+		@Override
+		public long getRetryAfter() {
+			return retryAfter;
+		}
+
+		public int getRequestCount() {
+			return requestTimes.size();
+		}
+
+	}
+
+	private static class Completion {
+
+		private final long time;
+
+		private final ServiceMessageManager feed;
+
+		public Completion(long time, ServiceMessageManager feed) {
+			this.time = time;
+			this.feed = feed;
+		}
+
+	}
+
+	private VirtualClock clock;
+
+	private FeedScheduler scheduler;
+
+	private int maxRunning;
+
+	private File stateFile;
+
+	@Override
+	protected void setUp() throws Exception {
+		clock = new VirtualClock();
+		clock.now = 1000 * DAY;
+		scheduler = new FeedScheduler(null, new Random(1));
+		stateFile = File.createTempFile("feeds", ".state");
+		stateFile.delete();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		stateFile.delete();
+	}
+
+	public void testSimulatedWeek() throws Exception {
+		List<SimulatedFeed> hourlyFeeds = new ArrayList<SimulatedFeed>();
+		for (int i = 0; i < 8; i++) {
+			SimulatedFeed feed = new SimulatedFeed(clock, "http://example.com/hourly" + i);
+			scheduler.add(feed, HOUR, clock.now);
+			hourlyFeeds.add(feed);
+		}
+		SimulatedFeed cachedFeed = new SimulatedFeed(clock, "http://example.com/cached") {
+			@Override
+			protected int respond(long now) {
+				maxAge = 6 * HOUR;
+				return super.respond(now);
+			}
+		};
+		scheduler.add(cachedFeed, HOUR, clock.now);
+		final long start = clock.now;
+		SimulatedFeed throttledFeed = new SimulatedFeed(clock, "http://example.com/throttled") {
+			@Override
+			protected int respond(long now) {
+				if (now < start + DAY) {
+					retryAfter = 4 * HOUR;
+					return 503;
+				}
+				return super.respond(now);
+			}
+		};
+		scheduler.add(throttledFeed, HOUR, clock.now);
+		SimulatedFeed failingFeed = new SimulatedFeed(clock, "http://example.com/failing") {
+			@Override
+			protected int respond(long now) {
+				return -1;
+			}
+		};
+		scheduler.add(failingFeed, FeedScheduler.DEFAULT_INTERVAL, clock.now);
+		SimulatedFeed defaultFeed = new SimulatedFeed(clock, "http://example.com/default");
+		scheduler.add(defaultFeed, FeedScheduler.DEFAULT_INTERVAL, clock.now);
+
+		simulate(start + 7 * DAY);
+
+		assertTrue(maxRunning <= FeedScheduler.DEFAULT_MAX_CONNECTIONS);
+		for (SimulatedFeed feed : hourlyFeeds) {
+			// one request per hour, delays are extended by up to 10%
+			assertTrue(feed.getRequestCount() + " requests", feed.getRequestCount() >= 150);
+			assertTrue(feed.getRequestCount() + " requests", feed.getRequestCount() <= 169);
+			assertEquals(1, feed.downloadCount);
+			assertMinimumDelay(feed, HOUR);
+		}
+		assertTrue(cachedFeed.getRequestCount() + " requests", cachedFeed.getRequestCount() >= 25);
+		assertTrue(cachedFeed.getRequestCount() + " requests", cachedFeed.getRequestCount() <= 29);
+		assertMinimumDelay(cachedFeed, 6 * HOUR);
+
+		List<Long> throttledTimes = throttledFeed.requestTimes;
+		for (int i = 1; i < throttledTimes.size() && throttledTimes.get(i - 1) < start + DAY; i++) {
+			assertTrue(throttledTimes.get(i) - throttledTimes.get(i - 1) >= 4 * HOUR);
+		}
+		assertTrue(throttledFeed.getRequestCount() < hourlyFeeds.get(0).getRequestCount());
+
+		// backoff of 15 and 30 minutes, 1, 2, 4, 8 and 16 hours, then daily
+		assertTrue(failingFeed.getRequestCount() + " requests", failingFeed.getRequestCount() >= 12);
+		assertTrue(failingFeed.getRequestCount() + " requests", failingFeed.getRequestCount() <= 14);
+		assertMinimumDelay(failingFeed, 15 * MINUTE);
+
+		assertEquals(1, defaultFeed.getRequestCount());
+	}
+
+	public void testMaxConnections() throws Exception {
+		List<SimulatedFeed> feeds = new ArrayList<SimulatedFeed>();
+		for (int i = 0; i < 5; i++) {
+			SimulatedFeed feed = new SimulatedFeed(clock, "http://example.com/feed" + i);
+			scheduler.add(feed, HOUR, clock.now);
+			feeds.add(feed);
+		}
+		clock.now += FeedScheduler.START_DELAY * 2;
+		List<ServiceMessageManager> due = scheduler.acquireDueFeeds(clock.now);
+		assertEquals(2, due.size());
+		assertEquals(-1, scheduler.getDelay(clock.now));
+		assertEquals(0, scheduler.acquireDueFeeds(clock.now).size());
+
+		due.get(0).refresh(null);
+		scheduler.completed(due.get(0), clock.now);
+		assertEquals(0, scheduler.getDelay(clock.now));
+		assertEquals(1, scheduler.acquireDueFeeds(clock.now).size());
+	}
+
+	public void testDelays() throws Exception {
+		scheduler.setJitter(0);
+		SimulatedFeed feed = new SimulatedFeed(clock, "http://example.com/feed");
+		scheduler.add(feed, HOUR, clock.now);
+		assertEquals(clock.now + FeedScheduler.START_DELAY, scheduler.getNextCheck(feed));
+
+		// success
+		assertEquals(HOUR, check(feed, 200, -1, -1));
+		assertEquals(3 * HOUR, check(feed, 304, 3 * HOUR, -1));
+		assertEquals(HOUR, check(feed, 304, HOUR / 2, -1));
+
+		// failures are retried sooner than the interval
+		assertEquals(15 * MINUTE, check(feed, 500, -1, -1));
+		assertEquals(30 * MINUTE, check(feed, -1, -1, -1));
+		assertEquals(HOUR, check(feed, -1, -1, -1));
+		assertEquals(HOUR, check(feed, -1, -1, -1));
+		assertEquals(3 * DAY, check(feed, 503, -1, 3 * DAY));
+		assertEquals(HOUR, check(feed, 200, -1, -1));
+
+		// server hints are limited
+		assertEquals(FeedScheduler.DEFAULT_MAX_DELAY, check(feed, 200, 365 * DAY, -1));
+	}
+
+	public void testBackoffForDefaultInterval() throws Exception {
+		scheduler.setJitter(0);
+		SimulatedFeed feed = new SimulatedFeed(clock, "http://example.com/feed");
+		scheduler.add(feed, FeedScheduler.DEFAULT_INTERVAL, clock.now);
+
+		long expected = FeedScheduler.DEFAULT_MIN_BACKOFF;
+		while (expected < FeedScheduler.DEFAULT_MAX_BACKOFF) {
+			assertEquals(expected, check(feed, -1, -1, -1));
+			expected *= 2;
+		}
+		assertEquals(FeedScheduler.DEFAULT_MAX_BACKOFF, check(feed, -1, -1, -1));
+		assertEquals(FeedScheduler.DEFAULT_MAX_BACKOFF, check(feed, 500, -1, -1));
+		assertEquals(FeedScheduler.DEFAULT_INTERVAL, check(feed, 404, -1, -1));
+	}
+
+	public void testPersistedState() throws Exception {
+		scheduler = new FeedScheduler(stateFile, new Random(1));
+		SimulatedFeed feed = new SimulatedFeed(clock, "http://example.com/feed");
+		scheduler.add(feed, 6 * HOUR, clock.now);
+		simulate(clock.now + HOUR);
+		assertEquals(1, feed.getRequestCount());
+		assertEquals(1, feed.downloadCount);
+		long nextCheck = scheduler.getNextCheck(feed);
+		scheduler.stop();
+
+		// restart
+		clock.now += HOUR;
+		scheduler = new FeedScheduler(stateFile, new Random(1));
+		SimulatedFeed restartedFeed = new SimulatedFeed(clock, "http://example.com/feed");
+		scheduler.add(restartedFeed, 6 * HOUR, clock.now);
+		assertEquals("\"1\"", restartedFeed.getETag());
+		assertEquals(nextCheck, scheduler.getNextCheck(restartedFeed));
+
+		simulate(nextCheck);
+		assertEquals(1, restartedFeed.getRequestCount());
+		assertEquals(0, restartedFeed.downloadCount);
+		assertEquals(304, restartedFeed.getLastStatus());
+	}
+
+	/**
+	 * Runs a check of <code>feed</code> with the given response and returns the delay until the next check.
+	 */
+	private long check(SimulatedFeed feed, int status, long maxAge, long retryAfter) {
+		clock.now = scheduler.getNextCheck(feed);
+		assertEquals(1, scheduler.acquireDueFeeds(clock.now).size());
+		feed.status = status;
+		feed.maxAge = maxAge;
+		feed.retryAfter = retryAfter;
+		scheduler.completed(feed, clock.now);
+		return scheduler.getNextCheck(feed) - clock.now;
+	}
+
+	/**
+	 * Advances the virtual clock from check to check until <code>end</code>. Each check takes a fixed time to
+	 * complete.
+	 */
+	private void simulate(long end) {
+		PriorityQueue<Completion> running = new PriorityQueue<Completion>(11, new Comparator<Completion>() {
+			public int compare(Completion o1, Completion o2) {
+				return (o1.time < o2.time) ? -1 : ((o1.time == o2.time) ? 0 : 1);
+			}
+		});
+		while (true) {
+			long delay = scheduler.getDelay(clock.now);
+			long nextCheck = (delay >= 0) ? clock.now + delay : Long.MAX_VALUE;
+			long nextCompletion = (running.isEmpty()) ? Long.MAX_VALUE : running.peek().time;
+			long next = Math.min(nextCheck, nextCompletion);
+			if (next > end) {
+				break;
+			}
+			clock.now = next;
+			if (nextCompletion <= next) {
+				scheduler.completed(running.poll().feed, clock.now);
+			} else {
+				for (ServiceMessageManager feed : scheduler.acquireDueFeeds(clock.now)) {
+					feed.refresh(null);
+					running.add(new Completion(clock.now + LATENCY, feed));
+				}
+				maxRunning = Math.max(maxRunning, running.size());
+			}
+		}
+	}
+
+	private void assertMinimumDelay(SimulatedFeed feed, long delay) {
+		for (int i = 1; i < feed.requestTimes.size(); i++) {
+			long actual = feed.requestTimes.get(i) - feed.requestTimes.get(i - 1);
+			assertTrue("Expected at least " + delay + " ms, got " + actual, actual >= delay);
+		}
+	}
+
+}
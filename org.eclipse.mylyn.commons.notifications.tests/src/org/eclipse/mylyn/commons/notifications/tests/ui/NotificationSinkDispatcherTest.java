@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
+import org.eclipse.mylyn.commons.notifications.tests.core.TestNotification;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationAction;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationModel;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationSinkDescriptor;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationSinkDispatcher;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationSinkDispatcher.OverflowPolicy;
+
+public class NotificationSinkDispatcherTest extends TestCase {
+
+	private static final String EVENT_ID = "org.eclipse.mylyn.commons.notifications.tests.event";
+
+	private static final String SINK_ID = "org.eclipse.mylyn.commons.notifications.tests.sink";
+
+	private static final long TIMEOUT = 10 * 1000;
+
+	private NotificationSinkDispatcher dispatcher;
+
+	private TestNotificationSink sink;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (sink != null) {
+			sink.release();
+		}
+		if (dispatcher != null) {
+			dispatcher.dispose();
+		}
+	}
+
+	public void testDeliver() throws Exception {
+		sink = new TestNotificationSink();
+		dispatcher = new NotificationSinkDispatcher(sink, 4, OverflowPolicy.DROP_OLDEST);
+		dispatcher.dispatch(notifications("a", "b"));
+		waitForDelivered(2);
+		assertEquals(1, sink.getEvents().size());
+		assertEquals(2, sink.getEvents().get(0).getNotifications().size());
+		assertEquals(0, dispatcher.getQueueDepth());
+		assertEquals(0, dispatcher.getDroppedCount());
+	}
+
+	public void testDropOldest() throws Exception {
+		startBlocked(2, OverflowPolicy.DROP_OLDEST);
+		dispatcher.dispatch(notifications("b"));
+		dispatcher.dispatch(notifications("c"));
+		dispatcher.dispatch(notifications("d"));
+		assertEquals(2, dispatcher.getQueueDepth());
+		assertEquals(1, dispatcher.getDroppedCount());
+
+		sink.release();
+		waitForDelivered(3);
+		assertEquals("a", getLabel(0));
+		assertEquals("c", getLabel(1));
+		assertEquals("d", getLabel(2));
+		assertEquals(2, dispatcher.getMaxQueueDepth());
+	}
+
+	public void testCoalesce() throws Exception {
+		startBlocked(1, OverflowPolicy.COALESCE);
+		List<AbstractNotification> notifications = notifications("b");
+		dispatcher.dispatch(notifications);
+		dispatcher.dispatch(notifications("c"));
+		dispatcher.dispatch(notifications);
+		assertEquals(1, dispatcher.getQueueDepth());
+		assertEquals(2, dispatcher.getCoalescedCount());
+
+		sink.release();
+		waitForDelivered(3);
+		assertEquals(2, sink.getEvents().size());
+		assertEquals(2, sink.getEvents().get(1).getNotifications().size());
+		assertEquals(0, dispatcher.getDroppedCount());
+	}
+
+	public void testBlock() throws Exception {
+		startBlocked(1, OverflowPolicy.BLOCK);
+		dispatcher.dispatch(notifications("b"));
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				dispatcher.dispatch(notifications("c"));
+			}
+		};
+		producer.start();
+		producer.join(200);
+		assertTrue("Expected producer to block", producer.isAlive());
+
+		sink.release();
+		producer.join(TIMEOUT);
+		assertFalse(producer.isAlive());
+		waitForDelivered(3);
+		assertEquals(0, dispatcher.getDroppedCount());
+	}
+
+	public void testBlockFallsBackIfCallerMayNotBlock() throws Exception {
+		sink = new TestNotificationSink(true);
+		dispatcher = new NotificationSinkDispatcher(sink, 1, OverflowPolicy.BLOCK) {
+			@Override
+			protected boolean canBlock() {
+				return false;
+			}
+		};
+		dispatcher.dispatch(notifications("a"));
+		assertTrue(sink.waitForStarted(TIMEOUT));
+		dispatcher.dispatch(notifications("b"));
+		dispatcher.dispatch(notifications("c"));
+		assertEquals(1, dispatcher.getQueueDepth());
+		assertEquals(1, dispatcher.getDroppedCount());
+	}
+
+	public void testDisposeReleasesBlockedCaller() throws Exception {
+		startBlocked(1, OverflowPolicy.BLOCK);
+		dispatcher.dispatch(notifications("b"));
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				dispatcher.dispatch(notifications("c"));
+			}
+		};
+		producer.start();
+		producer.join(200);
+		dispatcher.dispose();
+		producer.join(TIMEOUT);
+		assertFalse(producer.isAlive());
+		assertEquals(0, dispatcher.getQueueDepth());
+	}
+
+	public void testRoutingTable() {
+		NotificationModel model = new NotificationModel(null);
+		NotificationSinkDescriptor[] descriptors = model.getSinkDescriptors(EVENT_ID);
+		assertEquals(1, descriptors.length);
+		assertEquals(SINK_ID, descriptors[0].getId());
+		assertSame(descriptors, model.getSinkDescriptors(EVENT_ID));
+		assertEquals(0, model.getSinkDescriptors("unknown").length);
+
+		for (NotificationAction action : model.getNotificationHandler(EVENT_ID).getActions()) {
+			action.setSelected(false);
+		}
+		model.invalidateRoutingTable();
+		assertEquals(0, model.getSinkDescriptors(EVENT_ID).length);
+	}
+
+	private String getLabel(int index) {
+		return sink.getEvents().get(index).getNotifications().get(0).getLabel();
+	}
+
+	private List<AbstractNotification> notifications(String... labels) {
+		List<AbstractNotification> notifications = new ArrayList<AbstractNotification>(labels.length);
+		for (String label : labels) {
+			notifications.add(new TestNotification(label, System.currentTimeMillis()));
+		}
+		return notifications;
+	}
+
+	/**
+	 * Starts delivery of a first event and holds up the sink so that further events are queued.
+	 */
+	private void startBlocked(int capacity, OverflowPolicy policy) throws InterruptedException {
+		sink = new TestNotificationSink(true);
+		dispatcher = new NotificationSinkDispatcher(sink, capacity, policy) {
+			@Override
+			protected boolean canBlock() {
+				// the test may run on the display thread
+				return true;
+			}
+		};
+		dispatcher.dispatch(notifications("a"));
+		assertTrue(sink.waitForStarted(TIMEOUT));
+	}
+
+	private void waitForDelivered(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (dispatcher.getDeliveredCount() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, dispatcher.getDeliveredCount());
+	}
+
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
+import org.eclipse.mylyn.commons.notifications.core.NotificationCoalescer;
+import org.eclipse.mylyn.commons.notifications.core.NotificationSinkEvent;
+import org.eclipse.mylyn.commons.notifications.tests.core.TestNotification;
+import org.eclipse.mylyn.internal.commons.notifications.ui.popup.NotificationPopup;
+import org.eclipse.mylyn.internal.commons.notifications.ui.popup.PopupNotificationSink;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Replays synthetic notification storms against a simulated clock and counts the shells and controls that real
+ * {@link NotificationPopup}s create, once for a sink that debounces and displays every notification and once for the
+ * {@link PopupNotificationSink} that uses a {@link NotificationCoalescer}. Needs to run as a plug-in test on the
+ * workbench display thread and is not part of the test suite. The system property
+ * <code>notifications.storm.count</code> sets the number of notifications per storm.
+ */
+public class NotificationStormBenchmark extends TestCase {
+
+	private static final long DEBOUNCE_DELAY = 1000;
+
+	private static final int EVENT_IDS = 20;
+
+	private static class Result {
+
+		int popups;
+
+		int shells;
+
+		int controls;
+
+		int maxHeld;
+
+		long elapsed;
+
+	}
+
+	/**
+	 * Opens popups when they are due on the simulated clock rather than from the open job.
+	 */
+	private static class StormSink extends PopupNotificationSink {
+
+		long now;
+
+		@Override
+		protected long getCurrentTime() {
+			return now;
+		}
+
+		@Override
+		protected void scheduleOpen(long delay) {
+			// popups are opened by the benchmark
+		}
+
+		@Override
+		public boolean isAnimationsEnabled() {
+			return false;
+		}
+
+	}
+
+	private Display display;
+
+	private Set<Shell> initialShells;
+
+	@Override
+	protected void setUp() throws Exception {
+		display = PlatformUI.getWorkbench().getDisplay();
+		assertSame("Expected to run on the display thread", display, Display.getCurrent()); //$NON-NLS-1$
+		initialShells = new HashSet<Shell>(Arrays.asList(display.getShells()));
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		closePopups();
+	}
+
+	public void testStorms() {
+		int count = Integer.getInteger("notifications.storm.count", 10000); //$NON-NLS-1$
+
+		report("burst", createTimes(count, 0, 0), count); //$NON-NLS-1$
+		report("steady, 1 every 10 ms", createTimes(count, 10, 0), count); //$NON-NLS-1$
+		report("steady, 1 every 2 s", createTimes(count, 2000, 0), count); //$NON-NLS-1$
+		report("bursts of 100, 3 s apart", createTimes(count, 0, 100), count); //$NON-NLS-1$
+	}
+
+	private long[] createTimes(int count, long interval, int burstSize) {
+		long[] times = new long[count];
+		for (int i = 0; i < count; i++) {
+			times[i] = (burstSize > 0) ? (i / burstSize) * 3000 : i * interval;
+		}
+		return times;
+	}
+
+	private void report(String name, long[] times, int count) {
+		Result debounced = runDebounced(times);
+		Result coalesced = runCoalesced(times);
+		System.out.println(String.format("%-28s %6d notifications over %7d s", name, count, //$NON-NLS-1$
+				times[times.length - 1] / 1000));
+		print("debounced", debounced); //$NON-NLS-1$
+		print("coalesced", coalesced); //$NON-NLS-1$
+	}
+
+	private void print(String name, Result result) {
+		System.out.println(String.format("  %s: %6d popups %6d shells %8d controls %6d held %6d ms", name, //$NON-NLS-1$
+				result.popups, result.shells, result.controls, result.maxHeld, result.elapsed));
+	}
+
+	/**
+	 * Simulates a sink that restarts the open delay on every notification and displays all pending notifications.
+	 */
+	private Result runDebounced(long[] times) {
+		Result result = new Result();
+		long start = System.currentTimeMillis();
+		List<AbstractNotification> pending = new ArrayList<AbstractNotification>();
+		long due = 0;
+		for (int i = 0; i < times.length; i++) {
+			if (!pending.isEmpty() && due <= times[i]) {
+				openDebounced(result, pending);
+				pending = new ArrayList<AbstractNotification>();
+			}
+			pending.add(createNotification(i, times[i]));
+			result.maxHeld = Math.max(result.maxHeld, pending.size());
+			due = times[i] + DEBOUNCE_DELAY;
+		}
+		if (!pending.isEmpty()) {
+			openDebounced(result, pending);
+		}
+		closePopups();
+		result.elapsed = System.currentTimeMillis() - start;
+		return result;
+	}
+
+	private void openDebounced(Result result, List<AbstractNotification> notifications) {
+		closePopups();
+		Set<Shell> shells = getShells();
+		NotificationPopup popup = new NotificationPopup(display);
+		popup.setFadingEnabled(false);
+		Collections.sort(notifications);
+		popup.setContents(notifications);
+		popup.setBlockOnOpen(false);
+		popup.open();
+		count(result, shells);
+	}
+
+	private Result runCoalesced(long[] times) {
+		Result result = new Result();
+		long start = System.currentTimeMillis();
+		StormSink sink = new StormSink();
+		for (int i = 0; i < times.length; i++) {
+			release(sink, result, times[i]);
+			sink.now = times[i];
+			sink.notify(new NotificationSinkEvent(Collections.singletonList(createNotification(i, times[i]))));
+			result.maxHeld = Math.max(result.maxHeld, sink.getCoalescer().getPendingNotifications().size());
+		}
+		release(sink, result, Long.MAX_VALUE);
+		closePopups();
+		result.elapsed = System.currentTimeMillis() - start;
+		return result;
+	}
+
+	/**
+	 * Opens popups for batches that become due before <code>until</code>.
+	 */
+	private void release(StormSink sink, Result result, long until) {
+		long delay;
+		while ((delay = sink.getCoalescer().getDelay(sink.now)) >= 0 && sink.now + delay <= until) {
+			sink.now += delay;
+			Set<Shell> shells = getShells();
+			sink.showPopup();
+			count(result, shells);
+		}
+	}
+
+	private AbstractNotification createNotification(int i, long time) {
+		return new TestNotification("event" + (i % EVENT_IDS), time); //$NON-NLS-1$
+	}
+
+	private void count(Result result, Set<Shell> shells) {
+		while (display.readAndDispatch()) {
+		}
+		result.popups++;
+		for (Shell shell : display.getShells()) {
+			if (!shells.contains(shell)) {
+				result.shells++;
+				result.controls += countControls(shell);
+			}
+		}
+	}
+
+	private int countControls(Control control) {
+		int count = 1;
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				count += countControls(child);
+			}
+		}
+		return count;
+	}
+
+	private Set<Shell> getShells() {
+		return new HashSet<Shell>(Arrays.asList(display.getShells()));
+	}
+
+	private void closePopups() {
+		for (Shell shell : display.getShells()) {
+			if (!initialShells.contains(shell)) {
+				shell.dispose();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mylyn.commons.notifications.core.NotificationSink;
+import org.eclipse.mylyn.commons.notifications.core.NotificationSinkEvent;
+
+/**
+ * Records events and optionally holds up delivery until {@link #release()} is invoked.
+ */
+public class TestNotificationSink extends NotificationSink {
+
+	private final List<NotificationSinkEvent> events = new ArrayList<NotificationSinkEvent>();
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private final CountDownLatch released;
+
+	public TestNotificationSink() {
+		this(false);
+	}
+
+	public TestNotificationSink(boolean blocked) {
+		released = new CountDownLatch((blocked) ? 1 : 0);
+	}
+
+	@Override
+	public void notify(NotificationSinkEvent event) {
+		started.countDown();
+		try {
+			released.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (events) {
+			events.add(event);
+		}
+	}
+
+	public List<NotificationSinkEvent> getEvents() {
+		synchronized (events) {
+			return new ArrayList<NotificationSinkEvent>(events);
+		}
+	}
+
+	public void release() {
+		released.countDown();
+	}
+
+	/**
+	 * Waits until the sink has been invoked for the first time.
+	 */
+	public boolean waitForStarted(long timeout) throws InterruptedException {
+		return started.await(timeout, TimeUnit.MILLISECONDS);
+	}
+
+}
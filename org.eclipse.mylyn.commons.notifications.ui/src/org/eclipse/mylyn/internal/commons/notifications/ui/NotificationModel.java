@@ -16,6 +16,7 @@ package org.eclipse.mylyn.internal.commons.notifications.ui;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,15 +31,23 @@ import org.eclipse.ui.IMemento;
  */
 public class NotificationModel {
 
+	private static final NotificationSinkDescriptor[] NO_SINKS = new NotificationSinkDescriptor[0];
+
 	private boolean dirty;
 
 	private Map<String, NotificationHandler> handlerByEventId;
 
+	/**
+	 * Maps event ids to the sinks that are selected for the event. Computed on demand and discarded whenever the
+	 * handlers are modified.
+	 */
+	private volatile Map<String, NotificationSinkDescriptor[]> sinksByEventId;
+
 	public NotificationModel(IMemento memento) {
 		initialize(memento);
 	}
 
-	void initialize(IMemento memento) {
+	synchronized void initialize(IMemento memento) {
 		this.handlerByEventId = new HashMap<String, NotificationHandler>();
 		// We need the handlerByEventId map to be populated early
 		for (NotificationCategory category : getCategories()) {
@@ -49,6 +58,7 @@ public class NotificationModel {
 		if (memento != null) {
 			load(memento);
 		}
+		this.sinksByEventId = null;
 	}
 
 	public Collection<NotificationCategory> getCategories() {
@@ -59,11 +69,52 @@ public class NotificationModel {
 		return handlerByEventId.get(eventId);
 	}
 
-	public NotificationHandler getOrCreateNotificationHandler(NotificationEvent event) {
+	/**
+	 * Returns the descriptors of the sinks that are selected for <code>eventId</code>. The returned array is shared
+	 * and must not be modified.
+	 */
+	public NotificationSinkDescriptor[] getSinkDescriptors(String eventId) {
+		Map<String, NotificationSinkDescriptor[]> table = sinksByEventId;
+		if (table == null) {
+			table = computeRoutingTable();
+		}
+		NotificationSinkDescriptor[] descriptors = table.get(eventId);
+		return (descriptors != null) ? descriptors : NO_SINKS;
+	}
+
+	private synchronized Map<String, NotificationSinkDescriptor[]> computeRoutingTable() {
+		if (sinksByEventId == null) {
+			Map<String, NotificationSinkDescriptor[]> table = new HashMap<String, NotificationSinkDescriptor[]>();
+			for (Entry<String, NotificationHandler> entry : handlerByEventId.entrySet()) {
+				List<NotificationSinkDescriptor> descriptors = new ArrayList<NotificationSinkDescriptor>();
+				for (NotificationAction action : entry.getValue().getActions()) {
+					if (action.isSelected()) {
+						descriptors.add(action.getSinkDescriptor());
+					}
+				}
+				if (!descriptors.isEmpty()) {
+					table.put(entry.getKey(), descriptors.toArray(new NotificationSinkDescriptor[descriptors.size()]));
+				}
+			}
+			sinksByEventId = Collections.unmodifiableMap(table);
+		}
+		return sinksByEventId;
+	}
+
+	/**
+	 * Discards the cached mapping of events to sinks. Needs to be invoked when the selection state of actions is
+	 * changed directly.
+	 */
+	public void invalidateRoutingTable() {
+		sinksByEventId = null;
+	}
+
+	public synchronized NotificationHandler getOrCreateNotificationHandler(NotificationEvent event) {
 		NotificationHandler handler = getNotificationHandler(event.getId());
 		if (handler == null) {
 			handler = new NotificationHandler(event, getActions(event));
 			handlerByEventId.put(event.getId(), handler);
+			sinksByEventId = null;
 		}
 		return handler;
 	}
@@ -165,8 +216,9 @@ public class NotificationModel {
 		}
 	}
 
-	public void setNotificationHandler(String eventId, NotificationHandler handler) {
+	public synchronized void setNotificationHandler(String eventId, NotificationHandler handler) {
 		handlerByEventId.put(eventId, handler);
+		sinksByEventId = null;
 		setDirty(true);
 	}
 
@@ -15,9 +15,12 @@ package org.eclipse.mylyn.internal.commons.notifications.ui;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -27,6 +30,7 @@ import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
 import org.eclipse.mylyn.commons.notifications.core.INotificationService;
 import org.eclipse.mylyn.commons.notifications.core.NotificationSink;
 import org.eclipse.mylyn.commons.notifications.core.NotificationSinkEvent;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationSinkDispatcher.OverflowPolicy;
 
 /**
  * @author Steffen Pingel
@@ -34,6 +38,19 @@ import org.eclipse.mylyn.commons.notifications.core.NotificationSinkEvent;
  */
 public class NotificationService implements INotificationService {
 
+	public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+	public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.COALESCE;
+
+	private final Map<NotificationSink, NotificationSinkDispatcher> dispatcherBySink =
+			new IdentityHashMap<NotificationSink, NotificationSinkDispatcher>();
+
+	private volatile boolean asynchronous;
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+
 	public NotificationService() {
 	}
 
@@ -49,44 +66,118 @@ public class NotificationService implements INotificationService {
 		}
 		// For each sink assemble a list of notifications that are not blocked
 		// and pass these along.
-		HashMap<NotificationSink, ArrayList<AbstractNotification>> filtered = new HashMap<NotificationSink, ArrayList<AbstractNotification>>();
+		NotificationModel model = NotificationsPlugin.getDefault().getModel();
+		HashMap<NotificationSinkDescriptor, ArrayList<AbstractNotification>> filtered = new HashMap<NotificationSinkDescriptor, ArrayList<AbstractNotification>>();
 		for (AbstractNotification notification : notifications) {
-			String id = notification.getEventId();
-			NotificationHandler handler = NotificationsPlugin.getDefault().getModel().getNotificationHandler(id);
-			if (handler != null) {
-				List<NotificationAction> actions = handler.getActions();
-				for (NotificationAction action : actions) {
-					if (action.isSelected()) {
-						NotificationSink sink = action.getSinkDescriptor().getSink();
-						if (sink != null) {
-							ArrayList<AbstractNotification> list = filtered.get(sink);
-							if (list == null) {
-								list = new ArrayList<AbstractNotification>();
-								filtered.put(sink, list);
-							}
-							list.add(notification);
-						}
-					}
+			for (NotificationSinkDescriptor descriptor : model.getSinkDescriptors(notification.getEventId())) {
+				ArrayList<AbstractNotification> list = filtered.get(descriptor);
+				if (list == null) {
+					list = new ArrayList<AbstractNotification>();
+					filtered.put(descriptor, list);
 				}
+				list.add(notification);
 			}
 		}
 		// Go through all the sinks that have notifications to display and let
 		// them do their job.
-		for (Entry<NotificationSink, ArrayList<AbstractNotification>> entry : filtered.entrySet()) {
-			final NotificationSink sink = entry.getKey();
-			final NotificationSinkEvent event = new NotificationSinkEvent(new ArrayList<AbstractNotification>(
-					entry.getValue()));
-			SafeRunner.run(new ISafeRunnable() {
-				public void handleException(Throwable e) {
-					StatusHandler.log(new Status(IStatus.WARNING, NotificationsPlugin.ID_PLUGIN, "Sink failed: " //$NON-NLS-1$
-							+ sink.getClass(), e));
+		for (Entry<NotificationSinkDescriptor, ArrayList<AbstractNotification>> entry : filtered.entrySet()) {
+			NotificationSink sink = entry.getKey().getSink();
+			if (sink != null) {
+				if (asynchronous) {
+					getDispatcher(sink).dispatch(entry.getValue());
+				} else {
+					notify(sink, new NotificationSinkEvent(new ArrayList<AbstractNotification>(entry.getValue())));
 				}
+			}
+		}
+	}
 
-				public void run() throws Exception {
-					sink.notify(event);
-				}
-			});
+	private void notify(final NotificationSink sink, final NotificationSinkEvent event) {
+		SafeRunner.run(new ISafeRunnable() {
+			public void handleException(Throwable e) {
+				StatusHandler.log(new Status(IStatus.WARNING, NotificationsPlugin.ID_PLUGIN, "Sink failed: " //$NON-NLS-1$
+						+ sink.getClass(), e));
+			}
+
+			public void run() throws Exception {
+				sink.notify(event);
+			}
+		});
+	}
+
+	/**
+	 * Returns the dispatcher that queues notifications for <code>sink</code> when notifications are delivered
+	 * asynchronously.
+	 */
+	public synchronized NotificationSinkDispatcher getDispatcher(NotificationSink sink) {
+		NotificationSinkDispatcher dispatcher = dispatcherBySink.get(sink);
+		if (dispatcher == null) {
+			dispatcher = new NotificationSinkDispatcher(sink, queueCapacity, overflowPolicy);
+			dispatcherBySink.put(sink, dispatcher);
+		}
+		return dispatcher;
+	}
+
+	/**
+	 * Returns the dispatchers that have been created for sinks, e.g. to inspect their queue depth and latency.
+	 */
+	public synchronized List<NotificationSinkDispatcher> getDispatchers() {
+		return new ArrayList<NotificationSinkDispatcher>(dispatcherBySink.values());
+	}
+
+	public boolean isAsynchronous() {
+		return asynchronous;
+	}
+
+	/**
+	 * If <code>asynchronous</code> is true, each sink is notified from its own background job rather than the thread
+	 * that invokes {@link #notify(List)}. Events that are already queued are still delivered when switching back to
+	 * synchronous delivery.
+	 */
+	public void setAsynchronous(boolean asynchronous) {
+		this.asynchronous = asynchronous;
+	}
+
+	public synchronized int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public synchronized void setQueueCapacity(int queueCapacity) {
+		Assert.isLegal(queueCapacity > 0);
+		this.queueCapacity = queueCapacity;
+		for (NotificationSinkDispatcher dispatcher : dispatcherBySink.values()) {
+			dispatcher.setCapacity(queueCapacity);
+		}
+	}
+
+	public synchronized OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public synchronized void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.isNotNull(overflowPolicy);
+		this.overflowPolicy = overflowPolicy;
+		for (NotificationSinkDispatcher dispatcher : dispatcherBySink.values()) {
+			dispatcher.setOverflowPolicy(overflowPolicy);
+		}
+	}
+
+	/**
+	 * Disposes the dispatchers of all sinks since the contributed sinks have been re-read. Events that are still queued
+	 * are discarded, new dispatchers are created for the current sinks on demand.
+	 */
+	synchronized void sinksChanged() {
+		dispose();
+	}
+
+	/**
+	 * Discards pending events of all dispatchers.
+	 */
+	public synchronized void dispose() {
+		for (NotificationSinkDispatcher dispatcher : dispatcherBySink.values()) {
+			dispatcher.dispose();
 		}
+		dispatcherBySink.clear();
 	}
 
 }
@@ -32,7 +32,7 @@ public class NotificationSinkDescriptor extends NotificationElement {
 		super(element);
 	}
 
-	public NotificationSink getSink() {
+	public synchronized NotificationSink getSink() {
 		if (sink != null || status != null) {
 			return sink;
 		}
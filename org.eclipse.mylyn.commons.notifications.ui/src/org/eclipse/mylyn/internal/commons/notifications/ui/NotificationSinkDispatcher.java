@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.notifications.ui;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.ISafeRunnable;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
+import org.eclipse.mylyn.commons.notifications.core.NotificationSink;
+import org.eclipse.mylyn.commons.notifications.core.NotificationSinkEvent;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Delivers notifications to a single {@link NotificationSink} from a background job so that a slow sink does not stall
+ * the caller or other sinks. Pending events are held in a bounded queue, the {@link OverflowPolicy} determines how new
+ * events are admitted when the queue is full.
+ */
+public class NotificationSinkDispatcher {
+
+	public enum OverflowPolicy {
+		/** Discards the oldest pending event to make room for the new event. */
+		DROP_OLDEST,
+		/** Merges the new notifications into the most recently queued event. */
+		COALESCE,
+		/**
+		 * Blocks the caller until the sink has taken an event off the queue, but no longer than
+		 * {@link NotificationSinkDispatcher#MAX_BLOCK_TIME}. Callers that must not block, such as the display thread,
+		 * fall back to {@link #DROP_OLDEST}.
+		 */
+		BLOCK
+	}
+
+	private static class PendingEvent {
+
+		private final List<AbstractNotification> notifications;
+
+		private final long enqueueTime;
+
+		public PendingEvent(List<? extends AbstractNotification> notifications) {
+			this.notifications = new ArrayList<AbstractNotification>(notifications);
+			this.enqueueTime = System.nanoTime();
+		}
+
+	}
+
+	/**
+	 * The longest time in milliseconds that {@link OverflowPolicy#BLOCK} waits for space in the queue before the oldest
+	 * event is dropped.
+	 */
+	public static final long MAX_BLOCK_TIME = 5000;
+
+	private final NotificationSink sink;
+
+	private final LinkedList<PendingEvent> queue = new LinkedList<PendingEvent>();
+
+	private final Job job;
+
+	private int capacity;
+
+	private OverflowPolicy overflowPolicy;
+
+	private boolean disposed;
+
+	private int maxQueueDepth;
+
+	private long deliveredCount;
+
+	private long deliveredEvents;
+
+	private long droppedCount;
+
+	private long coalescedCount;
+
+	private long totalLatency;
+
+	private long maxLatency;
+
+	public NotificationSinkDispatcher(NotificationSink sink, int capacity, OverflowPolicy overflowPolicy) {
+		Assert.isNotNull(sink);
+		Assert.isNotNull(overflowPolicy);
+		Assert.isLegal(capacity > 0);
+		this.sink = sink;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.job = new Job("Notification Dispatcher") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				PendingEvent pending;
+				while ((pending = poll()) != null) {
+					deliver(pending);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		this.job.setSystem(true);
+	}
+
+	public NotificationSink getSink() {
+		return sink;
+	}
+
+	/**
+	 * Queues <code>notifications</code> for delivery to the sink. Depending on the overflow policy this may discard
+	 * pending events or block the caller if the queue is full.
+	 */
+	public void dispatch(List<? extends AbstractNotification> notifications) {
+		synchronized (this) {
+			if (disposed) {
+				return;
+			}
+			if (queue.size() >= capacity) {
+				switch (overflowPolicy) {
+				case COALESCE:
+					List<AbstractNotification> tail = queue.getLast().notifications;
+					for (AbstractNotification notification : notifications) {
+						if (!tail.contains(notification)) {
+							tail.add(notification);
+						}
+					}
+					coalescedCount += notifications.size();
+					return;
+				case BLOCK:
+					if (canBlock()) {
+						long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_BLOCK_TIME);
+						long remaining;
+						while (queue.size() >= capacity && !disposed
+								&& (remaining = deadline - System.nanoTime()) > 0) {
+							try {
+								TimeUnit.NANOSECONDS.timedWait(this, remaining);
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+								droppedCount += notifications.size();
+								return;
+							}
+						}
+						if (disposed) {
+							return;
+						}
+					}
+					// fall through to make room if the caller may not block or the sink did not catch up in time
+				case DROP_OLDEST:
+					while (queue.size() >= capacity) {
+						droppedCount += queue.removeFirst().notifications.size();
+					}
+					break;
+				}
+			}
+			queue.add(new PendingEvent(notifications));
+			maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+		}
+		job.schedule();
+	}
+
+	/**
+	 * Returns true, if the calling thread may be blocked by {@link OverflowPolicy#BLOCK}. Threads that run an SWT
+	 * display are never blocked since the sink may need the display to process events.
+	 */
+	protected boolean canBlock() {
+		return Display.getCurrent() == null;
+	}
+
+	private synchronized PendingEvent poll() {
+		PendingEvent pending = queue.poll();
+		if (pending != null) {
+			// wake up producers waiting for space in the queue
+			notifyAll();
+		}
+		return pending;
+	}
+
+	private void deliver(PendingEvent pending) {
+		final NotificationSinkEvent event = new NotificationSinkEvent(pending.notifications);
+		SafeRunner.run(new ISafeRunnable() {
+			public void handleException(Throwable e) {
+				StatusHandler.log(new Status(IStatus.WARNING, NotificationsPlugin.ID_PLUGIN, "Sink failed: " //$NON-NLS-1$
+						+ sink.getClass(), e));
+			}
+
+			public void run() throws Exception {
+				sink.notify(event);
+			}
+		});
+		long latency = System.nanoTime() - pending.enqueueTime;
+		synchronized (this) {
+			deliveredCount += pending.notifications.size();
+			deliveredEvents++;
+			totalLatency += latency;
+			maxLatency = Math.max(maxLatency, latency);
+		}
+	}
+
+	/**
+	 * Discards all pending events and releases blocked callers. Subsequent calls to {@link #dispatch(List)} are
+	 * ignored.
+	 */
+	public void dispose() {
+		synchronized (this) {
+			disposed = true;
+			queue.clear();
+			notifyAll();
+		}
+		job.cancel();
+	}
+
+	public synchronized int getCapacity() {
+		return capacity;
+	}
+
+	public synchronized void setCapacity(int capacity) {
+		Assert.isLegal(capacity > 0);
+		this.capacity = capacity;
+		notifyAll();
+	}
+
+	public synchronized OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public synchronized void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.isNotNull(overflowPolicy);
+		this.overflowPolicy = overflowPolicy;
+		notifyAll();
+	}
+
+	/**
+	 * Returns the number of events that are waiting to be delivered.
+	 */
+	public synchronized int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns the largest number of events that were waiting to be delivered at the same time.
+	 */
+	public synchronized int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	/**
+	 * Returns the number of notifications that were passed to the sink.
+	 */
+	public synchronized long getDeliveredCount() {
+		return deliveredCount;
+	}
+
+	/**
+	 * Returns the number of notifications that were discarded because the queue was full.
+	 */
+	public synchronized long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * Returns the number of notifications that were merged into an already queued event.
+	 */
+	public synchronized long getCoalescedCount() {
+		return coalescedCount;
+	}
+
+	/**
+	 * Returns the average time in milliseconds between queuing an event and the sink completing its delivery.
+	 */
+	public synchronized long getAverageLatency() {
+		return (deliveredEvents > 0) ? TimeUnit.NANOSECONDS.toMillis(totalLatency / deliveredEvents) : 0;
+	}
+
+	/**
+	 * Returns the longest time in milliseconds between queuing an event and the sink completing its delivery.
+	 */
+	public synchronized long getMaxLatency() {
+		return TimeUnit.NANOSECONDS.toMillis(maxLatency);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "NotificationSinkDispatcher [sink=" + sink.getClass().getName() + ", queueDepth=" + queue.size() //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", maxQueueDepth=" + maxQueueDepth + ", delivered=" + deliveredCount + ", dropped=" + droppedCount //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", coalesced=" + coalescedCount + ", averageLatency=" + getAverageLatency() + ", maxLatency=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ getMaxLatency() + "]"; //$NON-NLS-1$
+	}
+
+}
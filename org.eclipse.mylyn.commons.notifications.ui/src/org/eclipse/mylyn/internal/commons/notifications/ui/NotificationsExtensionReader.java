@@ -141,4 +141,13 @@ public class NotificationsExtensionReader {
 
 		return sinks;
 	}
+
+	/**
+	 * Discards the cached categories and sinks so that they are read from the extension registry on next access.
+	 */
+	static void reset() {
+		categories = null;
+		sinks = null;
+	}
+
 }
@@ -17,10 +17,17 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IRegistryEventListener;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.mylyn.internal.commons.notifications.ui.NotificationSinkDispatcher.OverflowPolicy;
 import org.eclipse.ui.IMemento;
 import org.eclipse.ui.WorkbenchException;
 import org.eclipse.ui.XMLMemento;
@@ -38,6 +45,14 @@ public class NotificationsPlugin extends AbstractUIPlugin {
 
 	public static final String PREF_NOTICATIONS_ENABLED = "notifications.enabled"; //$NON-NLS-1$
 
+	public static final String PREF_DISPATCH_ASYNCHRONOUS = "notifications.dispatch.asynchronous"; //$NON-NLS-1$
+
+	public static final String PREF_DISPATCH_QUEUE_CAPACITY = "notifications.dispatch.queueCapacity"; //$NON-NLS-1$
+
+	public static final String PREF_DISPATCH_OVERFLOW_POLICY = "notifications.dispatch.overflowPolicy"; //$NON-NLS-1$
+
+	private static final String ID_EXTENSION_POINT_NOTIFICATIONS = ID_PLUGIN + ".notifications"; //$NON-NLS-1$
+
 	private static NotificationsPlugin instance;
 
 	public static NotificationsPlugin getDefault() {
@@ -48,6 +63,34 @@ public class NotificationsPlugin extends AbstractUIPlugin {
 
 	private NotificationService service;
 
+	private final IRegistryEventListener registryListener = new IRegistryEventListener() {
+		public void added(IExtension[] extensions) {
+			extensionsChanged();
+		}
+
+		public void removed(IExtension[] extensions) {
+			extensionsChanged();
+		}
+
+		public void added(IExtensionPoint[] extensionPoints) {
+			// ignore
+		}
+
+		public void removed(IExtensionPoint[] extensionPoints) {
+			// ignore
+		}
+	};
+
+	private final IPropertyChangeListener preferenceListener = new IPropertyChangeListener() {
+		public void propertyChange(PropertyChangeEvent event) {
+			String property = event.getProperty();
+			if (PREF_DISPATCH_ASYNCHRONOUS.equals(property) || PREF_DISPATCH_QUEUE_CAPACITY.equals(property)
+					|| PREF_DISPATCH_OVERFLOW_POLICY.equals(property)) {
+				updateService();
+			}
+		}
+	};
+
 	public NotificationModel createModelWorkingCopy() {
 		migrateFile_0_8();
 
@@ -77,20 +120,49 @@ public class NotificationsPlugin extends AbstractUIPlugin {
 		}
 	}
 
-	public NotificationModel getModel() {
+	public synchronized NotificationModel getModel() {
 		if (model == null) {
 			model = createModelWorkingCopy();
 		}
 		return model;
 	}
 
-	public NotificationService getService() {
+	public synchronized NotificationService getService() {
 		if (service == null) {
 			service = new NotificationService();
+			updateService();
+			getPreferenceStore().addPropertyChangeListener(preferenceListener);
 		}
 		return service;
 	}
 
+	private synchronized void updateService() {
+		if (service == null) {
+			return;
+		}
+		IPreferenceStore store = getPreferenceStore();
+		service.setAsynchronous(store.getBoolean(PREF_DISPATCH_ASYNCHRONOUS));
+		int capacity = store.getInt(PREF_DISPATCH_QUEUE_CAPACITY);
+		service.setQueueCapacity((capacity > 0) ? capacity : NotificationService.DEFAULT_QUEUE_CAPACITY);
+		try {
+			service.setOverflowPolicy(OverflowPolicy.valueOf(store.getString(PREF_DISPATCH_OVERFLOW_POLICY)));
+		} catch (IllegalArgumentException e) {
+			service.setOverflowPolicy(NotificationService.DEFAULT_OVERFLOW_POLICY);
+		}
+	}
+
+	private synchronized void extensionsChanged() {
+		NotificationsExtensionReader.reset();
+		if (model != null) {
+			// preserve pending changes, the model is re-created from the saved state on next access
+			saveModel();
+			model = null;
+		}
+		if (service != null) {
+			service.sinksChanged();
+		}
+	}
+
 	public void saveModel() {
 		if (model != null && model.isDirty()) {
 			save(model);
@@ -109,10 +181,19 @@ public class NotificationsPlugin extends AbstractUIPlugin {
 	public void start(BundleContext context) throws Exception {
 		instance = this;
 		super.start(context);
+		Platform.getExtensionRegistry().addListener(registryListener, ID_EXTENSION_POINT_NOTIFICATIONS);
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		Platform.getExtensionRegistry().removeListener(registryListener);
+		synchronized (this) {
+			if (service != null) {
+				getPreferenceStore().removePropertyChangeListener(preferenceListener);
+				service.dispose();
+				service = null;
+			}
+		}
 		super.stop(context);
 		instance = null;
 	}
@@ -28,6 +28,11 @@ public class NotificationsPreferencesInitializer extends AbstractPreferenceIniti
 	public void initializeDefaultPreferences() {
 		IPreferenceStore preferencesStore = NotificationsPlugin.getDefault().getPreferenceStore();
 		preferencesStore.setDefault(NotificationsPlugin.PREF_NOTICATIONS_ENABLED, true);
+		preferencesStore.setDefault(NotificationsPlugin.PREF_DISPATCH_ASYNCHRONOUS, false);
+		preferencesStore.setDefault(NotificationsPlugin.PREF_DISPATCH_QUEUE_CAPACITY,
+				NotificationService.DEFAULT_QUEUE_CAPACITY);
+		preferencesStore.setDefault(NotificationsPlugin.PREF_DISPATCH_OVERFLOW_POLICY,
+				NotificationService.DEFAULT_OVERFLOW_POLICY.name());
 	}
 
 }
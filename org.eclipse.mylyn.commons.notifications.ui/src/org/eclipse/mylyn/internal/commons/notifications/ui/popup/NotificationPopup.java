@@ -28,6 +28,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchWindow;
@@ -46,21 +47,22 @@ public class NotificationPopup extends AbstractWorkbenchNotificationPopup {
 
 	private List<AbstractNotification> notifications;
 
+	private int overflowCount;
+
+	public NotificationPopup(Display display) {
+		super(display);
+	}
+
 	public NotificationPopup(Shell parent) {
-		super(parent.getDisplay());
+		this(parent.getDisplay());
 	}
 
 	@Override
 	protected void createContentArea(Composite parent) {
 		int count = 0;
 		for (final AbstractNotification notification : notifications) {
-			Composite notificationComposite = new Composite(parent, SWT.NO_FOCUS);
-			GridLayout gridLayout = new GridLayout(2, false);
-			GridDataFactory.fillDefaults().grab(true, false).align(SWT.FILL, SWT.TOP).applyTo(notificationComposite);
-			notificationComposite.setLayout(gridLayout);
-			notificationComposite.setBackground(parent.getBackground());
-
 			if (count < NUM_NOTIFICATIONS_TO_DISPLAY) {
+				Composite notificationComposite = createNotificationComposite(parent);
 				final Label notificationLabelIcon = new Label(notificationComposite, SWT.NO_FOCUS);
 				notificationLabelIcon.setBackground(parent.getBackground());
 				if (notification instanceof AbstractUiNotification) {
@@ -132,33 +134,49 @@ public class NotificationPopup extends AbstractWorkbenchNotificationPopup {
 							.applyTo(descriptionLabel);
 				}
 			} else {
-				int numNotificationsRemain = notifications.size() - count;
-				ScalingHyperlink remainingLink = new ScalingHyperlink(notificationComposite, SWT.NO_FOCUS);
-				remainingLink.setForeground(CommonColors.HYPERLINK_WIDGET);
-				remainingLink.registerMouseTrackListener();
-				remainingLink.setBackground(parent.getBackground());
-
-				remainingLink.setText(NLS.bind("{0} more", numNotificationsRemain)); //$NON-NLS-1$
-				GridDataFactory.fillDefaults().span(2, SWT.DEFAULT).applyTo(remainingLink);
-				remainingLink.addHyperlinkListener(new HyperlinkAdapter() {
-					@Override
-					public void linkActivated(HyperlinkEvent e) {
-						// FIXME
-						//						TasksUiUtil.openTasksViewInActivePerspective().setFocus();
-						IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
-						if (window != null) {
-							Shell windowShell = window.getShell();
-							if (windowShell != null) {
-								windowShell.setMaximized(true);
-								windowShell.open();
-							}
-						}
-					}
-				});
-				break;
+				createRemainingLink(parent, notifications.size() - count + overflowCount);
+				return;
 			}
 			count++;
 		}
+		if (overflowCount > 0) {
+			createRemainingLink(parent, overflowCount);
+		}
+	}
+
+	private Composite createNotificationComposite(Composite parent) {
+		Composite notificationComposite = new Composite(parent, SWT.NO_FOCUS);
+		GridLayout gridLayout = new GridLayout(2, false);
+		GridDataFactory.fillDefaults().grab(true, false).align(SWT.FILL, SWT.TOP).applyTo(notificationComposite);
+		notificationComposite.setLayout(gridLayout);
+		notificationComposite.setBackground(parent.getBackground());
+		return notificationComposite;
+	}
+
+	private void createRemainingLink(Composite parent, int numNotificationsRemain) {
+		Composite notificationComposite = createNotificationComposite(parent);
+		ScalingHyperlink remainingLink = new ScalingHyperlink(notificationComposite, SWT.NO_FOCUS);
+		remainingLink.setForeground(CommonColors.HYPERLINK_WIDGET);
+		remainingLink.registerMouseTrackListener();
+		remainingLink.setBackground(parent.getBackground());
+
+		remainingLink.setText(NLS.bind("{0} more", numNotificationsRemain)); //$NON-NLS-1$
+		GridDataFactory.fillDefaults().span(2, SWT.DEFAULT).applyTo(remainingLink);
+		remainingLink.addHyperlinkListener(new HyperlinkAdapter() {
+			@Override
+			public void linkActivated(HyperlinkEvent e) {
+				// FIXME
+				//						TasksUiUtil.openTasksViewInActivePerspective().setFocus();
+				IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+				if (window != null) {
+					Shell windowShell = window.getShell();
+					if (windowShell != null) {
+						windowShell.setMaximized(true);
+						windowShell.open();
+					}
+				}
+			}
+		});
 	}
 
 	@Override
@@ -177,7 +195,16 @@ public class NotificationPopup extends AbstractWorkbenchNotificationPopup {
 	}
 
 	public void setContents(List<AbstractNotification> notifications) {
+		setContents(notifications, 0);
+	}
+
+	/**
+	 * Sets the notifications to display. <code>overflowCount</code> specifies the number of additional notifications
+	 * that are not part of <code>notifications</code> and are only included in the summary entry.
+	 */
+	public void setContents(List<AbstractNotification> notifications, int overflowCount) {
 		this.notifications = notifications;
+		this.overflowCount = overflowCount;
 	}
 
 }
@@ -28,13 +28,17 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.window.Window;
 import org.eclipse.mylyn.commons.notifications.core.AbstractNotification;
+import org.eclipse.mylyn.commons.notifications.core.NotificationCoalescer;
+import org.eclipse.mylyn.commons.notifications.core.NotificationCoalescer.Batch;
 import org.eclipse.mylyn.commons.notifications.core.NotificationSink;
 import org.eclipse.mylyn.commons.notifications.core.NotificationSinkEvent;
-import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchPreferenceConstants;
 import org.eclipse.ui.PlatformUI;
 
 /**
+ * Displays notifications in a popup. Bursts of notifications are grouped by event id and the number of popups per
+ * minute is limited, see {@link NotificationCoalescer}.
+ * 
  * @author Rob Elves
  * @author Steffen Pingel
  */
@@ -50,9 +54,30 @@ public class PopupNotificationSink extends NotificationSink {
 
 	private final Set<AbstractNotification> currentlyNotifying = Collections.synchronizedSet(notifications);
 
+	private final NotificationCoalescer coalescer = new NotificationCoalescer(NotificationCoalescer.EVENT_ID);
+
+	/**
+	 * Set while the open job is scheduled to release pending notifications, guarded by {@link #coalescer}.
+	 */
+	private boolean openScheduled;
+
 	private final Job openJob = new Job(Messages.PopupNotificationSink_Popup_Noifier_Job_Label) {
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
+			final boolean due;
+			synchronized (coalescer) {
+				long delay = coalescer.getDelay(getCurrentTime());
+				if (delay > 0) {
+					// more notifications arrived or the rate limit was reached
+					schedule(delay);
+					return Status.OK_STATUS;
+				}
+				due = (delay == 0);
+				if (!due) {
+					openScheduled = false;
+				}
+			}
+
 			try {
 				if (Platform.isRunning() && PlatformUI.getWorkbench() != null
 						&& PlatformUI.getWorkbench().getDisplay() != null
@@ -69,28 +94,29 @@ public class PopupNotificationSink extends NotificationSink {
 										cancelledTokens.put(notification.getToken(), null);
 									}
 								}
-							}
-
-							for (Iterator<AbstractNotification> it = currentlyNotifying.iterator(); it.hasNext();) {
-								AbstractNotification notification = it.next();
-								if (notification.getToken() != null
-										&& cancelledTokens.containsKey(notification.getToken())) {
-									it.remove();
+								for (Object token : popupOverflowTokens) {
+									cancelledTokens.put(token, null);
 								}
+								popupOverflowTokens = Collections.emptySet();
 							}
 
 							synchronized (PopupNotificationSink.class) {
-								if (currentlyNotifying.size() > 0) {
-//										popup.close();
+								if (due || !currentlyNotifying.isEmpty()) {
 									showPopup();
 								}
 							}
 						}
 					});
+				} else {
+					synchronized (coalescer) {
+						openScheduled = false;
+					}
 				}
 			} finally {
-				if (popup != null) {
-					schedule(popup.getDelayClose() / 2);
+				// poll while the popup is open to pick up notifications from collectNotifications()
+				NotificationPopup current = popup;
+				if (current != null && current.getShell() != null) {
+					schedule(current.getDelayClose() / 2);
 				}
 			}
 
@@ -105,8 +131,15 @@ public class PopupNotificationSink extends NotificationSink {
 
 	private NotificationPopup popup;
 
+	/**
+	 * Tokens of notifications that were folded into the overflow count of {@link #popup}, only accessed from the UI
+	 * thread.
+	 */
+	private Set<Object> popupOverflowTokens = Collections.emptySet();
+
 	public PopupNotificationSink() {
 		openJob.setSystem(runSystem);
+		coalescer.setQuietPeriod(DELAY_OPEN);
 	}
 
 	private void cleanNotified() {
@@ -118,7 +151,14 @@ public class PopupNotificationSink extends NotificationSink {
 	}
 
 	/**
-	 * public for testing purposes
+	 * Returns the coalescer that groups notifications before they are displayed.
+	 */
+	public NotificationCoalescer getCoalescer() {
+		return coalescer;
+	}
+
+	/**
+	 * public for testing purposes, notifications added to the returned set are included in the next popup
 	 */
 	public Set<AbstractNotification> getNotifications() {
 		synchronized (PopupNotificationSink.class) {
@@ -133,30 +173,70 @@ public class PopupNotificationSink extends NotificationSink {
 
 	@Override
 	public void notify(NotificationSinkEvent event) {
-		currentlyNotifying.addAll(event.getNotifications());
-
-		if (!openJob.cancel()) {
-			try {
-				openJob.join();
-			} catch (InterruptedException e) {
-				// ignore
+		long delay;
+		synchronized (coalescer) {
+			long now = getCurrentTime();
+			coalescer.add(event.getNotifications(), now);
+			if (openScheduled) {
+				// the open job reschedules itself if the quiet period is extended
+				return;
 			}
+			openScheduled = true;
+			delay = coalescer.getDelay(now);
 		}
-		openJob.schedule(DELAY_OPEN);
+		scheduleOpen(delay);
+	}
+
+	/**
+	 * Returns the time that is used to group notifications. Protected for testing.
+	 */
+	protected long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Schedules the job that opens the popup once pending notifications are due. Protected for testing.
+	 */
+	protected void scheduleOpen(long delay) {
+		openJob.schedule(delay);
 	}
 
 	public void showPopup() {
+		Batch batch;
+		synchronized (coalescer) {
+			if (!currentlyNotifying.isEmpty()) {
+				synchronized (currentlyNotifying) {
+					coalescer.add(currentlyNotifying, getCurrentTime());
+				}
+				cleanNotified();
+			}
+			batch = coalescer.release(getCurrentTime());
+			openScheduled = false;
+		}
+		if (batch == null) {
+			return;
+		}
+
+		List<AbstractNotification> toDisplay = new ArrayList<AbstractNotification>(batch.getNotifications());
+		for (Iterator<AbstractNotification> it = toDisplay.iterator(); it.hasNext();) {
+			AbstractNotification notification = it.next();
+			if (notification.getToken() != null && cancelledTokens.containsKey(notification.getToken())) {
+				it.remove();
+			}
+		}
+		if (toDisplay.isEmpty()) {
+			return;
+		}
+
 		if (popup != null) {
 			popup.close();
 		}
 
-		Shell shell = new Shell(PlatformUI.getWorkbench().getDisplay());
-		popup = new NotificationPopup(shell);
+		popup = new NotificationPopup(PlatformUI.getWorkbench().getDisplay());
 		popup.setFadingEnabled(isAnimationsEnabled());
-		List<AbstractNotification> toDisplay = new ArrayList<AbstractNotification>(currentlyNotifying);
 		Collections.sort(toDisplay);
-		popup.setContents(toDisplay);
-		cleanNotified();
+		popup.setContents(toDisplay, batch.getOverflowCount());
+		popupOverflowTokens = batch.getOverflowTokens();
 		popup.setBlockOnOpen(false);
 		popup.open();
 	}
@@ -24,7 +24,13 @@ import org.eclipse.mylyn.commons.tests.core.CoreUtilTest;
 import org.eclipse.mylyn.commons.tests.core.ExtensionPointReaderTest;
 import org.eclipse.mylyn.commons.tests.core.Html2TextReaderTest;
 import org.eclipse.mylyn.commons.tests.core.StatusHandlerTest;
+import org.eclipse.mylyn.commons.tests.core.UserActivityTrackerTest;
 import org.eclipse.mylyn.commons.tests.core.storage.CommonStoreTest;
+import org.eclipse.mylyn.commons.tests.identity.GravatarCacheTest;
+import org.eclipse.mylyn.commons.tests.identity.IdentityModelTest;
+import org.eclipse.mylyn.commons.tests.identity.IdentityTest;
+import org.eclipse.mylyn.commons.tests.identity.ProfileImageCacheTest;
+import org.eclipse.mylyn.commons.tests.identity.ProfileImageScalerTest;
 import org.eclipse.mylyn.commons.tests.net.CommonHttpMethod3Test;
 import org.eclipse.mylyn.commons.tests.net.NetUtilTest;
 import org.eclipse.mylyn.commons.tests.net.SslProtocolSocketFactoryTest;
@@ -34,6 +40,11 @@ import org.eclipse.mylyn.commons.tests.operations.CancellableOperationMonitorThr
 import org.eclipse.mylyn.commons.tests.operations.OperationUtilTest;
 import org.eclipse.mylyn.commons.tests.workbench.browser.BrowserUtilTest;
 import org.eclipse.mylyn.commons.tests.workbench.browser.WebBrowserDialogTest;
+import org.eclipse.mylyn.commons.tests.xmlrpc.BufferPoolTest;
+import org.eclipse.mylyn.commons.tests.xmlrpc.XmlRpcCallBatcherTest;
+import org.eclipse.mylyn.commons.tests.xmlrpc.XmlRpcRequestCompressionTest;
+import org.eclipse.mylyn.commons.tests.xmlrpc.XmlRpcResponseCacheTest;
+import org.eclipse.mylyn.commons.tests.xmlrpc.XmlRpcResponseStreamParserTest;
 
 /**
  * @author Mik Kersten
@@ -70,6 +81,17 @@ public class AllCommonsTests {
 		suite.addTestSuite(HtmlStreamTokenizerTest.class);
 		suite.addTestSuite(CancellableOperationMonitorThreadTest.class);
 		suite.addTestSuite(StatusHandlerTest.class);
+		suite.addTestSuite(UserActivityTrackerTest.class);
+		suite.addTestSuite(XmlRpcCallBatcherTest.class);
+		suite.addTestSuite(XmlRpcResponseStreamParserTest.class);
+		suite.addTestSuite(XmlRpcResponseCacheTest.class);
+		suite.addTestSuite(BufferPoolTest.class);
+		suite.addTestSuite(XmlRpcRequestCompressionTest.class);
+		suite.addTestSuite(IdentityModelTest.class);
+		suite.addTestSuite(IdentityTest.class);
+		suite.addTestSuite(ProfileImageScalerTest.class);
+		suite.addTestSuite(ProfileImageCacheTest.class);
+		suite.addTestSuite(GravatarCacheTest.class);
 	}
 
 }
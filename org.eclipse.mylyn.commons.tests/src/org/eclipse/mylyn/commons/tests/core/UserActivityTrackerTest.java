@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.core;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.commons.core.UserActivityTracker;
+
+public class UserActivityTrackerTest extends TestCase {
+
+	private static final long TICK = 30 * 1000;
+
+	private static final int TIMEOUT = 180 * 1000;
+
+	private class StubCallback implements UserActivityTracker.Callback {
+
+		private int activeCount;
+
+		private int inactiveCount;
+
+		private long activeTime;
+
+		private long lastEndTime;
+
+		public void active() {
+			activeCount++;
+		}
+
+		public void addMonitoredActivityTime(long start, long end) {
+			activeTime += end - start;
+			lastEndTime = end;
+		}
+
+		public void inactive() {
+			inactiveCount++;
+		}
+
+	}
+
+	private StubCallback callback;
+
+	private UserActivityTracker tracker;
+
+	@Override
+	protected void setUp() throws Exception {
+		callback = new StubCallback();
+		tracker = new UserActivityTracker(callback);
+		tracker.setInactivityTimeout(TIMEOUT);
+	}
+
+	public void testNoChecksWhileInactive() {
+		assertEquals(-1, tracker.getNextCheckDelay(-1, 1000, TICK, true));
+		assertEquals(TICK / 6, tracker.getNextCheckDelay(-1, 1000, TICK, false));
+	}
+
+	public void testActivityObserved() {
+		assertTrue(tracker.activityObserved());
+		// only the first interaction requests a check
+		assertFalse(tracker.activityObserved());
+		tracker.update(1000, 1000, TICK);
+		assertTrue(tracker.isActive());
+		assertEquals(1, callback.activeCount);
+		assertFalse(tracker.activityObserved());
+	}
+
+	public void testActivityObservedDuringCheck() {
+		tracker.update(-1, TIMEOUT, TICK);
+		assertFalse(tracker.isActive());
+		assertTrue(tracker.activityObserved());
+		assertEquals(0, tracker.getNextCheckDelay(TIMEOUT, TIMEOUT, TICK, true));
+	}
+
+	public void testDeadline() {
+		tracker.activityObserved();
+		tracker.update(1000, 1000, TICK);
+		assertEquals(TIMEOUT, tracker.getNextCheckDelay(1000, 1000, TICK, true));
+		// interactions push the deadline
+		assertFalse(tracker.activityObserved());
+		assertEquals(TIMEOUT - 10000, tracker.getNextCheckDelay(10000, 20000, TICK, true));
+	}
+
+	public void testActiveTimeRecordedAtDeadline() {
+		tracker.update(1000, 1000, TICK);
+		tracker.getNextCheckDelay(1000, 1000, TICK, true);
+		// deadline passed with interactions in between
+		tracker.update(100000, 1000 + TIMEOUT, TICK);
+		assertTrue(tracker.isActive());
+		assertEquals(TIMEOUT, callback.activeTime);
+		long delay = tracker.getNextCheckDelay(100000, 1000 + TIMEOUT, TICK, true);
+		assertEquals(100000 + TIMEOUT - (1000 + TIMEOUT), delay);
+		// no further interactions
+		tracker.update(100000, 100000 + TIMEOUT, TICK);
+		assertFalse(tracker.isActive());
+		assertEquals(1, callback.inactiveCount);
+		assertEquals(100000 + TIMEOUT - 1000, callback.activeTime);
+		assertEquals(100000 + TIMEOUT, callback.lastEndTime);
+		assertEquals(-1, tracker.getNextCheckDelay(100000, 100000 + TIMEOUT, TICK, true));
+	}
+
+	public void testResumeFromSleep() {
+		tracker.update(1000, 1000, TICK);
+		tracker.getNextCheckDelay(1000, 1000, TICK, true);
+		// check runs long after the deadline, activity is recorded up to the deadline
+		tracker.update(1000, 1000 + TIMEOUT + TICK + 1, TICK);
+		assertFalse(tracker.isActive());
+		assertEquals(1, callback.inactiveCount);
+		assertEquals(TIMEOUT, callback.activeTime);
+		assertEquals(1000 + TIMEOUT, callback.lastEndTime);
+	}
+
+	public void testResumeFromSleepAfterActivity() {
+		tracker.update(0, 0, TICK);
+		assertEquals(TIMEOUT, tracker.getNextCheckDelay(0, 0, TICK, true));
+		// active until shortly before the check was due, then the computer was suspended for an hour
+		tracker.update(170000, 3600000, TICK);
+		assertFalse(tracker.isActive());
+		assertEquals(1, callback.inactiveCount);
+		// activity is recorded up to the time the check was due
+		assertEquals(TIMEOUT, callback.activeTime);
+		assertEquals(TIMEOUT, callback.lastEndTime);
+	}
+
+	public void testResumeFromSleepWithEvent() {
+		tracker.update(1000, 1000, TICK);
+		tracker.getNextCheckDelay(1000, 1000, TICK, true);
+		// interaction after resume pushed the deadline
+		long resumeTime = 1000 + 10 * TIMEOUT;
+		tracker.update(resumeTime, resumeTime + 10, TICK);
+		assertTrue(tracker.isActive());
+		assertEquals(0, callback.activeTime);
+		tracker.getNextCheckDelay(resumeTime, resumeTime + 10, TICK, true);
+		tracker.update(resumeTime + 1000, resumeTime + TIMEOUT, TICK);
+		assertEquals(TIMEOUT, callback.activeTime);
+	}
+
+	public void testTimeoutDisabled() {
+		tracker.setInactivityTimeout(0);
+		assertEquals(0, tracker.getNextCheckDelay(-1, 1000, TICK, true));
+		tracker.update(-1, 1000, TICK);
+		assertTrue(tracker.isActive());
+		assertEquals(TICK, tracker.getNextCheckDelay(-1, 1000, TICK, true));
+		tracker.update(-1, 1000 + TICK, TICK);
+		assertEquals(TICK, callback.activeTime);
+	}
+
+}
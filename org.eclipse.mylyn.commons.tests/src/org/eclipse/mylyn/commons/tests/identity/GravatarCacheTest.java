@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.sdk.util.MockServer;
+import org.eclipse.mylyn.commons.sdk.util.MockServer.Message;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.Gravatar;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarCache;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarCache.Entry;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarStore;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarUtils;
+
+public class GravatarCacheTest extends TestCase {
+
+	private static final String HASH = GravatarUtils.getHash("joel@example.com");
+
+	private static final String OTHER_HASH = GravatarUtils.getHash("jane@example.com");
+
+	private File directory;
+
+	private MockServer server;
+
+	@Override
+	protected void setUp() throws Exception {
+		directory = File.createTempFile("gravatar-cache", "");
+		directory.delete();
+		directory.mkdirs();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (server != null) {
+			server.stop();
+		}
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	public void testMemoryLeastRecentlyUsed() {
+		GravatarCache cache = new GravatarCache();
+		cache.setMemoryBudget(300);
+		cache.put(createEntry(hash('a'), 10, System.currentTimeMillis() + 60000, new byte[100]));
+		cache.put(createEntry(hash('b'), 10, System.currentTimeMillis() + 60000, new byte[100]));
+		cache.put(createEntry(hash('c'), 10, System.currentTimeMillis() + 60000, new byte[100]));
+		assertNotNull(cache.get(GravatarCache.getKey(hash('a'), 10, null)));
+		cache.put(createEntry(hash('d'), 10, System.currentTimeMillis() + 60000, new byte[100]));
+		assertEquals(300, cache.getMemorySize());
+		assertTrue(cache.contains(GravatarCache.getKey(hash('a'), 10, null)));
+		assertFalse(cache.contains(GravatarCache.getKey(hash('b'), 10, null)));
+		assertNull(cache.getByHash(hash('b')));
+		assertNotNull(cache.getByHash(hash('c')));
+	}
+
+	public void testGetByHash() {
+		GravatarCache cache = new GravatarCache();
+		long expiry = System.currentTimeMillis() + 60000;
+		cache.put(createEntry(HASH, 40, expiry, null));
+		assertTrue(cache.getByHash(HASH).isNegative());
+		cache.put(createEntry(HASH, 80, expiry, new byte[80]));
+		cache.put(createEntry(HASH, 20, expiry, new byte[20]));
+		assertEquals(80, cache.getByHash(HASH).getSize());
+		cache.put(createEntry(HASH, -1, expiry, new byte[10]));
+		assertEquals(-1, cache.getByHash(HASH).getSize());
+		assertNull(cache.getByHash(OTHER_HASH));
+		cache.remove(GravatarCache.getKey(HASH, -1, null));
+		assertEquals(80, cache.getByHash(HASH).getSize());
+	}
+
+	public void testGetByHashFromDisk() {
+		GravatarCache cache = new GravatarCache(directory);
+		cache.put(createEntry(HASH, 40, System.currentTimeMillis() + 60000, new byte[40]));
+
+		cache = new GravatarCache(directory);
+		Entry entry = cache.getByHash(HASH);
+		assertNotNull(entry);
+		assertEquals(40, entry.getSize());
+		assertEquals(40, entry.getBytes().length);
+	}
+
+	public void testDiskBudget() {
+		GravatarCache cache = new GravatarCache(directory);
+		cache.setDiskBudget(1200);
+		long expiry = System.currentTimeMillis() + 60000;
+		for (char c = 'a'; c <= 'e'; c++) {
+			cache.put(createEntry(hash(c), 10, expiry, new byte[300]));
+		}
+		assertTrue(cache.getDiskSize() <= 1200);
+		assertEquals(3, directory.list().length);
+		assertNotNull(new GravatarCache(directory).getByHash(hash('e')));
+		assertNull(new GravatarCache(directory).getByHash(hash('a')));
+	}
+
+	public void testPruneOnStartup() throws Exception {
+		GravatarCache cache = new GravatarCache(directory);
+		long now = System.currentTimeMillis();
+		cache.put(createEntry(hash('a'), 10, now - 1000, null));
+		cache.put(createEntry(hash('b'), 10, now - GravatarCache.MAX_STALE - 1000, new byte[10]));
+		cache.put(createEntry(hash('c'), 10, now - 1000, new byte[10]));
+		cache.put(createEntry(hash('d'), 10, now + 60000, null));
+		assertTrue(new File(directory, "leftover.avatar.tmp").createNewFile());
+
+		cache = new GravatarCache(directory);
+		assertEquals(2, cache.getKeys().size());
+		assertNull(cache.getByHash(hash('a')));
+		assertNull(cache.getByHash(hash('b')));
+		assertNotNull(cache.getByHash(hash('c')));
+		assertNotNull(cache.getByHash(hash('d')));
+		assertEquals(2, directory.list().length);
+	}
+
+	public void testNegativeCaching() throws Exception {
+		GravatarStore store = createStore();
+		server.addResponse(createResponse("HTTP/1.1 404 Not Found", null));
+		assertNull(store.loadGravatarByHash(HASH, 40, null));
+		server.getRequest();
+		assertNull(store.loadGravatarByHash(HASH, 40, null));
+		assertFalse(server.hasRequest());
+		assertTrue(store.getCache().getByHash(HASH).isNegative());
+		assertFalse(store.containsGravatar(HASH));
+	}
+
+	public void testTimeToLive() throws Exception {
+		GravatarStore store = createStore();
+		server.addResponse(createResponse("HTTP/1.1 200 OK", "abc"));
+		Gravatar gravatar = store.loadGravatarByHash(HASH, 40, null);
+		assertEquals(3, gravatar.getBytes().length);
+		server.getRequest();
+		assertNotNull(store.loadGravatarByHash(HASH, 40, null));
+		assertFalse(server.hasRequest());
+		assertTrue(store.containsGravatar(HASH));
+		assertNotNull(store.getGravatarByHash(HASH));
+	}
+
+	public void testRevalidation() throws Exception {
+		GravatarStore store = createStore();
+		store.setTimeToLive(0);
+		server.addResponse(createResponse("HTTP/1.1 200 OK", "abc"));
+		assertNotNull(store.loadGravatarByHash(HASH, 40, null));
+		server.getRequest();
+
+		server.addResponse(createResponse("HTTP/1.1 304 Not Modified", null));
+		Gravatar gravatar = store.loadGravatarByHash(HASH, 40, null);
+		assertEquals(3, gravatar.getBytes().length);
+		Message request = server.getRequest();
+		assertEquals("\"v1\"", request.getHeaderValue("If-None-Match"));
+		assertEquals(3, store.getGravatarByHash(HASH).getBytes().length);
+	}
+
+	private Entry createEntry(String hash, int size, long expiry, byte[] bytes) {
+		return new Entry(hash, size, null, System.currentTimeMillis(), expiry, null, 0, bytes);
+	}
+
+	private Message createResponse(String status, final String body) {
+		Message message = new Message(status) {
+			@Override
+			public String toString() {
+				// append the body without the trailing line break added by the super class
+				return super.toString() + ((body != null) ? body : "");
+			}
+		};
+		message.headers.add("ETag: \"v1\"");
+		message.headers.add("Content-Length: " + ((body != null) ? body.length() : 0));
+		message.headers.add(MockServer.HEADER_CONNECTION_CLOSE);
+		return message;
+	}
+
+	private GravatarStore createStore() throws InterruptedException, IOException {
+		server = new MockServer();
+		server.setAutoClose(true);
+		server.startAndWait();
+		GravatarStore store = new GravatarStore(server.getUrl());
+		store.setCacheDirectory(directory);
+		return store;
+	}
+
+	private String hash(char c) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < HASH.length(); i++) {
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+}
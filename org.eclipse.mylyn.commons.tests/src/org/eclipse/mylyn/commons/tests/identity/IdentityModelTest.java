@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.identity.core.Account;
+import org.eclipse.mylyn.commons.identity.core.IIdentity;
+import org.eclipse.mylyn.internal.commons.identity.core.IdentityModel;
+
+public class IdentityModelTest extends TestCase {
+
+	private IdentityModel model;
+
+	@Override
+	protected void setUp() throws Exception {
+		model = new IdentityModel();
+	}
+
+	public void testGetIdentity() {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com").kind("email"));
+		assertSame(identity, model.getIdentity(Account.id("joel@example.com").kind("email")));
+		assertNotSame(identity, model.getIdentity(Account.id("joel@example.com").kind("bugzilla")));
+		assertNotSame(identity, model.getIdentity(Account.id("jane@example.com").kind("email")));
+	}
+
+	public void testGetIdentityAfterKindChanged() {
+		Account account = Account.id("joel@example.com").kind("email");
+		IIdentity identity = model.getIdentity(account);
+		account.kind("bugzilla");
+		assertSame(identity, model.getIdentity(Account.id("joel@example.com").kind("bugzilla")));
+		assertNotSame(identity, model.getIdentity(Account.id("joel@example.com").kind("email")));
+	}
+
+	public void testAddAccount() {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		identity.addAccount(Account.id("joel").kind("bugzilla"));
+		assertSame(identity, model.getIdentity(Account.id("joel").kind("bugzilla")));
+	}
+
+	public void testRemoveAccount() {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		Account account = Account.id("joel").kind("bugzilla");
+		identity.addAccount(account);
+		identity.removeAccount(account);
+		assertNotSame(identity, model.getIdentity(Account.id("joel").kind("bugzilla")));
+	}
+
+	public void testRemoveAccountAfterKindChanged() {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		Account account = Account.id("joel").kind("bugzilla");
+		identity.addAccount(account);
+		account.kind("jira");
+		identity.removeAccount(account);
+		assertNotSame(identity, model.getIdentity(Account.id("joel").kind("jira")));
+	}
+
+	public void testRemoveAccountWithSameId() {
+		IIdentity identity = model.getIdentity(Account.id("joel").kind("bugzilla"));
+		identity.addAccount(Account.id("joel").kind("jira"));
+		identity.removeAccount(Account.id("joel").kind("bugzilla"));
+		assertSame(identity, model.getIdentity(Account.id("joel").kind("jira")));
+	}
+
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.identity.core.Account;
+import org.eclipse.mylyn.commons.identity.core.IIdentity;
+import org.eclipse.mylyn.commons.identity.core.IProfile;
+import org.eclipse.mylyn.commons.identity.core.IProfileImage;
+import org.eclipse.mylyn.commons.identity.core.spi.IdentityConnector;
+import org.eclipse.mylyn.commons.identity.core.spi.Profile;
+import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+import org.eclipse.mylyn.internal.commons.identity.core.IdentityModel;
+
+public class IdentityTest extends TestCase {
+
+	private static class BlockingConnector extends IdentityConnector {
+
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		final AtomicInteger running = new AtomicInteger();
+
+		final AtomicInteger maxRunning = new AtomicInteger();
+
+		volatile boolean cancelled;
+
+		@Override
+		public ProfileImage getImage(IIdentity identity, int preferredWidth, int preferredHeight,
+				IProgressMonitor monitor) {
+			if (!block(monitor)) {
+				return null;
+			}
+			return new ProfileImage(new byte[0], preferredWidth, preferredHeight, "png");
+		}
+
+		@Override
+		public boolean supportsImageSize(int preferredWidth, int preferredHeight) {
+			return true;
+		}
+
+		@Override
+		public void updateProfile(Profile profile, IProgressMonitor monitor) {
+			block(monitor);
+		}
+
+		private boolean block(IProgressMonitor monitor) {
+			calls.incrementAndGet();
+			int count = running.incrementAndGet();
+			while (true) {
+				int max = maxRunning.get();
+				if (count <= max || maxRunning.compareAndSet(max, count)) {
+					break;
+				}
+			}
+			try {
+				while (!release.await(10, TimeUnit.MILLISECONDS)) {
+					if (monitor.isCanceled()) {
+						cancelled = true;
+						return false;
+					}
+				}
+				return true;
+			} catch (InterruptedException e) {
+				cancelled = true;
+				return false;
+			} finally {
+				running.decrementAndGet();
+			}
+		}
+
+		void waitForRunning(int expected) throws InterruptedException {
+			long timeout = System.currentTimeMillis() + 5000;
+			while (running.get() < expected) {
+				assertTrue("Timed out waiting for requests", System.currentTimeMillis() < timeout);
+				Thread.sleep(10);
+			}
+		}
+
+	}
+
+	private BlockingConnector connector;
+
+	private IdentityModel model;
+
+	@Override
+	protected void setUp() throws Exception {
+		model = new IdentityModel();
+		connector = new BlockingConnector();
+		model.addConnector(connector);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		connector.release.countDown();
+	}
+
+	public void testRequestImageCoalesced() throws Exception {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		Future<IProfileImage> first = identity.requestImage(32, 32);
+		Future<IProfileImage> second = identity.requestImage(32, 32);
+		assertNotSame(first, second);
+		connector.waitForRunning(1);
+
+		connector.release.countDown();
+		IProfileImage image = first.get(5, TimeUnit.SECONDS);
+		assertSame(image, second.get(5, TimeUnit.SECONDS));
+		assertEquals(32, image.getWidth());
+		assertEquals(1, connector.calls.get());
+	}
+
+	public void testRequestImageCancelOneCaller() throws Exception {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		Future<IProfileImage> first = identity.requestImage(32, 32);
+		Future<IProfileImage> second = identity.requestImage(32, 32);
+		connector.waitForRunning(1);
+
+		assertTrue(first.cancel(true));
+		assertTrue(first.isCancelled());
+		assertFalse(second.isCancelled());
+
+		connector.release.countDown();
+		assertNotNull(second.get(5, TimeUnit.SECONDS));
+		assertFalse(connector.cancelled);
+		assertEquals(1, connector.calls.get());
+	}
+
+	public void testRequestImageCancelAllCallers() throws Exception {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		Future<IProfileImage> first = identity.requestImage(32, 32);
+		Future<IProfileImage> second = identity.requestImage(32, 32);
+		connector.waitForRunning(1);
+
+		first.cancel(false);
+		second.cancel(false);
+		long timeout = System.currentTimeMillis() + 5000;
+		while (!connector.cancelled) {
+			assertTrue("Timed out waiting for cancellation", System.currentTimeMillis() < timeout);
+			Thread.sleep(10);
+		}
+
+		// a cancelled request is not shared with later callers
+		Future<IProfileImage> third = identity.requestImage(32, 32);
+		connector.release.countDown();
+		assertNotNull(third.get(5, TimeUnit.SECONDS));
+		assertEquals(2, connector.calls.get());
+	}
+
+	public void testRequestProfileCoalesced() throws Exception {
+		IIdentity identity = model.getIdentity(Account.id("joel@example.com"));
+		Future<IProfile> first = identity.requestProfile();
+		Future<IProfile> second = identity.requestProfile();
+		connector.waitForRunning(1);
+
+		first.cancel(true);
+		connector.release.countDown();
+		IProfile profile = second.get(5, TimeUnit.SECONDS);
+		assertEquals("joel@example.com", profile.getEmail());
+		assertEquals(1, connector.calls.get());
+	}
+
+	public void testMaxConcurrentRequests() throws Exception {
+		model.setMaxConcurrentRequests(2);
+		assertEquals(2, model.getMaxConcurrentRequests());
+
+		List<Future<IProfileImage>> futures = new ArrayList<Future<IProfileImage>>();
+		for (int i = 0; i < 5; i++) {
+			IIdentity identity = model.getIdentity(Account.id("user" + i + "@example.com"));
+			futures.add(identity.requestImage(32, 32));
+		}
+		connector.waitForRunning(2);
+		Thread.sleep(100);
+		assertEquals(2, connector.running.get());
+
+		connector.release.countDown();
+		for (Future<IProfileImage> future : futures) {
+			assertNotNull(future.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(5, connector.calls.get());
+		assertEquals(2, connector.maxRunning.get());
+	}
+
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+import org.eclipse.mylyn.internal.commons.identity.core.ProfileImageCache;
+
+public class ProfileImageCacheTest extends TestCase {
+
+	private ProfileImageCache cache;
+
+	private UUID id;
+
+	private static ProfileImage createImage(int size, int bytes) {
+		return new ProfileImage(new byte[bytes], size, size, "png");
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		cache = new ProfileImageCache();
+		id = UUID.randomUUID();
+	}
+
+	public void testGet() {
+		ProfileImage image = createImage(32, 10);
+		cache.put(id, image);
+		assertSame(image, cache.get(id, 32, 32));
+		assertNull(cache.get(id, 16, 16));
+		assertNull(cache.get(UUID.randomUUID(), 32, 32));
+	}
+
+	public void testGetSource() {
+		ProfileImage image80 = createImage(80, 10);
+		ProfileImage image64 = createImage(64, 10);
+		ProfileImage image32 = createImage(32, 10);
+		cache.put(id, image80);
+		cache.put(id, image64);
+		cache.put(id, image32);
+		cache.put(UUID.randomUUID(), createImage(48, 10));
+
+		assertSame(image64, cache.getSource(id, 48, 48));
+		assertSame(image64, cache.getSource(id, 64, 64));
+		assertSame(image32, cache.getSource(id, 16, 16));
+		assertSame(image80, cache.getSource(id, 72, 72));
+		assertSame(image80, cache.getSource(id, 32, 80));
+		assertNull(cache.getSource(id, 96, 96));
+		assertNull(cache.getSource(UUID.randomUUID(), 16, 16));
+	}
+
+	public void testPutReplacesImage() {
+		cache.put(id, createImage(32, 10));
+		ProfileImage image = createImage(32, 20);
+		cache.put(id, image);
+		assertSame(image, cache.get(id, 32, 32));
+		assertEquals(1, cache.size());
+		assertEquals(20, cache.getMemorySize());
+	}
+
+	public void testEvictLeastRecentlyUsed() {
+		cache.setMemoryBudget(30);
+		ProfileImage image16 = createImage(16, 10);
+		ProfileImage image32 = createImage(32, 10);
+		ProfileImage image48 = createImage(48, 10);
+		cache.put(id, image16);
+		cache.put(id, image32);
+		cache.put(id, image48);
+		assertEquals(30, cache.getMemorySize());
+
+		// mark the oldest image as recently used
+		assertSame(image16, cache.get(id, 16, 16));
+		cache.put(id, createImage(64, 10));
+		assertEquals(3, cache.size());
+		assertEquals(30, cache.getMemorySize());
+		assertNull(cache.get(id, 32, 32));
+		assertSame(image16, cache.get(id, 16, 16));
+
+		// using an image as a source also marks it as recently used
+		assertSame(image48, cache.getSource(id, 40, 40));
+		cache.put(id, createImage(80, 10));
+		assertNull(cache.get(id, 64, 64));
+		assertSame(image48, cache.get(id, 48, 48));
+	}
+
+	public void testEvictImageLargerThanBudget() {
+		cache.setMemoryBudget(30);
+		cache.put(id, createImage(16, 10));
+		cache.put(id, createImage(80, 40));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMemorySize());
+	}
+
+	public void testSetMemoryBudget() {
+		cache.put(id, createImage(16, 10));
+		cache.put(id, createImage(32, 10));
+		cache.put(id, createImage(48, 10));
+
+		cache.setMemoryBudget(15);
+		assertEquals(1, cache.size());
+		assertEquals(10, cache.getMemorySize());
+		assertNotNull(cache.get(id, 48, 48));
+	}
+
+	public void testRemove() {
+		UUID otherId = UUID.randomUUID();
+		cache.put(id, createImage(16, 10));
+		cache.put(id, createImage(32, 10));
+		cache.put(otherId, createImage(32, 10));
+
+		cache.remove(id);
+		assertEquals(1, cache.size());
+		assertEquals(10, cache.getMemorySize());
+		assertNotNull(cache.get(otherId, 32, 32));
+	}
+
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+import org.eclipse.mylyn.internal.commons.identity.core.ProfileImageScaler;
+
+public class ProfileImageScalerTest extends TestCase {
+
+	private static final int RED = 0xFFFF0000;
+
+	private static ProfileImage createImage(int width, int height, int... argb) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.setRGB(x, y, argb[(y * width + x) % argb.length]);
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		ProfileImage profileImage = new ProfileImage(out.toByteArray(), width, height, "png");
+		profileImage.setTimestamp(42);
+		return profileImage;
+	}
+
+	private static BufferedImage read(ProfileImage image) throws IOException {
+		BufferedImage result = ImageIO.read(new ByteArrayInputStream(image.getData()));
+		assertNotNull(result);
+		return result;
+	}
+
+	public void testScaleToTargetSizes() throws Exception {
+		ProfileImage source = createImage(80, 80, RED);
+		int[][] sizes = { { 64, 64 }, { 48, 48 }, { 32, 32 }, { 16, 16 }, { 1, 1 }, { 40, 20 } };
+		for (int[] size : sizes) {
+			ProfileImage image = ProfileImageScaler.scale(source, size[0], size[1]);
+			assertEquals(size[0], image.getWidth());
+			assertEquals(size[1], image.getHeight());
+			assertEquals("png", image.getFormat());
+			assertEquals(42, image.getTimestamp());
+
+			BufferedImage result = read(image);
+			assertEquals(size[0], result.getWidth());
+			assertEquals(size[1], result.getHeight());
+			assertEquals(RED, result.getRGB(0, 0));
+			assertEquals(RED, result.getRGB(size[0] - 1, size[1] - 1));
+		}
+	}
+
+	public void testScaleNotLarger() throws Exception {
+		ProfileImage source = createImage(32, 32, RED);
+		assertSame(source, ProfileImageScaler.scale(source, 32, 32));
+		assertSame(source, ProfileImageScaler.scale(source, 48, 64));
+	}
+
+	public void testScaleAveragesPixels() throws Exception {
+		ProfileImage source = createImage(2, 2, 0xFF000000, 0xFFFFFFFF, 0xFFFFFFFF, 0xFF000000);
+		BufferedImage result = read(ProfileImageScaler.scale(source, 1, 1));
+		assertEquals(0xFF808080, result.getRGB(0, 0));
+	}
+
+	public void testScaleFractionalCoverage() throws Exception {
+		// each target pixel covers one and a half source pixels
+		ProfileImage source = createImage(3, 1, 0xFF000000, 0xFF000000, 0xFFFFFFFF);
+		ProfileImage image = ProfileImageScaler.scale(source, 2, 1);
+		BufferedImage result = read(image);
+		assertEquals(0xFF000000, result.getRGB(0, 0));
+		assertEquals(0xFFAAAAAA, result.getRGB(1, 0));
+	}
+
+	public void testScaleTransparent() throws Exception {
+		ProfileImage source = createImage(2, 1, RED, 0x0000FF00);
+		BufferedImage result = read(ProfileImageScaler.scale(source, 1, 1));
+		// the color of transparent pixels does not bleed into the result
+		assertEquals(0x80FF0000, result.getRGB(0, 0));
+	}
+
+	public void testScaleInvalidData() {
+		try {
+			ProfileImageScaler.scale(new ProfileImage(new byte[] { 1, 2, 3 }, 64, 64, "png"), 32, 32);
+			fail("Expected IOException");
+		} catch (IOException expected) {
+		}
+	}
+
+	public void testScaleInvalidSize() throws Exception {
+		try {
+			ProfileImageScaler.scale(createImage(2, 2, RED), 0, 1);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+}
@@ -242,6 +242,14 @@ public class NetUtilTest extends TestCase {
 		}
 	}
 
+	public void testGetMaxAge() {
+		assertEquals(3600 * 1000, NetUtil.getMaxAge("max-age=3600"));
+		assertEquals(60 * 1000, NetUtil.getMaxAge("public, Max-Age = \"60\", must-revalidate"));
+		assertEquals(-1, NetUtil.getMaxAge("no-cache"));
+		assertEquals(-1, NetUtil.getMaxAge("max-age=99999999999999999999"));
+		assertEquals(-1, NetUtil.getMaxAge(null));
+	}
+
 	private static void resetSystemProperty(String key, String oldValue) {
 		if (oldValue == null) {
 			System.clearProperty(key);
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.xmlrpc;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.commons.xmlrpc.BufferPool;
+import org.eclipse.mylyn.internal.commons.xmlrpc.BufferPool.Buffer;
+
+public class BufferPoolTest extends TestCase {
+
+	public void testAcquireRelease() throws Exception {
+		BufferPool pool = new BufferPool(16, 2, 1024);
+		Buffer buffer = pool.acquire();
+		buffer.write(new byte[] { 1, 2, 3 });
+		pool.release(buffer);
+		assertEquals(1, pool.size());
+
+		Buffer reused = pool.acquire();
+		assertSame(buffer, reused);
+		assertEquals(0, reused.size());
+		assertEquals(0, pool.size());
+	}
+
+	public void testReleaseLargeBuffer() throws Exception {
+		BufferPool pool = new BufferPool(16, 2, 1024);
+		Buffer buffer = pool.acquire();
+		buffer.write(new byte[2048]);
+		pool.release(buffer);
+		assertEquals(0, pool.size());
+		assertNotSame(buffer, pool.acquire());
+	}
+
+	public void testReleaseFullPool() throws Exception {
+		BufferPool pool = new BufferPool(16, 2, 1024);
+		Buffer buffer1 = pool.acquire();
+		Buffer buffer2 = pool.acquire();
+		Buffer buffer3 = pool.acquire();
+		pool.release(buffer1);
+		pool.release(buffer2);
+		pool.release(buffer3);
+		assertEquals(2, pool.size());
+	}
+
+	public void testReleaseNull() throws Exception {
+		BufferPool pool = new BufferPool(16, 2, 1024);
+		pool.release(null);
+		assertEquals(0, pool.size());
+	}
+
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.xmlrpc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.internal.commons.xmlrpc.Multicall;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcCallBatcher;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcNoSuchMethodException;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcRemoteException;
+
+public class XmlRpcCallBatcherTest extends TestCase {
+
+	/**
+	 * Echoes the first parameter of each call, methods named "fault" return a fault.
+	 */
+	private class StubBatcher extends XmlRpcCallBatcher {
+
+		private final List<Integer> multicallSizes = new ArrayList<Integer>();
+
+		private final List<String> calls = new ArrayList<String>();
+
+		private boolean multicallSupported = true;
+
+		public StubBatcher() {
+			super(null);
+		}
+
+		@Override
+		protected synchronized Object[] executeMulticall(IProgressMonitor monitor, Multicall multicall)
+				throws XmlRpcException {
+			if (!multicallSupported) {
+				throw new XmlRpcNoSuchMethodException(new XmlRpcException("No such handler: system.multicall"));
+			}
+			Map<String, Object>[] items = multicall.getCalls();
+			multicallSizes.add(items.length);
+			Object[] response = new Object[items.length];
+			for (int i = 0; i < items.length; i++) {
+				if ("fault".equals(items[i].get("methodName"))) {
+					Map<String, Object> fault = new HashMap<String, Object>();
+					fault.put("faultCode", 2);
+					fault.put("faultString", "failed");
+					response[i] = fault;
+				} else {
+					response[i] = new Object[] { ((Object[]) items[i].get("params"))[0] };
+				}
+			}
+			return response;
+		}
+
+		@Override
+		protected synchronized Object executeCall(IProgressMonitor monitor, String method, Object... parameters)
+				throws XmlRpcException {
+			calls.add(method);
+			return parameters[0];
+		}
+
+	}
+
+	private StubBatcher batcher;
+
+	@Override
+	protected void setUp() throws Exception {
+		batcher = new StubBatcher();
+		batcher.setBatchWindow(50);
+	}
+
+	public void testCombineCalls() throws Exception {
+		Future<Integer> call1 = batcher.submit(null, "Test.identity", 1);
+		Future<Integer> call2 = batcher.submit(null, "Test.identity", 2);
+		Future<Integer> call3 = batcher.submit(null, "Test.identity", 3);
+		assertEquals(3, (int) call3.get());
+		assertTrue(call1.isDone());
+		assertEquals(1, (int) call1.get());
+		assertEquals(2, (int) call2.get());
+		assertEquals(Arrays.asList(3), batcher.multicallSizes);
+		assertEquals(1, batcher.getBatchCount());
+		assertEquals(Boolean.TRUE, batcher.isMulticallSupported());
+	}
+
+	public void testMaxBatchSize() throws Exception {
+		batcher.setMaxBatchSize(2);
+		Future<Integer> call1 = batcher.submit(null, "Test.identity", 1);
+		batcher.submit(null, "Test.identity", 2);
+		Future<Integer> call3 = batcher.submit(null, "Test.identity", 3);
+		assertEquals(3, (int) call3.get());
+		assertEquals(1, (int) call1.get());
+		assertEquals(Arrays.asList(2), batcher.multicallSizes);
+		assertEquals(Arrays.asList("Test.identity"), batcher.calls);
+		assertEquals(2, batcher.getBatchCount());
+	}
+
+	public void testSingleCall() throws Exception {
+		assertEquals(5, batcher.call(new NullProgressMonitor(), "Test.identity", 5));
+		assertEquals(Arrays.asList("Test.identity"), batcher.calls);
+		assertTrue(batcher.multicallSizes.isEmpty());
+		assertNull(batcher.isMulticallSupported());
+	}
+
+	public void testFault() throws Exception {
+		Future<Integer> call1 = batcher.submit(null, "Test.identity", 1);
+		Future<Object> call2 = batcher.submit(null, "fault", 2);
+		try {
+			call2.get();
+			fail("Expected ExecutionException");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof XmlRpcRemoteException);
+		}
+		assertEquals(1, (int) call1.get());
+	}
+
+	public void testFaultThrownFromCall() throws Exception {
+		batcher.submit(null, "Test.identity", 1);
+		try {
+			batcher.call(null, "fault", 2);
+			fail("Expected XmlRpcRemoteException");
+		} catch (XmlRpcRemoteException e) {
+			// expected
+		}
+	}
+
+	public void testMulticallNotSupported() throws Exception {
+		batcher.multicallSupported = false;
+		Future<Integer> call1 = batcher.submit(null, "Test.identity", 1);
+		Future<Integer> call2 = batcher.submit(null, "Test.identity", 2);
+		assertEquals(2, (int) call2.get());
+		assertEquals(1, (int) call1.get());
+		assertEquals(Boolean.FALSE, batcher.isMulticallSupported());
+		assertEquals(2, batcher.calls.size());
+
+		// multicall is not attempted again
+		batcher.multicallSupported = true;
+		batcher.submit(null, "Test.identity", 3);
+		batcher.call(null, "Test.identity", 4);
+		assertEquals(4, batcher.calls.size());
+		assertTrue(batcher.multicallSizes.isEmpty());
+	}
+
+	public void testCancel() throws Exception {
+		Future<Integer> call1 = batcher.submit(null, "Test.identity", 1);
+		Future<Integer> call2 = batcher.submit(null, "Test.identity", 2);
+		assertTrue(call1.cancel(false));
+		assertTrue(call1.isCancelled());
+		assertEquals(2, (int) call2.get());
+		assertFalse(call2.cancel(false));
+		assertEquals(Arrays.asList("Test.identity"), batcher.calls);
+	}
+
+	public void testConcurrentCalls() throws Exception {
+		batcher.setBatchWindow(200);
+		final Object[] results = new Object[5];
+		Thread[] threads = new Thread[results.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int value = i;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						results[value] = batcher.call(new NullProgressMonitor(), "Test.identity", value);
+					} catch (XmlRpcException e) {
+						results[value] = e;
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int i = 0; i < results.length; i++) {
+			assertEquals(i, results[i]);
+		}
+		assertTrue("Expected calls to be combined, got " + batcher.getBatchCount() + " batches",
+				batcher.getBatchCount() < results.length);
+	}
+
+}
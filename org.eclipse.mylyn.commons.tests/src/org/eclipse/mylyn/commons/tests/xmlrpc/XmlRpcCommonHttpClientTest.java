@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.xmlrpc;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.AuthenticationType;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+import org.eclipse.mylyn.internal.commons.xmlrpc.CommonXmlRpcClient;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcNoSuchMethodException;
+
+public class XmlRpcCommonHttpClientTest extends TestCase {
+
+	private CommonXmlRpcClient client;
+
+	private WebLocation location;
+
+	@Override
+	protected void setUp() throws Exception {
+		int port = XmlRpcTestServer.start();
+		location = new WebLocation("http://localhost:" + port + "/xmlrpc");
+		client = new CommonXmlRpcClient(location, CommonXmlRpcClient.createCommonHttpClient(location));
+	}
+
+	public void testCall() throws Exception {
+		assertNull(client.getHttpClient());
+		assertNotNull(client.getCommonHttpClient());
+		int i = (Integer) client.call(new NullProgressMonitor(), "Test.identity", 5);
+		assertEquals(5, i);
+	}
+
+	public void testCallRepeated() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, ((Integer) client.call(new NullProgressMonitor(), "Test.identity", i)).intValue());
+		}
+	}
+
+	public void testNoSuchMethod() throws Exception {
+		try {
+			Object response = client.call(new NullProgressMonitor(), "Test.noSuchMethod", 5);
+			fail("Expected XmlRpcNoSuchMethodExecption, got " + response);
+		} catch (XmlRpcNoSuchMethodException e) {
+			// expected
+		}
+	}
+
+	public void testLocationCredentials() throws Exception {
+		location.setCredentials(AuthenticationType.REPOSITORY, "user", "pass");
+		RepositoryLocation repositoryLocation = client.getCommonHttpClient().getLocation();
+		assertNotNull(repositoryLocation.getService());
+		UserCredentials credentials = repositoryLocation
+				.getCredentials(org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType.HTTP);
+		assertEquals("user", credentials.getUserName());
+		assertEquals("pass", credentials.getPassword());
+	}
+
+	public void testLocationSetCredentialsIsTransient() throws Exception {
+		RepositoryLocation repositoryLocation = client.getCommonHttpClient().getLocation();
+		repositoryLocation.setCredentials(org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType.HTTP,
+				new UserCredentials("other", "secret"));
+		assertNotNull(repositoryLocation.getCredentialsStore());
+		assertNull(location.getCredentials(AuthenticationType.REPOSITORY));
+		repositoryLocation.clearCredentials();
+	}
+
+}
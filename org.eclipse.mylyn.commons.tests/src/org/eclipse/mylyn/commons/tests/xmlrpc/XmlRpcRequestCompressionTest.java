@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.xmlrpc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.commons.xmlrpc.CommonXmlRpcClient;
+
+public class XmlRpcRequestCompressionTest extends TestCase {
+
+	private static final String RESPONSE = "<?xml version=\"1.0\"?><methodResponse><params><param><value><i4>1</i4>"
+			+ "</value></param></params></methodResponse>";
+
+	private static final String FAULT_RESPONSE = "<?xml version=\"1.0\"?><methodResponse><fault><value><struct>"
+			+ "<member><name>faultCode</name><value><i4>1</i4></value></member>"
+			+ "<member><name>faultString</name><value>error</value></member>"
+			+ "</struct></value></fault></methodResponse>";
+
+	/**
+	 * Answers each request on a new connection with the status configured for compressed or uncompressed requests.
+	 */
+	private static class CompressionServer implements Runnable {
+
+		private final ServerSocket serverSocket;
+
+		private final List<Boolean> requests = Collections.synchronizedList(new ArrayList<Boolean>());
+
+		private volatile String compressedStatus = "200 OK";
+
+		private volatile String uncompressedStatus = "200 OK";
+
+		private volatile boolean compressedFault;
+
+		public CompressionServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+			Thread thread = new Thread(this, "CompressionServer");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		public void run() {
+			try {
+				while (true) {
+					Socket socket = serverSocket.accept();
+					try {
+						handle(socket);
+					} finally {
+						socket.close();
+					}
+				}
+			} catch (IOException e) {
+				// closed
+			}
+		}
+
+		private void handle(Socket socket) throws IOException {
+			InputStream in = socket.getInputStream();
+			int contentLength = 0;
+			boolean compressed = false;
+			String line;
+			while ((line = readLine(in)).length() > 0) {
+				String header = line.toLowerCase();
+				if (header.startsWith("content-length:")) {
+					contentLength = Integer.parseInt(line.substring(15).trim());
+				} else if (header.startsWith("content-encoding:") && header.contains("gzip")) {
+					compressed = true;
+				}
+			}
+			new DataInputStream(in).readFully(new byte[contentLength]);
+			requests.add(compressed);
+
+			String status = (compressed) ? compressedStatus : uncompressedStatus;
+			byte[] body;
+			if (status.startsWith("200")) {
+				body = ((compressed && compressedFault) ? FAULT_RESPONSE : RESPONSE).getBytes("UTF-8");
+			} else {
+				body = new byte[0];
+			}
+			OutputStream out = socket.getOutputStream();
+			out.write(("HTTP/1.1 " + status + "\r\nContent-Type: text/xml\r\nContent-Length: " + body.length
+					+ "\r\nConnection: close\r\n\r\n").getBytes("ISO-8859-1"));
+			out.write(body);
+			out.flush();
+		}
+
+		private String readLine(InputStream in) throws IOException {
+			ByteArrayOutputStream line = new ByteArrayOutputStream();
+			int c;
+			while ((c = in.read()) != -1 && c != '\n') {
+				if (c != '\r') {
+					line.write(c);
+				}
+			}
+			return line.toString("ISO-8859-1");
+		}
+
+		public List<Boolean> getRequests() {
+			return new ArrayList<Boolean>(requests);
+		}
+
+		public String getUrl() {
+			return "http://localhost:" + serverSocket.getLocalPort() + "/xmlrpc";
+		}
+
+		public void stop() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+	private CompressionServer server;
+
+	private CommonXmlRpcClient client;
+
+	private String largeParameter;
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new CompressionServer();
+		client = new CommonXmlRpcClient(new WebLocation(server.getUrl()));
+		client.setRequestCompressionEnabled(true);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 4096; i++) {
+			sb.append('a');
+		}
+		largeParameter = sb.toString();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+	}
+
+	public void testCompressionSupported() throws Exception {
+		call();
+		call();
+		assertEquals("[true, true]", server.getRequests().toString());
+	}
+
+	public void testFallbackOnUnsupportedMediaType() throws Exception {
+		server.compressedStatus = "415 Unsupported Media Type";
+		call();
+		assertEquals("[true, false]", server.getRequests().toString());
+		call();
+		assertEquals("[true, false, false]", server.getRequests().toString());
+	}
+
+	public void testFallbackRecordedIfRetryFails() throws Exception {
+		server.compressedStatus = "415 Unsupported Media Type";
+		server.uncompressedStatus = "500 Internal Server Error";
+		try {
+			call();
+			fail("Expected XmlRpcException");
+		} catch (XmlRpcException e) {
+			// expected
+		}
+		assertEquals("[true, false]", server.getRequests().toString());
+
+		server.uncompressedStatus = "200 OK";
+		call();
+		assertEquals("[true, false, false]", server.getRequests().toString());
+	}
+
+	public void testNoRetryOnServerError() throws Exception {
+		server.compressedStatus = "500 Internal Server Error";
+		try {
+			call();
+			fail("Expected XmlRpcException");
+		} catch (XmlRpcException e) {
+			// expected
+		}
+		assertEquals("[true]", server.getRequests().toString());
+
+		server.compressedStatus = "200 OK";
+		call();
+		assertEquals("[true, false]", server.getRequests().toString());
+	}
+
+	public void testNoRetryOnFault() throws Exception {
+		server.compressedFault = true;
+		try {
+			call();
+			fail("Expected XmlRpcException");
+		} catch (XmlRpcException e) {
+			// expected
+		}
+		assertEquals("[true]", server.getRequests().toString());
+
+		call();
+		assertEquals("[true, false]", server.getRequests().toString());
+	}
+
+	private void call() throws XmlRpcException {
+		client.call(new NullProgressMonitor(), "Test.create", largeParameter);
+	}
+
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.xmlrpc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.net.AuthenticationCredentials;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcResponseCache;
+
+public class XmlRpcResponseCacheTest extends TestCase {
+
+	private static final String URL = "http://localhost/xmlrpc";
+
+	private XmlRpcResponseCache cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		cache = new XmlRpcResponseCache();
+		cache.setCacheable("ticket.milestone.getAll", 60 * 1000);
+		cache.validate(URL, new AuthenticationCredentials("user", "pass"));
+	}
+
+	public void testGetPut() {
+		assertNull(cache.get("ticket.milestone.getAll", new Object[0]));
+		cache.put("ticket.milestone.getAll", new Object[0], new Object[] { "m1", "m2" });
+		Object[] value = (Object[]) cache.get("ticket.milestone.getAll", new Object[0]);
+		assertEquals(2, value.length);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@SuppressWarnings("unchecked")
+	public void testGetReturnsCopy() {
+		Map<String, Object> struct = new HashMap<String, Object>();
+		struct.put("name", "m1");
+		Object[] parameters = new Object[] { new Object[] { 1 } };
+		Object[] result = new Object[] { struct, new byte[] { 1 } };
+		cache.put("ticket.milestone.getAll", parameters, result);
+		((Object[]) parameters[0])[0] = 2;
+		struct.put("name", "changed");
+
+		Object[] value = (Object[]) cache.get("ticket.milestone.getAll", new Object[] { new Object[] { 1 } });
+		assertNotNull(value);
+		assertNotSame(result, value);
+		assertEquals("m1", ((Map<?, ?>) value[0]).get("name"));
+		((Map<String, Object>) value[0]).put("name", "changed");
+		((byte[]) value[1])[0] = 2;
+
+		value = (Object[]) cache.get("ticket.milestone.getAll", new Object[] { new Object[] { 1 } });
+		assertEquals("m1", ((Map<?, ?>) value[0]).get("name"));
+		assertEquals(1, ((byte[]) value[1])[0]);
+	}
+
+	public void testNotCacheable() {
+		assertFalse(cache.isCacheable("ticket.get"));
+		cache.put("ticket.get", new Object[] { 1 }, "ticket");
+		assertNull(cache.get("ticket.get", new Object[] { 1 }));
+		assertEquals(0, cache.size());
+	}
+
+	public void testParameters() {
+		cache.setCacheable("ticket.query", 60 * 1000);
+		cache.put("ticket.query", new Object[] { "status=new", new Object[] { 1, 2 } }, "a");
+		cache.put("ticket.query", new Object[] { "status=closed", new Object[] { 1, 2 } }, "b");
+		assertEquals("a", cache.get("ticket.query", new Object[] { "status=new", new Object[] { 1, 2 } }));
+		assertEquals("b", cache.get("ticket.query", new Object[] { "status=closed", new Object[] { 1, 2 } }));
+		assertNull(cache.get("ticket.query", new Object[] { "status=new", new Object[] { 1, 3 } }));
+	}
+
+	public void testExpiry() throws Exception {
+		cache.setCacheable("system.listMethods", 1);
+		cache.put("system.listMethods", null, new Object[] { "a" });
+		Thread.sleep(5);
+		assertNull(cache.get("system.listMethods", null));
+		assertEquals(0, cache.size());
+	}
+
+	public void testEviction() {
+		cache.setCacheable("ticket.get", 60 * 1000);
+		cache.setMaxEntries(2);
+		cache.put("ticket.get", new Object[] { 1 }, "1");
+		cache.put("ticket.get", new Object[] { 2 }, "2");
+		// access entry 1 to make entry 2 the least recently used
+		assertEquals("1", cache.get("ticket.get", new Object[] { 1 }));
+		cache.put("ticket.get", new Object[] { 3 }, "3");
+		assertEquals(2, cache.size());
+		assertEquals("1", cache.get("ticket.get", new Object[] { 1 }));
+		assertNull(cache.get("ticket.get", new Object[] { 2 }));
+	}
+
+	public void testCredentialsChanged() {
+		cache.put("ticket.milestone.getAll", null, "value");
+		cache.validate(URL, new AuthenticationCredentials("user", "pass"));
+		assertEquals("value", cache.get("ticket.milestone.getAll", null));
+		cache.validate(URL, new AuthenticationCredentials("user", "other"));
+		assertNull(cache.get("ticket.milestone.getAll", null));
+	}
+
+	public void testSaveLoad() throws Exception {
+		Map<String, Object> struct = new HashMap<String, Object>();
+		struct.put("name", "milestone");
+		cache.put("ticket.milestone.getAll", null, new Object[] { struct, 5 });
+		File file = File.createTempFile("xmlrpc-cache", ".dat");
+		try {
+			cache.save(file);
+
+			XmlRpcResponseCache loaded = new XmlRpcResponseCache();
+			loaded.setCacheable("ticket.milestone.getAll", 60 * 1000);
+			loaded.load(file);
+			loaded.validate(URL, new AuthenticationCredentials("user", "pass"));
+			Object[] value = (Object[]) loaded.get("ticket.milestone.getAll", null);
+			assertNotNull(value);
+			assertEquals(struct, value[0]);
+			assertEquals(5, value[1]);
+
+			loaded.load(file);
+			loaded.validate(URL, new AuthenticationCredentials("other", "pass"));
+			assertNull(loaded.get("ticket.milestone.getAll", null));
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testLoadRejectsUnexpectedTypes() throws Exception {
+		cache.put("ticket.milestone.getAll", null, new ArrayList<String>(Arrays.asList("m1")));
+		File file = File.createTempFile("xmlrpc-cache", ".dat");
+		try {
+			cache.save(file);
+
+			XmlRpcResponseCache loaded = new XmlRpcResponseCache();
+			try {
+				loaded.load(file);
+				fail("Expected IOException");
+			} catch (IOException expected) {
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testSaveDoesNotStoreCredentials() throws Exception {
+		cache.put("ticket.milestone.getAll", null, "value");
+		File file = File.createTempFile("xmlrpc-cache", ".dat");
+		try {
+			cache.save(file);
+			String content = new String(readFile(file), "ISO-8859-1");
+			assertTrue(content.contains("user"));
+			assertFalse(content.contains("pass"));
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testCredentialsChangedDeletesFile() throws Exception {
+		cache.put("ticket.milestone.getAll", null, "value");
+		File file = File.createTempFile("xmlrpc-cache", ".dat");
+		try {
+			cache.save(file);
+			cache.validate(URL, new AuthenticationCredentials("user", "other"));
+			assertNull(cache.get("ticket.milestone.getAll", null));
+			assertFalse(file.exists());
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testLoadedEntriesDiscardedForOtherUser() throws Exception {
+		cache.put("ticket.milestone.getAll", null, "value");
+		File file = File.createTempFile("xmlrpc-cache", ".dat");
+		try {
+			cache.save(file);
+
+			XmlRpcResponseCache loaded = new XmlRpcResponseCache();
+			loaded.setCacheable("ticket.milestone.getAll", 60 * 1000);
+			loaded.load(file);
+			loaded.validate(URL, new AuthenticationCredentials("other", "pass"));
+			assertNull(loaded.get("ticket.milestone.getAll", null));
+			assertFalse(file.exists());
+		} finally {
+			file.delete();
+		}
+	}
+
+	private byte[] readFile(File file) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int count;
+			while ((count = in.read(buffer)) != -1) {
+				out.write(buffer, 0, count);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+}
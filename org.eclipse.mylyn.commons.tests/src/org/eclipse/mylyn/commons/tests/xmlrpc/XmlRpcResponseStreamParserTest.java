@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.xmlrpc;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcResponseStreamParser;
+import org.eclipse.mylyn.internal.commons.xmlrpc.XmlRpcResultHandler;
+
+public class XmlRpcResponseStreamParserTest extends TestCase {
+
+	private class Collector implements XmlRpcResultHandler {
+
+		private final List<Object> elements = new ArrayList<Object>();
+
+		public void handleElement(Object element) throws XmlRpcException {
+			elements.add(element);
+		}
+
+	}
+
+	private Collector collector;
+
+	private XmlRpcResponseStreamParser parser;
+
+	@Override
+	protected void setUp() throws Exception {
+		collector = new Collector();
+		parser = new XmlRpcResponseStreamParser(TimeZone.getTimeZone("UTC"));
+	}
+
+	public void testArray() throws Exception {
+		int count = parse("<array><data><value><int>1</int></value><value><i4>2</i4></value>"
+				+ "<value>three</value><value><string>four</string></value></data></array>");
+		assertEquals(4, count);
+		assertEquals(1, collector.elements.get(0));
+		assertEquals(2, collector.elements.get(1));
+		assertEquals("three", collector.elements.get(2));
+		assertEquals("four", collector.elements.get(3));
+	}
+
+	public void testEmptyArray() throws Exception {
+		assertEquals(0, parse("<array><data></data></array>"));
+		assertTrue(collector.elements.isEmpty());
+	}
+
+	public void testNestedValues() throws Exception {
+		parse("<array>\n<data>\n<value><struct><member><name>id</name><value><int>5</int></value></member>"
+				+ "<member><name>tags</name><value><array><data><value>a</value><value>b</value></data></array>"
+				+ "</value></member><member><name>closed</name><value><boolean>1</boolean></value></member>"
+				+ "</struct></value>\n</data>\n</array>");
+		assertEquals(1, collector.elements.size());
+		Map<?, ?> struct = (Map<?, ?>) collector.elements.get(0);
+		assertEquals(5, struct.get("id"));
+		assertEquals(Boolean.TRUE, struct.get("closed"));
+		Object[] tags = (Object[]) struct.get("tags");
+		assertEquals(2, tags.length);
+		assertEquals("a", tags[0]);
+		assertEquals("b", tags[1]);
+	}
+
+	public void testScalarResult() throws Exception {
+		assertEquals(1, parse("<double>1.5</double>"));
+		assertEquals(1.5, collector.elements.get(0));
+	}
+
+	public void testDateAndBase64() throws Exception {
+		parse("<array><data><value><dateTime.iso8601>20100102T03:04:05</dateTime.iso8601></value>"
+				+ "<value><base64>YWJj</base64></value><value><nil/></value></data></array>");
+		Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		calendar.clear();
+		calendar.set(2010, Calendar.JANUARY, 2, 3, 4, 5);
+		assertEquals(calendar.getTime(), (Date) collector.elements.get(0));
+		assertEquals("abc", new String((byte[]) collector.elements.get(1), "US-ASCII"));
+		assertNull(collector.elements.get(2));
+	}
+
+	public void testFault() throws Exception {
+		try {
+			parser.parse(stream("<?xml version=\"1.0\"?><methodResponse><fault><value><struct>"
+					+ "<member><name>faultCode</name><value><int>4</int></value></member>"
+					+ "<member><name>faultString</name><value><string>Too many parameters.</string></value></member>"
+					+ "</struct></value></fault></methodResponse>"), collector, null);
+			fail("Expected XmlRpcException");
+		} catch (XmlRpcException e) {
+			assertEquals(4, e.code);
+			assertEquals("Too many parameters.", e.getMessage());
+		}
+	}
+
+	public void testMalformedResponse() throws Exception {
+		try {
+			parser.parse(stream("<methodResponse><params></params></methodResponse>"), collector, null);
+			fail("Expected XmlRpcException");
+		} catch (XmlRpcException e) {
+			// expected
+		}
+	}
+
+	public void testCancel() throws Exception {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			parser.parse(stream(response("<array><data><value>1</value></data></array>")), collector, monitor);
+			fail("Expected OperationCanceledException");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertTrue(collector.elements.isEmpty());
+	}
+
+	private int parse(String value) throws XmlRpcException {
+		return parser.parse(stream(response(value)), collector, null);
+	}
+
+	private String response(String value) {
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<methodResponse><params><param><value>" + value
+				+ "</value></param></params></methodResponse>";
+	}
+
+	private ByteArrayInputStream stream(String response) {
+		try {
+			return new ByteArrayInputStream(response.getBytes("UTF-8"));
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+
+/**
+ * A pool of reusable buffers for serializing requests. Buffers that have grown beyond the maximum retained capacity are
+ * discarded on release to avoid holding on to memory after large requests.
+ */
+public class BufferPool {
+
+	/**
+	 * A byte array output stream that exposes its capacity.
+	 */
+	public static class Buffer extends ByteArrayOutputStream {
+
+		Buffer(int initialCapacity) {
+			super(initialCapacity);
+		}
+
+		int capacity() {
+			return buf.length;
+		}
+
+	}
+
+	private final ArrayDeque<Buffer> buffers = new ArrayDeque<Buffer>();
+
+	private final int initialCapacity;
+
+	private final int maxPooledBuffers;
+
+	private final int maxRetainedCapacity;
+
+	public BufferPool(int initialCapacity, int maxPooledBuffers, int maxRetainedCapacity) {
+		this.initialCapacity = initialCapacity;
+		this.maxPooledBuffers = maxPooledBuffers;
+		this.maxRetainedCapacity = maxRetainedCapacity;
+	}
+
+	/**
+	 * Returns an empty buffer. The buffer should be returned to the pool through {@link #release(Buffer)} when it is no
+	 * longer used.
+	 */
+	public Buffer acquire() {
+		synchronized (buffers) {
+			Buffer buffer = buffers.pollFirst();
+			if (buffer != null) {
+				return buffer;
+			}
+		}
+		return new Buffer(initialCapacity);
+	}
+
+	public void release(Buffer buffer) {
+		if (buffer == null || buffer.capacity() > maxRetainedCapacity) {
+			return;
+		}
+		buffer.reset();
+		synchronized (buffers) {
+			if (buffers.size() < maxPooledBuffers) {
+				buffers.addFirst(buffer);
+			}
+		}
+	}
+
+	public int size() {
+		synchronized (buffers) {
+			return buffers.size();
+		}
+	}
+
+}
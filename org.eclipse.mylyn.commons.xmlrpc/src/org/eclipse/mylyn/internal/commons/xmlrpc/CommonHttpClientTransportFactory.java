@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import org.apache.commons.httpclient.auth.NTLMScheme;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.auth.AUTH;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.protocol.ClientContext;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.XmlRpcRequest;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.apache.xmlrpc.client.XmlRpcHttpClientConfig;
+import org.apache.xmlrpc.client.XmlRpcHttpTransport;
+import org.apache.xmlrpc.client.XmlRpcTransport;
+import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+import org.apache.xmlrpc.common.XmlRpcStreamRequestConfig;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.core.operations.OperationUtil;
+import org.eclipse.mylyn.commons.net.WebUtil;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
+import org.eclipse.osgi.util.NLS;
+import org.xml.sax.SAXException;
+
+/**
+ * A transport factory that sends XML-RPC requests through a {@link CommonHttpClient}. Connections are pooled and kept
+ * alive by the shared HttpClient 4 connection manager and requests are aborted through the
+ * {@link org.eclipse.mylyn.commons.core.operations.CancellableOperationMonitorThread} when the progress monitor is
+ * canceled.
+ */
+class CommonHttpClientTransportFactory implements XmlRpcTransportFactory {
+
+	private static final String DEFAULT_CONTENT_TYPE = "text/xml"; //$NON-NLS-1$
+
+	/**
+	 * A transport that uses the Apache HttpClient 4 library.
+	 */
+	static class CommonHttpClientTransport extends XmlRpcHttpTransport {
+
+		private final CommonHttpClient httpClient;
+
+		private final CommonHttpClientTransportFactory factory;
+
+		private HttpPost request;
+
+		private CommonHttpResponse response;
+
+		private IProgressMonitor monitor;
+
+		private XmlRpcResultHandler resultHandler;
+
+		CommonHttpClientTransport(XmlRpcClient client, CommonHttpClient httpClient,
+				CommonHttpClientTransportFactory factory) {
+			super(client, ""); //$NON-NLS-1$
+			this.httpClient = httpClient;
+			this.factory = factory;
+		}
+
+		@Override
+		protected void close() throws XmlRpcClientException {
+			if (response != null) {
+				response.release();
+				response = null;
+			}
+		}
+
+		@Override
+		protected InputStream getInputStream() throws XmlRpcException {
+			int statusCode = response.getStatusCode();
+			if (statusCode != HttpStatus.SC_OK) {
+				XmlRpcHttpException e = new XmlRpcHttpException(statusCode);
+				if (statusCode == HttpStatus.SC_UNAUTHORIZED || statusCode == HttpStatus.SC_FORBIDDEN) {
+					// drop cached authentication schemes to avoid sending stale credentials preemptively
+					httpClient.getContext().removeAttribute(ClientContext.AUTH_CACHE);
+					if (isNtlmAuthRequested()) {
+						e.setAuthScheme(new NTLMScheme());
+					}
+				}
+				throw e;
+			}
+
+			try {
+				return response.getResponseEntityAsStream();
+			} catch (IOException e) {
+				throw new XmlRpcClientException("I/O error in server communication: " + e.getMessage(), e); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		protected String getUserAgent() {
+			return WebUtil.getUserAgent(""); //$NON-NLS-1$
+		}
+
+		@Override
+		protected void initHttpHeaders(XmlRpcRequest request) throws XmlRpcClientException {
+			XmlRpcHttpClientConfig config = (XmlRpcHttpClientConfig) request.getConfig();
+
+			if (request instanceof XmlRpcClientRequest) {
+				XmlRpcClientRequest clientRequest = (XmlRpcClientRequest) request;
+				monitor = clientRequest.getProgressMonitor();
+				resultHandler = clientRequest.getResultHandler();
+			} else {
+				monitor = null;
+				resultHandler = null;
+			}
+
+			this.request = new HttpPost(config.getServerURL().toString());
+
+			super.initHttpHeaders(request);
+
+			if (config.getConnectionTimeout() != 0) {
+				HttpConnectionParams.setConnectionTimeout(this.request.getParams(), config.getConnectionTimeout());
+			}
+			if (config.getReplyTimeout() != 0) {
+				HttpConnectionParams.setSoTimeout(this.request.getParams(), config.getReplyTimeout());
+			}
+		}
+
+		private boolean isNtlmAuthRequested() {
+			for (Header header : response.getResponse().getHeaders(AUTH.WWW_AUTH)) {
+				if (header.getValue().toLowerCase(Locale.ENGLISH).startsWith("ntlm")) { //$NON-NLS-1$
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Requests are always serialized into a buffer by {@link #writeRequest(ReqWriter)} to determine the content
+		 * length.
+		 */
+		@Override
+		protected boolean isUsingByteArrayOutput(XmlRpcHttpClientConfig config) {
+			return false;
+		}
+
+		/**
+		 * Compressed responses are transparently decoded by the client.
+		 */
+		@Override
+		protected boolean isResponseGzipCompressed(XmlRpcStreamRequestConfig config) {
+			return false;
+		}
+
+		@Override
+		protected Object readResponse(XmlRpcStreamRequestConfig pConfig, InputStream pStream) throws XmlRpcException {
+			if (resultHandler != null) {
+				// parse incrementally while the response is received
+				return new XmlRpcResponseStreamParser(pConfig.getTimeZone()).parse(pStream, resultHandler, monitor);
+			}
+			return super.readResponse(pConfig, pStream);
+		}
+
+		@Override
+		protected void setContentLength(int contentLength) {
+			// the content length is determined by the entity
+		}
+
+		@Override
+		protected void setCredentials(XmlRpcHttpClientConfig config) throws XmlRpcClientException {
+			// handled by CommonHttpClient
+		}
+
+		@Override
+		protected void setRequestHeader(String header, String value) {
+			request.setHeader(header, value);
+		}
+
+		@Override
+		protected void writeRequest(ReqWriter writer) throws XmlRpcException {
+			final BufferPool.Buffer body = HttpClientTransportFactory.BUFFER_POOL.acquire();
+			try {
+				try {
+					writer.write(body);
+				} catch (SAXException e) {
+					throw new XmlRpcException("Failed to serialize request: " + e.getMessage(), e); //$NON-NLS-1$
+				} catch (IOException e) {
+					throw new XmlRpcException("Failed to serialize request: " + e.getMessage(), e); //$NON-NLS-1$
+				}
+
+				request.setEntity(new AbstractHttpEntity() {
+					@Override
+					public InputStream getContent() throws IOException {
+						return new ByteArrayInputStream(body.toByteArray());
+					}
+
+					@Override
+					public long getContentLength() {
+						return body.size();
+					}
+
+					@Override
+					public boolean isRepeatable() {
+						return true;
+					}
+
+					@Override
+					public boolean isStreaming() {
+						return false;
+					}
+
+					@Override
+					public void writeTo(OutputStream out) throws IOException {
+						body.writeTo(out);
+					}
+				});
+
+				execute();
+			} finally {
+				request.setEntity(null);
+				HttpClientTransportFactory.BUFFER_POOL.release(body);
+			}
+		}
+
+		private void execute() throws XmlRpcException {
+			IOperationMonitor operationMonitor = OperationUtil.convert(monitor);
+			try {
+				HttpResponse httpResponse = httpClient.execute(request, operationMonitor);
+				response = new CommonHttpResponse(request, httpResponse, httpClient.getMonitorThread(),
+						operationMonitor);
+			} catch (SSLHandshakeException e) {
+				XmlRpcSslCertificateException exception = new XmlRpcSslCertificateException(e.getMessage());
+				exception.initCause(e);
+				throw exception;
+			} catch (IOException e) {
+				throw new XmlRpcException("I/O error while communicating with HTTP server: " + e.getMessage(), e); //$NON-NLS-1$
+			}
+
+			if (factory.isContentTypeCheckingEnabled()) {
+				Header header = response.getResponse().getFirstHeader("Content-Type"); //$NON-NLS-1$
+				String contentType = (header != null) ? header.getValue() : null;
+				if (!DEFAULT_CONTENT_TYPE.equals(contentType)) {
+					throw new XmlRpcIllegalContentTypeException(NLS.bind(
+							"The server returned an unexpected content type: ''{0}''", contentType), contentType); //$NON-NLS-1$
+				}
+			}
+		}
+
+	}
+
+	private final XmlRpcClient xmlRpcClient;
+
+	private final CommonHttpClient httpClient;
+
+	private volatile boolean contentTypeCheckingEnabled;
+
+	public CommonHttpClientTransportFactory(XmlRpcClient xmlRpcClient, CommonHttpClient httpClient) {
+		this.xmlRpcClient = xmlRpcClient;
+		this.httpClient = httpClient;
+	}
+
+	public CommonHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public XmlRpcTransport getTransport() {
+		return new CommonHttpClientTransport(xmlRpcClient, httpClient, this);
+	}
+
+	public boolean isContentTypeCheckingEnabled() {
+		return contentTypeCheckingEnabled;
+	}
+
+	public void setContentTypeCheckingEnabled(boolean contentTypeCheckingEnabled) {
+		this.contentTypeCheckingEnabled = contentTypeCheckingEnabled;
+	}
+
+}
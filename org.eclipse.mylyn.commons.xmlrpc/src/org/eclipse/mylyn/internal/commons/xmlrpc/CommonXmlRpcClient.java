@@ -15,6 +15,7 @@ package org.eclipse.mylyn.internal.commons.xmlrpc;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.TimeZone;
+import java.util.concurrent.Future;
 
 import org.apache.commons.httpclient.Credentials;
 import org.apache.commons.httpclient.Header;
@@ -28,12 +29,14 @@ import org.apache.xmlrpc.XmlRpcException;
 import org.apache.xmlrpc.client.XmlRpcClient;
 import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
 import org.apache.xmlrpc.serializer.CharSetXmlWriterFactory;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.mylyn.commons.net.AbstractWebLocation;
 import org.eclipse.mylyn.commons.net.AuthenticationCredentials;
 import org.eclipse.mylyn.commons.net.AuthenticationType;
 import org.eclipse.mylyn.commons.net.WebUtil;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -71,8 +74,12 @@ public class CommonXmlRpcClient {
 
 	private HttpClientTransportFactory factory;
 
+	private CommonHttpClientTransportFactory commonHttpFactory;
+
 	final HttpClient httpClient;
 
+	private final CommonHttpClient commonHttpClient;
+
 	private final AbstractWebLocation location;
 
 //	private boolean probed;
@@ -81,19 +88,76 @@ public class CommonXmlRpcClient {
 
 	private volatile boolean contentTypeCheckingEnabled;
 
+	private volatile XmlRpcCallBatcher batcher;
+
+	private XmlRpcCallBatcher unbatchedCalls;
+
+	private volatile XmlRpcResponseCache responseCache;
+
+	private boolean requestCompressionEnabled;
+
 	public CommonXmlRpcClient(AbstractWebLocation location) {
 		this(location, createHttpClient(DEFAULT_USER_AGENT));
 	}
 
 	public CommonXmlRpcClient(AbstractWebLocation location, HttpClient client) {
 		this.location = location;
-		this.httpClient = createHttpClient(DEFAULT_USER_AGENT);
+		this.httpClient = client;
+		this.commonHttpClient = null;
 		this.authScope = new AuthScope(WebUtil.getHost(location.getUrl()), WebUtil.getPort(location.getUrl()), null,
 				AuthScope.ANY_SCHEME);
 	}
 
+	/**
+	 * Constructs a client that sends requests through <code>client</code> using the HttpClient 4 based transport
+	 * instead of commons-httpclient 3.
+	 * 
+	 * @see #createCommonHttpClient(AbstractWebLocation)
+	 */
+	public CommonXmlRpcClient(AbstractWebLocation location, CommonHttpClient client) {
+		Assert.isNotNull(client);
+		this.location = location;
+		this.httpClient = null;
+		this.commonHttpClient = client;
+		this.authScope = new AuthScope(WebUtil.getHost(location.getUrl()), WebUtil.getPort(location.getUrl()), null,
+				AuthScope.ANY_SCHEME);
+	}
+
+	/**
+	 * Returns an HTTP client that authenticates with the repository credentials and uses the proxy settings of
+	 * <code>location</code>. Basic authentication is performed preemptively; digest authentication is reused for
+	 * subsequent requests once the server has sent a challenge.
+	 */
+	public static CommonHttpClient createCommonHttpClient(AbstractWebLocation location) {
+		CommonHttpClient client = new CommonHttpClient(new WebLocationAdapter(location));
+		client.setPreemptiveAuthenticationEnabled(true);
+		return client;
+	}
+
+	@SuppressWarnings("unchecked")
 	public <T> T call(final IProgressMonitor monitor, final String method, final Object... parameters)
 			throws XmlRpcException {
+		XmlRpcResponseCache cache = this.responseCache;
+		if (cache != null && cache.isCacheable(method)) {
+			cache.validate(location.getUrl(), location.getCredentials(AuthenticationType.REPOSITORY));
+			Object value = cache.get(method, parameters);
+			if (value != null) {
+				return (T) value;
+			}
+			T result = this.<T> callUncached(monitor, method, parameters);
+			cache.put(method, parameters, result);
+			return result;
+		}
+		return this.<T> callUncached(monitor, method, parameters);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T callUncached(final IProgressMonitor monitor, final String method, final Object... parameters)
+			throws XmlRpcException {
+		XmlRpcCallBatcher batcher = this.batcher;
+		if (batcher != null && !XmlRpcCallBatcher.MULTICALL_METHOD.equals(method)) {
+			return (T) batcher.call(monitor, method, parameters);
+		}
 		return new XmlRpcOperation<T>(this) {
 			@SuppressWarnings("unchecked")
 			@Override
@@ -112,6 +176,44 @@ public class CommonXmlRpcClient {
 		}.execute();
 	}
 
+	/**
+	 * Invokes <code>method</code> and passes the elements of the result to <code>handler</code> while the response is
+	 * received. Unlike {@link #call(IProgressMonitor, String, Object...)} the result array is never fully
+	 * materialized, which keeps memory consumption bounded for large results.
+	 * 
+	 * @return the number of elements passed to <code>handler</code>
+	 */
+	public int stream(final IProgressMonitor monitor, final XmlRpcResultHandler handler, final String method,
+			final Object... parameters) throws XmlRpcException {
+		return new XmlRpcOperation<Integer>(this) {
+			@Override
+			public Integer execute() throws XmlRpcException {
+				return stream(monitor, handler, method, parameters);
+			}
+		}.execute();
+	}
+
+	/**
+	 * Queues a call without waiting for the result. If batching is enabled, calls that are queued within the batching
+	 * window are sent as a single multicall; otherwise each call is sent individually when its result is requested.
+	 * 
+	 * @see #setBatchingEnabled(boolean)
+	 */
+	public <T> Future<T> callAsync(IProgressMonitor monitor, String method, Object... parameters) {
+		XmlRpcCallBatcher batcher = this.batcher;
+		if (batcher == null) {
+			synchronized (this) {
+				if (unbatchedCalls == null) {
+					unbatchedCalls = new XmlRpcCallBatcher(this);
+					unbatchedCalls.setBatchWindow(0);
+					unbatchedCalls.setMaxBatchSize(1);
+				}
+				batcher = unbatchedCalls;
+			}
+		}
+		return batcher.submit(monitor, method, parameters);
+	}
+
 	protected void createXmlRpcClient() {
 		config = new XmlRpcClientConfigImpl();
 		config.setEncoding(DEFAULT_CHARSET);
@@ -125,8 +227,25 @@ public class CommonXmlRpcClient {
 		// bug 307200: force factory that supports proper UTF-8 encoding
 		xmlrpc.setXmlWriterFactory(new CharSetXmlWriterFactory());
 
+		if (commonHttpClient != null) {
+			commonHttpFactory = new CommonHttpClientTransportFactory(xmlrpc, commonHttpClient);
+			commonHttpFactory.setContentTypeCheckingEnabled(contentTypeCheckingEnabled);
+			xmlrpc.setTransportFactory(commonHttpFactory);
+		} else {
+			xmlrpc.setTransportFactory(createHttpClientTransportFactory());
+		}
+
+		try {
+			config.setServerURL(new URL(location.getUrl()));
+		} catch (MalformedURLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private HttpClientTransportFactory createHttpClientTransportFactory() {
 		factory = new HttpClientTransportFactory(xmlrpc, httpClient);
 		factory.setLocation(location);
+		factory.setRequestCompressionEnabled(requestCompressionEnabled);
 		factory.setInterceptor(new HttpMethodInterceptor() {
 			public void processRequest(HttpMethod method) {
 				DigestScheme scheme = digestScheme;
@@ -164,13 +283,7 @@ public class CommonXmlRpcClient {
 				}
 			}
 		});
-		xmlrpc.setTransportFactory(factory);
-
-		try {
-			config.setServerURL(new URL(location.getUrl()));
-		} catch (MalformedURLException e) {
-			throw new RuntimeException(e);
-		}
+		return factory;
 	}
 
 	public synchronized XmlRpcClient getClient() {
@@ -181,10 +294,21 @@ public class CommonXmlRpcClient {
 		return xmlrpc;
 	}
 
+	/**
+	 * Returns the commons-httpclient 3 client or <code>null</code>, if the client was constructed with a
+	 * {@link CommonHttpClient}.
+	 */
 	public HttpClient getHttpClient() {
 		return httpClient;
 	}
 
+	/**
+	 * Returns the HttpClient 4 based client or <code>null</code>, if the client uses commons-httpclient 3.
+	 */
+	public CommonHttpClient getCommonHttpClient() {
+		return commonHttpClient;
+	}
+
 	public AbstractWebLocation getLocation() {
 		return location;
 	}
@@ -200,6 +324,13 @@ public class CommonXmlRpcClient {
 	AuthenticationCredentials updateCredentials() {
 		// update configuration with latest values
 		AuthenticationCredentials credentials = location.getCredentials(AuthenticationType.REPOSITORY);
+		if (commonHttpClient != null) {
+			// credentials are configured by CommonHttpClient for each request
+			if (credentials == null) {
+				commonHttpClient.getHttpClient().getCredentialsProvider().clear();
+			}
+			return credentials;
+		}
 		if (credentials != null) {
 			Credentials httpCredentials = WebUtil.getHttpClientCredentials(credentials,
 					WebUtil.getHost(location.getUrl()));
@@ -214,12 +345,72 @@ public class CommonXmlRpcClient {
 		return credentials;
 	}
 
+	/**
+	 * Returns the batcher that combines calls into multicalls or <code>null</code>, if batching is disabled.
+	 */
+	public XmlRpcCallBatcher getBatcher() {
+		return batcher;
+	}
+
+	public boolean isBatchingEnabled() {
+		return batcher != null;
+	}
+
+	/**
+	 * If enabled, calls that are issued concurrently or through {@link #callAsync(IProgressMonitor, String, Object...)}
+	 * within a short window are combined into a single <code>system.multicall</code> request. Batching is disabled by
+	 * default.
+	 */
+	public synchronized void setBatchingEnabled(boolean batchingEnabled) {
+		if (batchingEnabled && batcher == null) {
+			batcher = new XmlRpcCallBatcher(this);
+		} else if (!batchingEnabled) {
+			batcher = null;
+		}
+	}
+
+	/**
+	 * Returns the cache for responses of idempotent methods or <code>null</code>, if responses are not cached.
+	 */
+	public XmlRpcResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * Sets the cache that is consulted by {@link #call(IProgressMonitor, String, Object...)} for methods registered
+	 * through {@link XmlRpcResponseCache#setCacheable(String, long)}.
+	 */
+	public void setResponseCache(XmlRpcResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
+	public synchronized boolean isRequestCompressionEnabled() {
+		return requestCompressionEnabled;
+	}
+
+	/**
+	 * If enabled, request bodies larger than 1 KB are sent gzip compressed. Whether the server accepts compressed
+	 * requests is probed with the first large request; if the server rejects the encoding, the request is resent
+	 * uncompressed and compression is not used for the server again. Disabled by default.
+	 * <p>
+	 * Request compression is not supported when requests are sent through a {@link CommonHttpClient}.
+	 */
+	public synchronized void setRequestCompressionEnabled(boolean requestCompressionEnabled) {
+		this.requestCompressionEnabled = requestCompressionEnabled;
+		if (factory != null) {
+			factory.setRequestCompressionEnabled(requestCompressionEnabled);
+		}
+	}
+
 	public boolean isContentTypeCheckingEnabled() {
 		return contentTypeCheckingEnabled;
 	}
 
-	public void setContentTypeCheckingEnabled(boolean contentTypeCheckingEnabled) {
+	public synchronized void setContentTypeCheckingEnabled(boolean contentTypeCheckingEnabled) {
 		this.contentTypeCheckingEnabled = contentTypeCheckingEnabled;
+		if (commonHttpFactory != null) {
+			commonHttpFactory.setContentTypeCheckingEnabled(contentTypeCheckingEnabled);
+		}
 	}
 
 }
\ No newline at end of file
@@ -12,12 +12,15 @@
 
 package org.eclipse.mylyn.internal.commons.xmlrpc;
 
-import java.io.BufferedOutputStream;
-import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HostConfiguration;
@@ -51,6 +54,18 @@ import org.xml.sax.SAXException;
  */
 class HttpClientTransportFactory implements XmlRpcTransportFactory {
 
+	/**
+	 * The minimum size in bytes of request bodies that are compressed.
+	 */
+	static final int COMPRESSION_THRESHOLD = 1024;
+
+	/**
+	 * The maximum number of characters of an error response that are inspected for an encoding error.
+	 */
+	private static final int MAX_ERROR_BODY_LENGTH = 1024;
+
+	static final BufferPool BUFFER_POOL = new BufferPool(4 * 1024, 8, 1024 * 1024);
+
 	/**
 	 * A transport that uses the Apache HttpClient library.
 	 */
@@ -72,12 +87,37 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 
 		private final HttpMethodInterceptor interceptor;
 
+		private XmlRpcResultHandler resultHandler;
+
+		private final HttpClientTransportFactory factory;
+
+		/**
+		 * If true, the request body is compressed if it exceeds {@link HttpClientTransportFactory#COMPRESSION_THRESHOLD}.
+		 */
+		private boolean compressRequest;
+
+		/**
+		 * Set to true, if the last request body was sent compressed.
+		 */
+		private boolean requestCompressed;
+
+		/**
+		 * Set to true, if the server rejected the encoding of the last compressed request body.
+		 */
+		private boolean encodingRejected;
+
 		public HttpClientTransport(XmlRpcClient client, HttpClient httpClient, AbstractWebLocation location,
 				HttpMethodInterceptor interceptor) {
+			this(client, httpClient, location, interceptor, null);
+		}
+
+		HttpClientTransport(XmlRpcClient client, HttpClient httpClient, AbstractWebLocation location,
+				HttpMethodInterceptor interceptor, HttpClientTransportFactory factory) {
 			super(client, ""); //$NON-NLS-1$
 			this.httpClient = httpClient;
 			this.location = location;
 			this.interceptor = interceptor;
+			this.factory = factory;
 		}
 
 		@Override
@@ -93,6 +133,9 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 		protected InputStream getInputStream() throws XmlRpcException {
 			int responseCode = method.getStatusCode();
 			if (responseCode != HttpURLConnection.HTTP_OK) {
+				if (requestCompressed) {
+					encodingRejected = isEncodingRejected(responseCode);
+				}
 				XmlRpcHttpException e = new XmlRpcHttpException(responseCode);
 				if (responseCode == HttpStatus.SC_UNAUTHORIZED) {
 					e.setAuthScheme(method.getHostAuthState().getAuthScheme());
@@ -121,8 +164,10 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 			if (request instanceof XmlRpcClientRequest) {
 				XmlRpcClientRequest clientRequest = (XmlRpcClientRequest) request;
 				monitor = clientRequest.getProgressMonitor();
+				resultHandler = clientRequest.getResultHandler();
 			} else {
 				monitor = null;
+				resultHandler = null;
 			}
 
 			String url = config.getServerURL().toString();
@@ -146,12 +191,104 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 			}
 		}
 
+		/**
+		 * Requests are always serialized into a buffer by {@link #writeRequest(ReqWriter)} to determine the content
+		 * length and to optionally compress the body.
+		 */
+		@Override
+		protected boolean isUsingByteArrayOutput(XmlRpcHttpClientConfig config) {
+			return false;
+		}
+
 		@Override
 		protected boolean isResponseGzipCompressed(XmlRpcStreamRequestConfig config) {
 			Header header = method.getResponseHeader("Content-Encoding"); //$NON-NLS-1$
 			return header != null && HttpUtil.isUsingGzipEncoding(header.getValue());
 		}
 
+		/**
+		 * Probes whether the server accepts compressed request bodies the first time a body is large enough to be
+		 * compressed. The result is recorded per server URL. If the compressed probe fails for any reason compression
+		 * is disabled for the server. The request is only sent again uncompressed if the server rejected the encoding
+		 * of the request body; other failures are not retried since the server may already have processed the
+		 * request.
+		 */
+		@Override
+		public Object sendRequest(XmlRpcRequest request) throws XmlRpcException {
+			String serverUrl = getServerUrl(request);
+			Boolean supported = (factory != null && factory.isRequestCompressionEnabled())
+					? factory.getRequestCompressionSupported(serverUrl)
+					: Boolean.FALSE;
+			compressRequest = !Boolean.FALSE.equals(supported);
+			requestCompressed = false;
+			encodingRejected = false;
+			if (supported != null) {
+				return super.sendRequest(request);
+			}
+
+			Object result;
+			try {
+				result = super.sendRequest(request);
+			} catch (XmlRpcException e) {
+				if (!requestCompressed) {
+					throw e;
+				}
+				factory.setRequestCompressionSupported(serverUrl, Boolean.FALSE);
+				if (!encodingRejected) {
+					throw e;
+				}
+				compressRequest = false;
+				requestCompressed = false;
+				return super.sendRequest(request);
+			}
+			if (requestCompressed) {
+				factory.setRequestCompressionSupported(serverUrl, Boolean.TRUE);
+			}
+			return result;
+		}
+
+		private String getServerUrl(XmlRpcRequest request) {
+			URL url = ((XmlRpcHttpClientConfig) request.getConfig()).getServerURL();
+			return (url != null) ? url.toString() : ""; //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns true, if the response indicates that the server does not accept the encoding of the request body.
+		 */
+		private boolean isEncodingRejected(int responseCode) {
+			if (responseCode == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+				return true;
+			}
+			if (responseCode == HttpStatus.SC_BAD_REQUEST) {
+				if (isEncodingError(method.getStatusText())) {
+					return true;
+				}
+				try {
+					return isEncodingError(method.getResponseBodyAsString(MAX_ERROR_BODY_LENGTH));
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+			return false;
+		}
+
+		private boolean isEncodingError(String message) {
+			if (message == null) {
+				return false;
+			}
+			message = message.toLowerCase(Locale.ENGLISH);
+			return message.contains("encoding") || message.contains("gzip"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		@Override
+		protected Object readResponse(XmlRpcStreamRequestConfig pConfig, InputStream pStream) throws XmlRpcException {
+			if (resultHandler != null) {
+				// parse incrementally while the response is received
+				return new XmlRpcResponseStreamParser(pConfig.getTimeZone()).parse(pStream, resultHandler, monitor);
+			}
+			return super.readResponse(pConfig, pStream);
+		}
+
 		@Override
 		protected void setContentLength(int contentLength) {
 			this.contentLength = contentLength;
@@ -169,50 +306,60 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 
 		@Override
 		protected void writeRequest(final ReqWriter writer) throws XmlRpcException {
-			method.setRequestEntity(new RequestEntity() {
-				public long getContentLength() {
-					return HttpClientTransport.this.getContentLength();
+			BufferPool.Buffer body = BUFFER_POOL.acquire();
+			BufferPool.Buffer compressedBody = null;
+			try {
+				try {
+					writer.write(body);
+				} catch (SAXException e) {
+					throw new XmlRpcException("Failed to serialize request: " + e.getMessage(), e); //$NON-NLS-1$
+				} catch (IOException e) {
+					throw new XmlRpcException("Failed to serialize request: " + e.getMessage(), e); //$NON-NLS-1$
 				}
 
-				public String getContentType() {
-					return "text/xml"; //$NON-NLS-1$
+				BufferPool.Buffer content = body;
+				if (compressRequest && body.size() >= COMPRESSION_THRESHOLD) {
+					compressedBody = BUFFER_POOL.acquire();
+					try {
+						GZIPOutputStream out = new GZIPOutputStream(compressedBody);
+						body.writeTo(out);
+						out.close();
+					} catch (IOException e) {
+						throw new XmlRpcException("Failed to compress request: " + e.getMessage(), e); //$NON-NLS-1$
+					}
+					content = compressedBody;
+					method.setRequestHeader("Content-Encoding", "gzip"); //$NON-NLS-1$ //$NON-NLS-2$
+					requestCompressed = true;
 				}
+				setContentLength(content.size());
 
-				public boolean isRepeatable() {
-					return getContentLength() != -1;
-				}
+				final BufferPool.Buffer entityContent = content;
+				method.setRequestEntity(new RequestEntity() {
+					public long getContentLength() {
+						return entityContent.size();
+					}
 
-				public void writeRequest(OutputStream pOut) throws IOException {
-					try {
-						/* Make sure, that the socket is not closed by replacing it with our
-						 * own BufferedOutputStream.
-						 */
-						OutputStream ostream;
-						if (isUsingByteArrayOutput(config)) {
-							// No need to buffer the output.
-							ostream = new FilterOutputStream(pOut) {
-								@Override
-								public void close() throws IOException {
-									flush();
-								}
-							};
-						} else {
-							ostream = new BufferedOutputStream(pOut) {
-								@Override
-								public void close() throws IOException {
-									flush();
-								}
-							};
-						}
-						writer.write(ostream);
-					} catch (XmlRpcException e) {
-						throw new XmlRpcIOException(e);
-					} catch (SAXException e) {
-						throw new XmlRpcIOException(e);
+					public String getContentType() {
+						return "text/xml"; //$NON-NLS-1$
 					}
-				}
-			});
 
+					public boolean isRepeatable() {
+						return true;
+					}
+
+					public void writeRequest(OutputStream pOut) throws IOException {
+						entityContent.writeTo(pOut);
+					}
+				});
+
+				execute();
+			} finally {
+				BUFFER_POOL.release(body);
+				BUFFER_POOL.release(compressedBody);
+			}
+		}
+
+		private void execute() throws XmlRpcException {
 			try {
 				WebUtil.execute(httpClient, hostConfiguration, method, monitor);
 				if (interceptor != null) {
@@ -242,6 +389,14 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 
 	private HttpMethodInterceptor interceptor;
 
+	private volatile boolean requestCompressionEnabled;
+
+	/**
+	 * Maps server URLs to whether the server accepts compressed requests. Servers that have not been probed yet have
+	 * no entry.
+	 */
+	private final ConcurrentMap<String, Boolean> requestCompressionSupported = new ConcurrentHashMap<String, Boolean>();
+
 	public HttpClientTransportFactory(XmlRpcClient xmlRpcClient, HttpClient httpClient) {
 		this.xmlRpcClient = xmlRpcClient;
 		this.httpClient = httpClient;
@@ -252,13 +407,37 @@ class HttpClientTransportFactory implements XmlRpcTransportFactory {
 	}
 
 	public XmlRpcTransport getTransport() {
-		return new HttpClientTransport(xmlRpcClient, httpClient, location, interceptor);
+		return new HttpClientTransport(xmlRpcClient, httpClient, location, interceptor, this);
 	}
 
 	public void setLocation(AbstractWebLocation location) {
 		this.location = location;
 	}
 
+	/**
+	 * Returns null, if it has not been probed whether the server at <code>serverUrl</code> accepts compressed
+	 * requests.
+	 */
+	public Boolean getRequestCompressionSupported(String serverUrl) {
+		return requestCompressionSupported.get(serverUrl);
+	}
+
+	public boolean isRequestCompressionEnabled() {
+		return requestCompressionEnabled;
+	}
+
+	public void setRequestCompressionEnabled(boolean requestCompressionEnabled) {
+		this.requestCompressionEnabled = requestCompressionEnabled;
+	}
+
+	public void setRequestCompressionSupported(String serverUrl, Boolean supported) {
+		if (supported != null) {
+			requestCompressionSupported.put(serverUrl, supported);
+		} else {
+			requestCompressionSupported.remove(serverUrl);
+		}
+	}
+
 	public HttpMethodInterceptor getInterceptor() {
 		return interceptor;
 	}
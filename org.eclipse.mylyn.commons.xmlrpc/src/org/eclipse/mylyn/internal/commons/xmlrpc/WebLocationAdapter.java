@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.net.Proxy;
+
+import org.eclipse.mylyn.commons.net.AbstractWebLocation;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationCredentials;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
+import org.eclipse.mylyn.commons.repositories.core.auth.CredentialsStores;
+import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+import org.eclipse.mylyn.internal.commons.net.AuthenticatedProxy;
+
+/**
+ * Exposes the URL, credentials and proxy settings of an {@link AbstractWebLocation} as a {@link RepositoryLocation}
+ * for use with {@link org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient}. Repository credentials of
+ * the web location are used for HTTP authentication. Credentials set on the adapter are kept in memory and never
+ * written to the secure store.
+ */
+class WebLocationAdapter extends RepositoryLocation {
+
+	private final AbstractWebLocation location;
+
+	public WebLocationAdapter(AbstractWebLocation location) {
+		this.location = location;
+		setCredentialsStore(CredentialsStores.createInMemoryStore());
+	}
+
+	@Override
+	public <T extends AuthenticationCredentials> T getCredentials(AuthenticationType<T> authType, boolean loadSecrets) {
+		org.eclipse.mylyn.commons.net.AuthenticationCredentials credentials;
+		if (authType == AuthenticationType.HTTP) {
+			credentials = location.getCredentials(org.eclipse.mylyn.commons.net.AuthenticationType.REPOSITORY);
+		} else if (authType == AuthenticationType.PROXY) {
+			credentials = location.getCredentials(org.eclipse.mylyn.commons.net.AuthenticationType.PROXY);
+		} else {
+			return null;
+		}
+		if (credentials == null) {
+			return null;
+		}
+		return authType.getCredentialsType().cast(
+				new UserCredentials(credentials.getUserName(), credentials.getPassword(), false));
+	}
+
+	@Override
+	public Proxy getProxyForHost(String host, String proxyType) {
+		Proxy proxy = location.getProxyForHost(host, proxyType);
+		if (proxy instanceof AuthenticatedProxy) {
+			// HttpUtil only recognizes proxy credentials of the core proxy type
+			AuthenticatedProxy authProxy = (AuthenticatedProxy) proxy;
+			return new org.eclipse.mylyn.commons.core.net.AuthenticatedProxy(proxy.type(), proxy.address(),
+					authProxy.getUserName(), authProxy.getPassword());
+		}
+		return proxy;
+	}
+
+	@Override
+	public String getUrl() {
+		return location.getUrl();
+	}
+
+	public AbstractWebLocation getWebLocation() {
+		return location;
+	}
+
+}
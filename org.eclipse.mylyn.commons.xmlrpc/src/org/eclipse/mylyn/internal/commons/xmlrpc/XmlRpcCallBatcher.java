@@ -0,0 +1,423 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Combines XML-RPC calls that are issued within a short window into a single <code>system.multicall</code> request.
+ * Results and faults are routed back to the individual calls. If the server does not support
+ * <code>system.multicall</code> calls are executed individually.
+ * <p>
+ * Batches are sent by the first thread that waits for the result of a pending call. That thread waits until the
+ * batching window has elapsed or the maximum batch size has been reached and then executes the batch using its own
+ * progress monitor.
+ * 
+ * @see CommonXmlRpcClient#setBatchingEnabled(boolean)
+ */
+public class XmlRpcCallBatcher {
+
+	public static final String MULTICALL_METHOD = "system.multicall"; //$NON-NLS-1$
+
+	private static final long DEFAULT_BATCH_WINDOW = 10;
+
+	private static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+	/**
+	 * The interval in ms for checking the progress monitor while waiting for a batch that is executed by another thread.
+	 */
+	private static final long CANCEL_CHECK_INTERVAL = 250;
+
+	/**
+	 * A call that is executed as part of a batch.
+	 */
+	public class BatchedCall<T> implements Future<T> {
+
+		private final String method;
+
+		private final Object[] parameters;
+
+		private final IProgressMonitor monitor;
+
+		private boolean queued;
+
+		private boolean done;
+
+		private boolean cancelled;
+
+		private Object result;
+
+		private Throwable exception;
+
+		BatchedCall(IProgressMonitor monitor, String method, Object[] parameters) {
+			this.monitor = monitor;
+			this.method = method;
+			this.parameters = parameters;
+		}
+
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized (XmlRpcCallBatcher.this) {
+				if (!queued) {
+					return false;
+				}
+				pending.remove(this);
+				queued = false;
+				cancelled = true;
+				complete(null, null);
+				return true;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		public T get() throws InterruptedException, ExecutionException {
+			try {
+				await(this, monitor, -1);
+			} catch (TimeoutException e) {
+				// not reached without a timeout
+				throw new IllegalStateException(e);
+			}
+			return (T) getResult();
+		}
+
+		@SuppressWarnings("unchecked")
+		public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			await(this, monitor, unit.toMillis(timeout));
+			return (T) getResult();
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public Object[] getParameters() {
+			return parameters;
+		}
+
+		public boolean isCancelled() {
+			synchronized (XmlRpcCallBatcher.this) {
+				return cancelled;
+			}
+		}
+
+		public boolean isDone() {
+			synchronized (XmlRpcCallBatcher.this) {
+				return done;
+			}
+		}
+
+		private Object getResult() throws ExecutionException {
+			synchronized (XmlRpcCallBatcher.this) {
+				if (cancelled) {
+					throw new CancellationException();
+				}
+				if (exception != null) {
+					throw new ExecutionException(exception);
+				}
+				return result;
+			}
+		}
+
+		void complete(Object result, Throwable exception) {
+			synchronized (XmlRpcCallBatcher.this) {
+				this.result = result;
+				this.exception = exception;
+				this.done = true;
+				XmlRpcCallBatcher.this.notifyAll();
+			}
+		}
+
+	}
+
+	private final CommonXmlRpcClient client;
+
+	private final LinkedList<BatchedCall<?>> pending = new LinkedList<BatchedCall<?>>();
+
+	private long batchWindow = DEFAULT_BATCH_WINDOW;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	/**
+	 * The time when the oldest pending call was submitted.
+	 */
+	private long firstSubmitTime;
+
+	/**
+	 * True, while a thread is waiting for the batching window to elapse.
+	 */
+	private boolean collecting;
+
+	/**
+	 * Null, if it is not known whether the server supports multicalls.
+	 */
+	private volatile Boolean multicallSupported;
+
+	private int batchCount;
+
+	public XmlRpcCallBatcher(CommonXmlRpcClient client) {
+		this.client = client;
+	}
+
+	/**
+	 * Submits a call and waits for the result.
+	 */
+	public Object call(IProgressMonitor monitor, String method, Object... parameters) throws XmlRpcException {
+		BatchedCall<Object> call = submit(monitor, method, parameters);
+		try {
+			await(call, monitor, -1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (TimeoutException e) {
+			// not reached without a timeout
+			throw new IllegalStateException(e);
+		}
+		synchronized (this) {
+			Throwable exception = call.exception;
+			if (exception instanceof XmlRpcException) {
+				throw (XmlRpcException) exception;
+			} else if (exception instanceof RuntimeException) {
+				throw (RuntimeException) exception;
+			} else if (exception instanceof Error) {
+				throw (Error) exception;
+			} else if (exception != null) {
+				throw new XmlRpcException("Unexpected exception", exception); //$NON-NLS-1$
+			}
+			return call.result;
+		}
+	}
+
+	/**
+	 * Queues a call. The call is sent when the result is requested through the returned future or when another call
+	 * sends a batch that includes it.
+	 */
+	public synchronized <T> BatchedCall<T> submit(IProgressMonitor monitor, String method, Object... parameters) {
+		BatchedCall<T> call = new BatchedCall<T>(monitor, method, parameters);
+		if (pending.isEmpty()) {
+			firstSubmitTime = System.currentTimeMillis();
+		}
+		pending.add(call);
+		call.queued = true;
+		if (pending.size() >= maxBatchSize) {
+			// wake up the collecting thread
+			notifyAll();
+		}
+		return call;
+	}
+
+	/**
+	 * Returns the number of batches that have been sent.
+	 */
+	public synchronized int getBatchCount() {
+		return batchCount;
+	}
+
+	public synchronized long getBatchWindow() {
+		return batchWindow;
+	}
+
+	public synchronized int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * Returns {@link Boolean#TRUE}, if the server supports multicalls, {@link Boolean#FALSE}, if it does not and
+	 * <code>null</code> if no multicall has been sent, yet.
+	 */
+	public Boolean isMulticallSupported() {
+		return multicallSupported;
+	}
+
+	/**
+	 * Sets the time in ms that calls are collected before a batch is sent.
+	 */
+	public synchronized void setBatchWindow(long batchWindow) {
+		this.batchWindow = batchWindow;
+	}
+
+	public synchronized void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+	}
+
+	/**
+	 * Waits until <code>call</code> has completed. If the call has not been sent, yet, the current thread collects a
+	 * batch and executes it.
+	 */
+	void await(BatchedCall<?> call, IProgressMonitor monitor, long timeout) throws InterruptedException,
+			TimeoutException {
+		long deadline = (timeout >= 0) ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+		while (true) {
+			List<BatchedCall<?>> batch;
+			synchronized (this) {
+				while (!call.done && (collecting || !call.queued)) {
+					// another thread is collecting or executing a batch that includes the call
+					if (monitor != null && monitor.isCanceled()) {
+						call.cancel(false);
+						throw new OperationCanceledException();
+					}
+					long remaining = deadline - System.currentTimeMillis();
+					if (remaining <= 0) {
+						throw new TimeoutException();
+					}
+					wait(Math.min(remaining, CANCEL_CHECK_INTERVAL));
+				}
+				if (call.done) {
+					return;
+				}
+				collecting = true;
+				try {
+					long sendTime = firstSubmitTime + batchWindow;
+					while (pending.size() < maxBatchSize) {
+						long remaining = sendTime - System.currentTimeMillis();
+						if (remaining <= 0) {
+							break;
+						}
+						wait(remaining);
+					}
+					batch = new ArrayList<BatchedCall<?>>(Math.min(pending.size(), maxBatchSize));
+					while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+						BatchedCall<?> batchedCall = pending.removeFirst();
+						batchedCall.queued = false;
+						batch.add(batchedCall);
+					}
+					firstSubmitTime = System.currentTimeMillis();
+					batchCount++;
+				} finally {
+					collecting = false;
+					notifyAll();
+				}
+			}
+			execute(batch, monitor);
+		}
+	}
+
+	private void execute(List<BatchedCall<?>> batch, IProgressMonitor monitor) {
+		if (batch.size() == 1 || Boolean.FALSE.equals(multicallSupported)) {
+			executeIndividually(batch, monitor);
+			return;
+		}
+
+		Multicall multicall = new Multicall();
+		try {
+			for (BatchedCall<?> call : batch) {
+				multicall.add(call.method, call.parameters);
+			}
+			Object[] response = executeMulticall(monitor, multicall);
+			multicallSupported = Boolean.TRUE;
+			if (response == null || response.length != batch.size()) {
+				throw new XmlRpcException("Unexpected number of results in multicall response"); //$NON-NLS-1$
+			}
+			for (int i = 0; i < response.length; i++) {
+				complete(batch.get(i), response[i]);
+			}
+		} catch (XmlRpcNoSuchMethodException e) {
+			multicallSupported = Boolean.FALSE;
+			executeIndividually(batch, monitor);
+		} catch (OperationCanceledException e) {
+			requeue(batch, e);
+		} catch (Throwable e) {
+			for (BatchedCall<?> call : batch) {
+				call.complete(null, e);
+			}
+		}
+	}
+
+	private void executeIndividually(List<BatchedCall<?>> batch, IProgressMonitor monitor) {
+		for (int i = 0; i < batch.size(); i++) {
+			BatchedCall<?> call = batch.get(i);
+			try {
+				call.complete(executeCall(monitor, call.method, call.parameters), null);
+			} catch (OperationCanceledException e) {
+				requeue(batch.subList(i, batch.size()), e);
+				return;
+			} catch (Throwable e) {
+				call.complete(null, e);
+			}
+		}
+	}
+
+	/**
+	 * Routes the result of a single multicall item to <code>call</code>. Successful results are wrapped in an array of
+	 * length 1, faults are returned as a struct.
+	 */
+	private void complete(BatchedCall<?> call, Object item) {
+		if (item instanceof Object[] && ((Object[]) item).length == 1) {
+			call.complete(((Object[]) item)[0], null);
+		} else if (item instanceof Map<?, ?> && ((Map<?, ?>) item).containsKey("faultCode")) { //$NON-NLS-1$
+			Map<?, ?> fault = (Map<?, ?>) item;
+			int code;
+			try {
+				code = Integer.parseInt(String.valueOf(fault.get("faultCode"))); //$NON-NLS-1$
+			} catch (NumberFormatException e) {
+				code = 0;
+			}
+			XmlRpcException exception = new XmlRpcException(code, String.valueOf(fault.get("faultString"))); //$NON-NLS-1$
+			call.complete(null, XmlRpcOperation.createRemoteException(exception));
+		} else {
+			call.complete(null, new XmlRpcException("Unexpected multicall result: " + item)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Calls that were cancelled through the monitor of another caller are returned to the queue.
+	 */
+	private void requeue(List<BatchedCall<?>> calls, OperationCanceledException e) {
+		synchronized (this) {
+			for (int i = calls.size() - 1; i >= 0; i--) {
+				BatchedCall<?> call = calls.get(i);
+				if (call.monitor != null && call.monitor.isCanceled()) {
+					call.complete(null, e);
+				} else if (!call.done) {
+					if (pending.isEmpty()) {
+						firstSubmitTime = System.currentTimeMillis();
+					}
+					pending.addFirst(call);
+					call.queued = true;
+				}
+			}
+			notifyAll();
+		}
+	}
+
+	protected Object[] executeMulticall(final IProgressMonitor monitor, final Multicall multicall)
+			throws XmlRpcException {
+		return new XmlRpcOperation<Object[]>(client) {
+			@Override
+			public Object[] execute() throws XmlRpcException {
+				return (Object[]) call(monitor, MULTICALL_METHOD, new Object[] { multicall.getCalls() });
+			}
+		}.execute();
+	}
+
+	protected Object executeCall(final IProgressMonitor monitor, final String method, final Object... parameters)
+			throws XmlRpcException {
+		return new XmlRpcOperation<Object>(client) {
+			@Override
+			public Object execute() throws XmlRpcException {
+				return call(monitor, method, parameters);
+			}
+		}.execute();
+	}
+
+}
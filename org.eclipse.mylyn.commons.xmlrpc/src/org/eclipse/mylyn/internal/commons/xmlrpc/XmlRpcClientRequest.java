@@ -27,17 +27,33 @@ class XmlRpcClientRequest extends XmlRpcClientRequestImpl {
 
 	private final URL url;
 
+	private final XmlRpcResultHandler resultHandler;
+
 	public XmlRpcClientRequest(XmlRpcRequestConfig config, URL url, String methodName, Object[] params,
 			IProgressMonitor monitor) {
+		this(config, url, methodName, params, monitor, null);
+	}
+
+	public XmlRpcClientRequest(XmlRpcRequestConfig config, URL url, String methodName, Object[] params,
+			IProgressMonitor monitor, XmlRpcResultHandler resultHandler) {
 		super(config, methodName, params);
 		this.url = url;
 		this.progressMonitor = monitor;
+		this.resultHandler = resultHandler;
 	}
 
 	public IProgressMonitor getProgressMonitor() {
 		return progressMonitor;
 	}
 
+	/**
+	 * Returns the handler that receives the elements of the result while the response is parsed or
+	 * <code>null</code>, if the result is returned after the response has been parsed.
+	 */
+	public XmlRpcResultHandler getResultHandler() {
+		return resultHandler;
+	}
+
 	public URL getUrl() {
 		return url;
 	}
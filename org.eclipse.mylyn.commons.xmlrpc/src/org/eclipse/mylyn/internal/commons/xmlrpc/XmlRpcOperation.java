@@ -21,6 +21,7 @@ import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.httpclient.auth.AuthScheme;
 import org.apache.commons.httpclient.auth.NTLMScheme;
 import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.mylyn.commons.core.CoreUtil;
@@ -47,6 +48,23 @@ public abstract class XmlRpcOperation<T> {
 	}
 
 	protected Object call(IProgressMonitor monitor, String method, Object... parameters) throws XmlRpcException {
+		return call(monitor, null, method, parameters);
+	}
+
+	/**
+	 * Invokes <code>method</code> and passes the elements of the result to <code>handler</code> while the response is
+	 * parsed.
+	 * 
+	 * @return the number of elements passed to <code>handler</code>
+	 */
+	protected int stream(IProgressMonitor monitor, XmlRpcResultHandler handler, String method, Object... parameters)
+			throws XmlRpcException {
+		Assert.isNotNull(handler);
+		return (Integer) call(monitor, handler, method, parameters);
+	}
+
+	private Object call(IProgressMonitor monitor, XmlRpcResultHandler handler, String method, Object... parameters)
+			throws XmlRpcException {
 		monitor = Policy.monitorFor(monitor);
 		XmlRpcException lastException = null;
 		for (int attempt = 0; attempt < 3; attempt++) {
@@ -59,6 +77,9 @@ public abstract class XmlRpcOperation<T> {
 //			}
 
 			try {
+				if (handler != null) {
+					return executeCall(monitor, handler, method, parameters);
+				}
 				return executeCall(monitor, method, parameters);
 			} catch (XmlRpcLoginException e) {
 				try {
@@ -122,6 +143,11 @@ public abstract class XmlRpcOperation<T> {
 	public abstract T execute() throws XmlRpcException;
 
 	protected Object executeCall(IProgressMonitor monitor, String method, Object... parameters) throws XmlRpcException {
+		return executeCall(monitor, null, method, parameters);
+	}
+
+	protected Object executeCall(IProgressMonitor monitor, XmlRpcResultHandler handler, String method,
+			Object... parameters) throws XmlRpcException {
 		try {
 			if (CommonXmlRpcClient.DEBUG_XMLRPC) {
 				System.err.println("Calling " + client.getLocation().getUrl() + ": " + method + " " + CoreUtil.toString(parameters)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -129,7 +155,7 @@ public abstract class XmlRpcOperation<T> {
 
 			AuthenticationCredentials credentials = client.updateCredentials();
 			XmlRpcClientRequest request = new XmlRpcClientRequest(client.getClient().getClientConfig(),
-					getXmlRpcUrl(credentials), method, parameters, monitor);
+					getXmlRpcUrl(credentials), method, parameters, monitor, handler);
 			return client.getClient().execute(request);
 		} catch (XmlRpcHttpException e) {
 			handleAuthenticationException(e.code, e.getAuthScheme());
@@ -196,6 +222,21 @@ public abstract class XmlRpcOperation<T> {
 		return false;
 	}
 
+	/**
+	 * Maps a fault that was returned for an individual call of a multicall to the exception that
+	 * {@link #executeCall(IProgressMonitor, String, Object...)} throws for the same fault.
+	 */
+	static XmlRpcException createRemoteException(XmlRpcException e) {
+		if ("XML_RPC privileges are required to perform this operation".equals(e.getMessage()) //$NON-NLS-1$
+				|| e.code == XML_FAULT_PERMISSION_DENIED) {
+			return new XmlRpcPermissionDeniedException(e.getMessage());
+		} else if (e.getMessage() != null && RPC_METHOD_NOT_FOUND_PATTERN.matcher(e.getMessage()).find()) {
+			return new XmlRpcNoSuchMethodException(e);
+		} else {
+			return new XmlRpcRemoteException(e);
+		}
+	}
+
 	protected boolean isNoSuchMethodException(XmlRpcException e) {
 		if (RPC_METHOD_NOT_FOUND_PATTERN.matcher(e.getMessage()).find()) {
 			return true;
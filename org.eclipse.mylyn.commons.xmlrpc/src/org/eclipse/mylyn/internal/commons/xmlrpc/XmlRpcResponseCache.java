@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.mylyn.commons.net.AuthenticationCredentials;
+
+/**
+ * Caches the responses of XML-RPC methods that return the same result for the same parameters, e.g. field definitions
+ * or <code>system.listMethods</code>. Only methods that have been registered through
+ * {@link #setCacheable(String, long)} are cached. Entries expire after the time-to-live of the method and the least
+ * recently used entries are evicted when the maximum number of entries is exceeded. All entries are discarded when the
+ * repository credentials change.
+ * <p>
+ * Credentials are only identified in memory. Cache files store the repository url and user name but no data derived
+ * from the password, entries that are loaded from a file are therefore reused for the same url and user name.
+ * <p>
+ * Arrays, maps and dates are copied when values are added and returned, callers may modify the values they pass in or
+ * receive.
+ * 
+ * @see CommonXmlRpcClient#setResponseCache(XmlRpcResponseCache)
+ */
+public class XmlRpcResponseCache {
+
+	private static final int DEFAULT_MAX_ENTRIES = 500;
+
+	private static final int FILE_VERSION = 2;
+
+	private static final String MAC_ALGORITHM = "HmacSHA256"; //$NON-NLS-1$
+
+	/**
+	 * The types that may be stored in a cache file. Covers the values returned by the XML-RPC parsers including the
+	 * numeric Apache extensions, and their super classes.
+	 */
+	private static final Set<String> PERSISTABLE_CLASSES = new HashSet<String>(Arrays.asList(Boolean.class.getName(),
+			Byte.class.getName(), Short.class.getName(), Integer.class.getName(), Long.class.getName(),
+			Float.class.getName(), Double.class.getName(), Number.class.getName(), BigInteger.class.getName(),
+			BigDecimal.class.getName(), String.class.getName(), Date.class.getName(), HashMap.class.getName(),
+			Object[].class.getName(), byte[].class.getName(), CacheKey.class.getName(), CacheEntry.class.getName()));
+
+	private static class CacheKey implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String method;
+
+		private final Object[] parameters;
+
+		private final int hashCode;
+
+		CacheKey(String method, Object[] parameters) {
+			this.method = method;
+			this.parameters = (parameters != null) ? parameters : new Object[0];
+			this.hashCode = 31 * method.hashCode() + Arrays.deepHashCode(this.parameters);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return method.equals(other.method) && Arrays.deepEquals(parameters, other.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+	private static class CacheEntry implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Object value;
+
+		private final long expiryTime;
+
+		CacheEntry(Object value, long expiryTime) {
+			this.value = value;
+			this.expiryTime = expiryTime;
+		}
+
+	}
+
+	private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f,
+			true);
+
+	private final Map<String, Long> timeToLiveByMethod = new HashMap<String, Long>();
+
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+	/**
+	 * Random key for computing {@link #credentialsKey}, only kept in memory.
+	 */
+	private static byte[] secret;
+
+	/**
+	 * Identifies the credentials that were used to retrieve the cached values. Never persisted.
+	 */
+	private String credentialsKey;
+
+	/**
+	 * The url and credentials {@link #credentialsKey} was computed for, kept in memory to avoid recomputing the key
+	 * for every call. Never persisted.
+	 */
+	private String validatedUrl;
+
+	private AuthenticationCredentials validatedCredentials;
+
+	/**
+	 * The url and user name that were used to retrieve the cached values.
+	 */
+	private String owner;
+
+	/**
+	 * The file the entries were last loaded from or saved to.
+	 */
+	private File file;
+
+	private long hitCount;
+
+	private long missCount;
+
+	public XmlRpcResponseCache() {
+	}
+
+	/**
+	 * Returns the cached response or <code>null</code>, if no valid response is cached.
+	 */
+	public synchronized Object get(String method, Object[] parameters) {
+		CacheKey key = new CacheKey(method, parameters);
+		CacheEntry entry = entries.get(key);
+		if (entry != null) {
+			if (entry.expiryTime > System.currentTimeMillis()) {
+				hitCount++;
+				return copy(entry.value);
+			}
+			entries.remove(key);
+		}
+		missCount++;
+		return null;
+	}
+
+	public synchronized void put(String method, Object[] parameters, Object value) {
+		Long timeToLive = timeToLiveByMethod.get(method);
+		if (timeToLive == null || value == null) {
+			return;
+		}
+		entries.put(new CacheKey(method, (Object[]) copy(parameters)),
+				new CacheEntry(copy(value), System.currentTimeMillis() + timeToLive));
+		evict();
+	}
+
+	public synchronized boolean isCacheable(String method) {
+		return timeToLiveByMethod.containsKey(method);
+	}
+
+	/**
+	 * Enables caching of responses for <code>method</code>.
+	 * 
+	 * @param timeToLive
+	 *            the time in milliseconds responses are cached, a value of 0 or less disables caching for
+	 *            <code>method</code>
+	 */
+	public synchronized void setCacheable(String method, long timeToLive) {
+		if (timeToLive > 0) {
+			timeToLiveByMethod.put(method, timeToLive);
+		} else {
+			timeToLiveByMethod.remove(method);
+			for (Iterator<CacheKey> it = entries.keySet().iterator(); it.hasNext();) {
+				if (it.next().method.equals(method)) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards all entries if <code>credentials</code> differ from the credentials that were used to retrieve the
+	 * cached responses. The file that entries were loaded from or saved to is deleted in that case.
+	 */
+	public synchronized void validate(String url, AuthenticationCredentials credentials) {
+		if (credentialsKey != null && url.equals(validatedUrl)
+				&& (credentials != null ? credentials.equals(validatedCredentials) : validatedCredentials == null)) {
+			return;
+		}
+		String key = createCredentialsKey(url, credentials);
+		String currentOwner = createOwner(url, credentials);
+		boolean changed;
+		if (credentialsKey != null) {
+			changed = !key.equals(credentialsKey);
+		} else {
+			// entries loaded from a file can only be matched by url and user name
+			changed = owner != null && !owner.equals(currentOwner);
+		}
+		if (changed) {
+			entries.clear();
+			if (file != null) {
+				file.delete();
+				file = null;
+			}
+		}
+		credentialsKey = key;
+		validatedUrl = url;
+		validatedCredentials = credentials;
+		owner = currentOwner;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	public synchronized int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public synchronized void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+		evict();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Replaces the cached entries with the entries stored in <code>file</code>. Expired entries are skipped.
+	 */
+	public synchronized void load(File file) throws IOException {
+		ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file))) {
+			@Override
+			protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+				// only accept the types that are written by save() 
+				if (PERSISTABLE_CLASSES.contains(desc.getName())) {
+					return super.resolveClass(desc);
+				}
+				throw new InvalidClassException(desc.getName(), "Unexpected type in cache file"); //$NON-NLS-1$
+			}
+		};
+		try {
+			if (in.readInt() != FILE_VERSION) {
+				return;
+			}
+			entries.clear();
+			this.file = file;
+			owner = (String) in.readObject();
+			credentialsKey = null;
+			validatedUrl = null;
+			validatedCredentials = null;
+			long now = System.currentTimeMillis();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				CacheKey key = (CacheKey) in.readObject();
+				CacheEntry entry = (CacheEntry) in.readObject();
+				if (entry.expiryTime > now) {
+					entries.put(key, entry);
+				}
+			}
+			evict();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Unexpected type in cache file", e); //$NON-NLS-1$
+		} catch (ClassCastException e) {
+			throw new IOException("Unexpected type in cache file", e); //$NON-NLS-1$
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Writes all entries to <code>file</code>.
+	 */
+	public synchronized void save(File file) throws IOException {
+		ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(FILE_VERSION);
+			out.writeObject(owner);
+			out.writeInt(entries.size());
+			for (Map.Entry<CacheKey, CacheEntry> entry : entries.entrySet()) {
+				out.writeObject(entry.getKey());
+				out.writeObject(entry.getValue());
+			}
+		} finally {
+			out.close();
+		}
+		this.file = file;
+	}
+
+	private void evict() {
+		Iterator<CacheKey> it = entries.keySet().iterator();
+		while (entries.size() > maxEntries && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Returns a copy of <code>value</code> that does not share mutable arrays, maps or dates with <code>value</code>.
+	 */
+	private static Object copy(Object value) {
+		if (value instanceof Object[]) {
+			Object[] copy = ((Object[]) value).clone();
+			for (int i = 0; i < copy.length; i++) {
+				copy[i] = copy(copy[i]);
+			}
+			return copy;
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		} else if (value instanceof Map<?, ?>) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			Map<Object, Object> copy = new HashMap<Object, Object>(map.size() * 4 / 3 + 1);
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				copy.put(entry.getKey(), copy(entry.getValue()));
+			}
+			return copy;
+		} else if (value instanceof Date) {
+			return ((Date) value).clone();
+		}
+		return value;
+	}
+
+	private static String createOwner(String url, AuthenticationCredentials credentials) {
+		return (credentials != null) ? url + "\n" + credentials.getUserName() : url; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns a keyed digest of the url and credentials to avoid keeping passwords.
+	 */
+	private static String createCredentialsKey(String url, AuthenticationCredentials credentials) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(url);
+		if (credentials != null) {
+			sb.append('\n');
+			sb.append(credentials.getUserName());
+			sb.append('\n');
+			sb.append(credentials.getPassword());
+		}
+		try {
+			Mac mac = Mac.getInstance(MAC_ALGORITHM);
+			mac.init(new SecretKeySpec(getSecret(), MAC_ALGORITHM));
+			byte[] hash = mac.doFinal(sb.toString().getBytes("UTF-8")); //$NON-NLS-1$
+			StringBuilder key = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				key.append(Character.forDigit((b >> 4) & 0xF, 16));
+				key.append(Character.forDigit(b & 0xF, 16));
+			}
+			return key.toString();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static synchronized byte[] getSecret() {
+		if (secret == null) {
+			secret = new byte[32];
+			new SecureRandom().nextBytes(secret);
+		}
+		return secret;
+	}
+
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.io.InputStream;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Parses an XML-RPC <code>methodResponse</code> using StAX. If the result is an array, its elements are passed to a
+ * {@link XmlRpcResultHandler} as they are parsed instead of materializing the whole array. Values are mapped to the
+ * same types as the Apache XML-RPC parser: arrays to <code>Object[]</code> and structs to <code>Map</code>.
+ */
+public class XmlRpcResponseStreamParser {
+
+	private static XMLInputFactory inputFactory;
+
+	private static synchronized XMLInputFactory getInputFactory() {
+		if (inputFactory == null) {
+			inputFactory = XMLInputFactory.newInstance();
+			inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+			inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		}
+		return inputFactory;
+	}
+
+	private final TimeZone timeZone;
+
+	private SimpleDateFormat dateFormat;
+
+	public XmlRpcResponseStreamParser(TimeZone timeZone) {
+		this.timeZone = (timeZone != null) ? timeZone : TimeZone.getDefault();
+	}
+
+	/**
+	 * Parses the response read from <code>in</code>.
+	 * 
+	 * @return the number of elements passed to <code>handler</code>
+	 * @throws XmlRpcException
+	 *             if the response is malformed or contains a fault
+	 */
+	public int parse(InputStream in, XmlRpcResultHandler handler, IProgressMonitor monitor) throws XmlRpcException {
+		XMLStreamReader reader;
+		try {
+			reader = getInputFactory().createXMLStreamReader(in);
+		} catch (XMLStreamException e) {
+			throw new XmlRpcException("Failed to parse server's response: " + e.getMessage(), e); //$NON-NLS-1$
+		}
+		try {
+			requireStart(reader, "methodResponse"); //$NON-NLS-1$
+			reader.nextTag();
+			if ("fault".equals(reader.getLocalName())) { //$NON-NLS-1$
+				reader.nextTag();
+				requireStart(reader, "value"); //$NON-NLS-1$
+				throw createFault(parseValue(reader));
+			}
+			requireStart(reader, "params"); //$NON-NLS-1$
+			reader.nextTag();
+			requireStart(reader, "param"); //$NON-NLS-1$
+			reader.nextTag();
+			requireStart(reader, "value"); //$NON-NLS-1$
+			return parseResult(reader, handler, monitor);
+		} catch (XMLStreamException e) {
+			throw new XmlRpcException("Failed to parse server's response: " + e.getMessage(), e); //$NON-NLS-1$
+		} finally {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				// ignore
+			}
+		}
+	}
+
+	private XmlRpcException createFault(Object value) {
+		if (value instanceof Map<?, ?>) {
+			Map<?, ?> fault = (Map<?, ?>) value;
+			Object code = fault.get("faultCode"); //$NON-NLS-1$
+			Object message = fault.get("faultString"); //$NON-NLS-1$
+			return new XmlRpcException((code instanceof Integer) ? (Integer) code : 0,
+					(message != null) ? message.toString() : null);
+		}
+		return new XmlRpcException("Invalid fault: " + value); //$NON-NLS-1$
+	}
+
+	/**
+	 * Parses the value of the single response parameter. If the value is an array each element is passed to
+	 * <code>handler</code> separately.
+	 */
+	private int parseResult(XMLStreamReader reader, XmlRpcResultHandler handler, IProgressMonitor monitor)
+			throws XMLStreamException, XmlRpcException {
+		StringBuilder text = new StringBuilder();
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if ("array".equals(reader.getLocalName())) { //$NON-NLS-1$
+					int count = 0;
+					reader.nextTag();
+					requireStart(reader, "data"); //$NON-NLS-1$
+					while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						requireStart(reader, "value"); //$NON-NLS-1$
+						Object element = parseValue(reader);
+						if (monitor != null && monitor.isCanceled()) {
+							throw new OperationCanceledException();
+						}
+						handler.handleElement(element);
+						count++;
+					}
+					// </array>
+					reader.nextTag();
+					// </value>
+					reader.nextTag();
+					return count;
+				}
+				Object value = parseTypedValue(reader);
+				reader.nextTag();
+				handler.handleElement(value);
+				return 1;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				handler.handleElement(text.toString());
+				return 1;
+			} else if (isText(event)) {
+				text.append(reader.getText());
+			}
+		}
+	}
+
+	/**
+	 * Parses a value. The reader is expected to be positioned at the <code>value</code> start element and is positioned
+	 * at the corresponding end element on return.
+	 */
+	private Object parseValue(XMLStreamReader reader) throws XMLStreamException, XmlRpcException {
+		StringBuilder text = new StringBuilder();
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				Object value = parseTypedValue(reader);
+				reader.nextTag();
+				return value;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				// values without type default to string
+				return text.toString();
+			} else if (isText(event)) {
+				text.append(reader.getText());
+			}
+		}
+	}
+
+	private Object parseTypedValue(XMLStreamReader reader) throws XMLStreamException, XmlRpcException {
+		String type = reader.getLocalName();
+		try {
+			if ("string".equals(type)) { //$NON-NLS-1$
+				return reader.getElementText();
+			} else if ("i4".equals(type) || "int".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+				return Integer.valueOf(reader.getElementText().trim());
+			} else if ("boolean".equals(type)) { //$NON-NLS-1$
+				String text = reader.getElementText().trim();
+				if ("1".equals(text)) { //$NON-NLS-1$
+					return Boolean.TRUE;
+				} else if ("0".equals(text)) { //$NON-NLS-1$
+					return Boolean.FALSE;
+				}
+				throw new XmlRpcException("Invalid boolean value: " + text); //$NON-NLS-1$
+			} else if ("double".equals(type)) { //$NON-NLS-1$
+				return Double.valueOf(reader.getElementText().trim());
+			} else if ("dateTime.iso8601".equals(type)) { //$NON-NLS-1$
+				return parseDate(reader.getElementText().trim());
+			} else if ("base64".equals(type)) { //$NON-NLS-1$
+				return Base64.getMimeDecoder().decode(reader.getElementText().trim());
+			} else if ("struct".equals(type)) { //$NON-NLS-1$
+				return parseStruct(reader);
+			} else if ("array".equals(type)) { //$NON-NLS-1$
+				return parseArray(reader);
+			} else if ("nil".equals(type)) { //$NON-NLS-1$
+				reader.getElementText();
+				return null;
+			} else if ("i8".equals(type)) { //$NON-NLS-1$
+				return Long.valueOf(reader.getElementText().trim());
+			} else if ("i2".equals(type)) { //$NON-NLS-1$
+				return Short.valueOf(reader.getElementText().trim());
+			} else if ("i1".equals(type)) { //$NON-NLS-1$
+				return Byte.valueOf(reader.getElementText().trim());
+			} else if ("float".equals(type)) { //$NON-NLS-1$
+				return Float.valueOf(reader.getElementText().trim());
+			}
+		} catch (IllegalArgumentException e) {
+			// thrown for malformed numbers and base64
+			throw new XmlRpcException("Invalid " + type + " value: " + e.getMessage(), e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		throw new XmlRpcException("Unknown type: " + type); //$NON-NLS-1$
+	}
+
+	private Object[] parseArray(XMLStreamReader reader) throws XMLStreamException, XmlRpcException {
+		List<Object> values = new ArrayList<Object>();
+		reader.nextTag();
+		requireStart(reader, "data"); //$NON-NLS-1$
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			requireStart(reader, "value"); //$NON-NLS-1$
+			values.add(parseValue(reader));
+		}
+		// </array>
+		reader.nextTag();
+		return values.toArray();
+	}
+
+	private Map<String, Object> parseStruct(XMLStreamReader reader) throws XMLStreamException, XmlRpcException {
+		Map<String, Object> struct = new HashMap<String, Object>();
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			requireStart(reader, "member"); //$NON-NLS-1$
+			String name = null;
+			Object value = null;
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				if ("name".equals(reader.getLocalName())) { //$NON-NLS-1$
+					name = reader.getElementText();
+				} else {
+					requireStart(reader, "value"); //$NON-NLS-1$
+					value = parseValue(reader);
+				}
+			}
+			if (name == null) {
+				throw new XmlRpcException("Missing name in struct member"); //$NON-NLS-1$
+			}
+			struct.put(name, value);
+		}
+		return struct;
+	}
+
+	private Object parseDate(String text) throws XmlRpcException {
+		if (dateFormat == null) {
+			dateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss"); //$NON-NLS-1$
+			dateFormat.setTimeZone(timeZone);
+		}
+		try {
+			return dateFormat.parse(text);
+		} catch (ParseException e) {
+			throw new XmlRpcException("Invalid dateTime.iso8601 value: " + text, e); //$NON-NLS-1$
+		}
+	}
+
+	private boolean isText(int event) {
+		return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+				|| event == XMLStreamConstants.SPACE;
+	}
+
+	private void requireStart(XMLStreamReader reader, String name) throws XMLStreamException, XmlRpcException {
+		if (reader.getEventType() == XMLStreamConstants.START_DOCUMENT) {
+			reader.nextTag();
+		}
+		if (reader.getEventType() != XMLStreamConstants.START_ELEMENT || !name.equals(reader.getLocalName())) {
+			throw new XmlRpcException("Failed to parse server's response: expected element " + name); //$NON-NLS-1$
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import org.apache.xmlrpc.XmlRpcException;
+
+/**
+ * Receives the elements of an XML-RPC result while the response is parsed.
+ * 
+ * @see CommonXmlRpcClient#stream(org.eclipse.core.runtime.IProgressMonitor, XmlRpcResultHandler, String, Object...)
+ */
+public interface XmlRpcResultHandler {
+
+	/**
+	 * Invoked for each element of the array returned by the server. If the result is not an array, this method is
+	 * invoked once with the result.
+	 */
+	public abstract void handleElement(Object element) throws XmlRpcException;
+
+}
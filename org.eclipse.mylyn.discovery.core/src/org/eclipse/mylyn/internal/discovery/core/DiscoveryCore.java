@@ -11,8 +11,17 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.mylyn.commons.core.CoreUtil;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry;
+import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCache;
+import org.eclipse.mylyn.internal.discovery.core.util.SiteVerifier;
 import org.eclipse.osgi.util.NLS;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.Version;
 
 /**
@@ -26,9 +35,60 @@ public abstract class DiscoveryCore {
 	 */
 	private static final String SYSTEM_PROPERTY_DIRECTORY_URL = "mylyn.discovery.directory"; //$NON-NLS-1$
 
+	private static DiscoveryCache cache;
+
+	private static SiteVerifier siteVerifier;
+
+	private static final Map<String, ConnectorDescriptorRegistry> registryByDirectoryUrl =
+			new HashMap<String, ConnectorDescriptorRegistry>();
+
 	private DiscoveryCore() {
 	}
 
+	/**
+	 * Returns the cache for discovery resources that is shared by all discovery strategies. The cache is stored in the
+	 * state location of the bundle or in the temporary directory when running outside of OSGi.
+	 */
+	public static synchronized DiscoveryCache getDiscoveryCache() {
+		if (cache == null) {
+			File location = null;
+			if (Platform.isRunning()) {
+				Bundle bundle = Platform.getBundle(ID_PLUGIN);
+				if (bundle != null) {
+					location = Platform.getStateLocation(bundle).append("cache").toFile(); //$NON-NLS-1$
+				}
+			}
+			if (location == null) {
+				location = new File(System.getProperty("java.io.tmpdir"), ID_PLUGIN + ".cache"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			cache = new DiscoveryCache(location);
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the verifier for update site availability that is shared by all discovery sessions.
+	 */
+	public static synchronized SiteVerifier getSiteVerifier() {
+		if (siteVerifier == null) {
+			siteVerifier = new SiteVerifier();
+		}
+		return siteVerifier;
+	}
+
+	/**
+	 * Returns the registry for descriptors of the given discovery directory that is shared by all discovery sessions so
+	 * that bundles are only read again when they have changed.
+	 */
+	public static synchronized ConnectorDescriptorRegistry getConnectorRegistry(String directoryUrl) {
+		ConnectorDescriptorRegistry registry = registryByDirectoryUrl.get(directoryUrl);
+		if (registry == null) {
+			registry = new ConnectorDescriptorRegistry();
+			registryByDirectoryUrl.put(directoryUrl, registry);
+		}
+		return registry;
+	}
+
 	public static String getDiscoveryUrl() {
 		Version v = CoreUtil.getFrameworkVersion();
 		String defaultUrl = NLS.bind(
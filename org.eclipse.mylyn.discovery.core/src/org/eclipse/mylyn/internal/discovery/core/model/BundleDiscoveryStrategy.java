@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core.model;
 
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IContributor;
@@ -62,45 +64,10 @@ public class BundleDiscoveryStrategy extends AbstractDiscoveryStrategy {
 			ConnectorDiscoveryExtensionReader extensionReader = new ConnectorDiscoveryExtensionReader();
 
 			for (IExtension extension : extensions) {
-				AbstractDiscoverySource discoverySource = computeDiscoverySource(extension.getContributor());
-				IConfigurationElement[] elements = extension.getConfigurationElements();
-				for (IConfigurationElement element : elements) {
-					if (monitor.isCanceled()) {
-						return;
-					}
-					try {
-						if (ConnectorDiscoveryExtensionReader.CONNECTOR_DESCRIPTOR.equals(element.getName())) {
-							DiscoveryConnector descriptor = extensionReader.readConnectorDescriptor(element,
-									DiscoveryConnector.class);
-							descriptor.setSource(discoverySource);
-							connectors.add(descriptor);
-						} else if (ConnectorDiscoveryExtensionReader.CONNECTOR_CATEGORY.equals(element.getName())) {
-							DiscoveryCategory category = extensionReader.readConnectorCategory(element,
-									DiscoveryCategory.class);
-							category.setSource(discoverySource);
-							if (!discoverySource.getPolicy().isPermitCategories()) {
-								StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
-										Messages.BundleDiscoveryStrategy_categoryDisallowed,
-										new Object[] { category.getName(), category.getId(),
-												element.getContributor().getName() }), null));
-							} else {
-								categories.add(category);
-							}
-						} else if (ConnectorDiscoveryExtensionReader.CERTIFICATION.equals(element.getName())) {
-							DiscoveryCertification certification = extensionReader.readCertification(element,
-									DiscoveryCertification.class);
-							certification.setSource(discoverySource);
-							certifications.add(certification);
-						} else {
-							throw new ValidationException(NLS.bind(Messages.BundleDiscoveryStrategy_unexpected_element,
-									element.getName()));
-						}
-					} catch (ValidationException e) {
-						StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
-								NLS.bind(Messages.BundleDiscoveryStrategy_3, element.getContributor().getName(),
-										e.getMessage()), e));
-					}
+				if (monitor.isCanceled()) {
+					return;
 				}
+				processExtension(monitor, extensionReader, extension, connectors, categories, certifications);
 				monitor.worked(1);
 			}
 		} finally {
@@ -108,6 +75,52 @@ public class BundleDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		}
 	}
 
+	/**
+	 * Reads the connectors, categories and certifications declared by <code>extension</code> and adds them to the
+	 * given lists.
+	 */
+	protected void processExtension(IProgressMonitor monitor, ConnectorDiscoveryExtensionReader extensionReader,
+			IExtension extension, List<DiscoveryConnector> connectors, List<DiscoveryCategory> categories,
+			List<DiscoveryCertification> certifications) {
+		AbstractDiscoverySource discoverySource = computeDiscoverySource(extension.getContributor());
+		IConfigurationElement[] elements = extension.getConfigurationElements();
+		for (IConfigurationElement element : elements) {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			try {
+				if (ConnectorDiscoveryExtensionReader.CONNECTOR_DESCRIPTOR.equals(element.getName())) {
+					DiscoveryConnector descriptor = extensionReader.readConnectorDescriptor(element,
+							DiscoveryConnector.class);
+					descriptor.setSource(discoverySource);
+					connectors.add(descriptor);
+				} else if (ConnectorDiscoveryExtensionReader.CONNECTOR_CATEGORY.equals(element.getName())) {
+					DiscoveryCategory category = extensionReader.readConnectorCategory(element,
+							DiscoveryCategory.class);
+					category.setSource(discoverySource);
+					if (!discoverySource.getPolicy().isPermitCategories()) {
+						StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
+								Messages.BundleDiscoveryStrategy_categoryDisallowed, new Object[] { category.getName(),
+										category.getId(), element.getContributor().getName() }), null));
+					} else {
+						categories.add(category);
+					}
+				} else if (ConnectorDiscoveryExtensionReader.CERTIFICATION.equals(element.getName())) {
+					DiscoveryCertification certification = extensionReader.readCertification(element,
+							DiscoveryCertification.class);
+					certification.setSource(discoverySource);
+					certifications.add(certification);
+				} else {
+					throw new ValidationException(NLS.bind(Messages.BundleDiscoveryStrategy_unexpected_element,
+							element.getName()));
+				}
+			} catch (ValidationException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
+						Messages.BundleDiscoveryStrategy_3, element.getContributor().getName(), e.getMessage()), e));
+			}
+		}
+	}
+
 	protected AbstractDiscoverySource computeDiscoverySource(IContributor contributor) {
 		Policy policy = new Policy(true);
 		BundleDiscoverySource bundleDiscoverySource = new BundleDiscoverySource(
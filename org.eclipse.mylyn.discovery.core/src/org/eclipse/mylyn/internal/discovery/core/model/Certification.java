@@ -31,6 +31,17 @@ public class Certification {
 	public Certification() {
 	}
 
+	/**
+	 * Creates a copy of <code>certification</code>.
+	 */
+	protected Certification(Certification certification) {
+		id = certification.id;
+		name = certification.name;
+		description = certification.description;
+		icon = certification.icon;
+		url = certification.url;
+	}
+
 	/**
 	 * an id that uniquely identifies the category
 	 */
@@ -35,6 +35,19 @@ public class ConnectorCategory {
 	public ConnectorCategory() {
 	}
 
+	/**
+	 * Creates a copy of <code>category</code>. Groups are copied, other values are shared.
+	 */
+	protected ConnectorCategory(ConnectorCategory category) {
+		id = category.id;
+		name = category.name;
+		description = category.description;
+		relevance = category.relevance;
+		icon = category.icon;
+		overview = category.overview;
+		group = new java.util.ArrayList<Group>(category.group);
+	}
+
 	/**
 	 * an id that uniquely identifies the category
 	 */
@@ -61,6 +61,30 @@ public class ConnectorDescriptor {
 	public ConnectorDescriptor() {
 	}
 
+	/**
+	 * Creates a copy of <code>descriptor</code>. Lists and attributes are copied, other values are shared.
+	 */
+	protected ConnectorDescriptor(ConnectorDescriptor descriptor) {
+		kind = new java.util.ArrayList<ConnectorDescriptorKind>(descriptor.kind);
+		name = descriptor.name;
+		provider = descriptor.provider;
+		license = descriptor.license;
+		description = descriptor.description;
+		siteUrl = descriptor.siteUrl;
+		id = descriptor.id;
+		categoryId = descriptor.categoryId;
+		platformFilter = descriptor.platformFilter;
+		groupId = descriptor.groupId;
+		statsUrl = descriptor.statsUrl;
+		featureFilter = new java.util.ArrayList<FeatureFilter>(descriptor.featureFilter);
+		installableUnits = new java.util.ArrayList<String>(descriptor.installableUnits);
+		icon = descriptor.icon;
+		overview = descriptor.overview;
+		certificationId = descriptor.certificationId;
+		installed = descriptor.installed;
+		attributes.putAll(descriptor.attributes);
+	}
+
 	/**
 	 * must be one of 'document', 'task', 'vcs'
 	 */
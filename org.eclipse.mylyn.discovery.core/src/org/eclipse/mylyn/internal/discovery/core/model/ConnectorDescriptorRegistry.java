@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the connectors, categories and certifications read from discovery bundles between discovery runs. Each bundle
+ * is identified by a source, typically its location, and a fingerprint of the resources that descriptors are read
+ * from. Bundles with an unchanged fingerprint do not need to be read again and keep their descriptor instances.
+ * Elements are indexed by id and connectors by category and certification. Changes are reported to
+ * {@link IRegistryListener listeners} as deltas.
+ */
+public class ConnectorDescriptorRegistry {
+
+	/**
+	 * Notified when an update changes the elements of the registry. Invoked on the thread that runs
+	 * {@link ConnectorDescriptorRegistry#update(Collection, Collection)}.
+	 */
+	public interface IRegistryListener {
+
+		public void registryChanged(List<Delta> deltas);
+
+	}
+
+	/**
+	 * Describes a change of a connector, category or certification. Elements are matched by id, an element is changed
+	 * if its bundle was read again.
+	 */
+	public static class Delta {
+
+		public enum Kind {
+			ADDED, REMOVED, CHANGED
+		}
+
+		private final Kind kind;
+
+		private final Object element;
+
+		private final Object previousElement;
+
+		public Delta(Kind kind, Object element, Object previousElement) {
+			this.kind = kind;
+			this.element = element;
+			this.previousElement = previousElement;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * Returns the {@link DiscoveryConnector}, {@link DiscoveryCategory} or {@link DiscoveryCertification} that was
+		 * added or changed, or the element that was removed.
+		 */
+		public Object getElement() {
+			return element;
+		}
+
+		/**
+		 * Returns the element that was replaced by a change, or <code>null</code> for other kinds of deltas.
+		 */
+		public Object getPreviousElement() {
+			return previousElement;
+		}
+
+		@Override
+		public String toString() {
+			return kind + " " + element; //$NON-NLS-1$
+		}
+
+	}
+
+	/**
+	 * The elements read from a single bundle.
+	 */
+	public static class Contribution {
+
+		private final String source;
+
+		private final String fingerprint;
+
+		private final List<DiscoveryConnector> connectors = new ArrayList<DiscoveryConnector>();
+
+		private final List<DiscoveryCategory> categories = new ArrayList<DiscoveryCategory>();
+
+		private final List<DiscoveryCertification> certifications = new ArrayList<DiscoveryCertification>();
+
+		/**
+		 * @param source
+		 *            identifies the bundle
+		 * @param fingerprint
+		 *            the fingerprint of the bundle contents or <code>null</code>, if the bundle should be read on every
+		 *            update
+		 */
+		public Contribution(String source, String fingerprint) {
+			this.source = source;
+			this.fingerprint = fingerprint;
+		}
+
+		public String getSource() {
+			return source;
+		}
+
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		public List<DiscoveryConnector> getConnectors() {
+			return connectors;
+		}
+
+		public List<DiscoveryCategory> getCategories() {
+			return categories;
+		}
+
+		public List<DiscoveryCertification> getCertifications() {
+			return certifications;
+		}
+
+	}
+
+	private final Map<String, Contribution> contributionBySource = new LinkedHashMap<String, Contribution>();
+
+	private final Map<String, DiscoveryConnector> connectorById = new HashMap<String, DiscoveryConnector>();
+
+	private final Map<String, List<DiscoveryConnector>> connectorsByCategoryId =
+			new HashMap<String, List<DiscoveryConnector>>();
+
+	private final Map<String, List<DiscoveryConnector>> connectorsByCertificationId =
+			new HashMap<String, List<DiscoveryConnector>>();
+
+	private final Map<String, DiscoveryCategory> categoryById = new HashMap<String, DiscoveryCategory>();
+
+	private final Map<String, DiscoveryCertification> certificationById = new HashMap<String, DiscoveryCertification>();
+
+	private final List<IRegistryListener> listeners = new CopyOnWriteArrayList<IRegistryListener>();
+
+	public ConnectorDescriptorRegistry() {
+	}
+
+	public void addRegistryListener(IRegistryListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeRegistryListener(IRegistryListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns true, if the registry contains the elements of <code>source</code> for the given fingerprint.
+	 */
+	public synchronized boolean isCurrent(String source, String fingerprint) {
+		Contribution contribution = contributionBySource.get(source);
+		return contribution != null && fingerprint != null && fingerprint.equals(contribution.getFingerprint());
+	}
+
+	/**
+	 * Replaces the contents of the registry. Elements of sources in <code>retainedSources</code> are kept, the elements
+	 * of <code>contributions</code> replace the elements previously read from the same source and all other sources are
+	 * removed.
+	 * 
+	 * @param retainedSources
+	 *            sources that are {@link #isCurrent(String, String) current}
+	 * @param contributions
+	 *            sources that were read
+	 * @return the changes, an empty list if nothing changed
+	 */
+	public List<Delta> update(Collection<String> retainedSources, Collection<Contribution> contributions) {
+		List<Delta> deltas = new ArrayList<Delta>();
+		synchronized (this) {
+			Map<String, DiscoveryConnector> previousConnectors = new HashMap<String, DiscoveryConnector>(connectorById);
+			Map<String, DiscoveryCategory> previousCategories = new HashMap<String, DiscoveryCategory>(categoryById);
+			Map<String, DiscoveryCertification> previousCertifications = new HashMap<String, DiscoveryCertification>(
+					certificationById);
+
+			// replace contributions in place to keep the order of sources stable
+			Set<String> sources = new HashSet<String>(retainedSources);
+			for (Contribution contribution : contributions) {
+				sources.add(contribution.getSource());
+			}
+			contributionBySource.keySet().retainAll(sources);
+			for (Contribution contribution : contributions) {
+				contributionBySource.put(contribution.getSource(), contribution);
+			}
+			index();
+
+			computeDeltas(deltas, previousCategories, categoryById);
+			computeDeltas(deltas, previousCertifications, certificationById);
+			computeDeltas(deltas, previousConnectors, connectorById);
+		}
+		if (!deltas.isEmpty()) {
+			for (IRegistryListener listener : listeners) {
+				listener.registryChanged(Collections.unmodifiableList(deltas));
+			}
+		}
+		return deltas;
+	}
+
+	private void index() {
+		connectorById.clear();
+		connectorsByCategoryId.clear();
+		connectorsByCertificationId.clear();
+		categoryById.clear();
+		certificationById.clear();
+		for (Contribution contribution : contributionBySource.values()) {
+			for (DiscoveryConnector connector : contribution.getConnectors()) {
+				putIfAbsent(connectorById, connector.getId(), connector);
+				add(connectorsByCategoryId, connector.getCategoryId(), connector);
+				add(connectorsByCertificationId, connector.getCertificationId(), connector);
+			}
+			for (DiscoveryCategory category : contribution.getCategories()) {
+				putIfAbsent(categoryById, category.getId(), category);
+			}
+			for (DiscoveryCertification certification : contribution.getCertifications()) {
+				putIfAbsent(certificationById, certification.getId(), certification);
+			}
+		}
+	}
+
+	private static <T> void putIfAbsent(Map<String, T> map, String id, T element) {
+		// the first declaration wins, duplicates are reported by ConnectorDiscovery
+		if (id != null && !map.containsKey(id)) {
+			map.put(id, element);
+		}
+	}
+
+	private static void add(Map<String, List<DiscoveryConnector>> map, String id, DiscoveryConnector connector) {
+		if (id != null) {
+			List<DiscoveryConnector> list = map.get(id);
+			if (list == null) {
+				list = new ArrayList<DiscoveryConnector>();
+				map.put(id, list);
+			}
+			list.add(connector);
+		}
+	}
+
+	private static <T> void computeDeltas(List<Delta> deltas, Map<String, T> previous, Map<String, T> current) {
+		for (Map.Entry<String, T> entry : previous.entrySet()) {
+			T element = current.get(entry.getKey());
+			if (element == null) {
+				deltas.add(new Delta(Delta.Kind.REMOVED, entry.getValue(), null));
+			} else if (element != entry.getValue()) {
+				deltas.add(new Delta(Delta.Kind.CHANGED, element, entry.getValue()));
+			}
+		}
+		for (Map.Entry<String, T> entry : current.entrySet()) {
+			if (!previous.containsKey(entry.getKey())) {
+				deltas.add(new Delta(Delta.Kind.ADDED, entry.getValue(), null));
+			}
+		}
+	}
+
+	public synchronized List<DiscoveryConnector> getConnectors() {
+		List<DiscoveryConnector> result = new ArrayList<DiscoveryConnector>();
+		for (Contribution contribution : contributionBySource.values()) {
+			result.addAll(contribution.getConnectors());
+		}
+		return result;
+	}
+
+	public synchronized List<DiscoveryCategory> getCategories() {
+		List<DiscoveryCategory> result = new ArrayList<DiscoveryCategory>();
+		for (Contribution contribution : contributionBySource.values()) {
+			result.addAll(contribution.getCategories());
+		}
+		return result;
+	}
+
+	public synchronized List<DiscoveryCertification> getCertifications() {
+		List<DiscoveryCertification> result = new ArrayList<DiscoveryCertification>();
+		for (Contribution contribution : contributionBySource.values()) {
+			result.addAll(contribution.getCertifications());
+		}
+		return result;
+	}
+
+	public synchronized DiscoveryConnector getConnector(String id) {
+		return connectorById.get(id);
+	}
+
+	public synchronized DiscoveryCategory getCategory(String id) {
+		return categoryById.get(id);
+	}
+
+	public synchronized DiscoveryCertification getCertification(String id) {
+		return certificationById.get(id);
+	}
+
+	/**
+	 * Returns the connectors that reference the category with the given id.
+	 */
+	public synchronized List<DiscoveryConnector> getConnectorsByCategory(String categoryId) {
+		return copy(connectorsByCategoryId.get(categoryId));
+	}
+
+	/**
+	 * Returns the connectors that reference the certification with the given id.
+	 */
+	public synchronized List<DiscoveryConnector> getConnectorsByCertification(String certificationId) {
+		return copy(connectorsByCertificationId.get(certificationId));
+	}
+
+	private static List<DiscoveryConnector> copy(List<DiscoveryConnector> list) {
+		return (list != null) ? new ArrayList<DiscoveryConnector>(list) : new ArrayList<DiscoveryConnector>();
+	}
+
+}
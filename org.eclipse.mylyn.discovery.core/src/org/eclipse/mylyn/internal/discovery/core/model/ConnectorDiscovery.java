@@ -11,24 +11,14 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core.model;
 
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IBundleGroup;
@@ -37,15 +27,15 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
-import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
-import org.eclipse.mylyn.internal.discovery.core.util.WebUtil;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Delta;
+import org.eclipse.mylyn.internal.discovery.core.util.SiteVerifier;
+import org.eclipse.mylyn.internal.discovery.core.util.SiteVerifier.ISiteVerificationListener;
 import org.eclipse.osgi.service.resolver.VersionRange;
 import org.eclipse.osgi.util.NLS;
 import org.osgi.framework.Bundle;
@@ -77,6 +67,8 @@ public class ConnectorDiscovery {
 
 	private Map<String, Version> featureToVersion = null;
 
+	private SiteVerifier siteVerifier;
+
 	public ConnectorDiscovery() {
 	}
 
@@ -124,6 +116,7 @@ public class ConnectorDiscovery {
 				}
 			}
 
+			copyDescriptors();
 			filterDescriptors();
 			if (verifyUpdateSiteAvailability) {
 				verifySiteAvailability(new SubProgressMonitor(monitor, filterTicks));
@@ -270,48 +263,130 @@ public class ConnectorDiscovery {
 	}
 
 	/**
-	 * eliminate any connectors whose {@link ConnectorDescriptor#getPlatformFilter() platform filters} don't match
+	 * Applies the connector changes of a {@link ConnectorDescriptorRegistry} that provided descriptors for this
+	 * discovery. Added and changed connectors are copied, filtered and linked to the categories and certifications of
+	 * this discovery. Changes of categories and certifications take effect when discovery is performed again. Must not
+	 * be invoked concurrently with {@link #performDiscovery(IProgressMonitor)}.
 	 */
-	@SuppressWarnings({ "rawtypes" })
-	private void filterDescriptors() {
-		for (DiscoveryConnector connector : new ArrayList<DiscoveryConnector>(connectors)) {
-			if (connector.getPlatformFilter() != null && connector.getPlatformFilter().trim().length() > 0) {
-				boolean match = false;
-				try {
-					Filter filter = FrameworkUtil.createFilter(connector.getPlatformFilter());
-					match = filter.match((Dictionary) environment);
-				} catch (InvalidSyntaxException e) {
-					StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
-							NLS.bind(Messages.ConnectorDiscovery_illegal_filter_syntax,
-									new Object[] { connector.getPlatformFilter(), connector.getId(),
-											connector.getSource().getId() })));
+	public void update(List<Delta> deltas) {
+		for (Delta delta : deltas) {
+			if (delta.getElement() instanceof DiscoveryConnector) {
+				DiscoveryConnector connector = (DiscoveryConnector) delta.getElement();
+				if (delta.getKind() != Delta.Kind.ADDED) {
+					removeConnector(connector.getId());
 				}
-				if (!match) {
-					connectors.remove(connector);
-					filteredConnectors.add(connector);
+				if (delta.getKind() != Delta.Kind.REMOVED) {
+					addConnector(new DiscoveryConnector(connector));
 				}
 			}
-			for (FeatureFilter featureFilter : connector.getFeatureFilter()) {
-				if (featureToVersion == null) {
-					featureToVersion = computeFeatureToVersion();
-				}
-				boolean match = false;
-				Version version = featureToVersion.get(featureFilter.getFeatureId());
-				if (version != null) {
-					VersionRange versionRange = new VersionRange(featureFilter.getVersion());
-					if (versionRange.isIncluded(version)) {
-						match = true;
-					}
+		}
+	}
+
+	private void removeConnector(String id) {
+		for (Iterator<DiscoveryConnector> it = connectors.iterator(); it.hasNext();) {
+			DiscoveryConnector connector = it.next();
+			if (connector.getId().equals(id)) {
+				it.remove();
+				if (connector.getCategory() != null) {
+					connector.getCategory().getConnectors().remove(connector);
 				}
-				if (!match) {
-					connectors.remove(connector);
-					filteredConnectors.add(connector);
+			}
+		}
+		for (Iterator<DiscoveryConnector> it = filteredConnectors.iterator(); it.hasNext();) {
+			if (it.next().getId().equals(id)) {
+				it.remove();
+			}
+		}
+	}
+
+	private void addConnector(DiscoveryConnector connector) {
+		if (!matchesFilters(connector)) {
+			filteredConnectors.add(connector);
+			return;
+		}
+		connectors.add(connector);
+		for (DiscoveryCategory category : categories) {
+			if (category.getId().equals(connector.getCategoryId())) {
+				category.getConnectors().add(connector);
+				connector.setCategory(category);
+				break;
+			}
+		}
+		if (connector.getCertificationId() != null) {
+			for (DiscoveryCertification certification : certifications) {
+				if (certification.getId().equals(connector.getCertificationId())) {
+					connector.setCertification(certification);
 					break;
 				}
 			}
 		}
 	}
 
+	/**
+	 * Replaces the descriptors provided by the discovery strategies with copies that are owned by this discovery.
+	 * Strategies may return descriptors that are kept by a {@link ConnectorDescriptorRegistry} and shared by
+	 * concurrent discovery sessions, the links, the selection and the availability are only set on the copies.
+	 */
+	private void copyDescriptors() {
+		for (int i = 0; i < connectors.size(); i++) {
+			connectors.set(i, new DiscoveryConnector(connectors.get(i)));
+		}
+		for (int i = 0; i < categories.size(); i++) {
+			categories.set(i, new DiscoveryCategory(categories.get(i)));
+		}
+		for (int i = 0; i < certifications.size(); i++) {
+			certifications.set(i, new DiscoveryCertification(certifications.get(i)));
+		}
+	}
+
+	/**
+	 * eliminate any connectors whose {@link ConnectorDescriptor#getPlatformFilter() platform filters} don't match
+	 */
+	private void filterDescriptors() {
+		for (DiscoveryConnector connector : new ArrayList<DiscoveryConnector>(connectors)) {
+			if (!matchesFilters(connector)) {
+				connectors.remove(connector);
+				filteredConnectors.add(connector);
+			}
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes" })
+	private boolean matchesFilters(DiscoveryConnector connector) {
+		if (connector.getPlatformFilter() != null && connector.getPlatformFilter().trim().length() > 0) {
+			boolean match = false;
+			try {
+				Filter filter = FrameworkUtil.createFilter(connector.getPlatformFilter());
+				match = filter.match((Dictionary) environment);
+			} catch (InvalidSyntaxException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
+						NLS.bind(Messages.ConnectorDiscovery_illegal_filter_syntax,
+								new Object[] { connector.getPlatformFilter(), connector.getId(),
+										connector.getSource().getId() })));
+			}
+			if (!match) {
+				return false;
+			}
+		}
+		for (FeatureFilter featureFilter : connector.getFeatureFilter()) {
+			if (featureToVersion == null) {
+				featureToVersion = computeFeatureToVersion();
+			}
+			boolean match = false;
+			Version version = featureToVersion.get(featureFilter.getFeatureId());
+			if (version != null) {
+				VersionRange versionRange = new VersionRange(featureFilter.getVersion());
+				if (versionRange.isIncluded(version)) {
+					match = true;
+				}
+			}
+			if (!match) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private Map<String, Version> computeFeatureToVersion() {
 		Map<String, Version> featureToVersion = new HashMap<String, Version>();
 		for (IBundleGroupProvider provider : Platform.getBundleGroupProviders()) {
@@ -328,10 +403,10 @@ public class ConnectorDiscovery {
 	 * Determine update site availability. This may be performed automatically as part of discovery when
 	 * {@link #isVerifyUpdateSiteAvailability()} is true, or it may be invoked later by calling this method.
 	 */
-	public void verifySiteAvailability(IProgressMonitor monitor) {
+	public void verifySiteAvailability(final IProgressMonitor monitor) {
 		// NOTE: we don't put java.net.URLs in the map since it involves DNS activity when
 		//       computing the hash code.
-		Map<String, Collection<DiscoveryConnector>> urlToDescriptors = new HashMap<String, Collection<DiscoveryConnector>>();
+		final Map<String, Collection<DiscoveryConnector>> urlToDescriptors = new HashMap<String, Collection<DiscoveryConnector>>();
 
 		for (DiscoveryConnector descriptor : connectors) {
 			if (!descriptor.isInstallable()) {
@@ -348,78 +423,44 @@ public class ConnectorDiscovery {
 			}
 			collection.add(descriptor);
 		}
-		final int totalTicks = urlToDescriptors.size();
-		monitor.beginTask(Messages.ConnectorDiscovery_task_verifyingAvailability, totalTicks);
+		monitor.beginTask(Messages.ConnectorDiscovery_task_verifyingAvailability, urlToDescriptors.size());
 		try {
 			if (!urlToDescriptors.isEmpty()) {
-				ExecutorService executorService = Executors.newFixedThreadPool(Math.min(urlToDescriptors.size(), 4));
-				try {
-					List<Future<VerifyUpdateSiteJob>> futures = new ArrayList<Future<VerifyUpdateSiteJob>>(
-							urlToDescriptors.size());
-					for (String url : urlToDescriptors.keySet()) {
-						futures.add(executorService.submit(new VerifyUpdateSiteJob(url)));
-					}
-					for (Future<VerifyUpdateSiteJob> jobFuture : futures) {
-						try {
-							for (;;) {
-								try {
-									VerifyUpdateSiteJob job = jobFuture.get(1L, TimeUnit.SECONDS);
-
-									Collection<DiscoveryConnector> descriptors = urlToDescriptors.get(job.url);
-									for (DiscoveryConnector descriptor : descriptors) {
-										descriptor.setAvailable(job.ok);
-									}
-									break;
-								} catch (TimeoutException e) {
-									if (monitor.isCanceled()) {
-										return;
-									}
-								}
-							}
-						} catch (InterruptedException e) {
-							monitor.setCanceled(true);
-							return;
-						} catch (ExecutionException e) {
-							if (e.getCause() instanceof OperationCanceledException) {
-								monitor.setCanceled(true);
-								return;
-							}
-							IStatus status = new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
-									Messages.ConnectorDiscovery_unexpected_exception, e.getCause());
-							StatusHandler.log(status);
+				// results are applied as they arrive so that listeners can update progressively
+				getSiteVerifier().verify(urlToDescriptors.keySet(), new ISiteVerificationListener() {
+					public void siteVerified(String siteUrl, boolean available) {
+						for (DiscoveryConnector descriptor : urlToDescriptors.get(siteUrl)) {
+							descriptor.setAvailable(available);
 						}
 						monitor.worked(1);
 					}
-				} finally {
-					executorService.shutdownNow();
-				}
+				}, monitor);
 			}
 		} finally {
 			monitor.done();
 		}
 	}
 
-	private static class VerifyUpdateSiteJob implements Callable<VerifyUpdateSiteJob> {
-
-		private final String url;
-
-		private boolean ok = false;
-
-		public VerifyUpdateSiteJob(String url) {
-			this.url = url;
-		}
-
-		public VerifyUpdateSiteJob call() throws MalformedURLException, URISyntaxException {
-			URL baseUrl = new URL(url);
-			List<URI> locations = new ArrayList<URI>();
-			for (String location : new String[] { "content.jar", "content.xml", "compositeContent.jar", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
-					"compositeContent.xml", "site.xml" }) { //$NON-NLS-1$ //$NON-NLS-2$
-				locations.add(new URL(baseUrl, location).toURI());
-			}
-			ok = WebUtil.verifyAvailability(locations, true, new NullProgressMonitor());
-			return this;
+	/**
+	 * The verifier used to determine update site availability. Defaults to the verifier that is shared across
+	 * discovery sessions so that results are cached between refreshes.
+	 * 
+	 * @see DiscoveryCore#getSiteVerifier()
+	 */
+	public SiteVerifier getSiteVerifier() {
+		if (siteVerifier == null) {
+			return DiscoveryCore.getSiteVerifier();
 		}
+		return siteVerifier;
+	}
 
+	/**
+	 * The verifier used to determine update site availability.
+	 * 
+	 * @see #verifySiteAvailability(IProgressMonitor)
+	 */
+	public void setSiteVerifier(SiteVerifier siteVerifier) {
+		this.siteVerifier = siteVerifier;
 	}
 
 	public void dispose() {
@@ -17,25 +17,59 @@ import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
 
-import org.eclipse.mylyn.commons.core.CoreUtil;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.eclipse.mylyn.internal.discovery.core.model.Directory.Entry;
-import org.eclipse.mylyn.internal.discovery.core.util.DefaultSaxErrorHandler;
 import org.eclipse.mylyn.internal.discovery.core.util.IOWithCauseException;
 import org.eclipse.osgi.util.NLS;
-import org.xml.sax.Attributes;
-import org.xml.sax.ContentHandler;
-import org.xml.sax.InputSource;
-import org.xml.sax.Locator;
-import org.xml.sax.SAXException;
-import org.xml.sax.XMLReader;
 
 /**
- * A parser for {@link Directory directories}.
+ * A parser for {@link Directory directories}. Directories are read with a streaming parser that rejects document type
+ * declarations, which prevents entity expansion and the resolution of external entities.
  * 
  * @author David Green
  */
 public class DirectoryParser {
 
+	/**
+	 * Receives entries as they are read by {@link DirectoryParser#parse(Reader, IEntryHandler)}. Invoked on the thread
+	 * that runs the parser.
+	 */
+	public interface IEntryHandler {
+
+		public void handleEntry(Entry entry) throws IOException;
+
+	}
+
+	public static final int DEFAULT_MAX_ENTRIES = 100000;
+
+	/**
+	 * The JDK property that limits the number of entity expansions per document.
+	 */
+	private static final String ENTITY_EXPANSION_LIMIT = "http://www.oracle.com/xml/jaxp/properties/entityExpansionLimit"; //$NON-NLS-1$
+
+	private static final Integer MAX_ENTITY_EXPANSIONS = Integer.valueOf(64);
+
+	private static final XMLInputFactory inputFactory = createInputFactory();
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		try {
+			factory.setProperty(ENTITY_EXPANSION_LIMIT, MAX_ENTITY_EXPANSIONS);
+		} catch (IllegalArgumentException e) {
+			// not supported by this implementation, document type declarations are rejected regardless
+		}
+		return factory;
+	}
+
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+
 	public DirectoryParser() {
 		// ignore
 	}
@@ -53,6 +87,26 @@ public class DirectoryParser {
 		this.baseUri = baseUri;
 	}
 
+	/**
+	 * the maximum number of entries that a directory may contain
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * the maximum number of entries that a directory may contain
+	 * 
+	 * @param maxEntries
+	 *            a number >= 1
+	 */
+	public void setMaxEntries(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.maxEntries = maxEntries;
+	}
+
 	/**
 	 * parse the contents of a directory. The caller must close the given reader.
 	 * 
@@ -63,103 +117,93 @@ public class DirectoryParser {
 	 *             if the directory cannot be read.
 	 */
 	public Directory parse(Reader directoryContents) throws IOException {
-		XMLReader xmlReader;
-		try {
-			xmlReader = CoreUtil.newXmlReader();
-		} catch (SAXException e) {
-			throw new IOWithCauseException(e.getMessage(), e);
-		}
-		xmlReader.setErrorHandler(new DefaultSaxErrorHandler());
-
-		DirectoryContentHandler contentHandler = new DirectoryContentHandler();
-		xmlReader.setContentHandler(contentHandler);
+		final Directory directory = new Directory();
+		parse(directoryContents, new IEntryHandler() {
+			public void handleEntry(Entry entry) {
+				directory.getEntries().add(entry);
+			}
+		});
+		return directory;
+	}
 
+	/**
+	 * parse the contents of a directory and pass each entry to <code>handler</code> as soon as it has been read, before
+	 * the remainder of the document is parsed. If the document turns out to be invalid, entries that precede the error
+	 * have already been passed to the handler. The caller must close the given reader.
+	 * 
+	 * @param directoryContents
+	 *            the contents of the directory
+	 * @param handler
+	 *            receives the entries in document order
+	 * @throws IOException
+	 *             if the directory cannot be read, exceeds {@link #getMaxEntries() the maximum number of entries} or
+	 *             the handler fails
+	 */
+	public void parse(Reader directoryContents, IEntryHandler handler) throws IOException {
+		XMLStreamReader reader;
 		try {
-			xmlReader.parse(new InputSource(directoryContents));
-		} catch (SAXException e) {
+			reader = inputFactory.createXMLStreamReader(directoryContents);
+		} catch (XMLStreamException e) {
 			throw new IOWithCauseException(e.getMessage(), e);
 		}
-
-		if (contentHandler.directory == null) {
-			throw new IOException(Messages.DirectoryParser_no_directory);
-		}
-
-		return contentHandler.directory;
-	}
-
-	private class DirectoryContentHandler implements ContentHandler {
-
-		Directory directory;
-
-		public void characters(char[] ch, int start, int length) throws SAXException {
-			// ignore
-		}
-
-		public void endDocument() throws SAXException {
-			// ignore
-		}
-
-		public void endElement(String uri, String localName, String qName) throws SAXException {
-			// ignore
-		}
-
-		public void endPrefixMapping(String prefix) throws SAXException {
-			// ignore
-		}
-
-		public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
-			// ignore
-		}
-
-		public void processingInstruction(String target, String data) throws SAXException {
-			// ignore
-		}
-
-		public void setDocumentLocator(Locator locator) {
-			// ignore
-		}
-
-		public void skippedEntity(String name) throws SAXException {
-			// ignore
-		}
-
-		public void startDocument() throws SAXException {
-			// ignore
-		}
-
-		public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
-			if ("directory".equals(localName)) { //$NON-NLS-1$
-				if (directory != null) {
-					unexpectedElement(localName);
-				}
-				directory = new Directory();
-			} else if (directory != null && "entry".equals(localName)) { //$NON-NLS-1$
-				String url = atts.getValue("", "url"); //$NON-NLS-1$ //$NON-NLS-2$
-				if (url != null && url.length() > 0) {
-					try {
-						URI entryUri = new URI(url);
-						if (baseUri != null && !entryUri.isAbsolute()) {
-							url = baseUri.resolve(url).toString();
+		try {
+			boolean inDirectory = false;
+			int entryCount = 0;
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.DTD) {
+					throw new IOException(Messages.DirectoryParser_doctype_not_permitted);
+				} else if (event == XMLStreamConstants.START_ELEMENT) {
+					String localName = reader.getLocalName();
+					if ("directory".equals(localName)) { //$NON-NLS-1$
+						if (inDirectory) {
+							throw new IOException(NLS.bind(Messages.DirectoryParser_unexpected_element, localName));
+						}
+						inDirectory = true;
+					} else if (inDirectory && "entry".equals(localName)) { //$NON-NLS-1$
+						Entry entry = readEntry(reader);
+						if (entry != null) {
+							if (++entryCount > maxEntries) {
+								throw new IOException(NLS.bind(Messages.DirectoryParser_too_many_entries, maxEntries));
+							}
+							handler.handleEntry(entry);
 						}
-					} catch (URISyntaxException e) {
-						// ignore
 					}
-
-					Entry entry = new Entry();
-					entry.setLocation(url);
-					entry.setPermitCategories(Boolean.parseBoolean(atts.getValue("permitCategories"))); //$NON-NLS-1$
-					directory.getEntries().add(entry);
+					// else ignore
 				}
 			}
-			// else ignore
+			if (!inDirectory) {
+				throw new IOException(Messages.DirectoryParser_no_directory);
+			}
+		} catch (XMLStreamException e) {
+			throw new IOWithCauseException(e.getMessage(), e);
+		} finally {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				// ignore
+			}
 		}
+	}
 
-		private void unexpectedElement(String localName) throws SAXException {
-			throw new SAXException(NLS.bind(Messages.DirectoryParser_unexpected_element, localName));
+	private Entry readEntry(XMLStreamReader reader) {
+		String url = reader.getAttributeValue(null, "url"); //$NON-NLS-1$
+		if (url == null || url.length() == 0) {
+			return null;
 		}
-
-		public void startPrefixMapping(String prefix, String uri) throws SAXException {
+		try {
+			URI entryUri = new URI(url);
+			if (baseUri != null && !entryUri.isAbsolute()) {
+				url = baseUri.resolve(url).toString();
+			}
+		} catch (URISyntaxException e) {
 			// ignore
 		}
+
+		Entry entry = new Entry();
+		entry.setLocation(url);
+		entry.setPermitCategories(Boolean.parseBoolean(reader.getAttributeValue(null, "permitCategories"))); //$NON-NLS-1$
+		return entry;
 	}
+
 }
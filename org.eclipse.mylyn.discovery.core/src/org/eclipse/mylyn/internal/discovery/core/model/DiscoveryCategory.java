@@ -23,6 +23,17 @@ public class DiscoveryCategory extends ConnectorCategory {
 
 	private final List<DiscoveryConnector> connectors = new ArrayList<DiscoveryConnector>();
 
+	public DiscoveryCategory() {
+	}
+
+	/**
+	 * Creates a copy of <code>category</code> that has the same source and no connectors.
+	 */
+	public DiscoveryCategory(DiscoveryCategory category) {
+		super(category);
+		source = category.source;
+	}
+
 	public List<DiscoveryConnector> getConnectors() {
 		return connectors;
 	}
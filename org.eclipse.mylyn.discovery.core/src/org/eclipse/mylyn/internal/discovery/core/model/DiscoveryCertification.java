@@ -19,6 +19,17 @@ public class DiscoveryCertification extends Certification {
 
 	private AbstractDiscoverySource source;
 
+	public DiscoveryCertification() {
+	}
+
+	/**
+	 * Creates a copy of <code>certification</code> that has the same source.
+	 */
+	public DiscoveryCertification(DiscoveryCertification certification) {
+		super(certification);
+		source = certification.source;
+	}
+
 	public AbstractDiscoverySource getSource() {
 		return source;
 	}
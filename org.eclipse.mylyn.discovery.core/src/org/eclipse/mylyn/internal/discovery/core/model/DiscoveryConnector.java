@@ -37,6 +37,16 @@ public class DiscoveryConnector extends ConnectorDescriptor {
 		changeSupport = new PropertyChangeSupport(this);
 	}
 
+	/**
+	 * Creates a copy of <code>connector</code> that has the same source. The copy is not linked to a category or
+	 * certification, is not selected and its availability is unknown.
+	 */
+	public DiscoveryConnector(DiscoveryConnector connector) {
+		super(connector);
+		changeSupport = new PropertyChangeSupport(this);
+		source = connector.source;
+	}
+
 	public DiscoveryCategory getCategory() {
 		return category;
 	}
@@ -145,7 +145,7 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 		return null;
 	}
 
-	private List<String> computeBundleNames(String baseName) {
+	private static List<String> computeBundleNames(String baseName) {
 		String suffix = ".properties"; //$NON-NLS-1$
 		String name = baseName;
 		List<String> bundleNames = new ArrayList<String>();
@@ -209,6 +209,43 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 		return entry;
 	}
 
+	/**
+	 * compute a fingerprint of the resources that descriptors are read from. The fingerprint covers the location of the
+	 * jar, the policy of the directory entry and the checksums of plugin.xml and its translations, which are taken from
+	 * the central directory of the jar without reading the entries.
+	 * 
+	 * @throws IOException
+	 *             if the jar cannot be opened
+	 */
+	static String computeFingerprint(File bundleFile, Entry entry) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append(bundleFile.getAbsolutePath());
+		sb.append('|');
+		sb.append(entry.isPermitCategories());
+		JarFile jarFile = new JarFile(bundleFile);
+		try {
+			appendFingerprint(sb, jarFile, "plugin.xml"); //$NON-NLS-1$
+			for (String bundleName : computeBundleNames("plugin")) { //$NON-NLS-1$
+				appendFingerprint(sb, jarFile, bundleName);
+			}
+		} finally {
+			jarFile.close();
+		}
+		return sb.toString();
+	}
+
+	private static void appendFingerprint(StringBuilder sb, JarFile jarFile, String name) {
+		ZipEntry zipEntry = jarFile.getEntry(name);
+		if (zipEntry != null) {
+			sb.append('|');
+			sb.append(name);
+			sb.append(':');
+			sb.append(Long.toHexString(zipEntry.getCrc()));
+			sb.append(':');
+			sb.append(zipEntry.getSize());
+		}
+	}
+
 	public void setBundles(Map<File, Entry> bundleFileToDirectoryEntry) {
 		this.bundleFileToDirectoryEntry = bundleFileToDirectoryEntry;
 	}
@@ -76,8 +76,12 @@ class Messages extends NLS {
 
 	public static String ConnectorDiscoveryExtensionReader_unexpected_value_kind;
 
+	public static String DirectoryParser_doctype_not_permitted;
+
 	public static String DirectoryParser_no_directory;
 
+	public static String DirectoryParser_too_many_entries;
+
 	public static String DirectoryParser_unexpected_element;
 
 	public static String DiscoveryFeedbackJob_Job_Label;
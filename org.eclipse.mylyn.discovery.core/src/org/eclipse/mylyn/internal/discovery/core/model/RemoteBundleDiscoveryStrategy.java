@@ -11,8 +11,11 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core.model;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -43,14 +46,17 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Contribution;
 import org.eclipse.mylyn.internal.discovery.core.model.Directory.Entry;
-import org.eclipse.mylyn.internal.discovery.core.util.WebUtil;
-import org.eclipse.mylyn.internal.discovery.core.util.WebUtil.TextContentProcessor;
+import org.eclipse.mylyn.internal.discovery.core.model.DirectoryParser.IEntryHandler;
+import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCache;
 import org.eclipse.osgi.util.NLS;
 
 /**
  * A discovery strategy that downloads a simple directory of remote jars. The directory is first downloaded, then each
- * remote jar is downloaded.
+ * remote jar is downloaded as soon as its entry has been parsed. Downloaded resources are kept in a
+ * {@link DiscoveryCache} and only transferred again if they have changed. Descriptors are kept in a
+ * {@link ConnectorDescriptorRegistry} and only read again from jars whose plugin.xml has changed.
  * 
  * @author David Green
  */
@@ -65,8 +71,12 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 
 	private int maxDiscoveryJarDownloadAttempts = 1;
 
+	private DiscoveryCache cache;
+
+	private ConnectorDescriptorRegistry registry;
+
 	@Override
-	public void performDiscovery(IProgressMonitor monitor) throws CoreException {
+	public void performDiscovery(final IProgressMonitor monitor) throws CoreException {
 		if (connectors == null || categories == null || directoryUrl == null) {
 			throw new IllegalStateException();
 		}
@@ -76,6 +86,7 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 
 		final int totalTicks = 100000;
 		final int ticksTenPercent = totalTicks / 10;
+		final DiscoveryCache cache = getCache();
 		monitor.beginTask(Messages.RemoteBundleDiscoveryStrategy_task_remote_discovery, totalTicks);
 		try {
 			File registryCacheFolder;
@@ -100,49 +111,50 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 				return;
 			}
 
-			Directory directory;
+			final Directory directory = new Directory();
+			URI directoryUri;
+			Map<File, Directory.Entry> bundleFileToDirectoryEntry = new HashMap<File, Directory.Entry>();
 
+			final ExecutorService executorService = createExecutorService();
 			try {
-				final Directory[] temp = new Directory[1];
-				final URI uri = new URI(directoryUrl);
-				WebUtil.readResource(uri, new TextContentProcessor() {
-					public void process(Reader reader) throws IOException {
+				final List<Future<DownloadBundleJob>> futures = new ArrayList<Future<DownloadBundleJob>>();
+				try {
+					directoryUri = new URI(directoryUrl);
+					File directoryFile = cache.get(directoryUri, new SubProgressMonitor(monitor, ticksTenPercent));
+					Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(directoryFile),
+							"UTF-8")); //$NON-NLS-1$
+					try {
 						DirectoryParser parser = new DirectoryParser();
-						parser.setBaseUri(uri);
-						temp[0] = parser.parse(reader);
+						parser.setBaseUri(directoryUri);
+						// start downloading bundles while the remainder of the directory is parsed
+						parser.parse(reader, new IEntryHandler() {
+							public void handleEntry(Entry entry) {
+								directory.getEntries().add(entry);
+								futures.add(executorService.submit(new DownloadBundleJob(entry, monitor)));
+							}
+						});
+					} finally {
+						reader.close();
 					}
-				}, new SubProgressMonitor(monitor, ticksTenPercent));
-				directory = temp[0];
-				if (directory == null) {
-					throw new IllegalStateException();
+				} catch (UnknownHostException e) {
+					throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
+							Messages.RemoteBundleDiscoveryStrategy_unknown_host_discovery_directory, e.getMessage()),
+							e));
+				} catch (IOException e) {
+					throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
+							Messages.RemoteBundleDiscoveryStrategy_io_failure_discovery_directory, e));
+				} catch (URISyntaxException e) {
+					throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
+							Messages.RemoteBundleDiscoveryStrategy_io_failure_discovery_directory, e));
 				}
-			} catch (UnknownHostException e) {
-				throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
-						Messages.RemoteBundleDiscoveryStrategy_unknown_host_discovery_directory, e.getMessage()), e));
-			} catch (IOException e) {
-				throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
-						Messages.RemoteBundleDiscoveryStrategy_io_failure_discovery_directory, e));
-			} catch (URISyntaxException e) {
-				throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
-						Messages.RemoteBundleDiscoveryStrategy_io_failure_discovery_directory, e));
-			}
-			if (monitor.isCanceled()) {
-				return;
-			}
-			if (directory.getEntries().isEmpty()) {
-				throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
-						Messages.RemoteBundleDiscoveryStrategy_empty_directory));
-			}
-
-			Map<File, Directory.Entry> bundleFileToDirectoryEntry = new HashMap<File, Directory.Entry>();
-
-			ExecutorService executorService = createExecutorService(directory.getEntries().size());
-			try {
-				List<Future<DownloadBundleJob>> futures = new ArrayList<Future<DownloadBundleJob>>();
-				// submit jobs
-				for (Directory.Entry entry : directory.getEntries()) {
-					futures.add(executorService.submit(new DownloadBundleJob(entry, monitor)));
+				if (monitor.isCanceled()) {
+					return;
 				}
+				if (directory.getEntries().isEmpty()) {
+					throw new CoreException(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
+							Messages.RemoteBundleDiscoveryStrategy_empty_directory));
+				}
+
 				int futureSize = ticksTenPercent * 4 / directory.getEntries().size();
 				// collect job results
 				for (Future<DownloadBundleJob> job : futures) {
@@ -186,24 +198,94 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 				executorService.shutdownNow();
 			}
 
-			try {
-				registryStrategy = new DiscoveryRegistryStrategy(new File[] { registryCacheFolder },
-						new boolean[] { false }, this);
-				registryStrategy.setBundles(bundleFileToDirectoryEntry);
-				IExtensionRegistry extensionRegistry = new ExtensionRegistry(registryStrategy, this, this);
+			// remove entries that are no longer listed in the directory
+			List<URI> retainedUris = new ArrayList<URI>();
+			retainedUris.add(directoryUri);
+			for (Directory.Entry entry : directory.getEntries()) {
 				try {
-					IExtensionPoint extensionPoint = extensionRegistry.getExtensionPoint(ConnectorDiscoveryExtensionReader.EXTENSION_POINT_ID);
-					if (extensionPoint != null) {
-						IExtension[] extensions = extensionPoint.getExtensions();
-						if (extensions.length > 0) {
-							processExtensions(new SubProgressMonitor(monitor, ticksTenPercent * 3), extensions);
+					retainedUris.add(new URI(entry.getLocation()));
+				} catch (URISyntaxException e) {
+					// ignore
+				}
+			}
+			cache.prune(retainedUris);
+
+			// only read bundles that have changed since the last discovery
+			ConnectorDescriptorRegistry registry = getRegistry();
+			List<String> retainedSources = new ArrayList<String>();
+			Map<String, Contribution> contributions = new HashMap<String, Contribution>();
+			Map<File, Directory.Entry> changedBundles = new HashMap<File, Directory.Entry>();
+			for (Map.Entry<File, Directory.Entry> bundle : bundleFileToDirectoryEntry.entrySet()) {
+				String source = bundle.getValue().getLocation();
+				String fingerprint = null;
+				try {
+					fingerprint = DiscoveryRegistryStrategy.computeFingerprint(bundle.getKey(), bundle.getValue());
+				} catch (IOException e) {
+					// the bundle is read again and the failure is reported then
+				}
+				if (registry.isCurrent(source, fingerprint)) {
+					retainedSources.add(source);
+				} else {
+					contributions.put(source, new Contribution(source, fingerprint));
+					changedBundles.put(bundle.getKey(), bundle.getValue());
+				}
+			}
+
+			if (!changedBundles.isEmpty()) {
+				try {
+					registryStrategy = new DiscoveryRegistryStrategy(new File[] { registryCacheFolder },
+							new boolean[] { false }, this);
+					registryStrategy.setBundles(changedBundles);
+					IExtensionRegistry extensionRegistry = new ExtensionRegistry(registryStrategy, this, this);
+					try {
+						IExtensionPoint extensionPoint = extensionRegistry
+								.getExtensionPoint(ConnectorDiscoveryExtensionReader.EXTENSION_POINT_ID);
+						if (extensionPoint != null) {
+							IExtension[] extensions = extensionPoint.getExtensions();
+							if (extensions.length > 0) {
+								processExtensions(new SubProgressMonitor(monitor, ticksTenPercent * 3), extensions,
+										contributions);
+							}
 						}
+					} finally {
+						extensionRegistry.stop(this);
 					}
 				} finally {
-					extensionRegistry.stop(this);
+					registryStrategy = null;
 				}
-			} finally {
-				registryStrategy = null;
+			}
+			if (monitor.isCanceled()) {
+				return;
+			}
+
+			registry.update(retainedSources, contributions.values());
+			connectors.addAll(registry.getConnectors());
+			categories.addAll(registry.getCategories());
+			certifications.addAll(registry.getCertifications());
+		} finally {
+			cache.save();
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Reads the given extensions and adds the elements to the contribution of the directory entry that lists the
+	 * contributing bundle.
+	 */
+	private void processExtensions(IProgressMonitor monitor, IExtension[] extensions,
+			Map<String, Contribution> contributions) {
+		monitor.beginTask(Messages.BundleDiscoveryStrategy_task_processing_extensions, extensions.length);
+		try {
+			ConnectorDiscoveryExtensionReader extensionReader = new ConnectorDiscoveryExtensionReader();
+			for (IExtension extension : extensions) {
+				if (monitor.isCanceled()) {
+					return;
+				}
+				Entry entry = registryStrategy.getDirectoryEntry(extension.getContributor());
+				Contribution contribution = contributions.get(entry.getLocation());
+				processExtension(monitor, extensionReader, extension, contribution.getConnectors(),
+						contribution.getCategories(), contribution.getCertifications());
+				monitor.worked(1);
 			}
 		} finally {
 			monitor.done();
@@ -222,7 +304,7 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 			this.monitor = monitor;
 		}
 
-		public DownloadBundleJob call() {
+		public DownloadBundleJob call() throws CoreException {
 
 			String bundleUrl = entry.getLocation();
 			for (int attemptCount = 0; attemptCount < maxDiscoveryJarDownloadAttempts; ++attemptCount) {
@@ -232,22 +314,22 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 								Messages.RemoteBundleDiscoveryStrategy_unrecognized_discovery_url, bundleUrl)));
 						continue;
 					}
-					File target = File.createTempFile(WebUtil.getFileNameFor(bundleUrl) + "_", ".jar", temporaryStorage); //$NON-NLS-1$ //$NON-NLS-2$
 
 					if (monitor.isCanceled()) {
 						break;
 					}
 
-					try {
-						WebUtil.download(new URI(bundleUrl), target, new NullProgressMonitor() {
-							@Override
-							public boolean isCanceled() {
-								return super.isCanceled() || monitor.isCanceled();
-							}
-						}/*don't use sub progress monitor here*/);
-					} catch (URISyntaxException e) {
-					}
-					file = target;
+					file = getCache().get(new URI(bundleUrl), new NullProgressMonitor() {
+						@Override
+						public boolean isCanceled() {
+							return super.isCanceled() || monitor.isCanceled();
+						}
+					}/*don't use sub progress monitor here*/);
+					break;
+				} catch (URISyntaxException e) {
+					StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN, NLS.bind(
+							Messages.RemoteBundleDiscoveryStrategy_unrecognized_discovery_url, bundleUrl)));
+					break;
 				} catch (IOException e) {
 					StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
 							Messages.RemoteBundleDiscoveryStrategy_cannot_download_bundle, bundleUrl, e.getMessage()),
@@ -261,9 +343,10 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 		}
 	}
 
-	private ExecutorService createExecutorService(int size) {
+	private ExecutorService createExecutorService() {
+		// threads are only started as jobs are submitted
 		final int maxThreads = 4;
-		return Executors.newFixedThreadPool(Math.min(size, maxThreads));
+		return Executors.newFixedThreadPool(maxThreads);
 	}
 
 	/**
@@ -310,6 +393,34 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 		}
 	}
 
+	/**
+	 * Returns the cache that stores downloaded resources. Unless set explicitly, the cache that is shared by all
+	 * discovery strategies is used.
+	 * 
+	 * @see DiscoveryCore#getDiscoveryCache()
+	 */
+	public DiscoveryCache getCache() {
+		return (cache != null) ? cache : DiscoveryCore.getDiscoveryCache();
+	}
+
+	public void setCache(DiscoveryCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Returns the registry that keeps descriptors between discovery runs so that only bundles that have changed are
+	 * read. Unless set explicitly, the registry that is shared by all discovery strategies for the directory is used.
+	 * 
+	 * @see DiscoveryCore#getConnectorRegistry(String)
+	 */
+	public ConnectorDescriptorRegistry getRegistry() {
+		return (registry != null) ? registry : DiscoveryCore.getConnectorRegistry(directoryUrl);
+	}
+
+	public void setRegistry(ConnectorDescriptorRegistry registry) {
+		this.registry = registry;
+	}
+
 	public String getDirectoryUrl() {
 		return directoryUrl;
 	}
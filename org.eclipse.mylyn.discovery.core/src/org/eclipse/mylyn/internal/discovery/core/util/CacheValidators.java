@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.util;
+
+/**
+ * The validators of an HTTP response that are sent with conditional requests to determine whether a resource has
+ * changed.
+ */
+public class CacheValidators {
+
+	private final String etag;
+
+	private final long lastModified;
+
+	/**
+	 * @param etag
+	 *            the value of the ETag header; null, if not present
+	 * @param lastModified
+	 *            the value of the Last-Modified header in milliseconds; 0, if not present
+	 */
+	public CacheValidators(String etag, long lastModified) {
+		this.etag = etag;
+		this.lastModified = lastModified;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Returns true, if a conditional request can be made using these validators.
+	 */
+	public boolean isValid() {
+		return etag != null || lastModified > 0;
+	}
+
+	/**
+	 * Returns true, if a range request can be made conditional using these validators. Weak entity tags can not be
+	 * used for this purpose.
+	 */
+	public boolean isValidForRange() {
+		return (etag != null && !etag.startsWith("W/")) || lastModified > 0; //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,500 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
+
+/**
+ * A persistent cache for discovery resources such as the directory and connector bundles. Each entry stores the
+ * validators of the response it was retrieved with and the SHA-256 digest of the content. Cached resources are
+ * revalidated with conditional requests and only transferred again if they have changed on the server. Resources
+ * that are not cached are retrieved with a {@link ResumableDownload}, so an interrupted download continues where it
+ * ended the next time the resource is requested.
+ * <p>
+ * Files are named after their content and are never overwritten, so files handed out by {@link #get(URI,
+ * IProgressMonitor)} remain valid while they are in use even if the resource is updated concurrently.
+ */
+public class DiscoveryCache {
+
+	private static final int INDEX_VERSION = 1;
+
+	private static final String INDEX_FILE = "index"; //$NON-NLS-1$
+
+	private static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	public static final long DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+
+	public static final long DEFAULT_MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
+	private static final long TEMP_FILE_MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+	private static final long PARTIAL_FILE_MAX_AGE = TimeUnit.DAYS.toMillis(1);
+
+	private static class Entry {
+
+		private final String url;
+
+		private final String fileName;
+
+		private final CacheValidators validators;
+
+		private final String digest;
+
+		private final long size;
+
+		private long lastAccessed;
+
+		public Entry(String url, String fileName, CacheValidators validators, String digest, long size,
+				long lastAccessed) {
+			this.url = url;
+			this.fileName = fileName;
+			this.validators = validators;
+			this.digest = digest;
+			this.size = size;
+			this.lastAccessed = lastAccessed;
+		}
+
+	}
+
+	private final File directory;
+
+	private final ITransportService transport;
+
+	private final Map<String, Entry> entryByUrl = new HashMap<String, Entry>();
+
+	private final Set<String> downloadsInProgress = new HashSet<String>();
+
+	private long maxSize = DEFAULT_MAX_SIZE;
+
+	private long maxAge = DEFAULT_MAX_AGE;
+
+	private boolean loaded;
+
+	private boolean dirty;
+
+	/**
+	 * Creates a cache that uses the default transport.
+	 * 
+	 * @see WebUtil#getTransport()
+	 */
+	public DiscoveryCache(File directory) {
+		this(directory, null);
+	}
+
+	/**
+	 * @param transport
+	 *            the transport used to retrieve resources; if null, the default transport is used
+	 */
+	public DiscoveryCache(File directory, ITransportService transport) {
+		Assert.isNotNull(directory);
+		this.directory = directory;
+		this.transport = transport;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public synchronized long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets the size in bytes that the cache is trimmed to by {@link #prune(Collection)}.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public synchronized long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which entries that have not been accessed are removed by
+	 * {@link #prune(Collection)}.
+	 */
+	public synchronized void setMaxAge(long maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Returns a local copy of the resource at <code>uri</code>. If the resource is cached a conditional request is
+	 * made and the cached copy is returned unless the resource has changed.
+	 * 
+	 * @throws IOException
+	 *             if a network or IO problem occurs
+	 */
+	public File get(URI uri, IProgressMonitor monitor) throws IOException, CoreException {
+		String url = uri.toString();
+		Entry entry;
+		synchronized (this) {
+			load();
+			entry = entryByUrl.get(url);
+		}
+		if (entry != null && !isIntact(entry)) {
+			// the file was modified or removed, download it again
+			entry = null;
+		}
+
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IOException("Failed to create cache directory: " + directory); //$NON-NLS-1$
+		}
+		if (entry == null && startDownload(url)) {
+			try {
+				return downloadResumable(uri, monitor);
+			} finally {
+				finishDownload(url);
+			}
+		}
+
+		File tempFile = File.createTempFile("download", TEMP_SUFFIX, directory); //$NON-NLS-1$
+		try {
+			MessageDigest digest = createDigest();
+			CacheValidators validators;
+			OutputStream out = new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)),
+					digest);
+			try {
+				validators = getTransport().download(uri, out,
+						(entry != null && entry.validators.isValid()) ? entry.validators : null, monitor);
+			} finally {
+				out.close();
+			}
+
+			if (validators == null) {
+				// not modified
+				synchronized (this) {
+					entry.lastAccessed = System.currentTimeMillis();
+					dirty = true;
+					return new File(directory, entry.fileName);
+				}
+			}
+			return store(url, tempFile, validators, toHex(digest.digest()));
+		} finally {
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Downloads a resource that is not cached. The download file is named after the URL so that a download that was
+	 * interrupted is resumed by the next request for the same resource.
+	 */
+	private File downloadResumable(URI uri, IProgressMonitor monitor) throws IOException, CoreException {
+		String url = uri.toString();
+		String urlHash = toHex(createDigest().digest(url.getBytes("UTF-8"))); //$NON-NLS-1$
+		File downloadFile = new File(directory, WebUtil.getFileNameFor(url) + "_" + urlHash.substring(0, 16) //$NON-NLS-1$
+				+ TEMP_SUFFIX);
+		try {
+			CacheValidators validators = new ResumableDownload(uri, downloadFile, getTransport()).download(monitor);
+			return store(url, downloadFile, validators, toHex(computeDigest(downloadFile)));
+		} finally {
+			downloadFile.delete();
+		}
+	}
+
+	/**
+	 * Moves a downloaded file into the cache and creates an entry for it.
+	 */
+	private synchronized File store(String url, File downloadFile, CacheValidators validators, String hash)
+			throws IOException {
+		String fileName = WebUtil.getFileNameFor(url) + "_" + hash.substring(0, 16); //$NON-NLS-1$
+		File file = new File(directory, fileName);
+		if (!file.exists() && !downloadFile.renameTo(file)) {
+			throw new IOException("Failed to store " + url + " in cache"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		entryByUrl.put(url, new Entry(url, fileName, validators, hash, file.length(), System.currentTimeMillis()));
+		dirty = true;
+		return file;
+	}
+
+	/**
+	 * Returns false, if the resource is already being downloaded by another thread.
+	 */
+	private synchronized boolean startDownload(String url) {
+		return downloadsInProgress.add(url);
+	}
+
+	private synchronized void finishDownload(String url) {
+		downloadsInProgress.remove(url);
+	}
+
+	private ITransportService getTransport() {
+		return (transport != null) ? transport : WebUtil.getTransport();
+	}
+
+	/**
+	 * Verifies that the cached file still matches the content the entry was created with.
+	 */
+	private boolean isIntact(Entry entry) {
+		File file = new File(directory, entry.fileName);
+		if (!file.isFile() || file.length() != entry.size) {
+			return false;
+		}
+		try {
+			return entry.digest.equals(toHex(computeDigest(file)));
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static byte[] computeDigest(File file) throws IOException {
+		MessageDigest digest = createDigest();
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, len);
+			}
+		} finally {
+			in.close();
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Removes entries that are not in <code>retainedUris</code> and have not been accessed for the maximum age, then
+	 * evicts the least recently used entries that are not retained until the cache fits the maximum size. Files that
+	 * no longer belong to an entry are deleted and the index is saved.
+	 */
+	public synchronized void prune(Collection<URI> retainedUris) {
+		load();
+		Set<String> retained = new HashSet<String>();
+		for (URI uri : retainedUris) {
+			retained.add(uri.toString());
+		}
+
+		long now = System.currentTimeMillis();
+		List<Entry> candidates = new ArrayList<Entry>();
+		long size = 0;
+		for (Entry entry : new ArrayList<Entry>(entryByUrl.values())) {
+			if (retained.contains(entry.url)) {
+				size += entry.size;
+			} else if (entry.lastAccessed + maxAge < now) {
+				entryByUrl.remove(entry.url);
+				dirty = true;
+			} else {
+				candidates.add(entry);
+				size += entry.size;
+			}
+		}
+		Collections.sort(candidates, new Comparator<Entry>() {
+			public int compare(Entry o1, Entry o2) {
+				return (o1.lastAccessed < o2.lastAccessed) ? -1 : ((o1.lastAccessed == o2.lastAccessed) ? 0 : 1);
+			}
+		});
+		for (Entry entry : candidates) {
+			if (size <= maxSize) {
+				break;
+			}
+			entryByUrl.remove(entry.url);
+			size -= entry.size;
+			dirty = true;
+		}
+
+		deleteUnreferencedFiles(now);
+		save();
+	}
+
+	private void deleteUnreferencedFiles(long now) {
+		Set<String> fileNames = new HashSet<String>();
+		fileNames.add(INDEX_FILE);
+		for (Entry entry : entryByUrl.values()) {
+			fileNames.add(entry.fileName);
+		}
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (fileNames.contains(file.getName())) {
+					continue;
+				}
+				if (file.getName().endsWith(TEMP_SUFFIX) && file.lastModified() + TEMP_FILE_MAX_AGE > now) {
+					// may be a download in progress
+					continue;
+				}
+				if (file.getName().endsWith(ResumableDownload.PART_SUFFIX)
+						&& file.lastModified() + PARTIAL_FILE_MAX_AGE > now) {
+					// an interrupted download that may be resumed
+					continue;
+				}
+				// fails if the file is still in use, it will be removed the next time
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public synchronized void clear() {
+		load();
+		entryByUrl.clear();
+		dirty = true;
+		deleteUnreferencedFiles(Long.MAX_VALUE);
+		save();
+	}
+
+	/**
+	 * Returns the total size of the cached files in bytes.
+	 */
+	public synchronized long getSize() {
+		load();
+		long size = 0;
+		for (Entry entry : entryByUrl.values()) {
+			size += entry.size;
+		}
+		return size;
+	}
+
+	public synchronized boolean contains(URI uri) {
+		load();
+		return entryByUrl.containsKey(uri.toString());
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		File file = new File(directory, INDEX_FILE);
+		if (!file.exists()) {
+			return;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != INDEX_VERSION) {
+					return;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String url = in.readUTF();
+					String fileName = in.readUTF();
+					String etag = in.readBoolean() ? in.readUTF() : null;
+					long lastModified = in.readLong();
+					String digest = in.readUTF();
+					long size = in.readLong();
+					long lastAccessed = in.readLong();
+					entryByUrl.put(url, new Entry(url, fileName, new CacheValidators(etag, lastModified), digest,
+							size, lastAccessed));
+				}
+			} finally {
+				in.close();
+			}
+		} catch (EOFException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+					"Discovery cache index is truncated, discarding cache", e)); //$NON-NLS-1$
+			entryByUrl.clear();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+					"Failed to read discovery cache index, discarding cache", e)); //$NON-NLS-1$
+			entryByUrl.clear();
+		}
+	}
+
+	/**
+	 * Writes the index if entries have changed.
+	 */
+	public synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		if (!directory.exists() && !directory.mkdirs()) {
+			return;
+		}
+		File file = new File(directory, INDEX_FILE);
+		File tempFile = new File(directory, INDEX_FILE + TEMP_SUFFIX);
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(INDEX_VERSION);
+				out.writeInt(entryByUrl.size());
+				for (Entry entry : entryByUrl.values()) {
+					out.writeUTF(entry.url);
+					out.writeUTF(entry.fileName);
+					out.writeBoolean(entry.validators.getEtag() != null);
+					if (entry.validators.getEtag() != null) {
+						out.writeUTF(entry.validators.getEtag());
+					}
+					out.writeLong(entry.validators.getLastModified());
+					out.writeUTF(entry.digest);
+					out.writeLong(entry.size);
+					out.writeLong(entry.lastAccessed);
+				}
+			} finally {
+				out.close();
+			}
+			if (file.exists() && !file.delete()) {
+				throw new IOException("Failed to replace " + file); //$NON-NLS-1$
+			}
+			if (!tempFile.renameTo(file)) {
+				throw new IOException("Failed to rename " + tempFile); //$NON-NLS-1$
+			}
+			dirty = false;
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+					"Failed to write discovery cache index", e)); //$NON-NLS-1$
+			tempFile.delete();
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+}
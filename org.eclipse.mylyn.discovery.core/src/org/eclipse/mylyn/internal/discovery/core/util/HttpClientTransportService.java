@@ -16,10 +16,14 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HostConfiguration;
 import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpMethod;
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.httpclient.methods.GetMethod;
 import org.apache.commons.httpclient.methods.HeadMethod;
@@ -42,6 +46,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public class HttpClientTransportService implements ITransportService {
 
+	private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)"); //$NON-NLS-1$
+
 	public HttpClientTransportService() {
 	}
 
@@ -168,15 +174,58 @@ public class HttpClientTransportService implements ITransportService {
 						client, location, monitor);
 				int result = org.eclipse.mylyn.commons.net.WebUtil.execute(client, hostConfiguration, method, monitor);
 				if (result == HttpStatus.SC_OK) {
-					Header lastModified = method.getResponseHeader("Last-Modified"); //$NON-NLS-1$
-					if (lastModified != null) {
-						try {
-							return DateUtil.parseDate(lastModified.getValue()).getTime();
-						} catch (DateParseException e) {
-							// fall through
+					return getLastModified(method);
+				} else if (result == HttpStatus.SC_NOT_FOUND) {
+					throw new FileNotFoundException(
+							NLS.bind(Messages.WebUtil_cannotDownload, location.getUrl(), result));
+				} else {
+					throw new IOException(NLS.bind(Messages.WebUtil_cannotDownload, location.getUrl(), result));
+				}
+			} finally {
+				method.releaseConnection();
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	public CacheValidators download(java.net.URI uri, OutputStream out, CacheValidators validators,
+			IProgressMonitor monitor) throws IOException, CoreException {
+		WebLocation location = new WebLocation(uri.toString());
+		monitor = Policy.monitorFor(monitor);
+		monitor.beginTask(NLS.bind(Messages.WebUtil_task_retrievingUrl, location.getUrl()), IProgressMonitor.UNKNOWN);
+		try {
+			HttpClient client = new HttpClient();
+			org.eclipse.mylyn.commons.net.WebUtil.configureHttpClient(client, ""); //$NON-NLS-1$
+
+			GetMethod method = new GetMethod(location.getUrl());
+			if (validators != null) {
+				if (validators.getEtag() != null) {
+					method.setRequestHeader("If-None-Match", validators.getEtag()); //$NON-NLS-1$
+				}
+				if (validators.getLastModified() > 0) {
+					method.setRequestHeader("If-Modified-Since", //$NON-NLS-1$
+							DateUtil.formatDate(new Date(validators.getLastModified())));
+				}
+			}
+			try {
+				HostConfiguration hostConfiguration = org.eclipse.mylyn.commons.net.WebUtil.createHostConfiguration(
+						client, location, monitor);
+				int result = org.eclipse.mylyn.commons.net.WebUtil.execute(client, hostConfiguration, method, monitor);
+				if (result == HttpStatus.SC_NOT_MODIFIED && validators != null) {
+					return null;
+				} else if (result == HttpStatus.SC_OK) {
+					InputStream in = org.eclipse.mylyn.commons.net.WebUtil.getResponseBodyAsStream(method, monitor);
+					try {
+						byte[] buffer = new byte[8192];
+						int len;
+						while ((len = in.read(buffer)) != -1) {
+							out.write(buffer, 0, len);
 						}
+					} finally {
+						in.close();
 					}
-					return 0;
+					return getValidators(method);
 				} else if (result == HttpStatus.SC_NOT_FOUND) {
 					throw new FileNotFoundException(
 							NLS.bind(Messages.WebUtil_cannotDownload, location.getUrl(), result));
@@ -191,4 +240,92 @@ public class HttpClientTransportService implements ITransportService {
 		}
 	}
 
+	public RangeResponse stream(java.net.URI uri, long offset, long end, CacheValidators validators,
+			IProgressMonitor monitor) throws IOException, CoreException {
+		WebLocation location = new WebLocation(uri.toString());
+		monitor = Policy.monitorFor(monitor);
+		monitor.beginTask(NLS.bind(Messages.WebUtil_task_retrievingUrl, location.getUrl()), IProgressMonitor.UNKNOWN);
+		try {
+			HttpClient client = new HttpClient();
+			org.eclipse.mylyn.commons.net.WebUtil.configureHttpClient(client, ""); //$NON-NLS-1$
+
+			GetMethod method = new GetMethod(location.getUrl());
+			if (offset > 0 || end != -1) {
+				method.setRequestHeader("Range", "bytes=" + offset + "-" + ((end != -1) ? String.valueOf(end) : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				if (validators != null && validators.isValidForRange()) {
+					if (validators.getEtag() != null && !validators.getEtag().startsWith("W/")) { //$NON-NLS-1$
+						method.setRequestHeader("If-Range", validators.getEtag()); //$NON-NLS-1$
+					} else {
+						method.setRequestHeader("If-Range", //$NON-NLS-1$
+								DateUtil.formatDate(new Date(validators.getLastModified())));
+					}
+				}
+			}
+			boolean success = false;
+			try {
+				HostConfiguration hostConfiguration = org.eclipse.mylyn.commons.net.WebUtil.createHostConfiguration(
+						client, location, monitor);
+				int result = org.eclipse.mylyn.commons.net.WebUtil.execute(client, hostConfiguration, method, monitor);
+				if (result == HttpStatus.SC_PARTIAL_CONTENT) {
+					Header contentRange = method.getResponseHeader("Content-Range"); //$NON-NLS-1$
+					long[] range = (contentRange != null) ? parseContentRange(contentRange.getValue()) : null;
+					if (range == null) {
+						throw new IOException(NLS.bind(Messages.WebUtil_cannotDownload, location.getUrl(), result));
+					}
+					InputStream in = org.eclipse.mylyn.commons.net.WebUtil.getResponseBodyAsStream(method, monitor);
+					success = true;
+					return new RangeResponse(in, true, range[0], range[1], getValidators(method));
+				} else if (result == HttpStatus.SC_OK) {
+					InputStream in = org.eclipse.mylyn.commons.net.WebUtil.getResponseBodyAsStream(method, monitor);
+					success = true;
+					return new RangeResponse(in, false, 0, method.getResponseContentLength(), getValidators(method));
+				} else if (result == HttpStatus.SC_NOT_FOUND) {
+					throw new FileNotFoundException(
+							NLS.bind(Messages.WebUtil_cannotDownload, location.getUrl(), result));
+				} else {
+					throw new IOException(NLS.bind(Messages.WebUtil_cannotDownload, location.getUrl(), result));
+				}
+			} finally {
+				if (!success) {
+					method.releaseConnection();
+				}
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Parses a header of the form <code>bytes first-last/length</code>.
+	 * 
+	 * @return the position of the first byte and the total length, which is -1 if unknown; null, if the header is
+	 *         invalid
+	 */
+	private long[] parseContentRange(String value) {
+		Matcher matcher = CONTENT_RANGE_PATTERN.matcher(value.trim());
+		if (!matcher.matches()) {
+			return null;
+		}
+		long first = Long.parseLong(matcher.group(1));
+		long length = ("*".equals(matcher.group(3))) ? -1 : Long.parseLong(matcher.group(3)); //$NON-NLS-1$
+		return new long[] { first, length };
+	}
+
+	private CacheValidators getValidators(HttpMethod method) {
+		Header etag = method.getResponseHeader("ETag"); //$NON-NLS-1$
+		return new CacheValidators((etag != null) ? etag.getValue() : null, getLastModified(method));
+	}
+
+	private long getLastModified(HttpMethod method) {
+		Header lastModified = method.getResponseHeader("Last-Modified"); //$NON-NLS-1$
+		if (lastModified != null) {
+			try {
+				return DateUtil.parseDate(lastModified.getValue()).getTime();
+			} catch (DateParseException e) {
+				// fall through
+			}
+		}
+		return 0;
+	}
+
 }
@@ -32,4 +32,31 @@ public interface ITransportService {
 
 	public abstract long getLastModified(URI location, IProgressMonitor monitor) throws CoreException, IOException;
 
+	/**
+	 * Downloads the resource at <code>uri</code> to <code>out</code> unless it is unchanged from the response that is
+	 * described by <code>validators</code>.
+	 * 
+	 * @param validators
+	 *            the validators of a previous response; null, to download unconditionally
+	 * @return the validators of the downloaded response; null, if the resource was not modified and nothing was
+	 *         written to <code>out</code>
+	 */
+	public abstract CacheValidators download(URI uri, OutputStream out, CacheValidators validators,
+			IProgressMonitor monitor) throws IOException, CoreException;
+
+	/**
+	 * Requests the bytes from <code>offset</code> to <code>end</code> of the resource at <code>uri</code>. If
+	 * <code>validators</code> are specified the range is only returned if the resource is unchanged from the response
+	 * they describe, otherwise the entire resource is returned. Transports that do not support range requests always
+	 * return the entire resource.
+	 * 
+	 * @param end
+	 *            the position of the last requested byte; -1, to request all bytes starting at <code>offset</code>
+	 * @param validators
+	 *            the validators of a previous response; null, to request the range unconditionally
+	 * @return the response; the caller is responsible for closing its content stream
+	 */
+	public abstract RangeResponse stream(URI uri, long offset, long end, CacheValidators validators,
+			IProgressMonitor monitor) throws IOException, CoreException;
+
 }
@@ -12,6 +12,12 @@
 
 package org.eclipse.mylyn.internal.discovery.core.util;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -31,6 +37,58 @@ import org.osgi.framework.ServiceReference;
  */
 public class P2TransportService implements ITransportService {
 
+	/**
+	 * Deletes the file it reads from when closed.
+	 */
+	private static class TemporaryFileInputStream extends FileInputStream {
+
+		private final File file;
+
+		public TemporaryFileInputStream(File file) throws FileNotFoundException {
+			super(file);
+			this.file = file;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				file.delete();
+			}
+		}
+
+	}
+
+	/**
+	 * Counts the bytes written to the underlying stream.
+	 */
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		public CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+	}
+
 	private Object transport;
 
 	private Method downloadMethod;
@@ -122,4 +180,78 @@ public class P2TransportService implements ITransportService {
 		}
 	}
 
+	/**
+	 * The p2 transport does not support conditional requests. The resource is considered unchanged if a HEAD request
+	 * reports the same modification time as the previous response.
+	 */
+	public CacheValidators download(URI uri, OutputStream out, CacheValidators validators, IProgressMonitor monitor)
+			throws IOException, CoreException {
+		long lastModified = getLastModified(uri, monitor);
+		if (validators != null && lastModified > 0 && lastModified == validators.getLastModified()) {
+			return null;
+		}
+		IStatus status = download(uri, out, monitor);
+		if (!status.isOK()) {
+			if (status.getException() instanceof IOException) {
+				throw (IOException) status.getException();
+			}
+			throw new CoreException(status);
+		}
+		return new CacheValidators(null, lastModified);
+	}
+
+	/**
+	 * The p2 transport does not support range requests and its streams do not report the length of the resource.
+	 * Therefore resumption is not supported: the entire resource is always downloaded and returned, so a
+	 * {@link ResumableDownload} starts over on each attempt. The resource is first downloaded to a temporary file and
+	 * the number of bytes received is verified against the file size reported by p2. The response reports the number
+	 * of bytes received as the length of the resource and the modification time reported by p2 as its validator.
+	 */
+	public RangeResponse stream(URI uri, long offset, long end, CacheValidators validators, IProgressMonitor monitor)
+			throws IOException, CoreException {
+		File file = File.createTempFile("p2-download", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			IStatus status;
+			try {
+				status = download(uri, out, monitor);
+			} finally {
+				out.close();
+			}
+			if (!status.isOK()) {
+				if (status.getException() instanceof IOException) {
+					throw (IOException) status.getException();
+				}
+				throw new CoreException(status);
+			}
+			long fileSize = getStatusValue(status, "getFileSize", -1); //$NON-NLS-1$
+			if (fileSize >= 0 && out.getCount() != fileSize) {
+				throw new IOException("Expected " + fileSize + " bytes but received " + out.getCount() //$NON-NLS-1$ //$NON-NLS-2$
+						+ " bytes for " + uri); //$NON-NLS-1$
+			}
+			long lastModified = getStatusValue(status, "getLastModified", 0); //$NON-NLS-1$
+			RangeResponse response = new RangeResponse(new TemporaryFileInputStream(file), false, 0, out.getCount(),
+					new CacheValidators(null, Math.max(0, lastModified)));
+			file = null;
+			return response;
+		} finally {
+			if (file != null) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of a property of the <code>DownloadStatus</code> that p2 returns for downloads or
+	 * <code>defaultValue</code>, if <code>status</code> does not provide the property.
+	 */
+	private static long getStatusValue(IStatus status, String methodName, long defaultValue) {
+		try {
+			Method method = status.getClass().getMethod(methodName);
+			return (Long) method.invoke(status);
+		} catch (Exception e) {
+			return defaultValue;
+		}
+	}
+
 }
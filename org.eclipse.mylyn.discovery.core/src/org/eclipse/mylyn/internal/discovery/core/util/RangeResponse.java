@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.util;
+
+import java.io.InputStream;
+
+/**
+ * The response to a request for a byte range of a resource. If the server does not support range requests or the
+ * resource has changed, the response contains the entire resource instead of the requested range.
+ */
+public class RangeResponse {
+
+	private final InputStream content;
+
+	private final boolean partial;
+
+	private final long offset;
+
+	private final long length;
+
+	private final CacheValidators validators;
+
+	/**
+	 * @param content
+	 *            the content of the response
+	 * @param partial
+	 *            true, if the content is a range of the resource; false, if it is the entire resource
+	 * @param offset
+	 *            the position of the first byte of the content within the resource
+	 * @param length
+	 *            the total length of the resource; -1, if unknown
+	 * @param validators
+	 *            the validators of the response
+	 */
+	public RangeResponse(InputStream content, boolean partial, long offset, long length, CacheValidators validators) {
+		this.content = content;
+		this.partial = partial;
+		this.offset = offset;
+		this.length = length;
+		this.validators = validators;
+	}
+
+	/**
+	 * Returns the content of the response. The caller is responsible for closing the stream.
+	 */
+	public InputStream getContent() {
+		return content;
+	}
+
+	public boolean isPartial() {
+		return partial;
+	}
+
+	public long getOffset() {
+		return offset;
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	public CacheValidators getValidators() {
+		return validators;
+	}
+
+}
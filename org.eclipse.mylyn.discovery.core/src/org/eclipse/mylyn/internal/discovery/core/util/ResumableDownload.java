@@ -0,0 +1,581 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.commons.net.Policy;
+import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
+
+/**
+ * Downloads a resource to a file so that an interrupted transfer can be continued. Received bytes are kept in partial
+ * files next to the target and a later attempt, or a later instance for the same target, requests only the missing
+ * bytes. Ranges are requested with <code>If-Range</code> so that the transfer starts over if the resource has changed
+ * in the meantime. Large resources can optionally be retrieved as several byte ranges in parallel.
+ * <p>
+ * The received content is verified against the length reported by the server and optionally against an expected
+ * digest.
+ */
+public class ResumableDownload {
+
+	/**
+	 * The suffix of the files that hold partially downloaded content and the state of a download.
+	 */
+	public static final String PART_SUFFIX = ".part"; //$NON-NLS-1$
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	public static final long DEFAULT_MIN_SEGMENT_SIZE = 1024 * 1024;
+
+	private static final int STATE_VERSION = 1;
+
+	/**
+	 * Indicates that the resource changed while it was downloaded in several segments and the download needs to start
+	 * over.
+	 */
+	private static class ResourceChangedException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		public ResourceChangedException(String message) {
+			super(message);
+		}
+
+	}
+
+	private static class Segment {
+
+		private final long start;
+
+		private final File file;
+
+		/**
+		 * The number of bytes in this segment; -1, if the length of the resource is not known.
+		 */
+		private long length;
+
+		public Segment(long start, long length, File file) {
+			this.start = start;
+			this.length = length;
+			this.file = file;
+		}
+
+		public boolean isComplete() {
+			return length != -1 && file.length() == length;
+		}
+
+	}
+
+	private final URI uri;
+
+	private final File target;
+
+	private final ITransportService transport;
+
+	private final List<Segment> segments = new ArrayList<Segment>();
+
+	private final AtomicLong bytesTransferred = new AtomicLong();
+
+	private CacheValidators validators;
+
+	private long length = -1;
+
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	private int segmentCount = 1;
+
+	private long minSegmentSize = DEFAULT_MIN_SEGMENT_SIZE;
+
+	private String digestAlgorithm;
+
+	private String expectedDigest;
+
+	/**
+	 * Creates a download that uses the default transport.
+	 * 
+	 * @see WebUtil#getTransport()
+	 */
+	public ResumableDownload(URI uri, File target) {
+		this(uri, target, null);
+	}
+
+	/**
+	 * @param transport
+	 *            the transport used to retrieve the resource; if null, the default transport is used
+	 */
+	public ResumableDownload(URI uri, File target, ITransportService transport) {
+		Assert.isNotNull(uri);
+		Assert.isNotNull(target);
+		this.uri = uri;
+		this.target = target;
+		this.transport = (transport != null) ? transport : WebUtil.getTransport();
+	}
+
+	public File getTarget() {
+		return target;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Sets the number of requests that are made for each part of the resource before the download fails. Each attempt
+	 * continues where the previous one was interrupted.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		Assert.isLegal(maxAttempts > 0);
+		this.maxAttempts = maxAttempts;
+	}
+
+	public int getSegmentCount() {
+		return segmentCount;
+	}
+
+	/**
+	 * Sets the maximum number of byte ranges that are retrieved in parallel. Resources are only split if each range is
+	 * at least the minimum segment size.
+	 * 
+	 * @see #setMinSegmentSize(long)
+	 */
+	public void setSegmentCount(int segmentCount) {
+		Assert.isLegal(segmentCount > 0);
+		this.segmentCount = segmentCount;
+	}
+
+	public long getMinSegmentSize() {
+		return minSegmentSize;
+	}
+
+	public void setMinSegmentSize(long minSegmentSize) {
+		Assert.isLegal(minSegmentSize > 0);
+		this.minSegmentSize = minSegmentSize;
+	}
+
+	/**
+	 * Sets the digest the downloaded content is verified against.
+	 * 
+	 * @param algorithm
+	 *            the name of the digest algorithm, e.g. <code>SHA-256</code>
+	 * @param expectedDigest
+	 *            the expected digest as a hexadecimal string; null, to skip verification
+	 */
+	public void setExpectedDigest(String algorithm, String expectedDigest) {
+		this.digestAlgorithm = algorithm;
+		this.expectedDigest = expectedDigest;
+	}
+
+	/**
+	 * Returns the number of content bytes that were received by this instance including bytes that were discarded.
+	 */
+	public long getBytesTransferred() {
+		return bytesTransferred.get();
+	}
+
+	/**
+	 * Downloads the resource to the target file. If a previous download of the same resource to the target was
+	 * interrupted, only the missing bytes are requested. If the download fails, the bytes received so far are kept for
+	 * the next attempt.
+	 * 
+	 * @return the validators of the downloaded resource
+	 * @throws IOException
+	 *             if the download does not complete within the maximum number of attempts or the content does not
+	 *             match the expected length or digest
+	 */
+	public CacheValidators download(IProgressMonitor monitor) throws IOException, CoreException {
+		monitor = Policy.monitorFor(monitor);
+		loadState();
+		IOException lastException = null;
+		for (int attempt = 0; attempt < maxAttempts; attempt++) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				if (segments.isEmpty()) {
+					start(monitor);
+				}
+				transfer(monitor);
+				return complete();
+			} catch (ResourceChangedException e) {
+				reset();
+				lastException = e;
+			} catch (FileNotFoundException e) {
+				saveState();
+				throw e;
+			} catch (IOException e) {
+				saveState();
+				lastException = e;
+			}
+		}
+		throw lastException;
+	}
+
+	/**
+	 * Makes the first request and divides the resource into segments if it is large enough.
+	 */
+	private void start(IProgressMonitor monitor) throws IOException, CoreException {
+		long end = (segmentCount > 1) ? minSegmentSize - 1 : -1;
+		RangeResponse response = transport.stream(uri, 0, end, null, monitor);
+		if (response.isPartial() && (response.getLength() == -1 || !response.getValidators().isValidForRange())) {
+			// the remaining segments could not be requested safely, retrieve the resource in a single request
+			response.getContent().close();
+			response = transport.stream(uri, 0, -1, null, monitor);
+		}
+
+		validators = response.getValidators();
+		length = response.getLength();
+		Segment first = new Segment(0, length, getPartFile(0));
+		segments.add(first);
+		if (response.isPartial()) {
+			first.length = Math.min(minSegmentSize, length);
+			long remaining = length - first.length;
+			int count = (int) Math.max(1, Math.min(segmentCount - 1, remaining / minSegmentSize));
+			long start = first.length;
+			for (int i = 1; i <= count && remaining > 0; i++) {
+				long segmentLength = (i < count) ? remaining / count : length - start;
+				segments.add(new Segment(start, segmentLength, getPartFile(i)));
+				start += segmentLength;
+			}
+		}
+		for (Segment segment : segments) {
+			segment.file.delete();
+		}
+		saveState();
+
+		write(first, response.getContent(), false, monitor);
+	}
+
+	private void transfer(final IProgressMonitor monitor) throws IOException, CoreException {
+		List<Segment> incomplete = new ArrayList<Segment>();
+		for (Segment segment : segments) {
+			if (!segment.isComplete()) {
+				incomplete.add(segment);
+			}
+		}
+		if (incomplete.size() == 1) {
+			fetch(incomplete.get(0), monitor);
+		} else if (incomplete.size() > 1) {
+			// progress monitors are not thread-safe, only propagate cancellation
+			final IProgressMonitor cancelMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return super.isCanceled() || monitor.isCanceled();
+				}
+			};
+			ExecutorService executor = Executors.newFixedThreadPool(incomplete.size());
+			try {
+				List<Future<Object>> futures = new ArrayList<Future<Object>>();
+				for (final Segment segment : incomplete) {
+					futures.add(executor.submit(new Callable<Object>() {
+						public Object call() throws Exception {
+							fetch(segment, cancelMonitor);
+							return null;
+						}
+					}));
+				}
+				Throwable failure = null;
+				for (Future<Object> future : futures) {
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						// report a change of the resource in preference to other failures
+						if (failure == null || e.getCause() instanceof ResourceChangedException) {
+							failure = e.getCause();
+						}
+					}
+				}
+				if (failure instanceof IOException) {
+					throw (IOException) failure;
+				} else if (failure instanceof CoreException) {
+					throw (CoreException) failure;
+				} else if (failure instanceof RuntimeException) {
+					throw (RuntimeException) failure;
+				} else if (failure != null) {
+					throw new IOWithCauseException(failure);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Requests the bytes of <code>segment</code> that have not been received yet.
+	 */
+	private void fetch(Segment segment, IProgressMonitor monitor) throws IOException, CoreException {
+		long received = segment.file.length();
+		if (received > 0 && segments.size() == 1 && !validators.isValidForRange()) {
+			// a partial request can not be made conditional, start over
+			received = 0;
+		}
+		long offset = segment.start + received;
+		long end = (segment.length != -1) ? segment.start + segment.length - 1 : -1;
+		RangeResponse response = transport.stream(uri, offset, end, validators, monitor);
+		if (response.isPartial()) {
+			if (response.getOffset() != offset || (length != -1 && response.getLength() != length)) {
+				response.getContent().close();
+				throw new ResourceChangedException("Unexpected range received for " + uri); //$NON-NLS-1$
+			}
+			if (length == -1 && response.getLength() != -1) {
+				length = response.getLength();
+				segment.length = length;
+			}
+			write(segment, response.getContent(), received > 0, monitor);
+		} else {
+			if (segments.size() > 1) {
+				response.getContent().close();
+				throw new ResourceChangedException("Resource changed during download: " + uri); //$NON-NLS-1$
+			}
+			// the resource has changed or the server does not support ranges
+			validators = response.getValidators();
+			length = response.getLength();
+			segment.length = length;
+			write(segment, response.getContent(), false, monitor);
+		}
+	}
+
+	private void write(Segment segment, InputStream in, boolean append, IProgressMonitor monitor) throws IOException {
+		long received = (append) ? segment.file.length() : 0;
+		try {
+			OutputStream out = new FileOutputStream(segment.file, append);
+			try {
+				byte[] buffer = new byte[8192];
+				int len;
+				while ((len = in.read(buffer)) != -1) {
+					if (monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					out.write(buffer, 0, len);
+					received += len;
+					bytesTransferred.addAndGet(len);
+				}
+			} finally {
+				out.close();
+			}
+		} finally {
+			in.close();
+		}
+		if (segment.length == -1) {
+			// the length is not known, assume the resource is complete
+			segment.length = received;
+		} else if (received < segment.length) {
+			throw new IOException("Connection closed after " + received + " of " + segment.length //$NON-NLS-1$ //$NON-NLS-2$
+					+ " bytes for " + uri); //$NON-NLS-1$
+		} else if (received > segment.length) {
+			throw new ResourceChangedException("Received more content than expected for " + uri); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Assembles the segments into the target file and verifies the result.
+	 * 
+	 * @return the validators of the downloaded resource
+	 */
+	private CacheValidators complete() throws IOException {
+		if (target.exists() && !target.delete()) {
+			throw new IOException("Failed to replace " + target); //$NON-NLS-1$
+		}
+		if (segments.size() == 1) {
+			if (!segments.get(0).file.renameTo(target)) {
+				throw new IOException("Failed to rename " + segments.get(0).file); //$NON-NLS-1$
+			}
+		} else {
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(target));
+			try {
+				for (Segment segment : segments) {
+					copy(segment.file, out);
+				}
+			} finally {
+				out.close();
+			}
+		}
+		CacheValidators result = validators;
+		long expectedLength = length;
+		reset();
+
+		if (expectedLength != -1 && target.length() != expectedLength) {
+			target.delete();
+			throw new IOException("Expected " + expectedLength + " bytes but received " + target.length() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " bytes for " + uri); //$NON-NLS-1$
+		}
+		if (expectedDigest != null) {
+			String digest = computeDigest(target, digestAlgorithm);
+			if (!expectedDigest.equalsIgnoreCase(digest)) {
+				target.delete();
+				throw new IOException("Digest of " + uri + " does not match, expected " + expectedDigest //$NON-NLS-1$ //$NON-NLS-2$
+						+ " but was " + digest); //$NON-NLS-1$
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the partial content and the state of the download.
+	 */
+	private void reset() {
+		for (Segment segment : segments) {
+			segment.file.delete();
+		}
+		segments.clear();
+		getStateFile().delete();
+		validators = null;
+		length = -1;
+	}
+
+	private File getStateFile() {
+		return new File(target.getParentFile(), target.getName() + PART_SUFFIX);
+	}
+
+	private File getPartFile(int index) {
+		return new File(target.getParentFile(), target.getName() + "." + index + PART_SUFFIX); //$NON-NLS-1$
+	}
+
+	private void loadState() {
+		segments.clear();
+		File file = getStateFile();
+		if (!file.exists()) {
+			return;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != STATE_VERSION || !uri.toString().equals(in.readUTF())) {
+					reset();
+					return;
+				}
+				String etag = in.readBoolean() ? in.readUTF() : null;
+				validators = new CacheValidators(etag, in.readLong());
+				length = in.readLong();
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					Segment segment = new Segment(in.readLong(), in.readLong(), getPartFile(i));
+					segments.add(segment);
+					if (segment.length != -1 && segment.file.length() > segment.length) {
+						reset();
+						return;
+					}
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+					"Failed to read state of partial download, restarting download of " + uri, e)); //$NON-NLS-1$
+			reset();
+		}
+	}
+
+	private void saveState() {
+		if (segments.isEmpty()) {
+			return;
+		}
+		File file = getStateFile();
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			try {
+				out.writeInt(STATE_VERSION);
+				out.writeUTF(uri.toString());
+				out.writeBoolean(validators.getEtag() != null);
+				if (validators.getEtag() != null) {
+					out.writeUTF(validators.getEtag());
+				}
+				out.writeLong(validators.getLastModified());
+				out.writeLong(length);
+				out.writeInt(segments.size());
+				for (Segment segment : segments) {
+					out.writeLong(segment.start);
+					out.writeLong(segment.length);
+				}
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			// without the state the download starts over next time
+			StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+					"Failed to write state of partial download of " + uri, e)); //$NON-NLS-1$
+			file.delete();
+		}
+	}
+
+	private static void copy(File file, OutputStream out) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				out.write(buffer, 0, len);
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	private static String computeDigest(File file, String algorithm) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(algorithm);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOWithCauseException(e);
+		}
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, len);
+			}
+		} finally {
+			in.close();
+		}
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
+
+/**
+ * Verifies the availability of update sites by probing for repository metadata with HEAD requests. Sites are
+ * deduplicated, probes are spread across hosts with a limit on concurrent requests per host and the overall
+ * verification is bounded by a deadline. Results are cached with separate lifetimes for available and unavailable
+ * sites.
+ */
+public class SiteVerifier {
+
+	/**
+	 * Notified as results become available. Invoked on the thread that runs
+	 * {@link SiteVerifier#verify(Collection, ISiteVerificationListener, IProgressMonitor)}.
+	 */
+	public interface ISiteVerificationListener {
+
+		public void siteVerified(String siteUrl, boolean available);
+
+	}
+
+	private static final String[] METADATA_FILES = { "content.jar", "content.xml", "compositeContent.jar", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"compositeContent.xml", "site.xml" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	public static final int DEFAULT_MAX_THREADS = 16;
+
+	public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 6;
+
+	public static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+	public static final long DEFAULT_POSITIVE_TTL = TimeUnit.HOURS.toMillis(1);
+
+	public static final long DEFAULT_NEGATIVE_TTL = TimeUnit.MINUTES.toMillis(5);
+
+	private static class CachedResult {
+
+		private final boolean available;
+
+		private final long timestamp;
+
+		public CachedResult(boolean available, long timestamp) {
+			this.available = available;
+			this.timestamp = timestamp;
+		}
+
+	}
+
+	private static class Probe implements Callable<Probe> {
+
+		private final String site;
+
+		private final String host;
+
+		private final ITransportService transport;
+
+		private boolean available;
+
+		public Probe(String site, String host, ITransportService transport) {
+			this.site = site;
+			this.host = host;
+			this.transport = transport;
+		}
+
+		public Probe call() throws Exception {
+			URI baseUri = new URI(site);
+			for (String file : METADATA_FILES) {
+				if (Thread.currentThread().isInterrupted()) {
+					break;
+				}
+				try {
+					transport.getLastModified(baseUri.resolve(file), new NullProgressMonitor());
+					available = true;
+					break;
+				} catch (Exception e) {
+					// try next
+				}
+			}
+			return this;
+		}
+
+	}
+
+	private final ITransportService transport;
+
+	private final Map<String, CachedResult> resultBySite = new HashMap<String, CachedResult>();
+
+	private int maxThreads = DEFAULT_MAX_THREADS;
+
+	private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+	private long timeout = DEFAULT_TIMEOUT;
+
+	private long positiveTtl = DEFAULT_POSITIVE_TTL;
+
+	private long negativeTtl = DEFAULT_NEGATIVE_TTL;
+
+	/**
+	 * Creates a verifier that uses the default transport.
+	 * 
+	 * @see WebUtil#getTransport()
+	 */
+	public SiteVerifier() {
+		this(null);
+	}
+
+	/**
+	 * @param transport
+	 *            the transport used to probe sites; if null, the default transport is used
+	 */
+	public SiteVerifier(ITransportService transport) {
+		this.transport = transport;
+	}
+
+	/**
+	 * Verifies the availability of <code>siteUrls</code>. Cached results are reported first, the remaining sites are
+	 * reported to <code>listener</code> as they complete. Sites that were not verified before the deadline expired or
+	 * the monitor was cancelled are not reported.
+	 * 
+	 * @return the availability of each site that was verified, keyed by the URLs passed in
+	 */
+	public Map<String, Boolean> verify(Collection<String> siteUrls, ISiteVerificationListener listener,
+			IProgressMonitor monitor) {
+		long deadline = System.currentTimeMillis() + getTimeout();
+		Map<String, Boolean> results = new LinkedHashMap<String, Boolean>();
+
+		// group urls that point to the same site
+		Map<String, List<String>> urlsBySite = new LinkedHashMap<String, List<String>>();
+		for (String url : siteUrls) {
+			String site = normalize(url);
+			if (site == null) {
+				report(url, false, results, listener);
+				continue;
+			}
+			List<String> urls = urlsBySite.get(site);
+			if (urls == null) {
+				urls = new ArrayList<String>(1);
+				urlsBySite.put(site, urls);
+			}
+			urls.add(url);
+		}
+
+		// report cached results and queue remaining sites by host
+		Map<String, LinkedList<String>> pendingByHost = new LinkedHashMap<String, LinkedList<String>>();
+		int pendingCount = 0;
+		for (Map.Entry<String, List<String>> entry : urlsBySite.entrySet()) {
+			Boolean cached = getCachedResult(entry.getKey());
+			if (cached != null) {
+				for (String url : entry.getValue()) {
+					report(url, cached, results, listener);
+				}
+			} else {
+				String host = getHost(entry.getKey());
+				LinkedList<String> sites = pendingByHost.get(host);
+				if (sites == null) {
+					sites = new LinkedList<String>();
+					pendingByHost.put(host, sites);
+				}
+				sites.add(entry.getKey());
+				pendingCount++;
+			}
+		}
+		if (pendingCount == 0) {
+			return results;
+		}
+
+		ExecutorService executor = createExecutorService(Math.min(pendingCount, getMaxThreads()));
+		try {
+			CompletionService<Probe> completionService = new ExecutorCompletionService<Probe>(executor);
+			ITransportService transport = (this.transport != null) ? this.transport : WebUtil.getTransport();
+			int maxRequestsPerHost = getMaxRequestsPerHost();
+			Map<Future<Probe>, Probe> running = new HashMap<Future<Probe>, Probe>();
+			for (Map.Entry<String, LinkedList<String>> entry : pendingByHost.entrySet()) {
+				for (int i = 0; i < maxRequestsPerHost && !entry.getValue().isEmpty(); i++) {
+					submit(completionService, new Probe(entry.getValue().removeFirst(), entry.getKey(), transport),
+							running);
+				}
+			}
+			while (!running.isEmpty()) {
+				if (monitor.isCanceled()) {
+					break;
+				}
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					break;
+				}
+				Future<Probe> future;
+				try {
+					future = completionService.poll(Math.min(remaining, 1000), TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					monitor.setCanceled(true);
+					break;
+				}
+				if (future == null) {
+					continue;
+				}
+				Probe probe = running.remove(future);
+				try {
+					future.get();
+					putCachedResult(probe.site, probe.available);
+					for (String url : urlsBySite.get(probe.site)) {
+						report(url, probe.available, results, listener);
+					}
+				} catch (InterruptedException e) {
+					monitor.setCanceled(true);
+					break;
+				} catch (ExecutionException e) {
+					StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN,
+							"Unexpected error verifying update site", e.getCause())); //$NON-NLS-1$
+				} finally {
+					// keep the number of requests per host constant, also when a probe failed
+					LinkedList<String> sites = pendingByHost.get(probe.host);
+					if (!monitor.isCanceled() && !sites.isEmpty()) {
+						submit(completionService, new Probe(sites.removeFirst(), probe.host, transport), running);
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	private void submit(CompletionService<Probe> completionService, Probe probe, Map<Future<Probe>, Probe> running) {
+		running.put(completionService.submit(probe), probe);
+	}
+
+	private void report(String url, boolean available, Map<String, Boolean> results,
+			ISiteVerificationListener listener) {
+		results.put(url, available);
+		if (listener != null) {
+			listener.siteVerified(url, available);
+		}
+	}
+
+	private ExecutorService createExecutorService(int threads) {
+		final AtomicInteger count = new AtomicInteger();
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "Update Site Verifier-" + count.incrementAndGet()); //$NON-NLS-1$
+						// probes that exceed the deadline are abandoned
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	/**
+	 * Returns a canonical form of <code>url</code> that is used to identify the site or null, if <code>url</code> is
+	 * malformed.
+	 */
+	static String normalize(String url) {
+		try {
+			URI uri = new URI(url.trim()).normalize();
+			if (uri.getScheme() == null || uri.getHost() == null) {
+				return null;
+			}
+			String scheme = uri.getScheme().toLowerCase(Locale.ENGLISH);
+			int port = uri.getPort();
+			if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) { //$NON-NLS-1$ //$NON-NLS-2$
+				port = -1;
+			}
+			String path = (uri.getRawPath() != null) ? uri.getRawPath() : ""; //$NON-NLS-1$
+			if (!path.endsWith("/")) { //$NON-NLS-1$
+				path += "/"; //$NON-NLS-1$
+			}
+			return new URI(scheme, null, uri.getHost().toLowerCase(Locale.ENGLISH), port, null, null, null).toString()
+					+ path;
+		} catch (URISyntaxException e) {
+			return null;
+		}
+	}
+
+	private static String getHost(String site) {
+		URI uri = URI.create(site);
+		return uri.getHost() + ":" + uri.getPort(); //$NON-NLS-1$
+	}
+
+	private synchronized Boolean getCachedResult(String site) {
+		CachedResult result = resultBySite.get(site);
+		if (result != null) {
+			long ttl = (result.available) ? positiveTtl : negativeTtl;
+			if (System.currentTimeMillis() - result.timestamp < ttl) {
+				return result.available;
+			}
+			resultBySite.remove(site);
+		}
+		return null;
+	}
+
+	private synchronized void putCachedResult(String site, boolean available) {
+		resultBySite.put(site, new CachedResult(available, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Discards all cached results.
+	 */
+	public synchronized void clearCache() {
+		resultBySite.clear();
+	}
+
+	public synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	public synchronized void setMaxThreads(int maxThreads) {
+		this.maxThreads = maxThreads;
+	}
+
+	public synchronized int getMaxRequestsPerHost() {
+		return maxRequestsPerHost;
+	}
+
+	public synchronized void setMaxRequestsPerHost(int maxRequestsPerHost) {
+		this.maxRequestsPerHost = maxRequestsPerHost;
+	}
+
+	public synchronized long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which verification is aborted.
+	 */
+	public synchronized void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	public synchronized long getPositiveTtl() {
+		return positiveTtl;
+	}
+
+	/**
+	 * Sets the time in milliseconds that a site is considered available after it was verified successfully.
+	 */
+	public synchronized void setPositiveTtl(long positiveTtl) {
+		this.positiveTtl = positiveTtl;
+	}
+
+	public synchronized long getNegativeTtl() {
+		return negativeTtl;
+	}
+
+	/**
+	 * Sets the time in milliseconds that a site is considered unavailable after verification failed.
+	 */
+	public synchronized void setNegativeTtl(long negativeTtl) {
+		this.negativeTtl = negativeTtl;
+	}
+
+}
@@ -10,10 +10,8 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core.util;
 
-import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -50,7 +48,8 @@ public class WebUtil {
 	private static ITransportService transport;
 
 	/**
-	 * Download an HTTP-based resource
+	 * Download an HTTP-based resource. If the download is interrupted, the content received so far is kept next to the
+	 * target and the next download to the same target resumes where the previous one ended.
 	 *
 	 * @param target
 	 *            the target file to which the content is saved
@@ -61,20 +60,15 @@ public class WebUtil {
 	 * @return
 	 * @throws IOException
 	 *             if a network or IO problem occurs
+	 * @see ResumableDownload
 	 */
 	public static IStatus download(URI uri, File target, IProgressMonitor monitor) throws IOException {
-		IStatus result;
-		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(target))) {
-			result = download(uri, out, monitor);
-		}
-		if (!result.isOK()) {
-			target.delete();
-			if (result.getException() instanceof IOException) {
-				throw (IOException) result.getException();
-			}
-			throw new IOWithCauseException(result.getException());
+		try {
+			new ResumableDownload(uri, target).download(monitor);
+		} catch (CoreException e) {
+			throw new IOWithCauseException(e);
 		}
-		return result;
+		return Status.OK_STATUS;
 	}
 
 	/**
@@ -173,6 +167,16 @@ public class WebUtil {
 		return getTransport().download(uri, out, monitor);
 	}
 
+	/**
+	 * Downloads the resource unless it is unchanged from the response described by <code>validators</code>.
+	 * 
+	 * @see ITransportService#download(URI, OutputStream, CacheValidators, IProgressMonitor)
+	 */
+	public static CacheValidators download(URI uri, OutputStream out, CacheValidators validators,
+			IProgressMonitor monitor) throws IOException, CoreException {
+		return getTransport().download(uri, out, validators, monitor);
+	}
+
 	public static InputStream stream(URI uri, IProgressMonitor monitor) throws IOException, CoreException {
 		return getTransport().stream(uri, monitor);
 	}
@@ -17,11 +17,19 @@ import junit.framework.TestSuite;
 
 import org.eclipse.mylyn.commons.sdk.util.TestConfiguration;
 import org.eclipse.mylyn.discovery.tests.core.BundleDiscoveryStrategyTest;
+import org.eclipse.mylyn.discovery.tests.core.ConnectorDescriptorRegistryTest;
 import org.eclipse.mylyn.discovery.tests.core.ConnectorDiscoveryRemoteTest;
 import org.eclipse.mylyn.discovery.tests.core.ConnectorDiscoveryTest;
 import org.eclipse.mylyn.discovery.tests.core.DirectoryParserTest;
+import org.eclipse.mylyn.discovery.tests.core.RemoteBundleDiscoveryStrategyRegistryTest;
 import org.eclipse.mylyn.discovery.tests.core.RemoteBundleDiscoveryStrategyTest;
+import org.eclipse.mylyn.discovery.tests.core.util.DiscoveryCacheTest;
+import org.eclipse.mylyn.discovery.tests.core.util.P2TransportServiceTest;
+import org.eclipse.mylyn.discovery.tests.core.util.ResumableDownloadTest;
+import org.eclipse.mylyn.discovery.tests.core.util.SiteVerifierTest;
 import org.eclipse.mylyn.discovery.tests.core.util.WebUtilTest;
+import org.eclipse.mylyn.discovery.tests.ui.util.DiscoveryIconLoaderTest;
+import org.eclipse.mylyn.discovery.tests.ui.util.VirtualRowIndexTest;
 
 /**
  * @author Steffen Pingel
@@ -37,7 +45,15 @@ public class AllDiscoveryTests {
 		suite.addTestSuite(ConnectorDiscoveryTest.class);
 		suite.addTestSuite(DirectoryParserTest.class);
 		suite.addTestSuite(BundleDiscoveryStrategyTest.class);
+		suite.addTestSuite(ConnectorDescriptorRegistryTest.class);
+		suite.addTestSuite(RemoteBundleDiscoveryStrategyRegistryTest.class);
 		suite.addTestSuite(WebUtilTest.class);
+		suite.addTestSuite(DiscoveryCacheTest.class);
+		suite.addTestSuite(ResumableDownloadTest.class);
+		suite.addTestSuite(P2TransportServiceTest.class);
+		suite.addTestSuite(SiteVerifierTest.class);
+		suite.addTestSuite(VirtualRowIndexTest.class);
+		suite.addTestSuite(DiscoveryIconLoaderTest.class);
 		if (!configuration.isLocalOnly()) {
 			suite.addTestSuite(RemoteBundleDiscoveryStrategyTest.class);
 			suite.addTestSuite(ConnectorDiscoveryRemoteTest.class);
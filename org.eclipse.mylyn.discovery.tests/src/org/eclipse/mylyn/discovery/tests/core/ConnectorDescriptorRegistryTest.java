@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Contribution;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Delta;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Delta.Kind;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.IRegistryListener;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCategory;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCertification;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryConnector;
+
+public class ConnectorDescriptorRegistryTest extends TestCase {
+
+	private ConnectorDescriptorRegistry registry;
+
+	private final List<Delta> events = new ArrayList<Delta>();
+
+	@Override
+	protected void setUp() throws Exception {
+		registry = new ConnectorDescriptorRegistry();
+		registry.addRegistryListener(new IRegistryListener() {
+			public void registryChanged(List<Delta> deltas) {
+				events.addAll(deltas);
+			}
+		});
+	}
+
+	public void testUpdate() throws Exception {
+		Contribution a = createContribution("a", "1", "connectorA");
+		a.getCategories().add(createCategory("category"));
+		Contribution b = createContribution("b", "1", "connectorB");
+
+		List<Delta> deltas = update(Collections.<String> emptyList(), a, b);
+		assertEquals(3, deltas.size());
+		assertEquals(deltas, events);
+		assertKinds(deltas, Kind.ADDED, Kind.ADDED, Kind.ADDED);
+		assertEquals(2, registry.getConnectors().size());
+		assertEquals(1, registry.getCategories().size());
+		assertTrue(registry.isCurrent("a", "1"));
+		assertFalse(registry.isCurrent("a", "2"));
+		assertFalse(registry.isCurrent("c", "1"));
+		assertFalse(registry.isCurrent("a", null));
+	}
+
+	public void testUpdateUnchanged() throws Exception {
+		Contribution a = createContribution("a", "1", "connectorA");
+		update(Collections.<String> emptyList(), a);
+		DiscoveryConnector connector = registry.getConnector("connectorA");
+		events.clear();
+
+		List<Delta> deltas = update(Arrays.asList("a"));
+		assertEquals(0, deltas.size());
+		assertEquals(0, events.size());
+		assertSame(connector, registry.getConnector("connectorA"));
+	}
+
+	public void testUpdateChanged() throws Exception {
+		update(Collections.<String> emptyList(), createContribution("a", "1", "connectorA"),
+				createContribution("b", "1", "connectorB"));
+		DiscoveryConnector previous = registry.getConnector("connectorA");
+
+		List<Delta> deltas = update(Arrays.asList("b"), createContribution("a", "2", "connectorA"));
+		assertKinds(deltas, Kind.CHANGED);
+		assertSame(registry.getConnector("connectorA"), deltas.get(0).getElement());
+		assertSame(previous, deltas.get(0).getPreviousElement());
+		assertNotSame(previous, registry.getConnector("connectorA"));
+		assertTrue(registry.isCurrent("a", "2"));
+
+		// the order of sources is stable
+		assertEquals("connectorA", registry.getConnectors().get(0).getId());
+		assertEquals("connectorB", registry.getConnectors().get(1).getId());
+	}
+
+	public void testUpdateRemoved() throws Exception {
+		update(Collections.<String> emptyList(), createContribution("a", "1", "connectorA"),
+				createContribution("b", "1", "connectorB"));
+		DiscoveryConnector connector = registry.getConnector("connectorB");
+
+		List<Delta> deltas = update(Arrays.asList("a"));
+		assertKinds(deltas, Kind.REMOVED);
+		assertSame(connector, deltas.get(0).getElement());
+		assertNull(registry.getConnector("connectorB"));
+		assertFalse(registry.isCurrent("b", "1"));
+		assertEquals(1, registry.getConnectors().size());
+	}
+
+	public void testUpdateMovedBetweenSources() throws Exception {
+		update(Collections.<String> emptyList(), createContribution("a", "1", "connectorA"));
+
+		List<Delta> deltas = update(Collections.<String> emptyList(), createContribution("b", "1", "connectorA"));
+		assertKinds(deltas, Kind.CHANGED);
+	}
+
+	public void testIndex() throws Exception {
+		Contribution a = createContribution("a", "1", "connector1", "connector2");
+		a.getConnectors().get(0).setCertificationId("certified");
+		a.getCertifications().add(createCertification("certified"));
+		a.getCategories().add(createCategory("category"));
+		Contribution b = createContribution("b", "1", "connector3");
+		b.getConnectors().get(0).setCategoryId("other");
+		update(Collections.<String> emptyList(), a, b);
+
+		assertEquals("connector2", registry.getConnector("connector2").getId());
+		assertEquals("category", registry.getCategory("category").getId());
+		assertEquals("certified", registry.getCertification("certified").getId());
+		assertEquals(2, registry.getConnectorsByCategory("category").size());
+		assertEquals(1, registry.getConnectorsByCategory("other").size());
+		assertEquals(0, registry.getConnectorsByCategory("unknown").size());
+		assertEquals(1, registry.getConnectorsByCertification("certified").size());
+		assertEquals("connector1", registry.getConnectorsByCertification("certified").get(0).getId());
+
+		update(Arrays.asList("b"));
+		assertNull(registry.getConnector("connector2"));
+		assertNull(registry.getCertification("certified"));
+		assertEquals(0, registry.getConnectorsByCategory("category").size());
+		assertEquals(1, registry.getConnectorsByCategory("other").size());
+	}
+
+	private List<Delta> update(List<String> retainedSources, Contribution... contributions) {
+		return registry.update(retainedSources, Arrays.asList(contributions));
+	}
+
+	private void assertKinds(List<Delta> deltas, Kind... kinds) {
+		assertEquals(deltas.toString(), kinds.length, deltas.size());
+		for (int i = 0; i < kinds.length; i++) {
+			assertEquals(deltas.toString(), kinds[i], deltas.get(i).getKind());
+		}
+	}
+
+	private Contribution createContribution(String source, String fingerprint, String... connectorIds) {
+		Contribution contribution = new Contribution(source, fingerprint);
+		for (String id : connectorIds) {
+			DiscoveryConnector connector = new DiscoveryConnector();
+			connector.setId(id);
+			connector.setName(id);
+			connector.setCategoryId("category");
+			contribution.getConnectors().add(connector);
+		}
+		return contribution;
+	}
+
+	private DiscoveryCategory createCategory(String id) {
+		DiscoveryCategory category = new DiscoveryCategory();
+		category.setId(id);
+		return category;
+	}
+
+	private DiscoveryCertification createCertification(String id) {
+		DiscoveryCertification certification = new DiscoveryCertification();
+		certification.setId(id);
+		return certification;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+
+import org.eclipse.mylyn.internal.discovery.core.model.Directory.Entry;
+import org.eclipse.mylyn.internal.discovery.core.model.DirectoryParser;
+import org.eclipse.mylyn.internal.discovery.core.model.DirectoryParser.IEntryHandler;
+
+/**
+ * Parses a synthetic directory and reports the time until the first bundle download could be submitted, once for a
+ * parser that reads the complete {@link org.eclipse.mylyn.internal.discovery.core.model.Directory} first and once for a
+ * parser that streams entries to an {@link IEntryHandler}. Runs headless as a Java application; the argument is the
+ * number of entries in the directory.
+ */
+public class DirectoryParserBenchmark {
+
+	private static final int RUNS = 5;
+
+	private static class FirstEntryHandler implements IEntryHandler {
+
+		private final long start;
+
+		long firstEntry = -1;
+
+		int count;
+
+		FirstEntryHandler(long start) {
+			this.start = start;
+		}
+
+		public void handleEntry(Entry entry) {
+			if (count++ == 0) {
+				firstEntry = System.nanoTime() - start;
+			}
+		}
+
+	}
+
+	public static void main(String[] args) throws Exception {
+		int count = (args.length > 0) ? Integer.parseInt(args[0]) : 50000;
+		String contents = createDirectory(count);
+
+		DirectoryParser parser = new DirectoryParser();
+		parser.setBaseUri(new URI("http://discovery.nodomain/directory.xml")); //$NON-NLS-1$
+		parser.setMaxEntries(Math.max(count, DirectoryParser.DEFAULT_MAX_ENTRIES));
+
+		// warm up class loading and the parser
+		runComplete(parser, contents);
+		runStreaming(parser, contents);
+
+		long completeFirst = Long.MAX_VALUE;
+		long streamingFirst = Long.MAX_VALUE;
+		long streamingTotal = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			completeFirst = Math.min(completeFirst, runComplete(parser, contents));
+			long start = System.nanoTime();
+			FirstEntryHandler handler = runStreaming(parser, contents);
+			streamingTotal = Math.min(streamingTotal, System.nanoTime() - start);
+			streamingFirst = Math.min(streamingFirst, handler.firstEntry);
+		}
+
+		System.out.println(String.format("%d entries, %d KB, best of %d runs", count, contents.length() / 1024, RUNS)); //$NON-NLS-1$
+		System.out.println(String.format("  %-10s %10.3f ms to first download %10.3f ms to last entry", "complete", //$NON-NLS-1$ //$NON-NLS-2$
+				completeFirst / 1000000.0, completeFirst / 1000000.0));
+		System.out.println(String.format("  %-10s %10.3f ms to first download %10.3f ms to last entry", "streaming", //$NON-NLS-1$ //$NON-NLS-2$
+				streamingFirst / 1000000.0, streamingTotal / 1000000.0));
+	}
+
+	private static String createDirectory(int count) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+		sb.append("<directory xmlns=\"http://www.eclipse.org/mylyn/discovery/directory/\">\n"); //$NON-NLS-1$
+		for (int i = 0; i < count; i++) {
+			sb.append("  <entry url=\"connectors/connector"); //$NON-NLS-1$
+			sb.append(i);
+			sb.append(".jar\" permitCategories=\""); //$NON-NLS-1$
+			sb.append(i % 10 == 0);
+			sb.append("\"/>\n"); //$NON-NLS-1$
+		}
+		sb.append("</directory>\n"); //$NON-NLS-1$
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the time until the first entry is available when the complete directory is parsed first.
+	 */
+	private static long runComplete(DirectoryParser parser, String contents) throws IOException {
+		long start = System.nanoTime();
+		Entry first = parser.parse(new StringReader(contents)).getEntries().get(0);
+		long elapsed = System.nanoTime() - start;
+		if (first == null) {
+			throw new IllegalStateException();
+		}
+		return elapsed;
+	}
+
+	private static FirstEntryHandler runStreaming(DirectoryParser parser, String contents) throws IOException {
+		FirstEntryHandler handler = new FirstEntryHandler(System.nanoTime());
+		parser.parse(new StringReader(contents), handler);
+		return handler;
+	}
+
+}
@@ -16,11 +16,15 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 
 import junit.framework.TestCase;
 
 import org.eclipse.mylyn.internal.discovery.core.model.Directory;
+import org.eclipse.mylyn.internal.discovery.core.model.Directory.Entry;
 import org.eclipse.mylyn.internal.discovery.core.model.DirectoryParser;
+import org.eclipse.mylyn.internal.discovery.core.model.DirectoryParser.IEntryHandler;
 
 /**
  * @author David Green
@@ -148,4 +152,82 @@ public class DirectoryParserTest extends TestCase {
 		assertEquals("http://absolute/bar.jar", directory.getEntries().get(1).getLocation());
 	}
 
+	public void testParseStreaming() throws IOException {
+		final List<String> locations = new ArrayList<String>();
+		try {
+			parser.parse(new StringReader(
+					"<directory xmlns=\"http://www.eclipse.org/mylyn/discovery/directory/\"><entry url=\"http://foo.bar.nodomain/baz.jar\"/><entry url=\"http://foo.bar.nodomain/bar.jar\"/><entry"),
+					new IEntryHandler() {
+						public void handleEntry(Entry entry) {
+							locations.add(entry.getLocation());
+						}
+					});
+			fail("Expected exception");
+		} catch (IOException e) {
+			// expected
+		}
+		assertEquals(2, locations.size());
+		assertEquals("http://foo.bar.nodomain/baz.jar", locations.get(0));
+		assertEquals("http://foo.bar.nodomain/bar.jar", locations.get(1));
+	}
+
+	public void testParseStreamingHandlerFails() throws IOException {
+		final List<String> locations = new ArrayList<String>();
+		try {
+			parser.parse(new StringReader(
+					"<directory xmlns=\"http://www.eclipse.org/mylyn/discovery/directory/\"><entry url=\"http://foo.bar.nodomain/baz.jar\"/><entry url=\"http://foo.bar.nodomain/bar.jar\"/></directory>"),
+					new IEntryHandler() {
+						public void handleEntry(Entry entry) throws IOException {
+							locations.add(entry.getLocation());
+							throw new IOException("handler failed");
+						}
+					});
+			fail("Expected exception");
+		} catch (IOException e) {
+			assertEquals("handler failed", e.getMessage());
+		}
+		assertEquals(1, locations.size());
+	}
+
+	public void testParseMaxEntries() throws IOException {
+		parser.setMaxEntries(2);
+		Directory directory = parser.parse(new StringReader(
+				"<directory><entry url=\"http://foo.bar.nodomain/baz.jar\"/><entry url=\"\"/><entry url=\"http://foo.bar.nodomain/bar.jar\"/></directory>"));
+		assertEquals(2, directory.getEntries().size());
+		try {
+			parser.parse(new StringReader(
+					"<directory><entry url=\"http://foo.bar.nodomain/baz.jar\"/><entry url=\"http://foo.bar.nodomain/bar.jar\"/><entry url=\"http://foo.bar.nodomain/foo.jar\"/></directory>"));
+			fail("Expected exception");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testParseEntityExpansion() throws IOException {
+		try {
+			parser.parse(new StringReader(
+					"<?xml version=\"1.0\"?><!DOCTYPE directory [<!ENTITY a \"aaaaaaaaaa\"><!ENTITY b \"&a;&a;&a;&a;&a;&a;&a;&a;&a;&a;\"><!ENTITY c \"&b;&b;&b;&b;&b;&b;&b;&b;&b;&b;\">]><directory><entry url=\"http://foo.bar.nodomain/&c;.jar\"/></directory>"));
+			fail("Expected exception");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testParseExternalEntity() throws IOException {
+		try {
+			parser.parse(new StringReader(
+					"<?xml version=\"1.0\"?><!DOCTYPE directory [<!ENTITY file SYSTEM \"file:///etc/passwd\">]><directory><entry url=\"http://foo.bar.nodomain/&file;.jar\"/></directory>"));
+			fail("Expected exception");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testParsePredefinedEntities() throws IOException {
+		Directory directory = parser.parse(new StringReader(
+				"<directory><entry url=\"http://foo.bar.nodomain/baz.jar?a=1&amp;b=2\"/></directory>"));
+		assertEquals(1, directory.getEntries().size());
+		assertEquals("http://foo.bar.nodomain/baz.jar?a=1&b=2", directory.getEntries().get(0).getLocation());
+	}
+
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.discovery.tests.core.util.ResourceServer;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCategory;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCertification;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryConnector;
+import org.eclipse.mylyn.internal.discovery.core.model.RemoteBundleDiscoveryStrategy;
+import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCache;
+
+/**
+ * Serves a synthetic directory of connector bundles from a local server and reports the latency of discovery runs,
+ * once for the initial run, once for a rerun that reads all bundles again and once for a rerun that reuses the
+ * descriptors of unchanged bundles from a {@link ConnectorDescriptorRegistry}. Requires a running platform for the
+ * extension registry and is therefore run as a JUnit plug-in test; it is not part of the test suite. The system
+ * property <code>connectors</code> sets the number of connectors.
+ */
+public class RemoteBundleDiscoveryStrategyBenchmark extends TestCase {
+
+	private ResourceServer server;
+
+	private File directory;
+
+	private DiscoveryCache cache;
+
+	private int count;
+
+	@Override
+	protected void setUp() throws Exception {
+		count = Integer.getInteger("connectors", 1000); //$NON-NLS-1$
+		server = new ResourceServer();
+		StringBuilder sb = new StringBuilder();
+		sb.append("<directory xmlns=\"http://www.eclipse.org/mylyn/discovery/directory/\">"); //$NON-NLS-1$
+		for (int i = 0; i < count; i++) {
+			server.addResource("/connector" + i + ".jar", createBundle(i)); //$NON-NLS-1$ //$NON-NLS-2$
+			sb.append("<entry url=\"connector" + i + ".jar\" permitCategories=\"" + (i == 0) + "\"/>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		sb.append("</directory>"); //$NON-NLS-1$
+		server.addResource("/directory.xml", sb.toString().getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$
+		server.start();
+
+		directory = File.createTempFile("discovery-benchmark", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+		directory.delete();
+		cache = new DiscoveryCache(directory);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		delete(directory);
+	}
+
+	public void testRerunUnchangedCatalog() throws Exception {
+		ConnectorDescriptorRegistry registry = new ConnectorDescriptorRegistry();
+		List<DiscoveryConnector> initial = run("initial", registry); //$NON-NLS-1$
+		assertEquals(count, initial.size());
+
+		List<DiscoveryConnector> full = run("rerun, read all", new ConnectorDescriptorRegistry()); //$NON-NLS-1$
+		assertEquals(count, full.size());
+
+		List<DiscoveryConnector> incremental = run("rerun, incremental", registry); //$NON-NLS-1$
+		assertEquals(count, incremental.size());
+		for (int i = 0; i < count; i++) {
+			assertSame(initial.get(i), incremental.get(i));
+		}
+	}
+
+	private List<DiscoveryConnector> run(String name, ConnectorDescriptorRegistry registry) throws Exception {
+		RemoteBundleDiscoveryStrategy strategy = new RemoteBundleDiscoveryStrategy();
+		strategy.setDirectoryUrl(server.getUrl() + "/directory.xml"); //$NON-NLS-1$
+		strategy.setCache(cache);
+		strategy.setRegistry(registry);
+		strategy.setConnectors(new ArrayList<DiscoveryConnector>());
+		strategy.setCategories(new ArrayList<DiscoveryCategory>());
+		strategy.setCertifications(new ArrayList<DiscoveryCertification>());
+		server.resetCounters();
+		long start = System.currentTimeMillis();
+		try {
+			strategy.performDiscovery(new NullProgressMonitor());
+		} finally {
+			strategy.dispose();
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		System.out.println(String.format("%-20s %6d connectors %7d ms %6d requests", name, //$NON-NLS-1$
+				strategy.getConnectors().size(), elapsed, server.getRequestCount()));
+		return strategy.getConnectors();
+	}
+
+	private byte[] createBundle(int i) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><?eclipse version=\"3.4\"?><plugin>"); //$NON-NLS-1$
+		sb.append("<extension point=\"org.eclipse.mylyn.discovery.core.connectorDiscovery\">"); //$NON-NLS-1$
+		if (i == 0) {
+			sb.append("<connectorCategory id=\"category\" name=\"Category\" description=\"Category\"/>"); //$NON-NLS-1$
+		}
+		sb.append("<connectorDescriptor id=\"connector" + i + "\" name=\"Connector " + i //$NON-NLS-1$ //$NON-NLS-2$
+				+ "\" categoryId=\"category\" kind=\"task\" license=\"EPL\" provider=\"Provider\"" //$NON-NLS-1$
+				+ " description=\"A connector\" siteUrl=\"http://example.nodomain/site" + i + "/\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append("</extension></plugin>"); //$NON-NLS-1$
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ZipOutputStream zip = new ZipOutputStream(out);
+		zip.putNextEntry(new ZipEntry("plugin.xml")); //$NON-NLS-1$
+		zip.write(sb.toString().getBytes("UTF-8")); //$NON-NLS-1$
+		zip.closeEntry();
+		zip.close();
+		return out.toByteArray();
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
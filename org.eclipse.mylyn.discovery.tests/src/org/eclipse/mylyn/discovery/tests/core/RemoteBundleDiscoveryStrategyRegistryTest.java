@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.discovery.tests.core.util.ResourceServer;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Delta;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.IRegistryListener;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDiscovery;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCategory;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCertification;
+import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryConnector;
+import org.eclipse.mylyn.internal.discovery.core.model.RemoteBundleDiscoveryStrategy;
+import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCache;
+
+/**
+ * Reruns discovery against a local server with a {@link ConnectorDescriptorRegistry} that is kept between runs.
+ */
+public class RemoteBundleDiscoveryStrategyRegistryTest extends TestCase {
+
+	private ResourceServer server;
+
+	private File directory;
+
+	private DiscoveryCache cache;
+
+	private ConnectorDescriptorRegistry registry;
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new ResourceServer();
+		StringBuilder sb = new StringBuilder();
+		sb.append("<directory xmlns=\"http://www.eclipse.org/mylyn/discovery/directory/\">");
+		for (int i = 0; i < 3; i++) {
+			server.addResource("/connector" + i + ".jar", createBundle(i, "Connector " + i));
+			sb.append("<entry url=\"connector" + i + ".jar\" permitCategories=\"" + (i == 0) + "\"/>");
+		}
+		sb.append("</directory>");
+		server.addResource("/directory.xml", sb.toString().getBytes("UTF-8"));
+		server.start();
+
+		directory = File.createTempFile("discovery-registry", ".tmp");
+		directory.delete();
+		cache = new DiscoveryCache(directory);
+		registry = new ConnectorDescriptorRegistry();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		delete(directory);
+	}
+
+	public void testRerunUnchanged() throws Exception {
+		RemoteBundleDiscoveryStrategy first = run();
+		RemoteBundleDiscoveryStrategy second = run();
+		assertEquals(3, first.getConnectors().size());
+		assertEquals(3, second.getConnectors().size());
+		for (int i = 0; i < 3; i++) {
+			assertSame(first.getConnectors().get(i), second.getConnectors().get(i));
+		}
+		assertEquals(1, second.getCategories().size());
+		assertSame(first.getCategories().get(0), second.getCategories().get(0));
+	}
+
+	public void testRerunChanged() throws Exception {
+		RemoteBundleDiscoveryStrategy first = run();
+		server.addResource("/connector1.jar", createBundle(1, "Changed"));
+		RemoteBundleDiscoveryStrategy second = run();
+		assertEquals(3, second.getConnectors().size());
+		DiscoveryConnector changed = registry.getConnector("connector1");
+		assertEquals("Changed", changed.getName());
+		assertTrue(second.getConnectors().contains(changed));
+		assertFalse(first.getConnectors().contains(changed));
+		assertSame(first.getCategories().get(0), second.getCategories().get(0));
+	}
+
+	public void testRerunConnectorDiscovery() throws Exception {
+		ConnectorDiscovery first = discover();
+		DiscoveryCategory category = first.getCategories().get(0);
+		assertEquals(3, category.getConnectors().size());
+		for (DiscoveryConnector connector : first.getConnectors()) {
+			assertSame(category, connector.getCategory());
+			connector.setAvailable(true);
+		}
+
+		// each discovery owns copies of the descriptors kept by the registry
+		ConnectorDiscovery second = discover();
+		DiscoveryCategory secondCategory = second.getCategories().get(0);
+		assertNotSame(category, secondCategory);
+		assertEquals(3, category.getConnectors().size());
+		assertEquals(3, secondCategory.getConnectors().size());
+		for (DiscoveryConnector connector : second.getConnectors()) {
+			assertFalse(first.getConnectors().contains(connector));
+			assertNotSame(registry.getConnector(connector.getId()), connector);
+			assertSame(secondCategory, connector.getCategory());
+			assertNull(connector.getAvailable());
+		}
+		for (DiscoveryConnector connector : first.getConnectors()) {
+			assertSame(category, connector.getCategory());
+			assertEquals(Boolean.TRUE, connector.getAvailable());
+		}
+		for (DiscoveryConnector connector : registry.getConnectors()) {
+			assertNull(connector.getCategory());
+			assertNull(connector.getAvailable());
+		}
+	}
+
+	public void testUpdateConnectorDiscovery() throws Exception {
+		ConnectorDiscovery discovery = discover();
+		DiscoveryCategory category = discovery.getCategories().get(0);
+		final List<Delta> deltas = new CopyOnWriteArrayList<Delta>();
+		registry.addRegistryListener(new IRegistryListener() {
+			public void registryChanged(List<Delta> changes) {
+				deltas.addAll(changes);
+			}
+		});
+		server.addResource("/connector1.jar", createBundle(1, "Changed"));
+		run();
+		assertEquals(1, deltas.size());
+		assertEquals(Delta.Kind.CHANGED, deltas.get(0).getKind());
+
+		discovery.update(deltas);
+		assertEquals(3, discovery.getConnectors().size());
+		assertEquals(3, category.getConnectors().size());
+		DiscoveryConnector changed = null;
+		for (DiscoveryConnector connector : category.getConnectors()) {
+			if (connector.getId().equals("connector1")) {
+				changed = connector;
+			}
+		}
+		assertNotNull(changed);
+		assertEquals("Changed", changed.getName());
+		assertSame(category, changed.getCategory());
+		assertNotSame(registry.getConnector("connector1"), changed);
+		assertTrue(discovery.getConnectors().contains(changed));
+	}
+
+	private RemoteBundleDiscoveryStrategy run() throws Exception {
+		RemoteBundleDiscoveryStrategy strategy = createStrategy();
+		strategy.setConnectors(new ArrayList<DiscoveryConnector>());
+		strategy.setCategories(new ArrayList<DiscoveryCategory>());
+		strategy.setCertifications(new ArrayList<DiscoveryCertification>());
+		try {
+			strategy.performDiscovery(new NullProgressMonitor());
+		} finally {
+			strategy.dispose();
+		}
+		return strategy;
+	}
+
+	private ConnectorDiscovery discover() throws Exception {
+		ConnectorDiscovery discovery = new ConnectorDiscovery();
+		discovery.getDiscoveryStrategies().add(createStrategy());
+		try {
+			assertTrue(discovery.performDiscovery(new NullProgressMonitor()).isOK());
+		} finally {
+			discovery.dispose();
+		}
+		return discovery;
+	}
+
+	private RemoteBundleDiscoveryStrategy createStrategy() {
+		RemoteBundleDiscoveryStrategy strategy = new RemoteBundleDiscoveryStrategy();
+		strategy.setDirectoryUrl(server.getUrl() + "/directory.xml");
+		strategy.setCache(cache);
+		strategy.setRegistry(registry);
+		return strategy;
+	}
+
+	private byte[] createBundle(int i, String name) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><?eclipse version=\"3.4\"?><plugin>");
+		sb.append("<extension point=\"org.eclipse.mylyn.discovery.core.connectorDiscovery\">");
+		if (i == 0) {
+			sb.append("<connectorCategory id=\"category\" name=\"Category\" description=\"Category\"/>");
+		}
+		sb.append("<connectorDescriptor id=\"connector" + i + "\" name=\"" + name
+				+ "\" categoryId=\"category\" kind=\"task\" license=\"EPL\" provider=\"Provider\""
+				+ " description=\"A connector\" siteUrl=\"http://example.nodomain/site" + i + "/\"/>");
+		sb.append("</extension></plugin>");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ZipOutputStream zip = new ZipOutputStream(out);
+		zip.putNextEntry(new ZipEntry("plugin.xml"));
+		zip.write(sb.toString().getBytes("UTF-8"));
+		zip.closeEntry();
+		zip.close();
+		return out.toByteArray();
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCache;
+import org.eclipse.mylyn.internal.discovery.core.util.HttpClientTransportService;
+import org.eclipse.mylyn.internal.discovery.core.util.ResumableDownload;
+
+public class DiscoveryCacheTest extends TestCase {
+
+	private static final byte[] CONTENT_A = createContent(100000, 'a');
+
+	private static final byte[] CONTENT_B = createContent(50000, 'b');
+
+	private ResourceServer server;
+
+	private File directory;
+
+	private DiscoveryCache cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new ResourceServer();
+		server.addResource("/a.jar", CONTENT_A);
+		server.addResource("/b.jar", CONTENT_B);
+		server.start();
+
+		directory = File.createTempFile("discovery-cache", ".tmp");
+		directory.delete();
+		cache = createCache();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		delete(directory);
+	}
+
+	public void testColdAndWarmRun() throws Exception {
+		File a = cache.get(uri("/a.jar"), null);
+		File b = cache.get(uri("/b.jar"), null);
+		assertEquals(CONTENT_A.length + CONTENT_B.length, server.getBytesServed());
+		assertEquals(CONTENT_A.length, a.length());
+		assertEquals(CONTENT_B.length, b.length());
+		cache.save();
+
+		// warm run with a new instance that reads the persisted index
+		server.resetCounters();
+		cache = createCache();
+		assertEquals(a, cache.get(uri("/a.jar"), null));
+		assertEquals(b, cache.get(uri("/b.jar"), null));
+		assertEquals(0, server.getBytesServed());
+		assertEquals(2, server.getRequestCount());
+		assertEquals(2, server.getNotModifiedCount());
+	}
+
+	public void testModifiedResourceIsTransferred() throws Exception {
+		File a = cache.get(uri("/a.jar"), null);
+
+		byte[] content = createContent(1000, 'c');
+		server.addResource("/a.jar", content);
+		server.resetCounters();
+		File modified = cache.get(uri("/a.jar"), null);
+		assertFalse(a.equals(modified));
+		assertEquals(content.length, modified.length());
+		assertEquals(content.length, server.getBytesServed());
+	}
+
+	public void testCorruptedFileIsTransferredAgain() throws Exception {
+		File a = cache.get(uri("/a.jar"), null);
+		FileOutputStream out = new FileOutputStream(a);
+		try {
+			out.write(createContent(CONTENT_A.length, 'x'));
+		} finally {
+			out.close();
+		}
+
+		server.resetCounters();
+		File b = cache.get(uri("/a.jar"), new NullProgressMonitor());
+		assertEquals(CONTENT_A.length, server.getBytesServed());
+		assertEquals(0, server.getNotModifiedCount());
+		assertEquals(CONTENT_A.length, b.length());
+	}
+
+	public void testInterruptedDownloadIsResumed() throws Exception {
+		server.setDrop(ResumableDownload.DEFAULT_MAX_ATTEMPTS, 30000);
+		try {
+			cache.get(uri("/a.jar"), null);
+			fail("Expected IOException");
+		} catch (IOException expected) {
+		}
+		assertFalse(cache.contains(uri("/a.jar")));
+
+		File a = cache.get(uri("/a.jar"), null);
+		assertEquals(CONTENT_A.length, a.length());
+		assertEquals(CONTENT_A.length, server.getBytesServed());
+	}
+
+	public void testPruneRemovesStaleEntries() throws Exception {
+		File a = cache.get(uri("/a.jar"), null);
+		File b = cache.get(uri("/b.jar"), null);
+		cache.setMaxAge(0);
+		Thread.sleep(5);
+
+		cache.prune(Collections.singletonList(uri("/a.jar")));
+		assertTrue(cache.contains(uri("/a.jar")));
+		assertFalse(cache.contains(uri("/b.jar")));
+		assertTrue(a.exists());
+		assertFalse(b.exists());
+	}
+
+	public void testPruneEnforcesMaxSize() throws Exception {
+		cache.get(uri("/a.jar"), null);
+		Thread.sleep(5);
+		cache.get(uri("/b.jar"), null);
+		cache.setMaxSize(CONTENT_B.length);
+
+		cache.prune(Collections.<URI> emptyList());
+		assertFalse(cache.contains(uri("/a.jar")));
+		assertTrue(cache.contains(uri("/b.jar")));
+		assertEquals(CONTENT_B.length, cache.getSize());
+
+		cache.setMaxSize(0);
+		cache.prune(Arrays.asList(uri("/b.jar")));
+		assertTrue(cache.contains(uri("/b.jar")));
+	}
+
+	public void testClear() throws Exception {
+		File a = cache.get(uri("/a.jar"), null);
+		cache.clear();
+		assertFalse(cache.contains(uri("/a.jar")));
+		assertFalse(a.exists());
+		assertEquals(0, cache.getSize());
+	}
+
+	private DiscoveryCache createCache() {
+		return new DiscoveryCache(directory, new HttpClientTransportService());
+	}
+
+	private URI uri(String path) throws Exception {
+		return new URI(server.getUrl() + path);
+	}
+
+	private static byte[] createContent(int length, char c) {
+		byte[] content = new byte[length];
+		Arrays.fill(content, (byte) c);
+		return content;
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
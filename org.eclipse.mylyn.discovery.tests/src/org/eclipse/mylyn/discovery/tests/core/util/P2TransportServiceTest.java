@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.mylyn.internal.discovery.core.util.P2TransportService;
+import org.eclipse.mylyn.internal.discovery.core.util.RangeResponse;
+import org.eclipse.mylyn.internal.discovery.core.util.ResumableDownload;
+
+/**
+ * Downloads through the p2 transport, which does not support range requests.
+ */
+public class P2TransportServiceTest extends TestCase {
+
+	private static final byte[] CONTENT = createContent(100000);
+
+	private ResourceServer server;
+
+	private P2TransportService transport;
+
+	private File directory;
+
+	private File target;
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new ResourceServer();
+		server.addResource("/a.jar", CONTENT);
+		server.start();
+		transport = new P2TransportService();
+
+		directory = File.createTempFile("p2-transport", ".tmp");
+		directory.delete();
+		directory.mkdirs();
+		target = new File(directory, "a.jar");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		File[] children = directory.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				child.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	public void testStreamRange() throws Exception {
+		RangeResponse response = transport.stream(new URI(server.getUrl() + "/a.jar"), 50000, -1, null, null);
+		// the entire resource is returned
+		assertFalse(response.isPartial());
+		assertEquals(0, response.getOffset());
+		assertEquals(CONTENT.length, response.getLength());
+		assertTrue(Arrays.equals(CONTENT, read(response.getContent())));
+	}
+
+	public void testStreamTruncated() throws Exception {
+		server.setDrop(100, 30000);
+		try {
+			transport.stream(new URI(server.getUrl() + "/a.jar"), 0, -1, null, null);
+			fail("Expected IOException or CoreException");
+		} catch (IOException expected) {
+		} catch (CoreException expected) {
+		}
+	}
+
+	public void testDownload() throws Exception {
+		createDownload().download(null);
+		assertTrue(Arrays.equals(CONTENT, read(new FileInputStream(target))));
+		assertNoPartialFiles();
+	}
+
+	public void testDownloadTruncated() throws Exception {
+		server.setDrop(100, 30000);
+		ResumableDownload download = createDownload();
+		try {
+			download.download(null);
+			fail("Expected IOException or CoreException");
+		} catch (IOException expected) {
+		} catch (CoreException expected) {
+		}
+		assertFalse(target.exists());
+	}
+
+	public void testDownloadStartsOverAfterTruncation() throws Exception {
+		server.setDrop(100, 30000);
+		ResumableDownload download = createDownload();
+		download.setMaxAttempts(1);
+		try {
+			download.download(null);
+			fail("Expected IOException or CoreException");
+		} catch (IOException expected) {
+		} catch (CoreException expected) {
+		}
+
+		server.setDrop(0, 0);
+		server.resetCounters();
+		createDownload().download(null);
+		assertTrue(Arrays.equals(CONTENT, read(new FileInputStream(target))));
+		// resumption is not supported, the resource is downloaded again in full
+		assertEquals(CONTENT.length, server.getBytesServed());
+		assertNoPartialFiles();
+	}
+
+	private ResumableDownload createDownload() throws Exception {
+		return new ResumableDownload(new URI(server.getUrl() + "/a.jar"), target, transport);
+	}
+
+	private void assertNoPartialFiles() {
+		for (File file : directory.listFiles()) {
+			assertFalse(file.getName(), file.getName().endsWith(ResumableDownload.PART_SUFFIX));
+		}
+	}
+
+	private static byte[] read(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				out.write(buffer, 0, len);
+			}
+		} finally {
+			in.close();
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] createContent(int length) {
+		byte[] content = new byte[length];
+		for (int i = 0; i < length; i++) {
+			content[i] = (byte) (i * 31 + i / 256);
+		}
+		return content;
+	}
+
+}
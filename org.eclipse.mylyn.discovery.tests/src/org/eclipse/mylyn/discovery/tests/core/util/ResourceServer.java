@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A minimal HTTP server that serves static resources and supports conditional requests based on ETag and
+ * Last-Modified as well as range requests. Counts requests and the number of body bytes served and optionally delays
+ * responses or closes connections in the middle of a response to simulate unreliable networks.
+ */
+public class ResourceServer implements Runnable {
+
+	private static class Resource {
+
+		private final byte[] content;
+
+		private final String etag;
+
+		private final long lastModified;
+
+		public Resource(byte[] content, String etag, long lastModified) {
+			this.content = content;
+			this.etag = etag;
+			this.lastModified = lastModified;
+		}
+
+	}
+
+	private final Map<String, Resource> resourceByPath = new HashMap<String, Resource>();
+
+	private final long baseTime = (System.currentTimeMillis() / 1000 - 3600) * 1000;
+
+	private ServerSocket serverSocket;
+
+	private Thread thread;
+
+	private int requestCount;
+
+	private int notModifiedCount;
+
+	private long bytesServed;
+
+	private int version;
+
+	private volatile long latency;
+
+	private volatile boolean rangesSupported = true;
+
+	private int dropCount;
+
+	private long dropAfter;
+
+	public synchronized void addResource(String path, byte[] content) {
+		version++;
+		resourceByPath.put(path, new Resource(content, "\"" + path.hashCode() + "-" + version + "\"",
+				baseTime + version * 1000));
+	}
+
+	public synchronized void removeResource(String path) {
+		resourceByPath.remove(path);
+	}
+
+	/**
+	 * Delays each response by <code>latency</code> milliseconds.
+	 */
+	public void setLatency(long latency) {
+		this.latency = latency;
+	}
+
+	/**
+	 * Closes the connection after <code>bytes</code> bytes of the body of the next <code>count</code> responses.
+	 */
+	public synchronized void setDrop(int count, long bytes) {
+		this.dropCount = count;
+		this.dropAfter = bytes;
+	}
+
+	public void setRangesSupported(boolean rangesSupported) {
+		this.rangesSupported = rangesSupported;
+	}
+
+	public void start() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+		thread = new Thread(this, "ResourceServer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public void stop() throws IOException {
+		serverSocket.close();
+	}
+
+	public String getUrl() {
+		return "http://127.0.0.1:" + serverSocket.getLocalPort();
+	}
+
+	public synchronized int getRequestCount() {
+		return requestCount;
+	}
+
+	public synchronized int getNotModifiedCount() {
+		return notModifiedCount;
+	}
+
+	public synchronized long getBytesServed() {
+		return bytesServed;
+	}
+
+	public synchronized void resetCounters() {
+		requestCount = 0;
+		notModifiedCount = 0;
+		bytesServed = 0;
+	}
+
+	public void run() {
+		try {
+			while (true) {
+				final Socket socket = serverSocket.accept();
+				Thread handler = new Thread("ResourceServer Connection") {
+					@Override
+					public void run() {
+						handle(socket);
+					}
+				};
+				handler.setDaemon(true);
+				handler.start();
+			}
+		} catch (SocketException e) {
+			// closed
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void handle(Socket socket) {
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "ISO-8859-1"));
+			String requestLine = reader.readLine();
+			if (requestLine == null) {
+				return;
+			}
+			Map<String, String> headers = new HashMap<String, String>();
+			String line;
+			while ((line = reader.readLine()) != null && line.length() > 0) {
+				int i = line.indexOf(':');
+				if (i > 0) {
+					headers.put(line.substring(0, i).trim().toLowerCase(Locale.ENGLISH), line.substring(i + 1).trim());
+				}
+			}
+			String[] tokens = requestLine.split(" ");
+			String method = tokens[0];
+			String path = tokens[1];
+
+			Resource resource;
+			synchronized (this) {
+				requestCount++;
+				resource = resourceByPath.get(path);
+			}
+			if (latency > 0) {
+				Thread.sleep(latency);
+			}
+			OutputStream out = socket.getOutputStream();
+			if (resource == null) {
+				writeHeader(out, "404 Not Found", "Content-Length: 0\r\n");
+			} else if (isNotModified(resource, headers)) {
+				synchronized (this) {
+					notModifiedCount++;
+				}
+				writeHeader(out, "304 Not Modified", "ETag: " + resource.etag + "\r\n");
+			} else {
+				long[] range = getRange(resource, headers);
+				int offset = 0;
+				int length = resource.content.length;
+				String validators = "ETag: " + resource.etag + "\r\nLast-Modified: " + formatDate(resource.lastModified)
+						+ "\r\n";
+				if (range != null) {
+					offset = (int) range[0];
+					length = (int) (range[1] - range[0] + 1);
+					writeHeader(out, "206 Partial Content", "Content-Length: " + length + "\r\nContent-Range: bytes "
+							+ range[0] + "-" + range[1] + "/" + resource.content.length + "\r\n" + validators);
+				} else {
+					writeHeader(out, "200 OK", "Content-Length: " + length + "\r\n" + validators);
+				}
+				if (!"HEAD".equals(method)) {
+					int count = length;
+					synchronized (this) {
+						if (dropCount > 0) {
+							dropCount--;
+							count = (int) Math.min(length, dropAfter);
+						}
+						bytesServed += count;
+					}
+					out.write(resource.content, offset, count);
+				}
+			}
+			out.flush();
+		} catch (IOException e) {
+			// ignore
+		} catch (InterruptedException e) {
+			// ignore
+		} finally {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	private boolean isNotModified(Resource resource, Map<String, String> headers) {
+		String ifNoneMatch = headers.get("if-none-match");
+		if (ifNoneMatch != null) {
+			return ifNoneMatch.equals(resource.etag);
+		}
+		String ifModifiedSince = headers.get("if-modified-since");
+		return ifModifiedSince != null && ifModifiedSince.equals(formatDate(resource.lastModified));
+	}
+
+	/**
+	 * Returns the first and last byte of the requested range or null, if the entire resource should be sent.
+	 */
+	private long[] getRange(Resource resource, Map<String, String> headers) {
+		String range = headers.get("range");
+		if (!rangesSupported || range == null || !range.startsWith("bytes=")) {
+			return null;
+		}
+		String ifRange = headers.get("if-range");
+		if (ifRange != null && !ifRange.equals(resource.etag) && !ifRange.equals(formatDate(resource.lastModified))) {
+			return null;
+		}
+		String[] tokens = range.substring(6).split("-", -1);
+		long first = Long.parseLong(tokens[0]);
+		long last = (tokens[1].length() > 0) ? Long.parseLong(tokens[1]) : resource.content.length - 1;
+		return new long[] { first, Math.min(last, resource.content.length - 1) };
+	}
+
+	private void writeHeader(OutputStream out, String status, String headers) throws IOException {
+		out.write(("HTTP/1.1 " + status + "\r\n" + headers + "Connection: close\r\n\r\n").getBytes("ISO-8859-1"));
+	}
+
+	private static String formatDate(long time) {
+		SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		return format.format(new Date(time));
+	}
+
+}
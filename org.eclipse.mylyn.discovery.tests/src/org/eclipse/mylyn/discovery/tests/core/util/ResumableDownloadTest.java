@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.discovery.core.util.HttpClientTransportService;
+import org.eclipse.mylyn.internal.discovery.core.util.ResumableDownload;
+
+public class ResumableDownloadTest extends TestCase {
+
+	private static final byte[] CONTENT = createContent(100000, 0);
+
+	private ResourceServer server;
+
+	private File directory;
+
+	private File target;
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new ResourceServer();
+		server.addResource("/a.jar", CONTENT);
+		server.start();
+
+		directory = File.createTempFile("resumable-download", ".tmp");
+		directory.delete();
+		directory.mkdirs();
+		target = new File(directory, "a.jar");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		File[] children = directory.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				child.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	public void testDownload() throws Exception {
+		ResumableDownload download = createDownload();
+		assertNotNull(download.download(null));
+		assertContent(CONTENT);
+		assertEquals(CONTENT.length, server.getBytesServed());
+		assertEquals(1, server.getRequestCount());
+		assertNoPartialFiles();
+	}
+
+	public void testResumeAfterDroppedConnection() throws Exception {
+		server.setDrop(2, 30000);
+		ResumableDownload download = createDownload();
+		download.download(null);
+		assertContent(CONTENT);
+		assertEquals(3, server.getRequestCount());
+		// no bytes are transferred twice
+		assertEquals(CONTENT.length, server.getBytesServed());
+		assertEquals(CONTENT.length, download.getBytesTransferred());
+		assertNoPartialFiles();
+	}
+
+	public void testResumeWithNewInstance() throws Exception {
+		server.setDrop(1, 30000);
+		ResumableDownload download = createDownload();
+		download.setMaxAttempts(1);
+		try {
+			download.download(null);
+			fail("Expected IOException");
+		} catch (IOException expected) {
+		}
+		assertFalse(target.exists());
+
+		createDownload().download(null);
+		assertContent(CONTENT);
+		assertEquals(CONTENT.length, server.getBytesServed());
+		assertNoPartialFiles();
+	}
+
+	public void testResumeAfterResourceChanged() throws Exception {
+		server.setDrop(1, 30000);
+		ResumableDownload download = createDownload();
+		download.setMaxAttempts(1);
+		try {
+			download.download(null);
+			fail("Expected IOException");
+		} catch (IOException expected) {
+		}
+
+		byte[] content = createContent(80000, 7);
+		server.addResource("/a.jar", content);
+		server.resetCounters();
+		createDownload().download(null);
+		assertContent(content);
+		assertEquals(content.length, server.getBytesServed());
+	}
+
+	public void testRangesNotSupported() throws Exception {
+		server.setRangesSupported(false);
+		server.setDrop(1, 30000);
+		createDownload().download(null);
+		assertContent(CONTENT);
+		assertEquals(30000 + CONTENT.length, server.getBytesServed());
+	}
+
+	public void testParallelSegments() throws Exception {
+		ResumableDownload download = createDownload();
+		download.setSegmentCount(4);
+		download.setMinSegmentSize(10000);
+		download.download(null);
+		assertContent(CONTENT);
+		// the first segment and three segments for the remaining 90000 bytes
+		assertEquals(4, server.getRequestCount());
+		assertEquals(CONTENT.length, server.getBytesServed());
+		assertNoPartialFiles();
+	}
+
+	public void testParallelSegmentsResumeAfterDroppedConnections() throws Exception {
+		server.setDrop(3, 5000);
+		ResumableDownload download = createDownload();
+		download.setSegmentCount(4);
+		download.setMinSegmentSize(10000);
+		download.download(null);
+		assertContent(CONTENT);
+		assertEquals(CONTENT.length, server.getBytesServed());
+	}
+
+	public void testParallelSegmentsSmallResource() throws Exception {
+		ResumableDownload download = createDownload();
+		download.setSegmentCount(4);
+		download.setMinSegmentSize(200000);
+		download.download(null);
+		assertContent(CONTENT);
+		assertEquals(1, server.getRequestCount());
+	}
+
+	public void testExpectedDigest() throws Exception {
+		ResumableDownload download = createDownload();
+		download.setExpectedDigest("SHA-256", toHex(MessageDigest.getInstance("SHA-256").digest(CONTENT)));
+		download.download(null);
+		assertContent(CONTENT);
+	}
+
+	public void testDigestMismatch() throws Exception {
+		ResumableDownload download = createDownload();
+		download.setMaxAttempts(1);
+		download.setExpectedDigest("SHA-256", "00");
+		try {
+			download.download(null);
+			fail("Expected IOException");
+		} catch (IOException expected) {
+		}
+		assertFalse(target.exists());
+		assertNoPartialFiles();
+	}
+
+	private ResumableDownload createDownload() throws Exception {
+		return new ResumableDownload(new URI(server.getUrl() + "/a.jar"), target, new HttpClientTransportService());
+	}
+
+	private void assertContent(byte[] expected) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		InputStream in = new FileInputStream(target);
+		try {
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				out.write(buffer, 0, len);
+			}
+		} finally {
+			in.close();
+		}
+		assertTrue(Arrays.equals(expected, out.toByteArray()));
+	}
+
+	private void assertNoPartialFiles() {
+		for (File file : directory.listFiles()) {
+			assertFalse(file.getName(), file.getName().endsWith(ResumableDownload.PART_SUFFIX));
+		}
+	}
+
+	private static byte[] createContent(int length, int seed) {
+		byte[] content = new byte[length];
+		for (int i = 0; i < length; i++) {
+			content[i] = (byte) (i * 31 + i / 256 + seed);
+		}
+		return content;
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder();
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.internal.discovery.core.util.HttpClientTransportService;
+import org.eclipse.mylyn.internal.discovery.core.util.ITransportService;
+import org.eclipse.mylyn.internal.discovery.core.util.SiteVerifier;
+
+/**
+ * Verifies a synthetic catalog of connectors against local servers that delay each response and reports the elapsed
+ * time and number of requests, once for the previous strategy of probing each distinct site URL on a fixed pool of 4
+ * threads and once for a {@link SiteVerifier} with a cold and a warm cache. The catalog is spread across 4 hosts first
+ * and then served from a single host, which is where the per-host limit of the verifier applies. Runs headless as a
+ * Java application; the arguments are the number of connectors and the latency per response in milliseconds.
+ */
+public class SiteVerifierBenchmark {
+
+	private static final String[] METADATA_FILES = { "content.jar", "content.xml", "compositeContent.jar", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"compositeContent.xml", "site.xml" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int CONNECTORS_PER_SITE = 4;
+
+	public static void main(String[] args) throws Exception {
+		int connectorCount = (args.length > 0) ? Integer.parseInt(args[0]) : 400;
+		long latency = (args.length > 1) ? Long.parseLong(args[1]) : 50;
+		run(connectorCount, latency, 4);
+		run(connectorCount, latency, 1);
+	}
+
+	private static void run(int connectorCount, long latency, int hosts) throws Exception {
+		List<ResourceServer> servers = new ArrayList<ResourceServer>();
+		for (int i = 0; i < hosts; i++) {
+			ResourceServer server = new ResourceServer();
+			server.setLatency(latency);
+			server.start();
+			servers.add(server);
+		}
+		try {
+			// connectors share sites and spell their URLs differently
+			List<String> urls = new ArrayList<String>();
+			for (int i = 0; i < connectorCount; i++) {
+				int site = i / CONNECTORS_PER_SITE;
+				ResourceServer server = servers.get(site % hosts);
+				String path = "/site" + site + "/"; //$NON-NLS-1$ //$NON-NLS-2$
+				if (i % CONNECTORS_PER_SITE == 0) {
+					// most sites publish a p2 repository, some only an old-style site.xml and some are gone
+					if (site % 10 < 7) {
+						server.addResource(path + "content.jar", new byte[1024]); //$NON-NLS-1$
+					} else if (site % 10 < 9) {
+						server.addResource(path + "site.xml", new byte[1024]); //$NON-NLS-1$
+					}
+				}
+				urls.add(server.getUrl() + ((i % 2 == 0) ? path : path.substring(0, path.length() - 1)));
+			}
+			ITransportService transport = new HttpClientTransportService();
+
+			// warm up connections and class loading
+			runFixedPool(transport, urls.subList(0, Math.min(8, urls.size())));
+			new SiteVerifier(transport).verify(urls.subList(0, Math.min(8, urls.size())), null,
+					new NullProgressMonitor());
+
+			System.out.println(String.format("%d connectors, %d hosts, %d ms latency", connectorCount, hosts, latency)); //$NON-NLS-1$
+
+			reset(servers);
+			long start = System.currentTimeMillis();
+			runFixedPool(transport, urls);
+			report("fixed pool", start, servers); //$NON-NLS-1$
+
+			SiteVerifier verifier = new SiteVerifier(transport);
+			reset(servers);
+			start = System.currentTimeMillis();
+			verifier.verify(urls, null, new NullProgressMonitor());
+			report("verifier, cold", start, servers); //$NON-NLS-1$
+
+			reset(servers);
+			start = System.currentTimeMillis();
+			verifier.verify(urls, null, new NullProgressMonitor());
+			report("verifier, warm", start, servers); //$NON-NLS-1$
+		} finally {
+			for (ResourceServer server : servers) {
+				server.stop();
+			}
+		}
+	}
+
+	private static void reset(List<ResourceServer> servers) {
+		for (ResourceServer server : servers) {
+			server.resetCounters();
+		}
+	}
+
+	private static void report(String name, long start, List<ResourceServer> servers) {
+		long elapsed = System.currentTimeMillis() - start;
+		int requests = 0;
+		for (ResourceServer server : servers) {
+			requests += server.getRequestCount();
+		}
+		System.out.println(String.format("  %-16s %7d ms %6d requests", name, elapsed, requests)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Probes each distinct site URL sequentially for metadata files on a fixed pool of 4 threads.
+	 */
+	private static void runFixedPool(final ITransportService transport, List<String> urls) throws Exception {
+		Set<String> sites = new LinkedHashSet<String>();
+		for (String url : urls) {
+			sites.add(url.endsWith("/") ? url : url + "/"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		ExecutorService executorService = Executors.newFixedThreadPool(Math.min(sites.size(), 4));
+		try {
+			List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+			for (final String site : sites) {
+				futures.add(executorService.submit(new Callable<Boolean>() {
+					public Boolean call() throws Exception {
+						for (String file : METADATA_FILES) {
+							try {
+								transport.getLastModified(new URI(site).resolve(file), new NullProgressMonitor());
+								return true;
+							} catch (Exception e) {
+								// try next
+							}
+						}
+						return false;
+					}
+				}));
+			}
+			for (Future<Boolean> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+}
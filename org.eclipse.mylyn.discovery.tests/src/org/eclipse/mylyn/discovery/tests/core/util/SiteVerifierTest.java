@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.internal.discovery.core.util.CacheValidators;
+import org.eclipse.mylyn.internal.discovery.core.util.ITransportService;
+import org.eclipse.mylyn.internal.discovery.core.util.RangeResponse;
+import org.eclipse.mylyn.internal.discovery.core.util.SiteVerifier;
+import org.eclipse.mylyn.internal.discovery.core.util.SiteVerifier.ISiteVerificationListener;
+
+public class SiteVerifierTest extends TestCase {
+
+	private static class StubTransportService implements ITransportService {
+
+		private final Set<String> availableSites = new HashSet<String>();
+
+		private final Set<String> failingSites = new HashSet<String>();
+
+		private final Map<String, Integer> runningByHost = new HashMap<String, Integer>();
+
+		private final List<URI> requests = new ArrayList<URI>();
+
+		private long latency;
+
+		private int maxRunningPerHost;
+
+		private int maxRunning;
+
+		private int running;
+
+		public IStatus download(URI uri, OutputStream out, IProgressMonitor monitor) {
+			throw new UnsupportedOperationException();
+		}
+
+		public InputStream stream(URI uri, IProgressMonitor monitor) {
+			throw new UnsupportedOperationException();
+		}
+
+		public CacheValidators download(URI uri, OutputStream out, CacheValidators validators,
+				IProgressMonitor monitor) {
+			throw new UnsupportedOperationException();
+		}
+
+		public RangeResponse stream(URI uri, long offset, long end, CacheValidators validators,
+				IProgressMonitor monitor) {
+			throw new UnsupportedOperationException();
+		}
+
+		public long getLastModified(URI location, IProgressMonitor monitor) throws IOException {
+			String host = location.getHost();
+			synchronized (this) {
+				requests.add(location);
+				Integer count = runningByHost.get(host);
+				count = (count == null) ? 1 : count + 1;
+				runningByHost.put(host, count);
+				maxRunningPerHost = Math.max(maxRunningPerHost, count);
+				maxRunning = Math.max(maxRunning, ++running);
+			}
+			try {
+				if (failingSites.contains(location.resolve(".").toString())) {
+					throw new LinkageError("failed: " + location);
+				}
+				if (latency > 0) {
+					Thread.sleep(latency);
+				}
+			} catch (InterruptedException e) {
+				throw new IOException("interrupted");
+			} finally {
+				synchronized (this) {
+					runningByHost.put(host, runningByHost.get(host) - 1);
+					running--;
+				}
+			}
+			if (location.toString().endsWith("content.jar")
+					&& availableSites.contains(location.resolve(".").toString())) {
+				return 1;
+			}
+			throw new IOException("not found: " + location);
+		}
+
+		public synchronized int getRequestCount() {
+			return requests.size();
+		}
+
+	}
+
+	private static class Listener implements ISiteVerificationListener {
+
+		private final List<String> urls = Collections.synchronizedList(new ArrayList<String>());
+
+		public void siteVerified(String siteUrl, boolean available) {
+			urls.add(siteUrl);
+		}
+
+	}
+
+	private StubTransportService transport;
+
+	private SiteVerifier verifier;
+
+	@Override
+	protected void setUp() throws Exception {
+		transport = new StubTransportService();
+		verifier = new SiteVerifier(transport);
+	}
+
+	public void testVerify() throws Exception {
+		transport.availableSites.add("http://a.example.org/site/");
+		Listener listener = new Listener();
+		Map<String, Boolean> results = verifier.verify(
+				Arrays.asList("http://a.example.org/site/", "http://b.example.org/site/"), listener,
+				new NullProgressMonitor());
+		assertEquals(Boolean.TRUE, results.get("http://a.example.org/site/"));
+		assertEquals(Boolean.FALSE, results.get("http://b.example.org/site/"));
+		assertEquals(2, listener.urls.size());
+		// one probe for the available site, one for each metadata file of the unavailable site
+		assertEquals(6, transport.getRequestCount());
+	}
+
+	public void testVerifyDeduplicatesSites() throws Exception {
+		transport.availableSites.add("http://a.example.org/site/");
+		Listener listener = new Listener();
+		Map<String, Boolean> results = verifier.verify(Arrays.asList("http://a.example.org/site",
+				"http://A.example.org/site/", "http://a.example.org:80/site/"), listener, new NullProgressMonitor());
+		assertEquals(3, results.size());
+		assertEquals(3, listener.urls.size());
+		assertFalse(results.containsValue(Boolean.FALSE));
+		assertEquals(1, transport.getRequestCount());
+	}
+
+	public void testVerifyMalformedUrl() throws Exception {
+		Map<String, Boolean> results = verifier.verify(Arrays.asList("not a url"), null, new NullProgressMonitor());
+		assertEquals(Boolean.FALSE, results.get("not a url"));
+		assertEquals(0, transport.getRequestCount());
+	}
+
+	public void testVerifyCachesResults() throws Exception {
+		transport.availableSites.add("http://a.example.org/site/");
+		List<String> urls = Arrays.asList("http://a.example.org/site/", "http://b.example.org/site/");
+		verifier.verify(urls, null, new NullProgressMonitor());
+		assertEquals(6, transport.getRequestCount());
+
+		Map<String, Boolean> results = verifier.verify(urls, null, new NullProgressMonitor());
+		assertEquals(6, transport.getRequestCount());
+		assertEquals(Boolean.TRUE, results.get("http://a.example.org/site/"));
+		assertEquals(Boolean.FALSE, results.get("http://b.example.org/site/"));
+
+		// expire negative results only
+		verifier.setNegativeTtl(0);
+		verifier.verify(urls, null, new NullProgressMonitor());
+		assertEquals(11, transport.getRequestCount());
+
+		verifier.clearCache();
+		verifier.verify(urls, null, new NullProgressMonitor());
+		assertEquals(17, transport.getRequestCount());
+	}
+
+	public void testVerifyLimitsRequestsPerHost() throws Exception {
+		transport.latency = 20;
+		List<String> urls = new ArrayList<String>();
+		for (int i = 0; i < 6; i++) {
+			urls.add("http://a.example.org/site" + i + "/");
+			urls.add("http://b.example.org/site" + i + "/");
+			urls.add("http://c.example.org/site" + i + "/");
+		}
+		verifier.setMaxRequestsPerHost(2);
+		Map<String, Boolean> results = verifier.verify(urls, null, new NullProgressMonitor());
+		assertEquals(18, results.size());
+		assertEquals(2, transport.maxRunningPerHost);
+		assertEquals(6, transport.maxRunning);
+	}
+
+	public void testVerifyContinuesAfterFailedProbe() throws Exception {
+		transport.failingSites.add("http://a.example.org/site0/");
+		transport.availableSites.add("http://a.example.org/site1/");
+		transport.availableSites.add("http://a.example.org/site2/");
+		verifier.setMaxRequestsPerHost(1);
+		Map<String, Boolean> results = verifier.verify(Arrays.asList("http://a.example.org/site0/",
+				"http://a.example.org/site1/", "http://a.example.org/site2/"), null, new NullProgressMonitor());
+		// the failed site is not reported but the remaining sites on the same host are still probed
+		assertFalse(results.containsKey("http://a.example.org/site0/"));
+		assertEquals(Boolean.TRUE, results.get("http://a.example.org/site1/"));
+		assertEquals(Boolean.TRUE, results.get("http://a.example.org/site2/"));
+	}
+
+	public void testVerifyTimeout() throws Exception {
+		transport.latency = 2000;
+		verifier.setTimeout(100);
+		long start = System.currentTimeMillis();
+		Map<String, Boolean> results = verifier.verify(Arrays.asList("http://a.example.org/site/"), null,
+				new NullProgressMonitor());
+		assertTrue(System.currentTimeMillis() - start < 1500);
+		assertTrue(results.isEmpty());
+
+		// sites that timed out are not cached
+		transport.latency = 0;
+		verifier.setTimeout(SiteVerifier.DEFAULT_TIMEOUT);
+		results = verifier.verify(Arrays.asList("http://a.example.org/site/"), null, new NullProgressMonitor());
+		assertEquals(Boolean.FALSE, results.get("http://a.example.org/site/"));
+	}
+
+	public void testVerifyReportsResultsProgressively() throws Exception {
+		transport.latency = 50;
+		transport.availableSites.add("http://a.example.org/site/");
+		Listener listener = new Listener();
+		verifier.verify(Arrays.asList("http://b.example.org/site/", "http://a.example.org/site/"), listener,
+				new NullProgressMonitor());
+		// the available site requires a single probe and completes first
+		assertEquals(Arrays.asList("http://a.example.org/site/", "http://b.example.org/site/"), listener.urls);
+	}
+
+}
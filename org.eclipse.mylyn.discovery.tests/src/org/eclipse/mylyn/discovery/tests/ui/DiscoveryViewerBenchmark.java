@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.ui;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.operation.IRunnableContext;
+import org.eclipse.jface.operation.IRunnableWithProgress;
+import org.eclipse.jface.window.IShellProvider;
+import org.eclipse.mylyn.discovery.tests.core.mock.DiscoveryCategoryMockFactory;
+import org.eclipse.mylyn.discovery.tests.core.mock.DiscoveryConnectorMockFactory;
+import org.eclipse.mylyn.discovery.tests.core.mock.MockDiscoverySource;
+import org.eclipse.mylyn.discovery.tests.core.mock.MockDiscoveryStrategy;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDiscovery;
+import org.eclipse.mylyn.internal.discovery.core.model.Icon;
+import org.eclipse.mylyn.internal.discovery.ui.wizards.DiscoveryViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures the time from creating the contents of a {@link DiscoveryViewer} for a synthetic catalog of 2,000
+ * connectors until the first paint event and the number of widgets created, once with a composite per connector and
+ * once in virtual mode. Requires a display but not a workbench; not part of the test suite.
+ */
+public class DiscoveryViewerBenchmark extends TestCase {
+
+	private static final int CONNECTOR_COUNT = 2000;
+
+	private static final int CATEGORY_COUNT = 10;
+
+	private static final int ICON_COUNT = 100;
+
+	private static final long TIMEOUT = 60 * 1000;
+
+	private File iconDirectory;
+
+	private Shell shell;
+
+	@Override
+	protected void setUp() throws Exception {
+		iconDirectory = File.createTempFile("icons", "");
+		iconDirectory.delete();
+		iconDirectory.mkdirs();
+		for (int i = 0; i < ICON_COUNT; i++) {
+			ImageData imageData = new ImageData(64, 64, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			ImageLoader imageLoader = new ImageLoader();
+			imageLoader.data = new ImageData[] { imageData };
+			imageLoader.save(new File(iconDirectory, "ico" + i + ".png").getAbsolutePath(), SWT.IMAGE_PNG);
+		}
+		shell = new Shell(Display.getDefault());
+		shell.setLayout(new FillLayout());
+		shell.setSize(800, 600);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		shell.dispose();
+		for (File file : iconDirectory.listFiles()) {
+			file.delete();
+		}
+		iconDirectory.delete();
+	}
+
+	public void testTimeToFirstPaint() throws Exception {
+		int compositeWidgets = measure(false);
+		int virtualWidgets = measure(true);
+		assertTrue(virtualWidgets * 10 < compositeWidgets);
+	}
+
+	private int measure(boolean virtual) throws Exception {
+		for (Control child : shell.getChildren()) {
+			child.dispose();
+		}
+		DiscoveryViewer viewer = new DiscoveryViewer(new IShellProvider() {
+			public Shell getShell() {
+				return shell;
+			}
+		}, new IRunnableContext() {
+			public void run(boolean fork, boolean cancelable, IRunnableWithProgress runnable)
+					throws InvocationTargetException, InterruptedException {
+				runnable.run(new NullProgressMonitor());
+			}
+		});
+		viewer.setShowConnectorDescriptorKindFilter(false);
+		viewer.setShowConnectorDescriptorTextFilter(false);
+		viewer.setVirtual(virtual);
+		viewer.createControl(shell);
+		viewer.setDiscovery(createDiscovery());
+		shell.layout(true, true);
+		shell.open();
+		Display display = shell.getDisplay();
+		while (display.readAndDispatch()) {
+			// process pending events
+		}
+
+		final boolean[] painted = new boolean[1];
+		Listener paintListener = new Listener() {
+			public void handleEvent(Event event) {
+				painted[0] = true;
+			}
+		};
+		display.addFilter(SWT.Paint, paintListener);
+		try {
+			long start = System.nanoTime();
+			viewer.createBodyContents();
+			long deadline = System.currentTimeMillis() + TIMEOUT;
+			while (!painted[0] && System.currentTimeMillis() < deadline) {
+				if (!display.readAndDispatch()) {
+					Thread.sleep(1);
+				}
+			}
+			long elapsed = (System.nanoTime() - start) / 1000000;
+			assertTrue("No paint event received", painted[0]);
+
+			int widgets = countWidgets(viewer.getControl());
+			System.out.println(String.format("%-10s %d connectors: %6d ms to first paint, %6d widgets", //$NON-NLS-1$
+					(virtual) ? "virtual" : "composite", CONNECTOR_COUNT, elapsed, widgets)); //$NON-NLS-1$ //$NON-NLS-2$
+			return widgets;
+		} finally {
+			display.removeFilter(SWT.Paint, paintListener);
+			viewer.getControl().dispose();
+		}
+	}
+
+	private ConnectorDiscovery createDiscovery() throws Exception {
+		final MockDiscoverySource source = new MockDiscoverySource() {
+			@Override
+			public URL getResource(String resourceName) {
+				try {
+					return new File(iconDirectory, resourceName).toURI().toURL();
+				} catch (MalformedURLException e) {
+					return null;
+				}
+			}
+		};
+		MockDiscoveryStrategy strategy = new MockDiscoveryStrategy();
+		strategy.setConnectorCount(CONNECTOR_COUNT);
+		strategy.setCategoryCount(CATEGORY_COUNT);
+		strategy.setConnectorMockFactory(new DiscoveryConnectorMockFactory() {
+			@Override
+			protected void populateMockData() {
+				super.populateMockData();
+				getMockObject().setSource(source);
+				getMockObject().setIcon(createIcon(seed));
+			}
+		});
+		strategy.setCategoryMockFactory(new DiscoveryCategoryMockFactory() {
+			@Override
+			protected void populateMockData() {
+				super.populateMockData();
+				getMockObject().setSource(source);
+				getMockObject().setIcon(createIcon(seed));
+			}
+		});
+		ConnectorDiscovery discovery = new ConnectorDiscovery();
+		discovery.getDiscoveryStrategies().add(strategy);
+		discovery.performDiscovery(new NullProgressMonitor());
+		assertEquals(CONNECTOR_COUNT, discovery.getConnectors().size());
+		return discovery;
+	}
+
+	private Icon createIcon(int seed) {
+		String name = "ico" + (seed % ICON_COUNT) + ".png";
+		Icon icon = new Icon();
+		icon.setImage32(name);
+		icon.setImage48(name);
+		return icon;
+	}
+
+	private int countWidgets(Control control) {
+		int count = 1;
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				count += countWidgets(child);
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.ui.util;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.discovery.ui.util.DiscoveryIconLoader;
+import org.eclipse.mylyn.internal.discovery.ui.util.DiscoveryIconLoader.IIconListener;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+
+public class DiscoveryIconLoaderTest extends TestCase {
+
+	private static class Listener implements IIconListener {
+
+		private final CountDownLatch latch;
+
+		private final List<ImageData> results = Collections.synchronizedList(new ArrayList<ImageData>());
+
+		public Listener(int count) {
+			latch = new CountDownLatch(count);
+		}
+
+		public void iconLoaded(URL url, int size, ImageData imageData) {
+			results.add(imageData);
+			latch.countDown();
+		}
+
+		public void await() throws InterruptedException {
+			assertTrue("Timed out waiting for icon", latch.await(10, TimeUnit.SECONDS));
+		}
+
+	}
+
+	private File directory;
+
+	private DiscoveryIconLoader loader;
+
+	@Override
+	protected void setUp() throws Exception {
+		directory = File.createTempFile("icons", "");
+		directory.delete();
+		directory.mkdirs();
+		loader = new DiscoveryIconLoader();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		loader.dispose();
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	public void testLoadScalesIcon() throws Exception {
+		URL url = createIcon("icon.png", 64, 32);
+		Listener listener = new Listener(1);
+		loader.load(url, 32, listener);
+		listener.await();
+
+		ImageData imageData = listener.results.get(0);
+		assertEquals(32, imageData.width);
+		assertEquals(16, imageData.height);
+		assertTrue(loader.isCached(url, 32));
+		assertSame(imageData, loader.getImageData(url, 32));
+		assertFalse(loader.isCached(url, 48));
+	}
+
+	public void testLoadSmallIcon() throws Exception {
+		URL url = createIcon("icon.png", 16, 16);
+		Listener listener = new Listener(1);
+		loader.load(url, 32, listener);
+		listener.await();
+
+		assertEquals(16, listener.results.get(0).width);
+		assertEquals(16, listener.results.get(0).height);
+	}
+
+	public void testLoadCached() throws Exception {
+		URL url = createIcon("icon.png", 32, 32);
+		Listener listener = new Listener(1);
+		loader.load(url, 32, listener);
+		listener.await();
+
+		// cached icons are reported on the calling thread
+		Listener cachedListener = new Listener(1);
+		loader.load(url, 32, cachedListener);
+		assertEquals(1, cachedListener.results.size());
+		assertSame(listener.results.get(0), cachedListener.results.get(0));
+		assertEquals(1, loader.getLoadCount());
+	}
+
+	public void testLoadSameIconConcurrently() throws Exception {
+		URL url = createIcon("icon.png", 32, 32);
+		Listener listener = new Listener(3);
+		loader.load(url, 32, listener);
+		loader.load(url, 32, listener);
+		loader.load(url, 32, listener);
+		listener.await();
+
+		assertEquals(3, listener.results.size());
+		assertEquals(1, loader.getLoadCount());
+	}
+
+	public void testLoadMissingIcon() throws Exception {
+		URL url = new File(directory, "missing.png").toURI().toURL();
+		Listener listener = new Listener(1);
+		loader.load(url, 32, listener);
+		listener.await();
+
+		assertNull(listener.results.get(0));
+		// failures are cached as well
+		assertTrue(loader.isCached(url, 32));
+		loader.load(url, 32, new Listener(1));
+		assertEquals(1, loader.getLoadCount());
+	}
+
+	public void testCacheIsBounded() throws Exception {
+		loader.dispose();
+		loader = new DiscoveryIconLoader(1, 2);
+		URL url1 = createIcon("icon1.png", 32, 32);
+		URL url2 = createIcon("icon2.png", 32, 32);
+		URL url3 = createIcon("icon3.png", 32, 32);
+		for (URL url : new URL[] { url1, url2, url3 }) {
+			Listener listener = new Listener(1);
+			loader.load(url, 32, listener);
+			listener.await();
+		}
+
+		assertEquals(2, loader.getCacheSize());
+		assertFalse(loader.isCached(url1, 32));
+		assertTrue(loader.isCached(url2, 32));
+		assertTrue(loader.isCached(url3, 32));
+	}
+
+	private URL createIcon(String name, int width, int height) throws Exception {
+		ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		ImageLoader imageLoader = new ImageLoader();
+		imageLoader.data = new ImageData[] { imageData };
+		File file = new File(directory, name);
+		imageLoader.save(file.getAbsolutePath(), SWT.IMAGE_PNG);
+		return file.toURI().toURL();
+	}
+
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.ui.util;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.discovery.ui.util.VirtualRowIndex;
+
+public class VirtualRowIndexTest extends TestCase {
+
+	public void testEmpty() {
+		VirtualRowIndex index = new VirtualRowIndex(new int[0]);
+		assertEquals(0, index.getRowCount());
+		assertEquals(0, index.getTotalHeight());
+		assertEquals(-1, index.getRowAt(10));
+		assertNull(index.getRange(0, 100, 0));
+	}
+
+	public void testGetRowAt() {
+		VirtualRowIndex index = new VirtualRowIndex(new int[] { 40, 60, 60, 60 });
+		assertEquals(220, index.getTotalHeight());
+		assertEquals(0, index.getRowAt(-5));
+		assertEquals(0, index.getRowAt(0));
+		assertEquals(0, index.getRowAt(39));
+		assertEquals(1, index.getRowAt(40));
+		assertEquals(2, index.getRowAt(100));
+		assertEquals(3, index.getRowAt(219));
+		assertEquals(3, index.getRowAt(500));
+		assertEquals(100, index.getTop(2));
+		assertEquals(60, index.getHeight(2));
+	}
+
+	public void testGetRange() {
+		int[] heights = new int[2000];
+		Arrays.fill(heights, 50);
+		VirtualRowIndex index = new VirtualRowIndex(heights);
+		assertEquals(Arrays.toString(new int[] { 0, 9 }), Arrays.toString(index.getRange(0, 500, 0)));
+		assertEquals(Arrays.toString(new int[] { 1, 11 }), Arrays.toString(index.getRange(75, 500, 0)));
+		assertEquals(Arrays.toString(new int[] { 0, 13 }), Arrays.toString(index.getRange(75, 500, 100)));
+		assertEquals(Arrays.toString(new int[] { 1998, 1999 }), Arrays.toString(index.getRange(99900, 500, 0)));
+	}
+
+	public void testGetRowAtZeroHeightRows() {
+		VirtualRowIndex index = new VirtualRowIndex(new int[] { 10, 0, 0, 10 });
+		assertEquals(0, index.getRowAt(5));
+		assertEquals(3, index.getRowAt(10));
+	}
+
+}
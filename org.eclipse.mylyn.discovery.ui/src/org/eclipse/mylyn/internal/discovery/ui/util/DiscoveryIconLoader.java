@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.ui.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+
+/**
+ * Decodes and scales icons on a pool of background threads. Decoded icons are kept in a cache that is bounded by the
+ * number of entries and evicts the least recently used icon. Since the cache holds {@link ImageData} rather than
+ * images it does not consume operating system resources; clients create images for icons that are displayed.
+ */
+public class DiscoveryIconLoader {
+
+	/**
+	 * Notified when an icon has been loaded. Invoked on a background thread or on the requesting thread if the icon was
+	 * cached.
+	 */
+	public interface IIconListener {
+
+		/**
+		 * @param imageData
+		 *            the icon scaled to fit the requested size or null, if the icon could not be loaded
+		 */
+		public void iconLoaded(URL url, int size, ImageData imageData);
+
+	}
+
+	public static final int DEFAULT_CACHE_SIZE = 256;
+
+	public static final int DEFAULT_THREADS = 2;
+
+	private final Map<String, ImageData> imageDataByKey;
+
+	private final Map<String, List<IIconListener>> listenersByKey = new HashMap<String, List<IIconListener>>();
+
+	private final ThreadPoolExecutor executor;
+
+	private final AtomicInteger loadCount = new AtomicInteger();
+
+	public DiscoveryIconLoader() {
+		this(DEFAULT_THREADS, DEFAULT_CACHE_SIZE);
+	}
+
+	public DiscoveryIconLoader(int threads, final int cacheSize) {
+		Assert.isLegal(threads > 0);
+		Assert.isLegal(cacheSize > 0);
+		this.imageDataByKey = new LinkedHashMap<String, ImageData>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ImageData> eldest) {
+				return size() > cacheSize;
+			}
+
+		};
+		final AtomicInteger count = new AtomicInteger();
+		// requests are processed last in, first out since the most recent requests are for rows that are visible
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingDeque<Runnable>() {
+
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public boolean offer(Runnable r) {
+						return offerFirst(r);
+					}
+
+				}, new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "Discovery Icon Loader-" + count.incrementAndGet()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						thread.setPriority(Thread.MIN_PRIORITY);
+						return thread;
+					}
+				});
+	}
+
+	/**
+	 * Returns true, if the icon has been loaded and is still cached. The cached icon may be null if loading failed.
+	 * 
+	 * @see #getImageData(URL, int)
+	 */
+	public synchronized boolean isCached(URL url, int size) {
+		return imageDataByKey.containsKey(getKey(url, size));
+	}
+
+	/**
+	 * Returns the cached icon or null, if the icon has not been loaded or could not be loaded.
+	 */
+	public synchronized ImageData getImageData(URL url, int size) {
+		return imageDataByKey.get(getKey(url, size));
+	}
+
+	/**
+	 * Loads the icon at <code>url</code> and scales it to fit <code>size</code>. If the icon is cached
+	 * <code>listener</code> is notified immediately. Concurrent requests for the same icon are only loaded once.
+	 */
+	public void load(final URL url, final int size, IIconListener listener) {
+		Assert.isNotNull(url);
+		Assert.isNotNull(listener);
+		final String key = getKey(url, size);
+		synchronized (this) {
+			if (!imageDataByKey.containsKey(key)) {
+				List<IIconListener> listeners = listenersByKey.get(key);
+				if (listeners != null) {
+					listeners.add(listener);
+					return;
+				}
+				listeners = new ArrayList<IIconListener>(1);
+				listeners.add(listener);
+				listenersByKey.put(key, listeners);
+				try {
+					executor.execute(new Runnable() {
+						public void run() {
+							loaded(key, url, size, load(url, size));
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					// disposed
+					listenersByKey.remove(key);
+				}
+				return;
+			}
+		}
+		listener.iconLoaded(url, size, getImageData(url, size));
+	}
+
+	private void loaded(String key, URL url, int size, ImageData imageData) {
+		List<IIconListener> listeners;
+		synchronized (this) {
+			imageDataByKey.put(key, imageData);
+			listeners = listenersByKey.remove(key);
+		}
+		if (listeners != null) {
+			for (IIconListener listener : listeners) {
+				listener.iconLoaded(url, size, imageData);
+			}
+		}
+	}
+
+	private ImageData load(URL url, int size) {
+		loadCount.incrementAndGet();
+		try {
+			InputStream in = url.openStream();
+			try {
+				ImageData[] data = new ImageLoader().load(in);
+				if (data.length == 0) {
+					return null;
+				}
+				return scale(data[0], size);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			return null;
+		} catch (SWTException e) {
+			// unsupported or corrupt image
+			return null;
+		}
+	}
+
+	/**
+	 * Scales <code>imageData</code> to fit into a square of <code>size</code> pixels preserving the aspect ratio.
+	 * Images that fit already are not modified.
+	 */
+	static ImageData scale(ImageData imageData, int size) {
+		if (imageData.width <= size && imageData.height <= size) {
+			return imageData;
+		}
+		if (imageData.width >= imageData.height) {
+			return imageData.scaledTo(size, Math.max(1, imageData.height * size / imageData.width));
+		} else {
+			return imageData.scaledTo(Math.max(1, imageData.width * size / imageData.height), size);
+		}
+	}
+
+	/**
+	 * Discards pending requests without notifying listeners. Icons that are currently loading are still cached.
+	 */
+	public synchronized void cancel() {
+		listenersByKey.clear();
+		executor.getQueue().clear();
+	}
+
+	/**
+	 * Stops loading and discards all cached icons.
+	 */
+	public synchronized void dispose() {
+		executor.shutdownNow();
+		listenersByKey.clear();
+		imageDataByKey.clear();
+	}
+
+	/**
+	 * Returns the number of icons that were decoded.
+	 */
+	public int getLoadCount() {
+		return loadCount.get();
+	}
+
+	public synchronized int getCacheSize() {
+		return imageDataByKey.size();
+	}
+
+	private String getKey(URL url, int size) {
+		return size + ":" + url.toExternalForm(); //$NON-NLS-1$
+	}
+
+}
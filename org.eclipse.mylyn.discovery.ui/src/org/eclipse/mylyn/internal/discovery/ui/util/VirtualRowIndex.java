@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.ui.util;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Maps vertical positions to the rows of a virtual list. Rows have individual heights and are stacked without gaps.
+ */
+public class VirtualRowIndex {
+
+	private final int[] tops;
+
+	/**
+	 * @param heights
+	 *            the height of each row
+	 */
+	public VirtualRowIndex(int[] heights) {
+		Assert.isNotNull(heights);
+		tops = new int[heights.length + 1];
+		for (int i = 0; i < heights.length; i++) {
+			Assert.isLegal(heights[i] >= 0);
+			tops[i + 1] = tops[i] + heights[i];
+		}
+	}
+
+	public int getRowCount() {
+		return tops.length - 1;
+	}
+
+	public int getTop(int row) {
+		return tops[row];
+	}
+
+	public int getHeight(int row) {
+		return tops[row + 1] - tops[row];
+	}
+
+	public int getTotalHeight() {
+		return tops[tops.length - 1];
+	}
+
+	/**
+	 * Returns the row that contains <code>y</code>, the first or last row if <code>y</code> is outside of the list or
+	 * -1, if the list is empty.
+	 */
+	public int getRowAt(int y) {
+		int count = getRowCount();
+		if (count == 0) {
+			return -1;
+		}
+		if (y <= 0) {
+			return 0;
+		}
+		if (y >= getTotalHeight()) {
+			return count - 1;
+		}
+		// find the last row with a top less or equal to y
+		int low = 0;
+		int high = count - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (tops[mid] <= y) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the first and last row that intersect the viewport at <code>offset</code> extended by
+	 * <code>overscan</code> pixels above and below, or null if the list is empty.
+	 */
+	public int[] getRange(int offset, int viewportHeight, int overscan) {
+		if (getRowCount() == 0) {
+			return null;
+		}
+		int first = getRowAt(offset - overscan);
+		int last = getRowAt(offset + viewportHeight + overscan - 1);
+		return new int[] { first, Math.max(first, last) };
+	}
+
+}
@@ -50,6 +50,7 @@ public class ConnectorDiscoveryWizardMainPage extends WizardPage implements IShe
 		viewer.setShowConnectorDescriptorTextFilter(getWizard().isShowConnectorDescriptorTextFilter());
 		viewer.setVerifyUpdateSiteAvailability(true);
 		viewer.setShowInstalledFilterEnabled(true);
+		viewer.setVirtual(true);
 		viewer.setMinimumHeight(MINIMUM_HEIGHT);
 		viewer.addSelectionChangedListener(new ISelectionChangedListener() {
 			public void selectionChanged(SelectionChangedEvent event) {
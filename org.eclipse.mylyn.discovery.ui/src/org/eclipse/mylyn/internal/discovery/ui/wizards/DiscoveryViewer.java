@@ -16,11 +16,13 @@ import java.beans.PropertyChangeListener;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,8 +57,12 @@ import org.eclipse.mylyn.commons.ui.compatibility.CommonThemes;
 import org.eclipse.mylyn.commons.workbench.browser.BrowserUtil;
 import org.eclipse.mylyn.internal.discovery.core.model.AbstractDiscoverySource;
 import org.eclipse.mylyn.internal.discovery.core.model.BundleDiscoveryStrategy;
+import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
 import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptor;
 import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorKind;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.Delta;
+import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptorRegistry.IRegistryListener;
 import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDiscovery;
 import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryCategory;
 import org.eclipse.mylyn.internal.discovery.core.model.DiscoveryConnector;
@@ -67,6 +73,9 @@ import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCategoryComparato
 import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryConnectorComparator;
 import org.eclipse.mylyn.internal.discovery.ui.DiscoveryImages;
 import org.eclipse.mylyn.internal.discovery.ui.DiscoveryUi;
+import org.eclipse.mylyn.internal.discovery.ui.util.DiscoveryIconLoader;
+import org.eclipse.mylyn.internal.discovery.ui.util.DiscoveryIconLoader.IIconListener;
+import org.eclipse.mylyn.internal.discovery.ui.util.VirtualRowIndex;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.accessibility.ACC;
@@ -99,6 +108,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
@@ -113,6 +123,7 @@ import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Link;
 import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.swt.widgets.ToolBar;
@@ -166,6 +177,11 @@ public class DiscoveryViewer {
 
 		private final Composite connectorContainer;
 
+		/**
+		 * The separator above this row, null for the first row of a category.
+		 */
+		private Composite separator;
+
 		private final Display display;
 
 		private Image iconImage;
@@ -179,6 +195,12 @@ public class DiscoveryViewer {
 			connector.addPropertyChangeListener(this);
 
 			connectorContainer = new Composite(categoryChildrenContainer, SWT.NULL);
+			connectorContainer.addDisposeListener(new DisposeListener() {
+				public void widgetDisposed(DisposeEvent e) {
+					// rows are removed when connectors change while the discovery is kept
+					connector.removePropertyChangeListener(ConnectorDescriptorItemUi.this);
+				}
+			});
 
 			configureLook(connectorContainer, background);
 			GridDataFactory.fillDefaults().grab(true, false).applyTo(connectorContainer);
@@ -281,12 +303,7 @@ public class DiscoveryViewer {
 			configureLook(description, background);
 
 			GridDataFactory.fillDefaults().grab(true, false).span(3, 1).hint(100, SWT.DEFAULT).applyTo(description);
-			String descriptionText = connector.getDescription();
-			int maxDescriptionLength = 162;
-			if (descriptionText.length() > maxDescriptionLength) {
-				descriptionText = descriptionText.substring(0, maxDescriptionLength);
-			}
-			description.setText(descriptionText.replaceAll("(\\r\\n)|\\n|\\r", " ")); //$NON-NLS-1$ //$NON-NLS-2$
+			description.setText(getDescriptionText(connector));
 
 			// always disabled color to make it less prominent
 			providerLabel.setForeground(colorDisabled);
@@ -321,30 +338,7 @@ public class DiscoveryViewer {
 		}
 
 		protected boolean maybeModifySelection(boolean selected) {
-			if (selected) {
-				if (connector.isInstalled()) {
-					MessageDialog.openWarning(shellProvider.getShell(),
-							Messages.DiscoveryViewer_Install_Connector_Title,
-							NLS.bind(Messages.DiscoveryViewer_Already_installed_Error, connector.getName()));
-					return false;
-				}
-				if (!connector.isInstallable()) {
-					if (connector.getInstallMessage() != null) {
-						MessageDialog.openInformation(shellProvider.getShell(),
-								Messages.DiscoveryViewer_Install_Connector_Title, connector.getInstallMessage());
-					}
-					return false;
-				}
-				if (connector.getAvailable() != null && !connector.getAvailable()) {
-					MessageDialog.openWarning(shellProvider.getShell(),
-							Messages.ConnectorDiscoveryWizardMainPage_warningTitleConnectorUnavailable, NLS.bind(
-									Messages.ConnectorDiscoveryWizardMainPage_warningMessageConnectorUnavailable,
-									connector.getName()));
-					return false;
-				}
-			}
-			DiscoveryViewer.this.modifySelection(connector, selected);
-			return true;
+			return DiscoveryViewer.this.maybeModifySelection(connector, selected);
 		}
 
 		public void propertyChange(PropertyChangeEvent evt) {
@@ -358,8 +352,7 @@ public class DiscoveryViewer {
 		}
 
 		public void updateAvailability() {
-			boolean enabled = !connector.isInstalled()
-					&& (connector.getAvailable() == null || connector.getAvailable());
+			boolean enabled = isEnabled(connector);
 
 			checkbox.setEnabled(enabled);
 			nameLabel.setEnabled(enabled);
@@ -390,6 +383,636 @@ public class DiscoveryViewer {
 		}
 	}
 
+	/**
+	 * A row of the virtual list that is bound to a category or connector while it is in or near the viewport and
+	 * recycled afterwards.
+	 */
+	private abstract class VirtualRow implements IIconListener {
+
+		protected final VirtualConnectorList list;
+
+		protected final Display display;
+
+		protected Label iconLabel;
+
+		private Image iconImage;
+
+		private URL iconUrl;
+
+		public VirtualRow(VirtualConnectorList list) {
+			this.list = list;
+			this.display = list.canvas.getDisplay();
+		}
+
+		public abstract Composite getControl();
+
+		public abstract void bind(Object element);
+
+		public void unbind() {
+			iconUrl = null;
+		}
+
+		public void hideToolTip() {
+		}
+
+		protected void initialize() {
+			getControl().addDisposeListener(new DisposeListener() {
+				public void widgetDisposed(DisposeEvent e) {
+					unbind();
+					if (iconImage != null) {
+						iconImage.dispose();
+						iconImage = null;
+					}
+				}
+			});
+			hookMouseWheel(getControl());
+			Dialog.applyDialogFont(getControl());
+		}
+
+		private void hookMouseWheel(Control control) {
+			control.addListener(SWT.MouseVerticalWheel, list);
+			if (control instanceof Composite) {
+				for (Control child : ((Composite) control).getChildren()) {
+					hookMouseWheel(child);
+				}
+			}
+		}
+
+		/**
+		 * Displays the icon from the cache or shows a placeholder while the icon is loaded in the background.
+		 */
+		protected void updateIcon(AbstractDiscoverySource source, Icon icon, int size, boolean fallback) {
+			iconUrl = (icon != null) ? computeIconUrl(source, icon, size, fallback) : null;
+			if (iconUrl == null) {
+				setIcon(null, null);
+			} else if (iconLoader.isCached(iconUrl, size)) {
+				setIcon(iconLoader.getImageData(iconUrl, size), null);
+			} else {
+				setIcon(null, (size == 32) ? placeholderImage : null);
+				iconLoader.load(iconUrl, size, this);
+			}
+		}
+
+		public void iconLoaded(final URL url, int size, final ImageData imageData) {
+			if (display.isDisposed()) {
+				return;
+			}
+			display.asyncExec(new Runnable() {
+				public void run() {
+					// the row may have been recycled in the meantime
+					if (!getControl().isDisposed() && iconUrl != null
+							&& iconUrl.toExternalForm().equals(url.toExternalForm())) {
+						setIcon(imageData, null);
+					}
+				}
+			});
+		}
+
+		private void setIcon(ImageData imageData, Image placeholder) {
+			Image oldImage = iconImage;
+			iconImage = (imageData != null) ? new Image(display, imageData) : null;
+			iconLabel.setImage((iconImage != null) ? iconImage : placeholder);
+			if (oldImage != null) {
+				oldImage.dispose();
+			}
+		}
+
+	}
+
+	private class CategoryRow extends VirtualRow {
+
+		private final GradientCanvas categoryHeaderContainer;
+
+		private final Label nameLabel;
+
+		private final ToolBar toolBar;
+
+		private final Label description;
+
+		private DiscoveryCategory category;
+
+		private OverviewToolTip toolTip;
+
+		public CategoryRow(VirtualConnectorList list) {
+			super(list);
+			categoryHeaderContainer = new GradientCanvas(list.canvas, SWT.NONE);
+			categoryHeaderContainer.setSeparatorVisible(true);
+			categoryHeaderContainer.setSeparatorAlignment(SWT.TOP);
+			categoryHeaderContainer.setBackgroundGradient(new Color[] { colorCategoryGradientStart,
+					colorCategoryGradientEnd }, new int[] { 100 }, true);
+			categoryHeaderContainer.putColor(IFormColors.H_BOTTOM_KEYLINE1, colorCategoryGradientStart);
+			categoryHeaderContainer.putColor(IFormColors.H_BOTTOM_KEYLINE2, colorCategoryGradientEnd);
+			GridLayoutFactory.fillDefaults().numColumns(3).margins(5, 5).equalWidth(false).applyTo(
+					categoryHeaderContainer);
+
+			iconLabel = new Label(categoryHeaderContainer, SWT.NULL);
+			iconLabel.setBackground(null);
+			GridDataFactory.swtDefaults().align(SWT.CENTER, SWT.BEGINNING).span(1, 2).applyTo(iconLabel);
+
+			nameLabel = new Label(categoryHeaderContainer, SWT.NULL);
+			nameLabel.setFont(h1Font);
+			nameLabel.setBackground(null);
+			GridDataFactory.fillDefaults().grab(true, false).applyTo(nameLabel);
+
+			toolBar = new ToolBar(categoryHeaderContainer, SWT.FLAT);
+			toolBar.setBackground(null);
+			ToolItem infoButton = new ToolItem(toolBar, SWT.PUSH);
+			infoButton.setImage(infoImage);
+			infoButton.setToolTipText(Messages.ConnectorDiscoveryWizardMainPage_tooltip_showOverview);
+			infoButton.addSelectionListener(new SelectionAdapter() {
+				@Override
+				public void widgetSelected(SelectionEvent e) {
+					if (category != null) {
+						if (toolTip == null) {
+							toolTip = new OverviewToolTip(toolBar, category.getSource(), category.getOverview(), null);
+						}
+						toolTip.show(nameLabel);
+					}
+				}
+			});
+			GridDataFactory.fillDefaults().align(SWT.END, SWT.CENTER).applyTo(toolBar);
+
+			description = new Label(categoryHeaderContainer, SWT.WRAP);
+			description.setBackground(null);
+			GridDataFactory.fillDefaults().grab(true, false).span(2, 1).hint(100, SWT.DEFAULT).applyTo(description);
+
+			initialize();
+		}
+
+		@Override
+		public Composite getControl() {
+			return categoryHeaderContainer;
+		}
+
+		@Override
+		public void bind(Object element) {
+			unbind();
+			category = (DiscoveryCategory) element;
+			nameLabel.setText(category.getName());
+			description.setText(category.getDescription());
+			toolBar.setVisible(hasTooltip(category));
+			updateIcon(category.getSource(), category.getIcon(), 48, true);
+		}
+
+		@Override
+		public void unbind() {
+			super.unbind();
+			hideToolTip();
+			if (toolTip != null) {
+				toolTip.deactivate();
+				toolTip = null;
+			}
+			category = null;
+		}
+
+		@Override
+		public void hideToolTip() {
+			if (toolTip != null) {
+				toolTip.hide();
+			}
+		}
+
+	}
+
+	private class ConnectorRow extends VirtualRow implements PropertyChangeListener {
+
+		private final Composite connectorContainer;
+
+		private final Button checkbox;
+
+		private final Label nameLabel;
+
+		private final Link providerLabel;
+
+		private final ToolBar toolBar;
+
+		private final Label description;
+
+		private DiscoveryConnector connector;
+
+		private OverviewToolTip toolTip;
+
+		public ConnectorRow(VirtualConnectorList list, Color background) {
+			super(list);
+			connectorContainer = new Composite(list.canvas, SWT.NULL);
+			configureLook(connectorContainer, background);
+			GridLayout layout = new GridLayout(4, false);
+			layout.marginLeft = 7;
+			layout.marginTop = 2;
+			layout.marginBottom = 2;
+			connectorContainer.setLayout(layout);
+			connectorContainer.addPaintListener(new PaintListener() {
+				public void paintControl(PaintEvent e) {
+					// a separator between connector descriptors
+					e.gc.setLineStyle(SWT.LINE_DOT);
+					e.gc.drawLine(0, 0, connectorContainer.getSize().x, 0);
+				}
+			});
+
+			Composite checkboxAndIconContainer = new Composite(connectorContainer, SWT.NULL);
+			configureLook(checkboxAndIconContainer, background);
+			GridDataFactory.swtDefaults().align(SWT.CENTER, SWT.BEGINNING).span(1, 2).applyTo(checkboxAndIconContainer);
+			GridLayoutFactory.fillDefaults().spacing(1, 1).numColumns(2).applyTo(checkboxAndIconContainer);
+
+			Composite checkboxContainer = new Composite(checkboxAndIconContainer, SWT.NULL);
+			GridLayout checkboxLayout = new GridLayout(1, false);
+			checkboxLayout.marginRight = 7;
+			checkboxContainer.setLayout(checkboxLayout);
+			configureLook(checkboxContainer, background);
+
+			checkbox = new Button(checkboxContainer, SWT.CHECK);
+			checkbox.addFocusListener(new FocusAdapter() {
+				@Override
+				public void focusGained(FocusEvent e) {
+					if (connector != null) {
+						list.reveal(connector);
+					}
+				}
+			});
+			GridDataFactory.swtDefaults().align(SWT.CENTER, SWT.CENTER).applyTo(checkbox);
+
+			iconLabel = new Label(checkboxAndIconContainer, SWT.NULL);
+			configureLook(iconLabel, background);
+			GridDataFactory.swtDefaults().align(SWT.CENTER, SWT.CENTER).hint(32, 32).applyTo(iconLabel);
+
+			nameLabel = new Label(connectorContainer, SWT.NULL);
+			configureLook(nameLabel, background);
+			GridDataFactory.fillDefaults().grab(true, false).align(SWT.BEGINNING, SWT.CENTER).applyTo(nameLabel);
+			nameLabel.setFont(h2Font);
+
+			providerLabel = new Link(connectorContainer, SWT.RIGHT);
+			configureLook(providerLabel, background);
+			GridDataFactory.fillDefaults().align(SWT.END, SWT.CENTER).applyTo(providerLabel);
+			providerLabel.addSelectionListener(new SelectionAdapter() {
+				@Override
+				public void widgetSelected(SelectionEvent e) {
+					if (connector != null && connector.getCertification() != null
+							&& connector.getCertification().getUrl() != null) {
+						BrowserUtil.openUrl(connector.getCertification().getUrl(),
+								IWorkbenchBrowserSupport.AS_EXTERNAL);
+					}
+				}
+			});
+			// always disabled color to make it less prominent
+			providerLabel.setForeground(colorDisabled);
+
+			toolBar = new ToolBar(connectorContainer, SWT.FLAT);
+			toolBar.setBackground(background);
+			ToolItem infoButton = new ToolItem(toolBar, SWT.PUSH);
+			infoButton.setImage(infoImage);
+			infoButton.setToolTipText(Messages.ConnectorDiscoveryWizardMainPage_tooltip_showOverview);
+			infoButton.addSelectionListener(new SelectionAdapter() {
+				@Override
+				public void widgetSelected(SelectionEvent e) {
+					if (connector != null) {
+						if (toolTip == null) {
+							toolTip = new OverviewToolTip(toolBar, connector.getSource(), connector.getOverview(),
+									null);
+						}
+						toolTip.show(nameLabel);
+					}
+				}
+			});
+			GridDataFactory.fillDefaults().align(SWT.END, SWT.CENTER).applyTo(toolBar);
+
+			description = new Label(connectorContainer, SWT.NULL | SWT.WRAP);
+			configureLook(description, background);
+			GridDataFactory.fillDefaults().grab(true, false).span(3, 1).hint(100, SWT.DEFAULT).applyTo(description);
+
+			checkbox.addSelectionListener(new SelectionListener() {
+				public void widgetDefaultSelected(SelectionEvent e) {
+					widgetSelected(e);
+				}
+
+				public void widgetSelected(SelectionEvent e) {
+					if (connector != null && !maybeModifySelection(connector, checkbox.getSelection())) {
+						checkbox.setSelection(!checkbox.getSelection());
+					}
+				}
+			});
+			MouseListener connectorItemMouseListener = new MouseAdapter() {
+				@Override
+				public void mouseUp(MouseEvent e) {
+					boolean selected = !checkbox.getSelection();
+					if (connector != null && maybeModifySelection(connector, selected)) {
+						checkbox.setSelection(selected);
+					}
+				}
+			};
+			checkboxAndIconContainer.addMouseListener(connectorItemMouseListener);
+			checkboxContainer.addMouseListener(connectorItemMouseListener);
+			connectorContainer.addMouseListener(connectorItemMouseListener);
+			iconLabel.addMouseListener(connectorItemMouseListener);
+			nameLabel.addMouseListener(connectorItemMouseListener);
+			description.addMouseListener(connectorItemMouseListener);
+
+			initialize();
+		}
+
+		@Override
+		public Composite getControl() {
+			return connectorContainer;
+		}
+
+		@Override
+		public void bind(Object element) {
+			unbind();
+			connector = (DiscoveryConnector) element;
+			connector.addPropertyChangeListener(this);
+
+			// help UI tests
+			checkbox.setData("connectorId", connector.getId()); //$NON-NLS-1$
+			checkbox.setVisible(connector.isInstallable());
+			checkbox.setSelection(installableConnectors.contains(connector));
+			if (connector.isInstalled()) {
+				nameLabel.setText(NLS.bind(Messages.DiscoveryViewer_X_installed, connector.getName()));
+			} else {
+				nameLabel.setText(connector.getName());
+			}
+			if (connector.getCertification() != null) {
+				providerLabel.setText(NLS.bind(Messages.DiscoveryViewer_Certification_Label0, new String[] {
+						connector.getProvider(), connector.getLicense(), connector.getCertification().getName() }));
+				providerLabel.setToolTipText(connector.getCertification().getDescription());
+			} else {
+				providerLabel.setText(NLS.bind(Messages.ConnectorDiscoveryWizardMainPage_provider_and_license,
+						connector.getProvider(), connector.getLicense()));
+				providerLabel.setToolTipText(null);
+			}
+			toolBar.setVisible(hasTooltip(connector));
+			description.setText(getDescriptionText(connector));
+			updateIcon(connector.getSource(), connector.getIcon(), 32, false);
+			updateAvailability();
+		}
+
+		@Override
+		public void unbind() {
+			super.unbind();
+			hideToolTip();
+			if (toolTip != null) {
+				toolTip.deactivate();
+				toolTip = null;
+			}
+			if (connector != null) {
+				connector.removePropertyChangeListener(this);
+				connector = null;
+			}
+		}
+
+		@Override
+		public void hideToolTip() {
+			if (toolTip != null) {
+				toolTip.hide();
+			}
+		}
+
+		public void propertyChange(final PropertyChangeEvent evt) {
+			if (display.isDisposed()) {
+				return;
+			}
+			display.asyncExec(new Runnable() {
+				public void run() {
+					if (!connectorContainer.isDisposed() && connector == evt.getSource()) {
+						updateAvailability();
+					}
+				}
+			});
+		}
+
+		private void updateAvailability() {
+			boolean enabled = isEnabled(connector);
+			checkbox.setEnabled(enabled);
+			nameLabel.setEnabled(enabled);
+			providerLabel.setEnabled(enabled);
+			description.setEnabled(enabled);
+			Color foreground = (enabled) ? connectorContainer.getForeground() : colorDisabled;
+			nameLabel.setForeground(foreground);
+			description.setForeground(foreground);
+		}
+
+	}
+
+	/**
+	 * Displays categories and connectors in a scrollable list that only creates widgets for rows that are in or near
+	 * the viewport. Rows are positioned explicitly and recycled when they are scrolled out of view.
+	 */
+	private class VirtualConnectorList implements Listener {
+
+		/**
+		 * The number of pixels above and below the viewport for which rows are materialized.
+		 */
+		private static final int OVERSCAN = 200;
+
+		private final Composite canvas;
+
+		private List<Object> elements;
+
+		private DiscoveryConnector prototypeConnector;
+
+		private final Map<Integer, VirtualRow> rowByIndex = new HashMap<Integer, VirtualRow>();
+
+		private final List<CategoryRow> freeCategoryRows = new ArrayList<CategoryRow>();
+
+		private final List<ConnectorRow> freeConnectorRows = new ArrayList<ConnectorRow>();
+
+		private VirtualRowIndex index = new VirtualRowIndex(new int[0]);
+
+		private int width = -1;
+
+		private int offset;
+
+		public VirtualConnectorList(Composite parent, List<Object> elements) {
+			this.elements = elements;
+			canvas = new Composite(parent, SWT.V_SCROLL | SWT.BORDER);
+			configureLook(canvas, colorWhite);
+			GridDataFactory.fillDefaults().grab(true, true).applyTo(canvas);
+			canvas.addListener(SWT.Resize, this);
+			canvas.getVerticalBar().addListener(SWT.Selection, this);
+			this.prototypeConnector = computePrototype(elements);
+		}
+
+		/**
+		 * Returns the connector that is used to measure the height of connector rows. All connectors have the same
+		 * height, measured with the longest description.
+		 */
+		private DiscoveryConnector computePrototype(List<Object> elements) {
+			DiscoveryConnector prototype = null;
+			int length = -1;
+			for (Object element : elements) {
+				if (element instanceof DiscoveryConnector) {
+					int descriptionLength = getDescriptionText((DiscoveryConnector) element).length();
+					if (descriptionLength > length) {
+						prototype = (DiscoveryConnector) element;
+						length = descriptionLength;
+					}
+				}
+			}
+			return prototype;
+		}
+
+		/**
+		 * Replaces the displayed elements and keeps the scroll position. Only rows in and near the viewport are bound
+		 * again.
+		 */
+		public void setElements(List<Object> elements) {
+			this.elements = elements;
+			this.prototypeConnector = computePrototype(elements);
+			releaseAll();
+			width = -1;
+			refresh();
+		}
+
+		public void handleEvent(Event event) {
+			switch (event.type) {
+			case SWT.Resize:
+				refresh();
+				break;
+			case SWT.Selection:
+				setOffset(canvas.getVerticalBar().getSelection());
+				break;
+			case SWT.MouseVerticalWheel:
+				setOffset(offset - event.count * canvas.getVerticalBar().getIncrement());
+				break;
+			}
+		}
+
+		public void reveal(DiscoveryConnector connector) {
+			int i = elements.indexOf(connector);
+			if (i != -1) {
+				int viewportHeight = canvas.getClientArea().height;
+				if (index.getTop(i) < offset) {
+					setOffset(index.getTop(i));
+				} else if (index.getTop(i) + index.getHeight(i) > offset + viewportHeight) {
+					setOffset(index.getTop(i) + index.getHeight(i) - viewportHeight);
+				}
+			}
+		}
+
+		private void refresh() {
+			Rectangle area = canvas.getClientArea();
+			if (area.width != width) {
+				width = area.width;
+				releaseAll();
+				measure();
+			}
+			ScrollBar bar = canvas.getVerticalBar();
+			int total = index.getTotalHeight();
+			offset = Math.max(0, Math.min(offset, total - area.height));
+			int increment = Math.max(1, (index.getRowCount() > 0) ? index.getHeight(index.getRowCount() - 1) / 2 : 1);
+			bar.setValues(offset, 0, Math.max(1, total), Math.max(1, Math.min(area.height, total)), increment,
+					Math.max(1, area.height));
+			update();
+		}
+
+		private void measure() {
+			int[] heights = new int[elements.size()];
+			int connectorHeight = -1;
+			for (int i = 0; i < elements.size(); i++) {
+				Object element = elements.get(i);
+				if (element instanceof DiscoveryCategory) {
+					heights[i] = measure(element);
+				} else {
+					if (connectorHeight == -1) {
+						connectorHeight = measure(prototypeConnector);
+					}
+					heights[i] = connectorHeight;
+				}
+			}
+			index = new VirtualRowIndex(heights);
+		}
+
+		private int measure(Object element) {
+			VirtualRow row = acquire(element);
+			try {
+				row.bind(element);
+				return row.getControl().computeSize(width, SWT.DEFAULT, true).y;
+			} finally {
+				release(row);
+			}
+		}
+
+		private void setOffset(int offset) {
+			int max = Math.max(0, index.getTotalHeight() - canvas.getClientArea().height);
+			offset = Math.max(0, Math.min(offset, max));
+			if (offset != this.offset) {
+				this.offset = offset;
+				canvas.getVerticalBar().setSelection(offset);
+				for (VirtualRow row : rowByIndex.values()) {
+					row.hideToolTip();
+				}
+				update();
+			}
+		}
+
+		/**
+		 * Binds rows in and near the viewport and recycles rows that have moved out of it.
+		 */
+		private void update() {
+			Rectangle area = canvas.getClientArea();
+			int[] range = index.getRange(offset, area.height, OVERSCAN);
+			for (Iterator<Map.Entry<Integer, VirtualRow>> it = rowByIndex.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<Integer, VirtualRow> entry = it.next();
+				int i = entry.getKey();
+				if (range == null || i < range[0] || i > range[1]) {
+					release(entry.getValue());
+					it.remove();
+				}
+			}
+			if (range != null) {
+				for (int i = range[0]; i <= range[1]; i++) {
+					VirtualRow row = rowByIndex.get(i);
+					boolean bound = false;
+					if (row == null) {
+						row = acquire(elements.get(i));
+						row.bind(elements.get(i));
+						rowByIndex.put(i, row);
+						bound = true;
+					}
+					row.getControl().setBounds(0, index.getTop(i) - offset, area.width, index.getHeight(i));
+					if (bound) {
+						row.getControl().layout(true, true);
+					}
+				}
+			}
+		}
+
+		private VirtualRow acquire(Object element) {
+			VirtualRow row;
+			if (element instanceof DiscoveryCategory) {
+				if (freeCategoryRows.isEmpty()) {
+					row = new CategoryRow(this);
+				} else {
+					row = freeCategoryRows.remove(freeCategoryRows.size() - 1);
+				}
+			} else {
+				if (freeConnectorRows.isEmpty()) {
+					row = new ConnectorRow(this, canvas.getBackground());
+				} else {
+					row = freeConnectorRows.remove(freeConnectorRows.size() - 1);
+				}
+			}
+			row.getControl().setVisible(true);
+			return row;
+		}
+
+		private void release(VirtualRow row) {
+			row.unbind();
+			row.getControl().setVisible(false);
+			if (row instanceof CategoryRow) {
+				freeCategoryRows.add((CategoryRow) row);
+			} else {
+				freeConnectorRows.add((ConnectorRow) row);
+			}
+		}
+
+		private void releaseAll() {
+			for (VirtualRow row : rowByIndex.values()) {
+				release(row);
+			}
+			rowByIndex.clear();
+		}
+
+	}
+
 	private static final int MINIMUM_HEIGHT = 100;
 
 	private static boolean useNativeSearchField(Composite composite) {
@@ -491,6 +1114,24 @@ public class DiscoveryViewer {
 
 	private boolean showInstalled;
 
+	private boolean virtual;
+
+	private VirtualConnectorList virtualList;
+
+	private DiscoveryIconLoader iconLoader;
+
+	private Image placeholderImage;
+
+	private final Map<String, ConnectorDescriptorItemUi> itemUiById = new HashMap<String, ConnectorDescriptorItemUi>();
+
+	private final Map<String, Composite> categoryContainerById = new HashMap<String, Composite>();
+
+	private Composite trailingSeparator;
+
+	private ConnectorDescriptorRegistry registry;
+
+	private IRegistryListener registryListener;
+
 	public DiscoveryViewer(IShellProvider shellProvider, IRunnableContext context) {
 		this.shellProvider = shellProvider;
 		this.context = context;
@@ -513,6 +1154,7 @@ public class DiscoveryViewer {
 		h1Font = null;
 		h2Font = null;
 		infoImage = null;
+		placeholderImage = null;
 		handCursor = null;
 		colorCategoryGradientStart = null;
 		colorCategoryGradientEnd = null;
@@ -524,6 +1166,19 @@ public class DiscoveryViewer {
 	}
 
 	private Image computeIconImage(AbstractDiscoverySource discoverySource, Icon icon, int dimension, boolean fallback) {
+		URL resource = computeIconUrl(discoverySource, icon, dimension, fallback);
+		if (resource != null) {
+			ImageDescriptor descriptor = ImageDescriptor.createFromURL(resource);
+			Image image = descriptor.createImage();
+			if (image != null) {
+				disposables.add(image);
+				return image;
+			}
+		}
+		return null;
+	}
+
+	private URL computeIconUrl(AbstractDiscoverySource discoverySource, Icon icon, int dimension, boolean fallback) {
 		String imagePath;
 		switch (dimension) {
 		case 64:
@@ -543,19 +1198,20 @@ public class DiscoveryViewer {
 			throw new IllegalArgumentException();
 		}
 		if (imagePath != null && imagePath.length() > 0) {
-			URL resource = discoverySource.getResource(imagePath);
-			if (resource != null) {
-				ImageDescriptor descriptor = ImageDescriptor.createFromURL(resource);
-				Image image = descriptor.createImage();
-				if (image != null) {
-					disposables.add(image);
-					return image;
-				}
-			}
+			return discoverySource.getResource(imagePath);
 		}
 		return null;
 	}
 
+	private String getDescriptionText(DiscoveryConnector connector) {
+		String descriptionText = connector.getDescription();
+		int maxDescriptionLength = 162;
+		if (descriptionText.length() > maxDescriptionLength) {
+			descriptionText = descriptionText.substring(0, maxDescriptionLength);
+		}
+		return descriptionText.replaceAll("(\\r\\n)|\\n|\\r", " "); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	private IStatus computeStatus(InvocationTargetException e, String message) {
 		Throwable cause = e.getCause();
 		IStatus statusCause;
@@ -590,15 +1246,60 @@ public class DiscoveryViewer {
 		for (Control child : body.getChildren()) {
 			child.dispose();
 		}
+		for (Resource resource : disposables) {
+			resource.dispose();
+		}
 		clearDisposables();
 		allConnectors = new ArrayList<DiscoveryConnector>();
+		itemUiById.clear();
+		categoryContainerById.clear();
+		trailingSeparator = null;
 		initializeCursors();
 		initializeImages();
 		initializeFonts();
 		initializeColors();
+		if (iconLoader != null) {
+			iconLoader.cancel();
+		}
 
 		GridLayoutFactory.fillDefaults().applyTo(body);
 
+		if (isVirtual() && discovery != null && !isEmpty(discovery)) {
+			bodyScrolledComposite = null;
+			virtualList = new VirtualConnectorList(body, createVirtualElements());
+		} else {
+			virtualList = null;
+			createScrolledContents();
+		}
+
+		Dialog.applyDialogFont(body);
+		// we've changed it so it needs to know
+		body.layout(true);
+	}
+
+	private List<Object> createVirtualElements() {
+		List<Object> elements = new ArrayList<Object>();
+		List<DiscoveryCategory> categories = new ArrayList<DiscoveryCategory>(discovery.getCategories());
+		Collections.sort(categories, new DiscoveryCategoryComparator());
+		for (DiscoveryCategory category : categories) {
+			if (isEmpty(category)) {
+				// don't add empty categories
+				continue;
+			}
+			elements.add(category);
+			List<DiscoveryConnector> connectors = new ArrayList<DiscoveryConnector>(category.getConnectors());
+			Collections.sort(connectors, new DiscoveryConnectorComparator(category));
+			for (DiscoveryConnector connector : connectors) {
+				if (!isFiltered(connector)) {
+					elements.add(connector);
+					allConnectors.add(connector);
+				}
+			}
+		}
+		return elements;
+	}
+
+	private void createScrolledContents() {
 		bodyScrolledComposite = new ScrolledComposite(body, SWT.H_SCROLL | SWT.V_SCROLL | SWT.BORDER);
 
 		configureLook(bodyScrolledComposite, colorWhite);
@@ -632,10 +1333,6 @@ public class DiscoveryViewer {
 		});
 
 		bodyScrolledComposite.setContent(scrolledContents);
-
-		Dialog.applyDialogFont(body);
-		// we've changed it so it needs to know
-		body.layout(true);
 	}
 
 	private Label createClearFilterTextControl(Composite filterContainer, final Text filterText) {
@@ -723,17 +1420,20 @@ public class DiscoveryViewer {
 
 	public void createControl(Composite parent) {
 		createRefreshJob();
+		iconLoader = new DiscoveryIconLoader();
 
 		Composite container = new Composite(parent, SWT.NULL);
 		container.addDisposeListener(new DisposeListener() {
 			public void widgetDisposed(DisposeEvent e) {
 				refreshJob.cancel();
+				iconLoader.dispose();
 				if (disposables != null) {
 					for (Resource resource : disposables) {
 						resource.dispose();
 					}
 					clearDisposables();
 				}
+				unhookRegistry();
 				if (discovery != null) {
 					discovery.dispose();
 				}
@@ -968,6 +1668,7 @@ public class DiscoveryViewer {
 				configureLook(categoryChildrenContainer, background);
 				GridDataFactory.fillDefaults().span(2, 1).grab(true, false).applyTo(categoryChildrenContainer);
 				GridLayoutFactory.fillDefaults().spacing(0, 0).applyTo(categoryChildrenContainer);
+				categoryContainerById.put(category.getId(), categoryChildrenContainer);
 
 				int numChildren = 0;
 				List<DiscoveryConnector> connectors = new ArrayList<DiscoveryConnector>(category.getConnectors());
@@ -977,37 +1678,42 @@ public class DiscoveryViewer {
 						continue;
 					}
 
+					Composite separator = null;
 					if (++numChildren > 1) {
 						// a separator between connector descriptors
-						Composite border = new Composite(categoryChildrenContainer, SWT.NULL);
-						GridDataFactory.fillDefaults().grab(true, false).hint(SWT.DEFAULT, 1).applyTo(border);
-						GridLayoutFactory.fillDefaults().applyTo(border);
-						border.addPaintListener(new ConnectorBorderPaintListener());
+						separator = createSeparator(categoryChildrenContainer);
 					}
 
 					ConnectorDescriptorItemUi itemUi = new ConnectorDescriptorItemUi(connector,
 							categoryChildrenContainer, background);
+					itemUi.separator = separator;
 					itemUi.updateAvailability();
+					itemUiById.put(connector.getId(), itemUi);
 					allConnectors.add(connector);
 				}
 			}
 			// last one gets a border
-			Composite border = new Composite(categoryChildrenContainer, SWT.NULL);
-			GridDataFactory.fillDefaults().grab(true, false).hint(SWT.DEFAULT, 1).applyTo(border);
-			GridLayoutFactory.fillDefaults().applyTo(border);
-			border.addPaintListener(new ConnectorBorderPaintListener());
+			trailingSeparator = createSeparator(categoryChildrenContainer);
 		}
 		container.layout(true);
 		container.redraw();
 	}
 
+	private Composite createSeparator(Composite parent) {
+		Composite border = new Composite(parent, SWT.NULL);
+		GridDataFactory.fillDefaults().grab(true, false).hint(SWT.DEFAULT, 1).applyTo(border);
+		GridLayoutFactory.fillDefaults().applyTo(border);
+		border.addPaintListener(new ConnectorBorderPaintListener());
+		return border;
+	}
+
 	private void createEnvironment() {
 		environment = new Hashtable<Object, Object>(System.getProperties());
 		// add the installed Mylyn version to the environment so that we can
 		// have
 		// connectors that are filtered based on version of Mylyn
 		Bundle bundle = Platform.getBundle("org.eclipse.mylyn.tasks.core"); //$NON-NLS-1$
-		String versionString = (String) bundle.getHeaders().get("Bundle-Version"); //$NON-NLS-1$
+		String versionString = (bundle != null) ? (String) bundle.getHeaders().get("Bundle-Version") : null; //$NON-NLS-1$
 		if (versionString != null) {
 			Version version = new Version(versionString);
 			environment.put("org.eclipse.mylyn.version", version.toString()); //$NON-NLS-1$
@@ -1088,6 +1794,14 @@ public class DiscoveryViewer {
 		return discovery;
 	}
 
+	/**
+	 * <em>not for general use: public for testing purposes only</em> Sets the discovery that provides the displayed
+	 * categories and connectors. Invoke {@link #createBodyContents()} to update the UI.
+	 */
+	public void setDiscovery(ConnectorDiscovery discovery) {
+		this.discovery = discovery;
+	}
+
 	/**
 	 * the environment in which discovery should be performed.
 	 * 
@@ -1209,7 +1923,6 @@ public class DiscoveryViewer {
 	}
 
 	private void initializeColors() {
-		IThemeManager themeManager = PlatformUI.getWorkbench().getThemeManager();
 		if (colorWhite == null) {
 			ColorRegistry colorRegistry = JFaceResources.getColorRegistry();
 			if (!colorRegistry.hasValueFor(COLOR_WHITE)) {
@@ -1225,12 +1938,18 @@ public class DiscoveryViewer {
 			colorDisabled = colorRegistry.get(COLOR_DARK_GRAY);
 		}
 		if (colorCategoryGradientStart == null) {
-			colorCategoryGradientStart = themeManager.getCurrentTheme()
-					.getColorRegistry()
-					.get(CommonThemes.COLOR_CATEGORY_GRADIENT_START);
-			colorCategoryGradientEnd = themeManager.getCurrentTheme()
-					.getColorRegistry()
-					.get(CommonThemes.COLOR_CATEGORY_GRADIENT_END);
+			if (PlatformUI.isWorkbenchRunning()) {
+				IThemeManager themeManager = PlatformUI.getWorkbench().getThemeManager();
+				colorCategoryGradientStart = themeManager.getCurrentTheme()
+						.getColorRegistry()
+						.get(CommonThemes.COLOR_CATEGORY_GRADIENT_START);
+				colorCategoryGradientEnd = themeManager.getCurrentTheme()
+						.getColorRegistry()
+						.get(CommonThemes.COLOR_CATEGORY_GRADIENT_END);
+			} else {
+				colorCategoryGradientStart = getShell().getDisplay().getSystemColor(SWT.COLOR_WIDGET_LIGHT_SHADOW);
+				colorCategoryGradientEnd = getShell().getDisplay().getSystemColor(SWT.COLOR_WIDGET_BACKGROUND);
+			}
 		}
 	}
 
@@ -1270,6 +1989,21 @@ public class DiscoveryViewer {
 			infoImage = DiscoveryImages.MESSAGE_INFO.createImage();
 			disposables.add(infoImage);
 		}
+		if (placeholderImage == null) {
+			// shown while icons are loading
+			Display display = getShell().getDisplay();
+			placeholderImage = new Image(display, 32, 32);
+			GC gc = new GC(placeholderImage);
+			try {
+				gc.setBackground(colorWhite != null ? colorWhite : display.getSystemColor(SWT.COLOR_WHITE));
+				gc.fillRectangle(0, 0, 32, 32);
+				gc.setBackground(display.getSystemColor(SWT.COLOR_WIDGET_LIGHT_SHADOW));
+				gc.fillRoundRectangle(2, 2, 28, 28, 6, 6);
+			} finally {
+				gc.dispose();
+			}
+			disposables.add(placeholderImage);
+		}
 	}
 
 	public boolean isComplete() {
@@ -1364,6 +2098,14 @@ public class DiscoveryViewer {
 		return showInstalledFilterEnabled;
 	}
 
+	/**
+	 * indicate if only widgets for connectors in or near the visible area are created. Icons are then loaded in the
+	 * background.
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
 	/**
 	 * indicate if the given kind of connector is currently visible in the wizard
 	 * 
@@ -1376,6 +2118,36 @@ public class DiscoveryViewer {
 		return connectorDescriptorKindToVisibility.get(kind);
 	}
 
+	private boolean maybeModifySelection(DiscoveryConnector connector, boolean selected) {
+		if (selected) {
+			if (connector.isInstalled()) {
+				MessageDialog.openWarning(shellProvider.getShell(), Messages.DiscoveryViewer_Install_Connector_Title,
+						NLS.bind(Messages.DiscoveryViewer_Already_installed_Error, connector.getName()));
+				return false;
+			}
+			if (!connector.isInstallable()) {
+				if (connector.getInstallMessage() != null) {
+					MessageDialog.openInformation(shellProvider.getShell(),
+							Messages.DiscoveryViewer_Install_Connector_Title, connector.getInstallMessage());
+				}
+				return false;
+			}
+			if (connector.getAvailable() != null && !connector.getAvailable()) {
+				MessageDialog.openWarning(shellProvider.getShell(),
+						Messages.ConnectorDiscoveryWizardMainPage_warningTitleConnectorUnavailable, NLS.bind(
+								Messages.ConnectorDiscoveryWizardMainPage_warningMessageConnectorUnavailable,
+								connector.getName()));
+				return false;
+			}
+		}
+		modifySelection(connector, selected);
+		return true;
+	}
+
+	private boolean isEnabled(DiscoveryConnector connector) {
+		return !connector.isInstalled() && (connector.getAvailable() == null || connector.getAvailable());
+	}
+
 	private void modifySelection(final DiscoveryConnector connector, boolean selected) {
 		modifySelectionInternal(connector, selected);
 		updateState();
@@ -1461,6 +2233,16 @@ public class DiscoveryViewer {
 		this.showInstalledFilterEnabled = showInstalledFilter;
 	}
 
+	/**
+	 * indicate if only widgets for connectors in or near the visible area should be created. Recommended for large
+	 * catalogs. Changing this setting takes effect when the contents are created the next time.
+	 * 
+	 * @see #createBodyContents()
+	 */
+	public void setVirtual(boolean virtual) {
+		this.virtual = virtual;
+	}
+
 	public void setVerifyUpdateSiteAvailability(boolean verifyUpdateSiteAvailability) {
 		this.verifyUpdateSiteAvailability = verifyUpdateSiteAvailability;
 	}
@@ -1561,11 +2343,192 @@ public class DiscoveryViewer {
 			// reason checkboxes don't
 			// regain their enabled state
 			createBodyContents();
+
+			if (directoryUrl != null) {
+				hookRegistry(DiscoveryCore.getConnectorRegistry(directoryUrl));
+			}
 		}
 		// help UI tests
 		body.setData("discoveryComplete", "true"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Listens to changes of the registry that keeps the remote descriptors, for example when another discovery session
+	 * reads a bundle that has changed.
+	 */
+	private void hookRegistry(ConnectorDescriptorRegistry registry) {
+		unhookRegistry();
+		final Display display = body.getDisplay();
+		this.registry = registry;
+		this.registryListener = new IRegistryListener() {
+			public void registryChanged(final List<Delta> deltas) {
+				if (!display.isDisposed()) {
+					display.asyncExec(new Runnable() {
+						public void run() {
+							if (!body.isDisposed()) {
+								updateConnectors(deltas);
+							}
+						}
+					});
+				}
+			}
+		};
+		registry.addRegistryListener(registryListener);
+	}
+
+	private void unhookRegistry() {
+		if (registry != null) {
+			registry.removeRegistryListener(registryListener);
+			registry = null;
+			registryListener = null;
+		}
+	}
+
+	/**
+	 * Applies connector changes to the discovery of this viewer and only updates the rows of the connectors that were
+	 * added, removed or changed. All rows are created again if a category is added or becomes empty.
+	 */
+	private void updateConnectors(List<Delta> deltas) {
+		if (discovery == null) {
+			return;
+		}
+		Set<String> ids = new HashSet<String>();
+		for (Delta delta : deltas) {
+			if (delta.getElement() instanceof DiscoveryConnector) {
+				ids.add(((DiscoveryConnector) delta.getElement()).getId());
+			}
+		}
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		Set<String> selectedIds = new HashSet<String>();
+		for (Iterator<ConnectorDescriptor> it = installableConnectors.iterator(); it.hasNext();) {
+			ConnectorDescriptor connector = it.next();
+			if (ids.contains(connector.getId())) {
+				selectedIds.add(connector.getId());
+				it.remove();
+			}
+		}
+		discovery.update(deltas);
+		List<DiscoveryConnector> updatedConnectors = new ArrayList<DiscoveryConnector>();
+		for (DiscoveryConnector connector : discovery.getConnectors()) {
+			if (ids.contains(connector.getId())) {
+				updateInstalled(connector);
+				if (selectedIds.contains(connector.getId()) && connector.isInstallable()) {
+					connector.setSelected(true);
+					installableConnectors.add(connector);
+				}
+				updatedConnectors.add(connector);
+			}
+		}
+
+		if (virtualList != null && !isEmpty(discovery)) {
+			allConnectors = new ArrayList<DiscoveryConnector>();
+			virtualList.setElements(createVirtualElements());
+		} else if (bodyScrolledComposite != null && canUpdateItems()) {
+			for (String id : ids) {
+				ConnectorDescriptorItemUi itemUi = itemUiById.remove(id);
+				if (itemUi != null) {
+					removeItem(itemUi);
+				}
+			}
+			for (DiscoveryConnector connector : updatedConnectors) {
+				if (connector.getCategory() != null && !isFiltered(connector)) {
+					insertItem(connector);
+				}
+			}
+			Composite scrolledContents = (Composite) bodyScrolledComposite.getContent();
+			scrolledContents.layout(true, true);
+			Point size = scrolledContents.computeSize(body.getSize().x - 20, SWT.DEFAULT, true);
+			scrolledContents.setSize(size);
+			bodyScrolledComposite.setMinHeight(size.y);
+		} else {
+			createBodyContents();
+		}
+		updateState();
+	}
+
+	/**
+	 * Returns true, if rows are displayed for exactly the categories that are not empty.
+	 */
+	private boolean canUpdateItems() {
+		for (DiscoveryCategory category : discovery.getCategories()) {
+			if (isEmpty(category) == categoryContainerById.containsKey(category.getId())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void removeItem(ConnectorDescriptorItemUi itemUi) {
+		Composite parent = itemUi.connectorContainer.getParent();
+		if (itemUi.separator != null) {
+			itemUi.separator.dispose();
+		} else {
+			// the first row has no separator, the next row becomes the first row
+			Control[] children = parent.getChildren();
+			int i = Arrays.asList(children).indexOf(itemUi.connectorContainer);
+			if (i + 1 < children.length) {
+				for (ConnectorDescriptorItemUi next : itemUiById.values()) {
+					if (next.separator == children[i + 1]) {
+						next.separator.dispose();
+						next.separator = null;
+						break;
+					}
+				}
+			}
+		}
+		itemUi.connectorContainer.dispose();
+		allConnectors.remove(itemUi.connector);
+	}
+
+	private void insertItem(DiscoveryConnector connector) {
+		DiscoveryCategory category = connector.getCategory();
+		Composite parent = categoryContainerById.get(category.getId());
+
+		// find the displayed row that follows the connector
+		List<DiscoveryConnector> connectors = new ArrayList<DiscoveryConnector>(category.getConnectors());
+		Collections.sort(connectors, new DiscoveryConnectorComparator(category));
+		ConnectorDescriptorItemUi next = null;
+		for (int i = connectors.indexOf(connector) + 1; i < connectors.size() && next == null; i++) {
+			next = itemUiById.get(connectors.get(i).getId());
+		}
+
+		Control anchor;
+		boolean first;
+		if (next != null) {
+			anchor = (next.separator != null) ? next.separator : next.connectorContainer;
+			first = next.separator == null;
+		} else {
+			anchor = (trailingSeparator != null && trailingSeparator.getParent() == parent) ? trailingSeparator : null;
+			first = true;
+			for (ConnectorDescriptorItemUi itemUi : itemUiById.values()) {
+				if (itemUi.connectorContainer.getParent() == parent) {
+					first = false;
+					break;
+				}
+			}
+		}
+
+		Composite separator = (first) ? null : createSeparator(parent);
+		ConnectorDescriptorItemUi itemUi = new ConnectorDescriptorItemUi(connector, parent, parent.getBackground());
+		itemUi.separator = separator;
+		if (anchor != null) {
+			if (separator != null) {
+				separator.moveAbove(anchor);
+			}
+			itemUi.connectorContainer.moveAbove(anchor);
+		}
+		if (next != null && next.separator == null) {
+			next.separator = createSeparator(parent);
+			next.separator.moveAbove(next.connectorContainer);
+		}
+		itemUi.updateAvailability();
+		itemUiById.put(connector.getId(), itemUi);
+		allConnectors.add(connector);
+	}
+
 	private void updateState() {
 		setComplete(!installableConnectors.isEmpty());
 		selectionProvider.setSelection(new StructuredSelection(getInstallableConnectors()));
@@ -1573,11 +2536,15 @@ public class DiscoveryViewer {
 
 	protected void postDiscovery(ConnectorDiscovery connectorDiscovery) {
 		for (DiscoveryConnector connector : connectorDiscovery.getConnectors()) {
-			connector.setInstalled(installedFeatures != null
-					&& installedFeatures.containsAll(connector.getInstallableUnits()));
+			updateInstalled(connector);
 		}
 	}
 
+	private void updateInstalled(DiscoveryConnector connector) {
+		connector.setInstalled(installedFeatures != null
+				&& installedFeatures.containsAll(connector.getInstallableUnits()));
+	}
+
 	protected Set<String> getInstalledFeatures(IProgressMonitor monitor) throws InterruptedException {
 		return DiscoveryUi.createInstallJob().getInstalledFeatures(monitor);
 	}
@@ -13,10 +13,9 @@
 
 package org.eclipse.mylyn.internal.monitor.core.collection;
 
+import java.io.IOException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.eclipse.mylyn.monitor.core.InteractionEvent;
 
@@ -24,17 +23,15 @@ import org.eclipse.mylyn.monitor.core.InteractionEvent;
  * @author Mik Kersten
  * @author Leah Findlater
  */
-public class CommandUsageCollector implements IUsageCollector {
+public class CommandUsageCollector implements IStreamingUsageCollector {
 
-	private final InteractionByTypeSummary commands = new InteractionByTypeSummary();
+	private static final String[] EXPORT_KEYS = { "command", "user", "count" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
-	private final Set<Integer> userIdSet = new HashSet<Integer>();
+	private final InteractionByTypeSummary commands = new InteractionByTypeSummary();
 
 	public void consumeEvent(InteractionEvent event, int userId) {
-		userIdSet.add(userId);
 		if (event.getKind().equals(InteractionEvent.Kind.COMMAND)) {
-			commands.setUserCount(userId, InteractionEventUtil.getCleanOriginId(event),
-					commands.getUserCount(userId, InteractionEventUtil.getCleanOriginId(event)) + 1);
+			commands.addUserCount(userId, InteractionEventUtil.getCleanOriginId(event), 1);
 		}
 	}
 
@@ -47,8 +44,21 @@ public class CommandUsageCollector implements IUsageCollector {
 	}
 
 	public void exportAsCSVFile(String directoryName) {
-		// TODO Auto-generated method stub
+		UsageExportWriter.exportAsCSVFile(this, directoryName, "commandUsage"); //$NON-NLS-1$
+	}
 
+	public void export(UsageExportWriter writer) throws IOException {
+		writer.startTable("commandUsage", EXPORT_KEYS, new String[] { Messages.CommandUsageCollector_CSV_COMMAND, //$NON-NLS-1$
+				Messages.CommandUsageCollector_CSV_USER, Messages.CommandUsageCollector_CSV_COUNT });
+		int[] userIds = commands.getUserIds();
+		for (String originId : commands.getOriginIdList()) {
+			for (int userId : userIds) {
+				int count = commands.getUserCount(userId, originId);
+				if (count > 0) {
+					writer.writeRow(originId, userId, count);
+				}
+			}
+		}
 	}
 
 	public InteractionByTypeSummary getCommands() {
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes tables as comma separated values. Tables are separated by an empty line and start with a header line of
+ * column labels.
+ */
+public class CsvUsageExportWriter extends UsageExportWriter {
+
+	private boolean tableWritten;
+
+	public CsvUsageExportWriter(Writer writer) {
+		super(writer);
+	}
+
+	@Override
+	protected void writeHeader(String table, String[] keys, String[] labels) throws IOException {
+		if (tableWritten) {
+			writer.newLine();
+		}
+		tableWritten = true;
+		writeLine(labels);
+	}
+
+	@Override
+	protected void writeValues(String table, String[] keys, Object[] values) throws IOException {
+		writeLine(values);
+	}
+
+	private void writeLine(Object[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeValue(values[i]);
+		}
+		writer.newLine();
+	}
+
+	private void writeValue(Object value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		String text = value.toString();
+		if (requiresQuoting(text)) {
+			writer.write('"');
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (c == '"') {
+					writer.write('"');
+				}
+				writer.write(c);
+			}
+			writer.write('"');
+		} else {
+			writer.write(text);
+		}
+	}
+
+	private boolean requiresQuoting(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
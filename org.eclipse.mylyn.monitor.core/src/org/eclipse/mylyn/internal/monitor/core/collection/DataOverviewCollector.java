@@ -12,43 +12,37 @@
 
 package org.eclipse.mylyn.internal.monitor.core.collection;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.monitor.core.util.IntIntHashMap;
+import org.eclipse.mylyn.internal.monitor.core.util.IntLongHashMap;
 import org.eclipse.mylyn.monitor.core.InteractionEvent;
 
 /**
  * @author Mik Kersten
  */
-public class DataOverviewCollector implements IUsageCollector {
+public class DataOverviewCollector implements IStreamingUsageCollector {
+
+	private static final String[] EXPORT_KEYS = { "user", "events", "start", "end", "activeUse", "elapsedUse" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
 
 	private static long FIVEMININMS = 5 * 60 * 1000;
 
-	private final Map<Integer, Integer> interactionHistorySizes = new HashMap<Integer, Integer>();
+	private final IntIntHashMap interactionHistorySizes = new IntIntHashMap();
+
+	private final IntLongHashMap interactionHistoryStartTimes = new IntLongHashMap();
 
-	private final Map<Integer, List<Date>> interactionHistoryRanges = new HashMap<Integer, List<Date>>();
+	private final IntLongHashMap interactionHistoryEndTimes = new IntLongHashMap();
 
-	private final Map<Integer, Long> interactionHistoryActiveDuration = new HashMap<Integer, Long>();
+	private final IntLongHashMap interactionHistoryActiveDuration = new IntLongHashMap();
 
 	// For calculating active milliseconds
 	private int currentUser = -1;
 
-	private InteractionEvent lastUserEvent;
-
-	private static int startDatePosition = 0;
-
-	private static int endDatePosition = 1;
+	private long lastUserEventTime;
 
 	private String filePrefix = ""; //$NON-NLS-1$
 
@@ -61,123 +55,87 @@ public class DataOverviewCollector implements IUsageCollector {
 	}
 
 	public void consumeEvent(InteractionEvent event, int userId) {
+		long time = event.getDate().getTime();
 
 		// Add to size of history
-		if (!interactionHistorySizes.containsKey(userId)) {
-			interactionHistorySizes.put(userId, 0);
-		}
-		interactionHistorySizes.put(userId, interactionHistorySizes.get(userId) + 1);
+		interactionHistorySizes.add(userId, 1);
 
 		// Record start and end date of history
-		List<Date> dateRange;
-		if (!interactionHistoryRanges.containsKey(userId)) {
-			// There are two positions in the array: start and end date
-			dateRange = new ArrayList<Date>(2);
-			interactionHistoryRanges.put(userId, dateRange);
-		}
-		dateRange = interactionHistoryRanges.get(userId);
-		if (dateRange.size() == 0) {
-			dateRange.add(event.getDate());
-		} else if (dateRange.size() == 1) {
-			dateRange.add(event.getDate());
-		} else {
-			dateRange.set(endDatePosition, event.getDate());
+		if (!interactionHistoryStartTimes.containsKey(userId)) {
+			interactionHistoryStartTimes.put(userId, time);
 		}
+		interactionHistoryEndTimes.put(userId, time);
 
 		// Accumulate active duration -- assumes see all of events of a user in
 		// order
 		if (currentUser == -1 || currentUser != userId) {
-			lastUserEvent = event;
+			lastUserEventTime = time;
 			currentUser = userId;
 		}
 		// Restart accumulation if greater than 5 min has elapsed between events
-		long elapsed = event.getDate().getTime() - lastUserEvent.getDate().getTime();
+		long elapsed = time - lastUserEventTime;
 		if (elapsed < FIVEMININMS) {
-			if (!interactionHistoryActiveDuration.containsKey(userId)) {
-				interactionHistoryActiveDuration.put(userId, Long.valueOf(0));
-			}
-			interactionHistoryActiveDuration.put(userId, interactionHistoryActiveDuration.get(userId) + elapsed);
+			interactionHistoryActiveDuration.add(userId, elapsed);
 		}
-		lastUserEvent = event;
+		lastUserEventTime = time;
 
 	}
 
 	public List<String> getReport() {
 		List<String> report = new ArrayList<String>();
 		report.add(Messages.DataOverviewCollector__h4_Data_Overview_h4_);
-		report.add(Messages.DataOverviewCollector_Number_of_Users_ + interactionHistorySizes.keySet().size() + "<br>"); //$NON-NLS-1$
-		for (Map.Entry<Integer, Integer> entry : interactionHistorySizes.entrySet()) {
-			report.add(entry.getKey() + ": " + entry.getValue() + Messages.DataOverviewCollector_events); //$NON-NLS-1$
-			report.add(InteractionEventClassifier.formatDuration(interactionHistoryActiveDuration.get(entry.getKey()))
-					+ Messages.DataOverviewCollector_active_use);
-			List<Date> dateRange = interactionHistoryRanges.get(entry.getKey());
-			long duration = dateRange.get(endDatePosition).getTime() - dateRange.get(startDatePosition).getTime();
-			report.add(MessageFormat.format(Messages.DataOverviewCollector_TO_PERIOD_OF_HOURS,
-					dateRange.get(startDatePosition), dateRange.get(endDatePosition),
-					InteractionEventClassifier.formatDuration(duration)));
-
+		report.add(Messages.DataOverviewCollector_Number_of_Users_ + interactionHistorySizes.size() + "<br>"); //$NON-NLS-1$
+		for (int userId : interactionHistorySizes.keys()) {
+			addUserReport(report, userId);
 			report.add("<br><br>"); //$NON-NLS-1$
 		}
 		return report;
 	}
 
+	private void addUserReport(List<String> report, int userId) {
+		report.add(userId + ": " + interactionHistorySizes.get(userId, 0) + Messages.DataOverviewCollector_events); //$NON-NLS-1$
+		report.add(InteractionEventClassifier.formatDuration(interactionHistoryActiveDuration.get(userId, 0))
+				+ Messages.DataOverviewCollector_active_use);
+		Date start = new Date(interactionHistoryStartTimes.get(userId, 0));
+		Date end = new Date(interactionHistoryEndTimes.get(userId, 0));
+		long duration = end.getTime() - start.getTime();
+		report.add(MessageFormat.format(Messages.DataOverviewCollector_TO_PERIOD_OF_HOURS, start, end,
+				InteractionEventClassifier.formatDuration(duration)));
+	}
+
 	public void exportAsCSVFile(String directory) {
+		UsageExportWriter.exportAsCSVFile(this, directory, filePrefix + "baseLine"); //$NON-NLS-1$
+	}
 
-		String filename = directory + File.separator + filePrefix + "baseLine.csv"; //$NON-NLS-1$
-
-		try {
-			BufferedWriter writer = new BufferedWriter(new FileWriter(new File(filename)));
-
-			// Write the header
-			writer.write(Messages.DataOverviewCollector_CSV_USER);
-			writer.write(","); //$NON-NLS-1$
-			writer.write(Messages.DataOverviewCollector_CSV_EVENTS);
-			writer.write(","); //$NON-NLS-1$
-			writer.write(Messages.DataOverviewCollector_CSV_START);
-			writer.write(","); //$NON-NLS-1$
-			writer.write(Messages.DataOverviewCollector_CSV_END);
-			writer.write(","); //$NON-NLS-1$
-			writer.write(Messages.DataOverviewCollector_CSV_ACTIVE_USE);
-			writer.write(","); //$NON-NLS-1$
-			writer.write(Messages.DataOverviewCollector_CSV_ELAPSED_USE);
-			writer.newLine();
-
-			// Writer the rows
-			for (Map.Entry<Integer, Integer> entry : interactionHistorySizes.entrySet()) {
-				writer.write(entry.getKey().toString());
-				writer.write(","); //$NON-NLS-1$
-				writer.write(entry.getValue().toString());
-				writer.write(","); //$NON-NLS-1$
-				List<Date> dateRange = interactionHistoryRanges.get(entry.getKey());
-				writer.write(dateRange.get(startDatePosition).toString());
-				writer.write(","); //$NON-NLS-1$
-				writer.write(dateRange.get(endDatePosition).toString());
-				writer.write(","); //$NON-NLS-1$
-				long elapsed = interactionHistoryActiveDuration.get(entry.getKey());
-				writer.write(InteractionEventClassifier.formatDuration(elapsed));
-				writer.write(","); //$NON-NLS-1$
-				long duration = dateRange.get(endDatePosition).getTime() - dateRange.get(startDatePosition).getTime();
-				writer.write(InteractionEventClassifier.formatDuration(duration));
-				writer.newLine();
-			}
-
-			writer.flush();
-			writer.close();
-
-		} catch (IOException e) {
-			StatusHandler.log(new Status(IStatus.ERROR, "org.eclipse.mylyn.monitor.core", "Unable to write CVS file <" //$NON-NLS-1$//$NON-NLS-2$
-					+ filename + ">", e)); //$NON-NLS-1$
+	public void export(UsageExportWriter writer) throws IOException {
+		writer.startTable("dataOverview", EXPORT_KEYS, new String[] { Messages.DataOverviewCollector_CSV_USER, //$NON-NLS-1$
+				Messages.DataOverviewCollector_CSV_EVENTS, Messages.DataOverviewCollector_CSV_START,
+				Messages.DataOverviewCollector_CSV_END, Messages.DataOverviewCollector_CSV_ACTIVE_USE,
+				Messages.DataOverviewCollector_CSV_ELAPSED_USE });
+		for (int userId : interactionHistorySizes.keys()) {
+			long start = interactionHistoryStartTimes.get(userId, 0);
+			long end = interactionHistoryEndTimes.get(userId, 0);
+			writer.writeRow(userId, interactionHistorySizes.get(userId, 0), new Date(start), new Date(end),
+					InteractionEventClassifier.formatDuration(interactionHistoryActiveDuration.get(userId, 0)),
+					InteractionEventClassifier.formatDuration(end - start));
 		}
 	}
 
+	/**
+	 * Adds pre-aggregated values for a user, e.g. from a {@link UsageIndex}.
+	 */
+	void addUserRollup(int userId, int eventCount, Date startDate, Date endDate, long activeDuration) {
+		interactionHistorySizes.put(userId, eventCount);
+		interactionHistoryStartTimes.put(userId, startDate.getTime());
+		interactionHistoryEndTimes.put(userId, endDate.getTime());
+		interactionHistoryActiveDuration.put(userId, activeDuration);
+	}
+
 	/**
 	 * For testing - return active use of a user
 	 */
 	public long getActiveUseOfUser(int userid) {
-		if (interactionHistoryActiveDuration.containsKey(userid)) {
-			return interactionHistoryActiveDuration.get(userid);
-		}
-		return -1;
+		return interactionHistoryActiveDuration.get(userid, -1);
 	}
 
 	/**
@@ -191,9 +149,8 @@ public class DataOverviewCollector implements IUsageCollector {
 	 * For testing - return duration of use
 	 */
 	public long getDurationUseOfUser(int userid) {
-		if (interactionHistoryRanges.containsKey(userid)) {
-			List<Date> dateRange = interactionHistoryRanges.get(userid);
-			return (dateRange.get(endDatePosition).getTime() - dateRange.get(startDatePosition).getTime());
+		if (interactionHistoryStartTimes.containsKey(userid)) {
+			return interactionHistoryEndTimes.get(userid, 0) - interactionHistoryStartTimes.get(userid, 0);
 		}
 		return -1;
 	}
@@ -202,26 +159,15 @@ public class DataOverviewCollector implements IUsageCollector {
 	 * For testing - return size of interaction history
 	 */
 	public int getSizeOfHistory(int userid) {
-		if (interactionHistorySizes.containsKey(userid)) {
-			return interactionHistorySizes.get(userid);
-		}
-		return -1;
+		return interactionHistorySizes.get(userid, -1);
 	}
 
 	public List<String> getPlainTextReport() {
 		List<String> report = new ArrayList<String>();
 		report.add(Messages.DataOverviewCollector_Data_Overview);
-		report.add(Messages.DataOverviewCollector_Number_of_Users_ + interactionHistorySizes.keySet().size());
-		for (Map.Entry<Integer, Integer> entry : interactionHistorySizes.entrySet()) {
-			report.add(entry.getKey() + ": " + entry.getValue() + Messages.DataOverviewCollector_events); //$NON-NLS-1$
-			report.add(InteractionEventClassifier.formatDuration(interactionHistoryActiveDuration.get(entry.getKey()))
-					+ Messages.DataOverviewCollector_active_use);
-			List<Date> dateRange = interactionHistoryRanges.get(entry.getKey());
-			long duration = dateRange.get(endDatePosition).getTime() - dateRange.get(startDatePosition).getTime();
-			report.add(MessageFormat.format(Messages.DataOverviewCollector_TO_PERIOD_OF_HOURS,
-					dateRange.get(startDatePosition), dateRange.get(endDatePosition),
-					InteractionEventClassifier.formatDuration(duration)));
-
+		report.add(Messages.DataOverviewCollector_Number_of_Users_ + interactionHistorySizes.size());
+		for (int userId : interactionHistorySizes.keys()) {
+			addUserReport(report, userId);
 		}
 		return report;
 	}
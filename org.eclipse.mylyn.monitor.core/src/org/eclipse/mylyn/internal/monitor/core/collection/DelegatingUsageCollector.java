@@ -12,6 +12,7 @@
 
 package org.eclipse.mylyn.internal.monitor.core.collection;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,7 +21,7 @@ import org.eclipse.mylyn.monitor.core.InteractionEvent;
 /**
  * @author Mik Kersten
  */
-public class DelegatingUsageCollector implements IUsageCollector {
+public class DelegatingUsageCollector implements IStreamingUsageCollector {
 
 	protected List<IUsageScanner> scanners = new ArrayList<IUsageScanner>();
 
@@ -56,7 +57,20 @@ public class DelegatingUsageCollector implements IUsageCollector {
 	}
 
 	public void exportAsCSVFile(String directory) {
+		for (IUsageCollector collector : delegates) {
+			collector.exportAsCSVFile(directory);
+		}
+	}
 
+	/**
+	 * Exports the reports of all delegates that implement {@link IStreamingUsageCollector}.
+	 */
+	public void export(UsageExportWriter writer) throws IOException {
+		for (IUsageCollector collector : delegates) {
+			if (collector instanceof IStreamingUsageCollector) {
+				((IStreamingUsageCollector) collector).export(writer);
+			}
+		}
 	}
 
 	public String getReportTitle() {
@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+import java.io.IOException;
+
+/**
+ * A usage collector that can write its report as rows to a {@link UsageExportWriter} while iterating its aggregates,
+ * without building the report in memory.
+ */
+public interface IStreamingUsageCollector extends IUsageCollector {
+
+	public abstract void export(UsageExportWriter writer) throws IOException;
+
+}
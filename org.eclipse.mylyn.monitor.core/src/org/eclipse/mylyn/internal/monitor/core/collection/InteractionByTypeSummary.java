@@ -13,41 +13,38 @@
 package org.eclipse.mylyn.internal.monitor.core.collection;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Set;
 
+import org.eclipse.mylyn.internal.monitor.core.util.CounterMatrix;
+
 /**
  * @author Leah Findlater
  */
 public class InteractionByTypeSummary {
-	HashMap<String, HashMap<Integer, Integer>> usageMap;
+
+	private final CounterMatrix usageMatrix;
 
 	public InteractionByTypeSummary() {
-		usageMap = new HashMap<String, HashMap<Integer, Integer>>();
+		usageMatrix = new CounterMatrix();
 	}
 
 	public void setUserCount(int userId, String originId, int count) {
-		if (!usageMap.containsKey(originId)) {
-			usageMap.put(originId, new HashMap<Integer, Integer>());
-		}
-		usageMap.get(originId).put(userId, count);
+		usageMatrix.set(originId, userId, count);
+	}
+
+	/**
+	 * Increments the count of <code>userId</code> for <code>originId</code> by <code>delta</code>.
+	 */
+	public void addUserCount(int userId, String originId, int delta) {
+		usageMatrix.add(originId, userId, delta);
 	}
 
 	public int getUserCount(int userId, String originId) {
-		if (usageMap.containsKey(originId) && usageMap.get(originId).containsKey(userId)) {
-			return usageMap.get(originId).get(userId);
-		} else {
-			return 0;
-		}
+		return usageMatrix.get(originId, userId);
 	}
 
 	public int getTotalCount(String originId) {
-		int count = 0;
-		for (Integer userId : usageMap.get(originId).keySet()) {
-			count = count + usageMap.get(originId).get(userId);
-		}
-
-		return count;
+		return usageMatrix.getRowTotal(originId);
 	}
 
 	public void printOut(Set<Integer> allUserIdsList) {
@@ -58,11 +55,10 @@ public class InteractionByTypeSummary {
 		}
 		System.out.println();
 
-		for (String originId : usageMap.keySet()) {
+		for (String originId : usageMatrix.getRowKeys()) {
 			System.out.print(originId);
-			Set<Integer> userIdSet = usageMap.get(originId).keySet();
 			for (int userId : allUserIdsList) {
-				if (userIdSet.contains(userId)) {
+				if (usageMatrix.get(originId, userId) > 0) {
 					System.out.print("\t1"); //$NON-NLS-1$
 				} else {
 					System.out.print("\t0"); //$NON-NLS-1$
@@ -77,8 +73,15 @@ public class InteractionByTypeSummary {
 		}
 	}
 
+	/**
+	 * Returns the ids of all users that have counts in ascending order.
+	 */
+	public int[] getUserIds() {
+		return usageMatrix.getColumnKeys();
+	}
+
 	public ArrayList<String> getOriginIdList() {
-		ArrayList<String> originIdList = new ArrayList<String>(usageMap.keySet());
+		ArrayList<String> originIdList = new ArrayList<String>(usageMatrix.getRowKeys());
 
 		return originIdList;
 	}
@@ -53,24 +53,7 @@ public class InteractionEventClassifier {
 	}
 
 	public static String getCleanOriginId(InteractionEvent event) {
-		String cleanOriginId = ""; //$NON-NLS-1$
-		String originId = event.getOriginId();
-
-		if (event.getKind().equals(InteractionEvent.Kind.COMMAND)) {
-			for (int i = 0; i < originId.length(); i++) {
-				char curChar = originId.charAt(i);
-				if (!(curChar == '&')) {
-					if (Character.getType(curChar) == Character.CONTROL) {
-						cleanOriginId = cleanOriginId.concat(" "); //$NON-NLS-1$
-					} else {
-						cleanOriginId = cleanOriginId.concat(String.valueOf(curChar));
-					}
-				}
-			}
-			return cleanOriginId;
-		} else {
-			return originId;
-		}
+		return InteractionEventUtil.getCleanOriginId(event);
 	}
 
 	public static String formatDuration(long timeToFormatInms) {
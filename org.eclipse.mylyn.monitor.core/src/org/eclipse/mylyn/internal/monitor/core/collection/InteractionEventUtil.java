@@ -20,24 +20,37 @@ import org.eclipse.mylyn.monitor.core.InteractionEvent;
 public class InteractionEventUtil {
 
 	public static String getCleanOriginId(InteractionEvent event) {
-		String cleanOriginId = ""; //$NON-NLS-1$
 		String originId = event.getOriginId();
 
 		if (event.getKind().equals(InteractionEvent.Kind.COMMAND)) {
-			for (int i = 0; i < originId.length(); i++) {
+			int i = 0;
+			// avoid copying origin ids that do not contain mnemonics or control characters
+			while (i < originId.length() && !requiresCleaning(originId.charAt(i))) {
+				i++;
+			}
+			if (i == originId.length()) {
+				return originId;
+			}
+			StringBuilder cleanOriginId = new StringBuilder(originId.length());
+			cleanOriginId.append(originId, 0, i);
+			for (; i < originId.length(); i++) {
 				char curChar = originId.charAt(i);
 				if (!(curChar == '&')) {
 					if (Character.getType(curChar) == Character.CONTROL) {
-						cleanOriginId = cleanOriginId.concat(" "); //$NON-NLS-1$
+						cleanOriginId.append(' ');
 					} else {
-						cleanOriginId = cleanOriginId.concat(String.valueOf(curChar));
+						cleanOriginId.append(curChar);
 					}
 				}
 			}
-			return cleanOriginId;
+			return cleanOriginId.toString();
 		} else {
 			return originId;
 		}
 	}
 
+	private static boolean requiresCleaning(char c) {
+		return c == '&' || Character.getType(c) == Character.CONTROL;
+	}
+
 }
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Writes rows as newline delimited JSON. Each row is an object that maps the table name to the <code>table</code> key
+ * and each column key to its value. Numbers and booleans are written as JSON primitives, dates as ISO 8601 strings in
+ * UTC.
+ */
+public class JsonUsageExportWriter extends UsageExportWriter {
+
+	private static final String TABLE_KEY = "table"; //$NON-NLS-1$
+
+	private final SimpleDateFormat dateFormat;
+
+	public JsonUsageExportWriter(Writer writer) {
+		super(writer);
+		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"); //$NON-NLS-1$
+		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC")); //$NON-NLS-1$
+	}
+
+	@Override
+	protected void writeHeader(String table, String[] keys, String[] labels) throws IOException {
+		// each row is self-describing
+	}
+
+	@Override
+	protected void writeValues(String table, String[] keys, Object[] values) throws IOException {
+		writer.write('{');
+		writeString(TABLE_KEY);
+		writer.write(':');
+		writeString(table);
+		for (int i = 0; i < values.length; i++) {
+			writer.write(',');
+			writeString(keys[i]);
+			writer.write(':');
+			writeValue(values[i]);
+		}
+		writer.write("}\n"); //$NON-NLS-1$
+	}
+
+	private void writeValue(Object value) throws IOException {
+		if (value == null) {
+			writer.write("null"); //$NON-NLS-1$
+		} else if (value instanceof Number || value instanceof Boolean) {
+			String text = value.toString();
+			if (value instanceof Double && (((Double) value).isNaN() || ((Double) value).isInfinite())
+					|| value instanceof Float && (((Float) value).isNaN() || ((Float) value).isInfinite())) {
+				writer.write("null"); //$NON-NLS-1$
+			} else {
+				writer.write(text);
+			}
+		} else if (value instanceof Date) {
+			writeString(dateFormat.format((Date) value));
+		} else {
+			writeString(value.toString());
+		}
+	}
+
+	private void writeString(String text) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '"':
+				writer.write("\\\""); //$NON-NLS-1$
+				break;
+			case '\\':
+				writer.write("\\\\"); //$NON-NLS-1$
+				break;
+			case '\n':
+				writer.write("\\n"); //$NON-NLS-1$
+				break;
+			case '\r':
+				writer.write("\\r"); //$NON-NLS-1$
+				break;
+			case '\t':
+				writer.write("\\t"); //$NON-NLS-1$
+				break;
+			default:
+				if (c < 0x20) {
+					writer.write(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+				} else {
+					writer.write(c);
+				}
+			}
+		}
+		writer.write('"');
+	}
+
+}
@@ -28,6 +28,12 @@ public class Messages extends NLS {
 
 	public static String CommandUsageCollector_Command_Usage;
 
+	public static String CommandUsageCollector_CSV_COMMAND;
+
+	public static String CommandUsageCollector_CSV_COUNT;
+
+	public static String CommandUsageCollector_CSV_USER;
+
 	public static String DataOverviewCollector_active_use;
 
 	public static String DataOverviewCollector_CSV_ACTIVE_USE;
@@ -52,6 +58,20 @@ public class Messages extends NLS {
 
 	public static String DataOverviewCollector_TO_PERIOD_OF_HOURS;
 
+	public static String SummaryCollector_CSV_COMMANDS;
+
+	public static String SummaryCollector_CSV_EDITS;
+
+	public static String SummaryCollector_CSV_END;
+
+	public static String SummaryCollector_CSV_EVENTS;
+
+	public static String SummaryCollector_CSV_PREFERENCE_CHANGES;
+
+	public static String SummaryCollector_CSV_SELECTIONS;
+
+	public static String SummaryCollector_CSV_START;
+
 	public static String SummaryCollector_END_DATE;
 
 	public static String SummaryCollector_Number_of_commands_;
@@ -66,5 +86,23 @@ public class Messages extends NLS {
 
 	public static String SummaryCollector_Summary;
 
+	public static String UsageIndex_CSV_COUNT;
+
+	public static String UsageIndex_CSV_DAY;
+
+	public static String UsageIndex_CSV_KIND;
+
+	public static String UsageIndex_CSV_ORIGIN;
+
+	public static String UsageIndex_CSV_USER;
+
+	public static String ViewUsageCollector_CSV_PERCENTAGE;
+
+	public static String ViewUsageCollector_CSV_SELECTIONS;
+
+	public static String ViewUsageCollector_CSV_USER;
+
+	public static String ViewUsageCollector_CSV_VIEW;
+
 	public static String ViewUsageCollector_View_Usage;
 }
@@ -12,6 +12,7 @@
 
 package org.eclipse.mylyn.internal.monitor.core.collection;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -21,7 +22,10 @@ import org.eclipse.mylyn.monitor.core.InteractionEvent;
 /**
  * @author Mik Kersten
  */
-public class SummaryCollector implements IUsageCollector {
+public class SummaryCollector implements IStreamingUsageCollector {
+
+	private static final String[] EXPORT_KEYS = { "start", "end", "events", "commands", "preferenceChanges", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"selections", "edits" }; //$NON-NLS-1$ //$NON-NLS-2$
 
 	protected int numSelections = 0;
 
@@ -75,8 +79,16 @@ public class SummaryCollector implements IUsageCollector {
 	}
 
 	public void exportAsCSVFile(String directory) {
-		// TODO Auto-generated method stub
+		UsageExportWriter.exportAsCSVFile(this, directory, "summary"); //$NON-NLS-1$
+	}
 
+	public void export(UsageExportWriter writer) throws IOException {
+		writer.startTable("summary", EXPORT_KEYS, new String[] { Messages.SummaryCollector_CSV_START, //$NON-NLS-1$
+				Messages.SummaryCollector_CSV_END, Messages.SummaryCollector_CSV_EVENTS,
+				Messages.SummaryCollector_CSV_COMMANDS, Messages.SummaryCollector_CSV_PREFERENCE_CHANGES,
+				Messages.SummaryCollector_CSV_SELECTIONS, Messages.SummaryCollector_CSV_EDITS });
+		writer.writeRow(leastRecentDate, mostRecentDate, numUserEvents, numCommands, numPreference, numSelections,
+				numEdits);
 	}
 
 	public List<String> getPlainTextReport() {
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+/**
+ * Formats supported by {@link UsageExportWriter}.
+ */
+public enum UsageExportFormat {
+
+	/**
+	 * Comma separated values with a header line per table.
+	 */
+	CSV("csv"), //$NON-NLS-1$
+
+	/**
+	 * Newline delimited JSON with one object per row.
+	 */
+	JSON("json"); //$NON-NLS-1$
+
+	private final String fileExtension;
+
+	private UsageExportFormat(String fileExtension) {
+		this.fileExtension = fileExtension;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+
+}
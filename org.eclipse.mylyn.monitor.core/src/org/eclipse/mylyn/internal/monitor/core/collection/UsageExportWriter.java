@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.monitor.core.IMonitorCoreConstants;
+
+/**
+ * Writes tables of usage data row by row to a character stream. A table is started with
+ * {@link #startTable(String, String[], String[])} followed by any number of calls to {@link #writeRow(Object...)}.
+ */
+public abstract class UsageExportWriter implements Closeable {
+
+	private static final String CHARSET = "UTF-8"; //$NON-NLS-1$
+
+	private static final String GZIP_EXTENSION = ".gz"; //$NON-NLS-1$
+
+	protected final BufferedWriter writer;
+
+	private String[] keys;
+
+	private String table;
+
+	protected UsageExportWriter(Writer writer) {
+		Assert.isNotNull(writer);
+		this.writer = (writer instanceof BufferedWriter) ? (BufferedWriter) writer : new BufferedWriter(writer);
+	}
+
+	/**
+	 * Creates a writer for <code>format</code> that writes UTF-8 encoded text to <code>out</code>.
+	 *
+	 * @param compress
+	 *            if true, output is compressed with gzip
+	 */
+	public static UsageExportWriter create(OutputStream out, UsageExportFormat format, boolean compress)
+			throws IOException {
+		if (compress) {
+			out = new GZIPOutputStream(out, 8192);
+		}
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, CHARSET));
+		switch (format) {
+		case CSV:
+			return new CsvUsageExportWriter(writer);
+		case JSON:
+			return new JsonUsageExportWriter(writer);
+		default:
+			throw new IllegalArgumentException("Unsupported format: " + format); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the name of the file for <code>baseName</code> in <code>format</code>.
+	 */
+	public static String getFileName(String baseName, UsageExportFormat format, boolean compress) {
+		String fileName = baseName + "." + format.getFileExtension(); //$NON-NLS-1$
+		return (compress) ? fileName + GZIP_EXTENSION : fileName;
+	}
+
+	/**
+	 * Writes the report of <code>collector</code> to <code>file</code>.
+	 */
+	public static void export(IStreamingUsageCollector collector, File file, UsageExportFormat format,
+			boolean compress) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			UsageExportWriter writer = create(out, format, compress);
+			try {
+				collector.export(writer);
+			} finally {
+				writer.close();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the report of <code>collector</code> as CSV to <code>directory</code> and logs errors. Intended for
+	 * implementations of {@link IUsageCollector#exportAsCSVFile(String)}.
+	 */
+	public static void exportAsCSVFile(IStreamingUsageCollector collector, String directory, String baseName) {
+		File file = new File(directory, getFileName(baseName, UsageExportFormat.CSV, false));
+		try {
+			export(collector, file, UsageExportFormat.CSV, false);
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, IMonitorCoreConstants.ID_PLUGIN, "Unable to write CSV file <" //$NON-NLS-1$
+					+ file.getAbsolutePath() + ">", e)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Starts a new table that uses <code>columns</code> as keys and labels.
+	 *
+	 * @see #startTable(String, String[], String[])
+	 */
+	public void startTable(String table, String... columns) throws IOException {
+		startTable(table, columns, columns);
+	}
+
+	/**
+	 * Starts a new table. Subsequent rows need to provide a value for each column.
+	 *
+	 * @param keys
+	 *            identify the columns in formats that name each value, e.g. JSON; keys must not be localized
+	 * @param labels
+	 *            the column headers that are displayed to users, e.g. in CSV
+	 */
+	public void startTable(String table, String[] keys, String[] labels) throws IOException {
+		Assert.isNotNull(table);
+		Assert.isLegal(keys.length > 0);
+		Assert.isLegal(keys.length == labels.length, "Number of keys does not match number of labels"); //$NON-NLS-1$
+		this.table = table;
+		this.keys = keys;
+		writeHeader(table, keys, labels);
+	}
+
+	public void writeRow(Object... values) throws IOException {
+		Assert.isTrue(keys != null, "startTable() must be invoked before writing rows"); //$NON-NLS-1$
+		Assert.isLegal(values.length == keys.length, "Number of values does not match number of columns"); //$NON-NLS-1$
+		writeValues(table, keys, values);
+	}
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	protected abstract void writeHeader(String table, String[] keys, String[] labels) throws IOException;
+
+	protected abstract void writeValues(String table, String[] keys, Object[] values) throws IOException;
+
+}
@@ -0,0 +1,555 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.monitor.core.IMonitorCoreConstants;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+/**
+ * Maintains per-day, per-user and per-origin rollups of interaction events so that reports over arbitrary date ranges
+ * can be computed without replaying raw interaction histories.
+ * <p>
+ * Rollups are kept in memory and persisted to a small binary file. Changes are appended to the file as delta records
+ * by {@link #flush()}, {@link #compact()} rewrites the file as a single snapshot. Use {@link #rebuild(Iterable, int)}
+ * or {@link #clear()} followed by {@link #consumeEvent(InteractionEvent, int)} to recreate the index from interaction
+ * logs.
+ */
+public class UsageIndex implements IStreamingUsageCollector {
+
+	/**
+	 * User id used for events that are observed in the running workbench.
+	 */
+	public static final int LOCAL_USER_ID = 0;
+
+	private static final int MAGIC = 0x4D555849; // MUXI
+
+	private static final int VERSION = 1;
+
+	private static final byte RECORD_USER = 1;
+
+	private static final byte RECORD_ORIGIN = 2;
+
+	private static final long ACTIVE_THRESHOLD = 5 * 60 * 1000;
+
+	private static final String[] EXPORT_KEYS = { "day", "user", "kind", "origin", "count" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	/**
+	 * Aggregated values of a single user for one or more days.
+	 */
+	public static class UserRollup {
+
+		private int eventCount;
+
+		private long firstEventTime = Long.MAX_VALUE;
+
+		private long lastEventTime = Long.MIN_VALUE;
+
+		private long activeDuration;
+
+		private final Map<InteractionEvent.Kind, Map<String, Integer>> originCounts = new HashMap<InteractionEvent.Kind, Map<String, Integer>>();
+
+		public int getEventCount() {
+			return eventCount;
+		}
+
+		public Date getFirstEventDate() {
+			return (eventCount > 0) ? new Date(firstEventTime) : null;
+		}
+
+		public Date getLastEventDate() {
+			return (eventCount > 0) ? new Date(lastEventTime) : null;
+		}
+
+		public long getActiveDuration() {
+			return activeDuration;
+		}
+
+		public int getCount(InteractionEvent.Kind kind, String originId) {
+			Map<String, Integer> counts = originCounts.get(kind);
+			if (counts != null) {
+				Integer count = counts.get(originId);
+				if (count != null) {
+					return count;
+				}
+			}
+			return 0;
+		}
+
+		void addEvents(int count, long firstTime, long lastTime, long active) {
+			eventCount += count;
+			firstEventTime = Math.min(firstEventTime, firstTime);
+			lastEventTime = Math.max(lastEventTime, lastTime);
+			activeDuration += active;
+		}
+
+		void addOriginCount(InteractionEvent.Kind kind, String originId, int count) {
+			Map<String, Integer> counts = originCounts.get(kind);
+			if (counts == null) {
+				counts = new HashMap<String, Integer>();
+				originCounts.put(kind, counts);
+			}
+			Integer value = counts.get(originId);
+			counts.put(originId, (value != null) ? value + count : count);
+		}
+
+		void merge(UserRollup rollup) {
+			if (rollup.eventCount > 0 || rollup.activeDuration > 0) {
+				addEvents(rollup.eventCount, rollup.firstEventTime, rollup.lastEventTime, rollup.activeDuration);
+			}
+			for (Map.Entry<InteractionEvent.Kind, Map<String, Integer>> kindEntry : rollup.originCounts.entrySet()) {
+				for (Map.Entry<String, Integer> entry : kindEntry.getValue().entrySet()) {
+					addOriginCount(kindEntry.getKey(), entry.getKey(), entry.getValue());
+				}
+			}
+		}
+
+	}
+
+	private final File file;
+
+	/**
+	 * Maps day keys to rollups by user id.
+	 */
+	private final TreeMap<Integer, Map<Integer, UserRollup>> days = new TreeMap<Integer, Map<Integer, UserRollup>>();
+
+	/**
+	 * Changes since the last flush in the same format as {@link #days}.
+	 */
+	private final TreeMap<Integer, Map<Integer, UserRollup>> pending = new TreeMap<Integer, Map<Integer, UserRollup>>();
+
+	private final Map<Integer, Long> lastEventTimeByUser = new HashMap<Integer, Long>();
+
+	private final Calendar calendar = Calendar.getInstance();
+
+	private long cachedDayStart = Long.MAX_VALUE;
+
+	private long cachedDayEnd = Long.MIN_VALUE;
+
+	private int cachedDay;
+
+	private int pendingEventCount;
+
+	/**
+	 * Set if the index file contains a truncated record which must not be followed by appended records.
+	 */
+	private boolean requiresCompaction;
+
+	private String filePrefix = ""; //$NON-NLS-1$
+
+	public UsageIndex(File file) {
+		Assert.isNotNull(file);
+		this.file = file;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public void setFilePrefix(String filePrefix) {
+		this.filePrefix = filePrefix;
+	}
+
+	/**
+	 * Returns the number of events consumed since the last {@link #flush()}.
+	 */
+	public synchronized int getPendingEventCount() {
+		return pendingEventCount;
+	}
+
+	public synchronized void consumeEvent(InteractionEvent event, int userId) {
+		long time = event.getDate().getTime();
+		int day = getDay(time);
+
+		// active duration is accounted to the day of the later event, consistent with DataOverviewCollector
+		long active = 0;
+		Long lastEventTime = lastEventTimeByUser.get(userId);
+		if (lastEventTime != null) {
+			long elapsed = time - lastEventTime;
+			if (elapsed >= 0 && elapsed < ACTIVE_THRESHOLD) {
+				active = elapsed;
+			}
+		}
+		lastEventTimeByUser.put(userId, time);
+
+		String originId = InteractionEventUtil.getCleanOriginId(event);
+		addEvent(days, day, userId, event.getKind(), originId, time, active);
+		addEvent(pending, day, userId, event.getKind(), originId, time, active);
+		pendingEventCount++;
+	}
+
+	/**
+	 * Reads the index file and replaces all rollups in memory. Needs to be invoked before consuming events if the index
+	 * file already exists. Records that were only partially written, e.g. due to a crash while appending, are ignored.
+	 * The time of the last event of each user is restored so that the active duration of subsequent events is
+	 * accounted correctly.
+	 */
+	public synchronized void load() throws IOException {
+		days.clear();
+		pending.clear();
+		lastEventTimeByUser.clear();
+		pendingEventCount = 0;
+		requiresCompaction = false;
+		if (!file.exists()) {
+			return;
+		}
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Invalid usage index file: " + file.getAbsolutePath()); //$NON-NLS-1$
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported usage index version " + version + ": " + file.getAbsolutePath()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			while (true) {
+				byte type;
+				try {
+					type = in.readByte();
+				} catch (EOFException e) {
+					break;
+				}
+				try {
+					readRecord(in, type);
+				} catch (EOFException e) {
+					StatusHandler.log(new Status(IStatus.WARNING, IMonitorCoreConstants.ID_PLUGIN,
+							"Ignored truncated record in usage index: " + file.getAbsolutePath())); //$NON-NLS-1$
+					requiresCompaction = true;
+					break;
+				}
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Appends all changes since the last flush to the index file.
+	 */
+	public synchronized void flush() throws IOException {
+		if (pending.isEmpty()) {
+			return;
+		}
+		if (requiresCompaction || !file.exists() || file.length() == 0) {
+			compact();
+			return;
+		}
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+		try {
+			writeRecords(out, pending);
+		} finally {
+			out.close();
+		}
+		pending.clear();
+		pendingEventCount = 0;
+	}
+
+	/**
+	 * Rewrites the index file as a single snapshot that merges all delta records.
+	 */
+	public synchronized void compact() throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		File tempFile = new File(file.getAbsolutePath() + ".tmp"); //$NON-NLS-1$
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			writeRecords(out, days);
+		} finally {
+			out.close();
+		}
+		try {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tempFile.delete();
+			throw e;
+		}
+		pending.clear();
+		pendingEventCount = 0;
+		requiresCompaction = false;
+	}
+
+	/**
+	 * Discards all rollups. The index file is not modified until the next {@link #compact()}.
+	 */
+	public synchronized void clear() {
+		days.clear();
+		pending.clear();
+		lastEventTimeByUser.clear();
+		pendingEventCount = 0;
+	}
+
+	/**
+	 * Recreates the index from <code>events</code> of a single user and rewrites the index file.
+	 */
+	public synchronized void rebuild(Iterable<InteractionEvent> events, int userId) throws IOException {
+		clear();
+		for (InteractionEvent event : events) {
+			consumeEvent(event, userId);
+		}
+		compact();
+	}
+
+	/**
+	 * Drops all rollups for days before <code>date</code> and compacts the index file.
+	 */
+	public synchronized void removeBefore(Date date) throws IOException {
+		days.headMap(getDay(date.getTime()), false).clear();
+		pending.headMap(getDay(date.getTime()), false).clear();
+		compact();
+	}
+
+	public synchronized Set<Integer> getUserIds() {
+		Set<Integer> userIds = new TreeSet<Integer>();
+		for (Map<Integer, UserRollup> rollups : days.values()) {
+			userIds.addAll(rollups.keySet());
+		}
+		return userIds;
+	}
+
+	/**
+	 * Returns the merged rollup of <code>userId</code> for all days between <code>from</code> and <code>to</code>
+	 * inclusive.
+	 *
+	 * @param from
+	 *            the start date or <code>null</code> for no lower bound
+	 * @param to
+	 *            the end date or <code>null</code> for no upper bound
+	 */
+	public synchronized UserRollup getRollup(int userId, Date from, Date to) {
+		UserRollup result = new UserRollup();
+		for (Map<Integer, UserRollup> rollups : getDays(from, to).values()) {
+			UserRollup rollup = rollups.get(userId);
+			if (rollup != null) {
+				result.merge(rollup);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a summary of the event counts by origin for all users and all days between <code>from</code> and
+	 * <code>to</code> inclusive.
+	 *
+	 * @param kind
+	 *            the kind of events to count or <code>null</code> for all kinds
+	 */
+	public synchronized InteractionByTypeSummary getSummary(InteractionEvent.Kind kind, Date from, Date to) {
+		InteractionByTypeSummary summary = new InteractionByTypeSummary();
+		for (Map<Integer, UserRollup> rollups : getDays(from, to).values()) {
+			for (Map.Entry<Integer, UserRollup> entry : rollups.entrySet()) {
+				int userId = entry.getKey();
+				for (Map.Entry<InteractionEvent.Kind, Map<String, Integer>> kindEntry : entry.getValue().originCounts.entrySet()) {
+					if (kind == null || kind == kindEntry.getKey()) {
+						for (Map.Entry<String, Integer> count : kindEntry.getValue().entrySet()) {
+							summary.addUserCount(userId, count.getKey(), count.getValue());
+						}
+					}
+				}
+			}
+		}
+		return summary;
+	}
+
+	/**
+	 * Returns a data overview for all users and all days between <code>from</code> and <code>to</code> inclusive.
+	 */
+	public synchronized DataOverviewCollector getDataOverview(Date from, Date to) {
+		DataOverviewCollector collector = new DataOverviewCollector(filePrefix);
+		for (int userId : getUserIds()) {
+			UserRollup rollup = getRollup(userId, from, to);
+			if (rollup.getEventCount() > 0) {
+				collector.addUserRollup(userId, rollup.getEventCount(), rollup.getFirstEventDate(),
+						rollup.getLastEventDate(), rollup.getActiveDuration());
+			}
+		}
+		return collector;
+	}
+
+	public String getReportTitle() {
+		return Messages.DataOverviewCollector_Data_Overview;
+	}
+
+	public List<String> getReport() {
+		return getDataOverview(null, null).getReport();
+	}
+
+	public List<String> getPlainTextReport() {
+		return getDataOverview(null, null).getPlainTextReport();
+	}
+
+	public void exportAsCSVFile(String directory) {
+		UsageExportWriter.exportAsCSVFile(this, directory, filePrefix + "usageIndex"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the data overview followed by the daily event counts by user, kind and origin.
+	 */
+	public synchronized void export(UsageExportWriter writer) throws IOException {
+		getDataOverview(null, null).export(writer);
+		writer.startTable("dailyUsage", EXPORT_KEYS, new String[] { Messages.UsageIndex_CSV_DAY, //$NON-NLS-1$
+				Messages.UsageIndex_CSV_USER, Messages.UsageIndex_CSV_KIND, Messages.UsageIndex_CSV_ORIGIN,
+				Messages.UsageIndex_CSV_COUNT });
+		for (Map.Entry<Integer, Map<Integer, UserRollup>> dayEntry : days.entrySet()) {
+			for (Map.Entry<Integer, UserRollup> userEntry : dayEntry.getValue().entrySet()) {
+				for (Map.Entry<InteractionEvent.Kind, Map<String, Integer>> kindEntry : userEntry.getValue().originCounts.entrySet()) {
+					for (Map.Entry<String, Integer> count : kindEntry.getValue().entrySet()) {
+						writer.writeRow(dayEntry.getKey(), userEntry.getKey(), kindEntry.getKey().toString(),
+								count.getKey(), count.getValue());
+					}
+				}
+			}
+		}
+	}
+
+	private NavigableMap<Integer, Map<Integer, UserRollup>> getDays(Date from, Date to) {
+		if (days.isEmpty()) {
+			return Collections.<Integer, Map<Integer, UserRollup>> emptyNavigableMap();
+		}
+		int fromDay = (from != null) ? getDay(from.getTime()) : days.firstKey();
+		int toDay = (to != null) ? getDay(to.getTime()) : days.lastKey();
+		if (fromDay > toDay) {
+			return Collections.<Integer, Map<Integer, UserRollup>> emptyNavigableMap();
+		}
+		return days.subMap(fromDay, true, toDay, true);
+	}
+
+	private void addEvent(TreeMap<Integer, Map<Integer, UserRollup>> target, int day, int userId,
+			InteractionEvent.Kind kind, String originId, long time, long active) {
+		UserRollup rollup = getOrCreate(target, day, userId);
+		rollup.addEvents(1, time, time, active);
+		rollup.addOriginCount(kind, originId, 1);
+	}
+
+	private UserRollup getOrCreate(TreeMap<Integer, Map<Integer, UserRollup>> target, int day, int userId) {
+		Map<Integer, UserRollup> rollups = target.get(day);
+		if (rollups == null) {
+			rollups = new HashMap<Integer, UserRollup>();
+			target.put(day, rollups);
+		}
+		UserRollup rollup = rollups.get(userId);
+		if (rollup == null) {
+			rollup = new UserRollup();
+			rollups.put(userId, rollup);
+		}
+		return rollup;
+	}
+
+	/**
+	 * Returns the local day of <code>time</code> encoded as <code>yyyyMMdd</code>.
+	 */
+	private int getDay(long time) {
+		if (time >= cachedDayStart && time < cachedDayEnd) {
+			return cachedDay;
+		}
+		calendar.setTimeInMillis(time);
+		calendar.set(Calendar.HOUR_OF_DAY, 0);
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		cachedDayStart = calendar.getTimeInMillis();
+		cachedDay = calendar.get(Calendar.YEAR) * 10000 + (calendar.get(Calendar.MONTH) + 1) * 100
+				+ calendar.get(Calendar.DAY_OF_MONTH);
+		calendar.add(Calendar.DAY_OF_MONTH, 1);
+		cachedDayEnd = calendar.getTimeInMillis();
+		return cachedDay;
+	}
+
+	private void readRecord(DataInputStream in, byte type) throws IOException {
+		int day = in.readInt();
+		int userId = in.readInt();
+		switch (type) {
+		case RECORD_USER:
+			int eventCount = in.readInt();
+			long firstEventTime = in.readLong();
+			long lastEventTime = in.readLong();
+			long activeDuration = in.readLong();
+			getOrCreate(days, day, userId).addEvents(eventCount, firstEventTime, lastEventTime, activeDuration);
+			if (eventCount > 0) {
+				Long previousTime = lastEventTimeByUser.get(userId);
+				if (previousTime == null || previousTime < lastEventTime) {
+					lastEventTimeByUser.put(userId, lastEventTime);
+				}
+			}
+			break;
+		case RECORD_ORIGIN:
+			InteractionEvent.Kind kind = InteractionEvent.Kind.fromString(in.readUTF());
+			String originId = in.readUTF();
+			int count = in.readInt();
+			if (kind != null) {
+				getOrCreate(days, day, userId).addOriginCount(kind, originId, count);
+			}
+			break;
+		default:
+			throw new IOException("Invalid record type " + type + " in usage index: " + file.getAbsolutePath()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private void writeRecords(DataOutputStream out, TreeMap<Integer, Map<Integer, UserRollup>> source)
+			throws IOException {
+		for (Map.Entry<Integer, Map<Integer, UserRollup>> dayEntry : source.entrySet()) {
+			for (Map.Entry<Integer, UserRollup> userEntry : dayEntry.getValue().entrySet()) {
+				UserRollup rollup = userEntry.getValue();
+				if (rollup.eventCount > 0 || rollup.activeDuration > 0) {
+					out.writeByte(RECORD_USER);
+					out.writeInt(dayEntry.getKey());
+					out.writeInt(userEntry.getKey());
+					out.writeInt(rollup.eventCount);
+					out.writeLong(rollup.firstEventTime);
+					out.writeLong(rollup.lastEventTime);
+					out.writeLong(rollup.activeDuration);
+				}
+				for (Map.Entry<InteractionEvent.Kind, Map<String, Integer>> kindEntry : rollup.originCounts.entrySet()) {
+					for (Map.Entry<String, Integer> count : kindEntry.getValue().entrySet()) {
+						out.writeByte(RECORD_ORIGIN);
+						out.writeInt(dayEntry.getKey());
+						out.writeInt(userEntry.getKey());
+						out.writeUTF(kindEntry.getKey().toString());
+						out.writeUTF(count.getKey());
+						out.writeInt(count.getValue());
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.collection;
+
+import java.io.IOException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.monitor.core.IMonitorCoreConstants;
+import org.eclipse.mylyn.monitor.core.IInteractionEventListener;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+/**
+ * Updates a {@link UsageIndex} as interaction events are observed and periodically appends the changes to the index
+ * file.
+ */
+public class UsageIndexListener implements IInteractionEventListener {
+
+	/**
+	 * Writes pending changes in the background since events are typically observed on the UI thread.
+	 */
+	private class FlushJob extends Job {
+
+		public FlushJob() {
+			super("Flush usage index"); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(Job.SHORT);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			flush();
+			return Status.OK_STATUS;
+		}
+
+	}
+
+	private static final int DEFAULT_FLUSH_THRESHOLD = 500;
+
+	private final UsageIndex index;
+
+	private final int userId;
+
+	private int flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+
+	private volatile boolean started;
+
+	private FlushJob flushJob;
+
+	public UsageIndexListener(UsageIndex index) {
+		this(index, UsageIndex.LOCAL_USER_ID);
+	}
+
+	public UsageIndexListener(UsageIndex index, int userId) {
+		this.index = index;
+		this.userId = userId;
+	}
+
+	public UsageIndex getIndex() {
+		return index;
+	}
+
+	public void setFlushThreshold(int flushThreshold) {
+		this.flushThreshold = flushThreshold;
+	}
+
+	public int getFlushThreshold() {
+		return flushThreshold;
+	}
+
+	public void interactionObserved(InteractionEvent event) {
+		if (!started) {
+			return;
+		}
+		index.consumeEvent(event, userId);
+		if (index.getPendingEventCount() >= flushThreshold) {
+			scheduleFlush();
+		}
+	}
+
+	public synchronized void startMonitoring() {
+		if (started) {
+			return;
+		}
+		try {
+			index.load();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, IMonitorCoreConstants.ID_PLUGIN,
+					"Could not read usage index, recreating index", e)); //$NON-NLS-1$
+			index.clear();
+			try {
+				index.compact();
+			} catch (IOException e1) {
+				StatusHandler.log(new Status(IStatus.ERROR, IMonitorCoreConstants.ID_PLUGIN,
+						"Could not reset usage index", e1)); //$NON-NLS-1$
+				return;
+			}
+		}
+		started = true;
+	}
+
+	public synchronized void stopMonitoring() {
+		if (started) {
+			started = false;
+			if (flushJob != null) {
+				flushJob.cancel();
+				flushJob = null;
+			}
+			flush();
+		}
+	}
+
+	private synchronized void scheduleFlush() {
+		if (started) {
+			if (flushJob == null) {
+				flushJob = new FlushJob();
+			}
+			flushJob.schedule();
+		}
+	}
+
+	private void flush() {
+		try {
+			index.flush();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, IMonitorCoreConstants.ID_PLUGIN,
+					"Could not write usage index", e)); //$NON-NLS-1$
+		}
+	}
+
+}
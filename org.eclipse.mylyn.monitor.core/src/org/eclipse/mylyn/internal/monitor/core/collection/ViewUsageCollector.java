@@ -13,6 +13,7 @@
 
 package org.eclipse.mylyn.internal.monitor.core.collection;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,7 +26,9 @@ import org.eclipse.mylyn.monitor.core.InteractionEvent;
  * @author Mik Kersten
  * @author Leah Findlater
  */
-public class ViewUsageCollector implements IUsageCollector {
+public class ViewUsageCollector implements IStreamingUsageCollector {
+
+	private static final String[] EXPORT_KEYS = { "user", "view", "selections", "percentage" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 	protected Map<Integer, Integer> usersNumSelections = new HashMap<Integer, Integer>();
 
@@ -118,8 +121,20 @@ public class ViewUsageCollector implements IUsageCollector {
 	}
 
 	public void exportAsCSVFile(String directory) {
-		// TODO Auto-generated method stub
+		UsageExportWriter.exportAsCSVFile(this, directory, "viewUsage"); //$NON-NLS-1$
+	}
 
+	public void export(UsageExportWriter writer) throws IOException {
+		writer.startTable("viewUsage", EXPORT_KEYS, new String[] { Messages.ViewUsageCollector_CSV_USER, //$NON-NLS-1$
+				Messages.ViewUsageCollector_CSV_VIEW, Messages.ViewUsageCollector_CSV_SELECTIONS,
+				Messages.ViewUsageCollector_CSV_PERCENTAGE });
+		for (Map.Entry<Integer, Map<String, Integer>> userEntry : usersNormalViewSelections.entrySet()) {
+			float numSelections = usersNumSelections.get(userEntry.getKey());
+			for (Map.Entry<String, Integer> entry : userEntry.getValue().entrySet()) {
+				writer.writeRow(userEntry.getKey(), entry.getKey(), entry.getValue(),
+						formatAsPercentage(entry.getValue() / numSelections));
+			}
+		}
 	}
 
 	/**
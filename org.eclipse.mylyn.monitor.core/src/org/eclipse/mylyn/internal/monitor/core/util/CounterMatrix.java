@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dense matrix of <code>int</code> counters with <code>String</code> row keys, e.g. origin ids, and <code>int</code>
+ * column keys, e.g. user ids. Rows and columns are added on demand and counters are stored without boxing. Not
+ * thread-safe.
+ */
+public class CounterMatrix {
+
+	private final Map<String, Integer> rowIndexes = new HashMap<String, Integer>();
+
+	private final List<String> rowKeys = new ArrayList<String>();
+
+	private final IntIntHashMap columnIndexes = new IntIntHashMap();
+
+	/**
+	 * The minimum length of newly allocated rows, grows with the number of columns to avoid frequent copying.
+	 */
+	private int columnCapacity = 8;
+
+	private int[][] rows = new int[8][];
+
+	public int getRowCount() {
+		return rowKeys.size();
+	}
+
+	public int getColumnCount() {
+		return columnIndexes.size();
+	}
+
+	/**
+	 * Returns the row keys in the order they were added.
+	 */
+	public List<String> getRowKeys() {
+		return new ArrayList<String>(rowKeys);
+	}
+
+	/**
+	 * Returns the column keys in ascending order.
+	 */
+	public int[] getColumnKeys() {
+		return columnIndexes.keys();
+	}
+
+	public boolean containsRow(String rowKey) {
+		return rowIndexes.containsKey(rowKey);
+	}
+
+	public int get(String rowKey, int columnKey) {
+		Integer row = rowIndexes.get(rowKey);
+		if (row == null) {
+			return 0;
+		}
+		int column = columnIndexes.get(columnKey, -1);
+		if (column < 0) {
+			return 0;
+		}
+		int[] counts = rows[row];
+		return (column < counts.length) ? counts[column] : 0;
+	}
+
+	public void set(String rowKey, int columnKey, int value) {
+		int[] counts = getRow(rowKey, columnKey);
+		counts[columnIndexes.get(columnKey, -1)] = value;
+	}
+
+	/**
+	 * Adds <code>delta</code> to the counter at <code>rowKey</code> and <code>columnKey</code> and returns the new
+	 * value.
+	 */
+	public int add(String rowKey, int columnKey, int delta) {
+		int[] counts = getRow(rowKey, columnKey);
+		int column = columnIndexes.get(columnKey, -1);
+		counts[column] += delta;
+		return counts[column];
+	}
+
+	/**
+	 * Returns the sum of all counters in <code>rowKey</code>.
+	 */
+	public int getRowTotal(String rowKey) {
+		Integer row = rowIndexes.get(rowKey);
+		if (row == null) {
+			return 0;
+		}
+		int total = 0;
+		for (int count : rows[row]) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the sum of all counters in <code>columnKey</code>.
+	 */
+	public int getColumnTotal(int columnKey) {
+		int column = columnIndexes.get(columnKey, -1);
+		if (column < 0) {
+			return 0;
+		}
+		int total = 0;
+		for (int i = 0; i < rowKeys.size(); i++) {
+			int[] counts = rows[i];
+			if (column < counts.length) {
+				total += counts[column];
+			}
+		}
+		return total;
+	}
+
+	public void clear() {
+		rowIndexes.clear();
+		rowKeys.clear();
+		columnIndexes.clear();
+		Arrays.fill(rows, null);
+	}
+
+	private int[] getRow(String rowKey, int columnKey) {
+		int column = columnIndexes.get(columnKey, -1);
+		if (column < 0) {
+			column = columnIndexes.size();
+			columnIndexes.put(columnKey, column);
+			if (column == columnCapacity) {
+				columnCapacity *= 2;
+			}
+		}
+
+		int row;
+		Integer index = rowIndexes.get(rowKey);
+		if (index == null) {
+			row = rowKeys.size();
+			rowIndexes.put(rowKey, row);
+			rowKeys.add(rowKey);
+			if (row == rows.length) {
+				rows = Arrays.copyOf(rows, row * 2);
+			}
+			rows[row] = new int[columnCapacity];
+		} else {
+			row = index;
+		}
+
+		int[] counts = rows[row];
+		if (column >= counts.length) {
+			counts = Arrays.copyOf(counts, columnCapacity);
+			rows[row] = counts;
+		}
+		return counts;
+	}
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from <code>int</code> keys to <code>int</code> values that uses open addressing with linear probing and does
+ * not box keys or values. Not thread-safe.
+ */
+public class IntIntHashMap {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] keys;
+
+	private int[] values;
+
+	private boolean[] used;
+
+	private int size;
+
+	private int mask;
+
+	private int threshold;
+
+	public IntIntHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntIntHashMap(int expectedSize) {
+		allocate(PrimitiveHashing.capacityFor(expectedSize));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(int key) {
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Returns the value for <code>key</code> or <code>defaultValue</code> if the map does not contain <code>key</code>.
+	 */
+	public int get(int key, int defaultValue) {
+		int index = indexOf(key);
+		return (index >= 0) ? values[index] : defaultValue;
+	}
+
+	public void put(int key, int value) {
+		int index = insertionIndexOf(key);
+		values[index] = value;
+	}
+
+	/**
+	 * Adds <code>delta</code> to the value of <code>key</code>, treating absent keys as 0, and returns the new value.
+	 */
+	public int add(int key, int delta) {
+		int index = insertionIndexOf(key);
+		values[index] += delta;
+		return values[index];
+	}
+
+	/**
+	 * Removes <code>key</code> and returns its value or <code>defaultValue</code> if the map did not contain
+	 * <code>key</code>.
+	 */
+	public int remove(int key, int defaultValue) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return defaultValue;
+		}
+		int value = values[index];
+		// shift subsequent entries of the probe sequence back to keep lookups correct without tombstones
+		int gap = index;
+		int i = (index + 1) & mask;
+		while (used[i]) {
+			int home = PrimitiveHashing.hash(keys[i]) & mask;
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				keys[gap] = keys[i];
+				values[gap] = values[i];
+				gap = i;
+			}
+			i = (i + 1) & mask;
+		}
+		used[gap] = false;
+		values[gap] = 0;
+		size--;
+		return value;
+	}
+
+	public void clear() {
+		Arrays.fill(used, false);
+		Arrays.fill(values, 0);
+		size = 0;
+	}
+
+	/**
+	 * Returns the keys in ascending order.
+	 */
+	public int[] keys() {
+		int[] result = new int[size];
+		int n = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (used[i]) {
+				result[n++] = keys[i];
+			}
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	private int indexOf(int key) {
+		int i = PrimitiveHashing.hash(key) & mask;
+		while (used[i]) {
+			if (keys[i] == key) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	private int insertionIndexOf(int key) {
+		int i = PrimitiveHashing.hash(key) & mask;
+		while (used[i]) {
+			if (keys[i] == key) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		if (size >= threshold) {
+			rehash(keys.length * 2);
+			return insertionIndexOf(key);
+		}
+		used[i] = true;
+		keys[i] = key;
+		size++;
+		return i;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+		threshold = PrimitiveHashing.thresholdFor(capacity);
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int j = PrimitiveHashing.hash(oldKeys[i]) & mask;
+				while (used[j]) {
+					j = (j + 1) & mask;
+				}
+				used[j] = true;
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.core.util;
+
+/**
+ * Sizing and hashing shared by {@link IntIntHashMap} and {@link IntLongHashMap}.
+ */
+class PrimitiveHashing {
+
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	/**
+	 * Spreads sequential keys such as user ids across the table.
+	 */
+	static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	static int capacityFor(int expectedSize) {
+		int capacity = 4;
+		while (capacity < MAX_CAPACITY && capacity * LOAD_FACTOR <= expectedSize) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	static int thresholdFor(int capacity) {
+		return (capacity == MAX_CAPACITY) ? capacity - 1 : (int) (capacity * LOAD_FACTOR);
+	}
+
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.monitor.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.monitor.ui.ActivityIntervalAccumulator;
+import org.eclipse.mylyn.internal.monitor.ui.ActivityIntervalAccumulator.Key;
+
+public class ActivityIntervalAccumulatorTest extends TestCase {
+
+	private class StubAccumulator extends ActivityIntervalAccumulator {
+
+		private final List<String> intervals = new ArrayList<String>();
+
+		public StubAccumulator(long maxPendingDuration) {
+			super(maxPendingDuration);
+		}
+
+		@Override
+		protected void processInterval(String origin, String structureKind, String handle, long start, long end) {
+			intervals.add(handle + ":" + start + "-" + end);
+		}
+
+	}
+
+	private final Key task1 = new Key("origin", "timing", "task1");
+
+	private final Key task2 = new Key("origin", "timing", "task2");
+
+	private StubAccumulator accumulator;
+
+	@Override
+	protected void setUp() throws Exception {
+		accumulator = new StubAccumulator(0);
+	}
+
+	public void testMergeContiguous() {
+		accumulator.add(0, 30, task1);
+		accumulator.add(30, 60, task1);
+		accumulator.add(60, 90, task1);
+		assertTrue(accumulator.intervals.isEmpty());
+		assertTrue(accumulator.hasPending());
+		accumulator.flush();
+		assertEquals("[task1:0-90]", accumulator.intervals.toString());
+		assertFalse(accumulator.hasPending());
+	}
+
+	public void testHandleChange() {
+		accumulator.add(0, 30, task1);
+		accumulator.add(30, 60, task1);
+		accumulator.add(60, 90, task2);
+		assertEquals("[task1:0-60]", accumulator.intervals.toString());
+		accumulator.flush();
+		assertEquals("[task1:0-60, task2:60-90]", accumulator.intervals.toString());
+	}
+
+	public void testOriginChange() {
+		accumulator.add(0, 30, task1);
+		accumulator.add(30, 60, new Key("other", "timing", "task1"));
+		accumulator.flush();
+		assertEquals("[task1:0-30, task1:30-60]", accumulator.intervals.toString());
+	}
+
+	public void testGap() {
+		accumulator.add(0, 30, task1);
+		accumulator.add(100, 130, task1);
+		assertEquals("[task1:0-30]", accumulator.intervals.toString());
+		accumulator.flush();
+		assertEquals("[task1:0-30, task1:100-130]", accumulator.intervals.toString());
+	}
+
+	public void testMultipleKeys() {
+		accumulator.add(0, 30, task1, task2);
+		accumulator.add(30, 60, task1, task2);
+		accumulator.add(60, 90, task2);
+		assertEquals("[task1:0-60]", accumulator.intervals.toString());
+		accumulator.flush();
+		assertEquals("[task1:0-60, task2:0-90]", accumulator.intervals.toString());
+	}
+
+	public void testMaxPendingDuration() {
+		accumulator.setMaxPendingDuration(60);
+		accumulator.add(0, 30, task1);
+		accumulator.add(30, 60, task1);
+		assertEquals("[task1:0-60]", accumulator.intervals.toString());
+		accumulator.add(60, 90, task1);
+		accumulator.flush();
+		assertEquals("[task1:0-60, task1:60-90]", accumulator.intervals.toString());
+	}
+
+	public void testRemoveSplitsInterval() {
+		accumulator.add(0, 30, task1);
+		accumulator.add(30, 60, task1);
+		accumulator.add(60, 90, task1);
+		accumulator.remove("task1", 20, 50);
+		assertEquals("[task1:0-20]", accumulator.intervals.toString());
+		assertTrue(accumulator.hasPending());
+		accumulator.add(90, 120, task1);
+		accumulator.flush();
+		assertEquals("[task1:0-20, task1:50-120]", accumulator.intervals.toString());
+	}
+
+	public void testRemoveEntireInterval() {
+		accumulator.add(10, 30, task1);
+		accumulator.remove("task1", 0, 100);
+		assertFalse(accumulator.hasPending());
+		accumulator.flush();
+		assertTrue(accumulator.intervals.isEmpty());
+	}
+
+	public void testRemoveOtherHandle() {
+		accumulator.add(0, 30, task1);
+		accumulator.remove("task2", 0, 30);
+		accumulator.remove("task1", 30, 60);
+		accumulator.flush();
+		assertEquals("[task1:0-30]", accumulator.intervals.toString());
+	}
+
+	public void testRemoveTail() {
+		accumulator.add(0, 60, task1);
+		accumulator.remove("task1", 30, 60);
+		assertEquals("[task1:0-30]", accumulator.intervals.toString());
+		assertFalse(accumulator.hasPending());
+	}
+
+	public void testIgnoreEmptyInterval() {
+		accumulator.add(30, 30, task1);
+		accumulator.add(30, 20, task1);
+		assertFalse(accumulator.hasPending());
+	}
+
+}
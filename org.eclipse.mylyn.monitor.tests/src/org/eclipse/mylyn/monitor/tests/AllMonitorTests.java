@@ -24,6 +24,10 @@ public class AllMonitorTests {
 		TestSuite suite = new TestSuite(AllMonitorTests.class.getName());
 		suite.addTestSuite(CheckActivityJobTest.class);
 		suite.addTestSuite(ActivityContextManagerTest.class);
+		suite.addTestSuite(UsageIndexTest.class);
+		suite.addTestSuite(PrimitiveCollectionsTest.class);
+		suite.addTestSuite(UsageExportTest.class);
+		suite.addTestSuite(ActivityIntervalAccumulatorTest.class);
 		return suite;
 	}
 
@@ -151,8 +151,35 @@ public class CheckActivityJobTest extends TestCase {
 				callback.activeTime > 5 && callback.activeTime < 40);
 	}
 
+	public void testResumeFromSleepAfterActivityScheduled() throws Exception {
+		job.scheduling = true;
+		long start = System.currentTimeMillis();
+		callback.lastEventTime = start;
+		job.setInactivityTimeout(100);
+		job.setTick(20);
+		job.run();
+		assertTrue(job.isActive());
+		Thread.sleep(50);
+		callback.lastEventTime = System.currentTimeMillis();
+		// resume from sleep long after the scheduled check was due
+		Thread.sleep(200);
+		job.run();
+		assertTrue(callback.inactive);
+		assertFalse(job.isActive());
+		// activity is recorded up to the time the check was due
+		assertEquals(1, callback.eventCount);
+		assertEquals(start, callback.startTime);
+		assertTrue("expected 100 <= activeTime < 150, got " + callback.activeTime,
+				callback.activeTime >= 100 && callback.activeTime < 150);
+	}
+
 	private class TestableCheckActivityJob extends CheckActivityJob {
 
+		/**
+		 * If true, the next check is computed by the job but the job is not run by the job manager.
+		 */
+		private boolean scheduling;
+
 		public TestableCheckActivityJob(IActivityManagerCallback callback) {
 			super(callback);
 		}
@@ -172,7 +199,11 @@ public class CheckActivityJobTest extends TestCase {
 
 		@Override
 		public void reschedule() {
-			// ignore, job is called explicitly from test
+			if (scheduling) {
+				super.reschedule();
+				cancel();
+			}
+			// otherwise ignore, job is called explicitly from test
 		}
 
 	}
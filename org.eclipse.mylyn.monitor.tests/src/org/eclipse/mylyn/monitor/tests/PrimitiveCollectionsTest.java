@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.monitor.tests;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.monitor.core.collection.CommandUsageCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.DataOverviewCollector;
+import org.eclipse.mylyn.internal.monitor.core.util.CounterMatrix;
+import org.eclipse.mylyn.internal.monitor.core.util.IntIntHashMap;
+import org.eclipse.mylyn.internal.monitor.core.util.IntLongHashMap;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+public class PrimitiveCollectionsTest extends TestCase {
+
+	public void testIntIntHashMap() {
+		IntIntHashMap map = new IntIntHashMap();
+		assertTrue(map.isEmpty());
+		assertEquals(-1, map.get(1, -1));
+		map.put(1, 10);
+		assertEquals(10, map.get(1, -1));
+		assertEquals(11, map.add(1, 1));
+		assertEquals(5, map.add(2, 5));
+		assertEquals(2, map.size());
+		assertTrue(map.containsKey(2));
+		assertEquals(11, map.remove(1, -1));
+		assertFalse(map.containsKey(1));
+		assertEquals(-1, map.remove(1, -1));
+		assertEquals(1, map.size());
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(2));
+	}
+
+	public void testIntIntHashMapRandomOperations() {
+		IntIntHashMap map = new IntIntHashMap(2);
+		Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			int key = random.nextInt(2000) - 1000;
+			switch (random.nextInt(3)) {
+			case 0:
+				map.put(key, i);
+				expected.put(key, i);
+				break;
+			case 1:
+				map.add(key, 1);
+				Integer value = expected.get(key);
+				expected.put(key, (value != null) ? value + 1 : 1);
+				break;
+			default:
+				Integer removed = expected.remove(key);
+				assertEquals((removed != null) ? removed : -1, map.remove(key, -1));
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+			assertEquals(entry.getValue().intValue(), map.get(entry.getKey(), -1));
+		}
+	}
+
+	public void testIntIntHashMapKeys() {
+		IntIntHashMap map = new IntIntHashMap();
+		map.put(3, 0);
+		map.put(-1, 0);
+		map.put(100, 0);
+		assertEquals("[-1, 3, 100]", Arrays.toString(map.keys()));
+	}
+
+	public void testIntLongHashMap() {
+		IntLongHashMap map = new IntLongHashMap();
+		assertEquals(-1L, map.get(1, -1L));
+		map.put(1, Long.MAX_VALUE - 1);
+		assertEquals(Long.MAX_VALUE, map.add(1, 1));
+		for (int i = 0; i < 1000; i++) {
+			map.add(i, i);
+		}
+		assertEquals(1000, map.size());
+		assertEquals(999L, map.get(999, -1L));
+		assertEquals(500L, map.remove(500, -1L));
+		assertEquals(999, map.size());
+		assertEquals(501L, map.get(501, -1L));
+	}
+
+	public void testCounterMatrix() {
+		CounterMatrix matrix = new CounterMatrix();
+		assertEquals(0, matrix.get("a", 1));
+		assertEquals(1, matrix.add("a", 1, 1));
+		assertEquals(2, matrix.add("a", 1, 1));
+		matrix.set("b", 2, 5);
+		for (int userId = 0; userId < 100; userId++) {
+			matrix.add("c", userId, 1);
+		}
+		assertEquals(2, matrix.get("a", 1));
+		assertEquals(0, matrix.get("a", 2));
+		assertEquals(5, matrix.get("b", 2));
+		assertEquals(100, matrix.getRowTotal("c"));
+		assertEquals(3, matrix.getColumnTotal(1));
+		assertEquals(3, matrix.getRowCount());
+		assertEquals(100, matrix.getColumnCount());
+		assertEquals(Arrays.asList("a", "b", "c"), matrix.getRowKeys());
+		assertTrue(matrix.containsRow("b"));
+		assertFalse(matrix.containsRow("d"));
+	}
+
+	public void testCommandUsageCollector() {
+		CommandUsageCollector collector = new CommandUsageCollector();
+		collector.consumeEvent(InteractionEvent.makeCommand("&Save", ""), 1);
+		collector.consumeEvent(InteractionEvent.makeCommand("&Save", ""), 1);
+		collector.consumeEvent(InteractionEvent.makeCommand("&Save", ""), 2);
+		collector.consumeEvent(InteractionEvent.makePreference("pref", ""), 2);
+		assertEquals(2, collector.getCommands().getUserCount(1, "Save"));
+		assertEquals(3, collector.getCommands().getTotalCount("Save"));
+		assertEquals(Arrays.asList("Save"), collector.getCommands().getOriginIdList());
+	}
+
+	public void testDataOverviewCollector() {
+		DataOverviewCollector collector = new DataOverviewCollector("");
+		collector.consumeEvent(createEvent(1000), 1);
+		collector.consumeEvent(createEvent(2000), 1);
+		collector.consumeEvent(createEvent(1000000), 1);
+		collector.consumeEvent(createEvent(5000), 2);
+		assertEquals(2, collector.getNumberOfUsers());
+		assertEquals(3, collector.getSizeOfHistory(1));
+		assertEquals(1000, collector.getActiveUseOfUser(1));
+		assertEquals(999000, collector.getDurationUseOfUser(1));
+		assertEquals(0, collector.getDurationUseOfUser(2));
+		assertEquals(-1, collector.getSizeOfHistory(3));
+		assertEquals(-1, collector.getActiveUseOfUser(3));
+		assertEquals(8, collector.getPlainTextReport().size());
+	}
+
+	private InteractionEvent createEvent(long time) {
+		return new InteractionEvent(InteractionEvent.Kind.SELECTION, "kind", "handle", "origin", "null", "null", 1f,
+				new Date(time), new Date(time));
+	}
+
+}
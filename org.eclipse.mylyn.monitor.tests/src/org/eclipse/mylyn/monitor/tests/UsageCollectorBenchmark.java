@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.monitor.tests;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.mylyn.internal.monitor.core.collection.CommandUsageCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.DataOverviewCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.IUsageCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.InteractionEventUtil;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+/**
+ * Measures throughput and garbage collection activity of the usage collectors for a synthetic study. Compares the
+ * collectors against equivalent counting with boxed <code>HashMap</code>s. Run as a Java application; arguments are
+ * the number of users and events per user.
+ */
+public class UsageCollectorBenchmark {
+
+	private static final int ORIGIN_COUNT = 500;
+
+	private static final int ROUNDS = 5;
+
+	private static final long ACTIVE_THRESHOLD = 5 * 60 * 1000;
+
+	/**
+	 * Performs the same work as {@link CommandUsageCollector} and {@link DataOverviewCollector} using boxed maps, as the
+	 * collectors used to.
+	 */
+	private static class BoxedCollector {
+
+		private final HashMap<String, HashMap<Integer, Integer>> usageMap = new HashMap<String, HashMap<Integer, Integer>>();
+
+		private final Map<Integer, Integer> sizes = new HashMap<Integer, Integer>();
+
+		private final Map<Integer, Long> startTimes = new HashMap<Integer, Long>();
+
+		private final Map<Integer, Long> endTimes = new HashMap<Integer, Long>();
+
+		private final Map<Integer, Long> activeDuration = new HashMap<Integer, Long>();
+
+		private int currentUser = -1;
+
+		private long lastUserEventTime;
+
+		void consumeEvent(InteractionEvent event, int userId) {
+			if (event.getKind().equals(InteractionEvent.Kind.COMMAND)) {
+				String originId = InteractionEventUtil.getCleanOriginId(event);
+				HashMap<Integer, Integer> counts = usageMap.get(originId);
+				if (counts == null) {
+					counts = new HashMap<Integer, Integer>();
+					usageMap.put(originId, counts);
+				}
+				Integer count = counts.get(userId);
+				counts.put(userId, (count != null) ? count + 1 : 1);
+			}
+
+			long time = event.getDate().getTime();
+			Integer size = sizes.get(userId);
+			sizes.put(userId, (size != null) ? size + 1 : 1);
+			if (!startTimes.containsKey(userId)) {
+				startTimes.put(userId, time);
+			}
+			endTimes.put(userId, time);
+			if (currentUser == -1 || currentUser != userId) {
+				lastUserEventTime = time;
+				currentUser = userId;
+			}
+			long elapsed = time - lastUserEventTime;
+			if (elapsed < ACTIVE_THRESHOLD) {
+				Long duration = activeDuration.get(userId);
+				activeDuration.put(userId, (duration != null) ? duration + elapsed : elapsed);
+			}
+			lastUserEventTime = time;
+		}
+
+	}
+
+	public static void main(String[] args) {
+		int users = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+		int eventsPerUser = (args.length > 1) ? Integer.parseInt(args[1]) : 20000;
+
+		InteractionEvent[] events = createEvents(eventsPerUser);
+		System.out.println("Users: " + users + ", events per user: " + eventsPerUser); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int round = 0; round < ROUNDS; round++) {
+			boolean report = round == ROUNDS - 1;
+			runBoxed(users, events, report);
+			runCollectors(users, events, report);
+		}
+	}
+
+	private static void runBoxed(int users, InteractionEvent[] events, boolean report) {
+		long gcCount = getGcCount();
+		long gcTime = getGcTime();
+		long start = System.nanoTime();
+		BoxedCollector collector = new BoxedCollector();
+		for (int userId = 0; userId < users; userId++) {
+			for (InteractionEvent event : events) {
+				collector.consumeEvent(event, userId);
+			}
+		}
+		print(report, "boxed maps", start, users * (long) events.length, gcCount, gcTime); //$NON-NLS-1$
+	}
+
+	private static void runCollectors(int users, InteractionEvent[] events, boolean report) {
+		long gcCount = getGcCount();
+		long gcTime = getGcTime();
+		long start = System.nanoTime();
+		IUsageCollector commands = new CommandUsageCollector();
+		IUsageCollector overview = new DataOverviewCollector(""); //$NON-NLS-1$
+		for (int userId = 0; userId < users; userId++) {
+			for (InteractionEvent event : events) {
+				commands.consumeEvent(event, userId);
+				overview.consumeEvent(event, userId);
+			}
+		}
+		print(report, "collectors", start, users * (long) events.length, gcCount, gcTime); //$NON-NLS-1$
+	}
+
+	private static void print(boolean report, String name, long start, long eventCount, long gcCount, long gcTime) {
+		if (report) {
+			long elapsed = System.nanoTime() - start;
+			System.out.println(String.format("%-12s %8.1f ns/event, %4d collections, %6d ms in GC", name, //$NON-NLS-1$
+					(double) elapsed / eventCount, getGcCount() - gcCount, getGcTime() - gcTime));
+		}
+	}
+
+	private static InteractionEvent[] createEvents(int count) {
+		Random random = new Random(1);
+		String[] origins = new String[ORIGIN_COUNT];
+		for (int i = 0; i < origins.length; i++) {
+			origins[i] = "org.eclipse.command" + i; //$NON-NLS-1$
+		}
+		InteractionEvent[] events = new InteractionEvent[count];
+		long time = 0;
+		for (int i = 0; i < count; i++) {
+			time += random.nextInt(10 * 60 * 1000);
+			Date date = new Date(time);
+			events[i] = new InteractionEvent(InteractionEvent.Kind.COMMAND, "null", "null", //$NON-NLS-1$ //$NON-NLS-2$
+					origins[random.nextInt(origins.length)], "null", "null", 1f, date, date); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return events;
+	}
+
+	private static long getGcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long getGcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, bean.getCollectionTime());
+		}
+		return time;
+	}
+
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.monitor.tests;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.monitor.core.collection.CommandUsageCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.CsvUsageExportWriter;
+import org.eclipse.mylyn.internal.monitor.core.collection.DataOverviewCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.DelegatingUsageCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.IUsageCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.JsonUsageExportWriter;
+import org.eclipse.mylyn.internal.monitor.core.collection.SummaryCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageExportFormat;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageExportWriter;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+public class UsageExportTest extends TestCase {
+
+	public void testCsv() throws Exception {
+		StringWriter out = new StringWriter();
+		UsageExportWriter writer = new CsvUsageExportWriter(out);
+		writer.startTable("table", "a", "b", "c");
+		writer.writeRow(1, "plain", null);
+		writer.writeRow(2, "with,comma", "with \"quote\"");
+		writer.startTable("other", "d");
+		writer.writeRow("line\nbreak");
+		writer.close();
+		String ld = System.getProperty("line.separator");
+		assertEquals("a,b,c" + ld + "1,plain," + ld + "2,\"with,comma\",\"with \"\"quote\"\"\"" + ld + ld + "d" + ld
+				+ "\"line\nbreak\"" + ld, out.toString());
+	}
+
+	public void testJson() throws Exception {
+		StringWriter out = new StringWriter();
+		UsageExportWriter writer = new JsonUsageExportWriter(out);
+		writer.startTable("table", "number", "text", "date", "empty");
+		writer.writeRow(1.5, "a \"b\"\\\n\u0001", new Date(0), null);
+		writer.close();
+		assertEquals(
+				"{\"table\":\"table\",\"number\":1.5,\"text\":\"a \\\"b\\\"\\\\\\n\\u0001\",\"date\":\"1970-01-01T00:00:00.000Z\",\"empty\":null}\n",
+				out.toString());
+	}
+
+	public void testKeysAndLabels() throws Exception {
+		StringWriter out = new StringWriter();
+		UsageExportWriter writer = new CsvUsageExportWriter(out);
+		writer.startTable("table", new String[] { "a", "b" }, new String[] { "Label A", "Label B" });
+		writer.writeRow(1, 2);
+		writer.close();
+		String ld = System.getProperty("line.separator");
+		assertEquals("Label A,Label B" + ld + "1,2" + ld, out.toString());
+
+		out = new StringWriter();
+		writer = new JsonUsageExportWriter(out);
+		writer.startTable("table", new String[] { "a", "b" }, new String[] { "Label A", "Label B" });
+		writer.writeRow(1, 2);
+		writer.close();
+		assertEquals("{\"table\":\"table\",\"a\":1,\"b\":2}\n", out.toString());
+	}
+
+	public void testWriteRowRequiresMatchingColumns() throws Exception {
+		UsageExportWriter writer = new CsvUsageExportWriter(new StringWriter());
+		try {
+			writer.writeRow(1);
+			fail("Expected exception");
+		} catch (RuntimeException expected) {
+		}
+		writer.startTable("table", "a", "b");
+		try {
+			writer.writeRow(1);
+			fail("Expected exception");
+		} catch (RuntimeException expected) {
+		}
+	}
+
+	public void testCompressed() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		UsageExportWriter writer = UsageExportWriter.create(out, UsageExportFormat.JSON, true);
+		writer.startTable("table", "a");
+		for (int i = 0; i < 1000; i++) {
+			writer.writeRow(i);
+		}
+		writer.close();
+
+		List<String> lines = readLines(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())));
+		assertEquals(1000, lines.size());
+		assertEquals("{\"table\":\"table\",\"a\":999}", lines.get(999));
+		assertEquals("usage.json.gz", UsageExportWriter.getFileName("usage", UsageExportFormat.JSON, true));
+	}
+
+	public void testExportDataOverview() throws Exception {
+		DataOverviewCollector collector = new DataOverviewCollector("prefix-");
+		collector.consumeEvent(createCommand("cmd", 0), 1);
+		collector.consumeEvent(createCommand("cmd", 60 * 1000), 1);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		UsageExportWriter writer = UsageExportWriter.create(out, UsageExportFormat.CSV, false);
+		collector.export(writer);
+		writer.close();
+
+		List<String> lines = readLines(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(2, lines.size());
+		assertEquals("User,Events,Start,End,Active Use,Elapsed Use", lines.get(0));
+		assertEquals("1,2," + new Date(0) + "," + new Date(60 * 1000) + ",0.1,0.1", lines.get(1));
+	}
+
+	public void testExportDataOverviewJson() throws Exception {
+		DataOverviewCollector collector = new DataOverviewCollector("prefix-");
+		collector.consumeEvent(createCommand("cmd", 0), 1);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		UsageExportWriter writer = UsageExportWriter.create(out, UsageExportFormat.JSON, false);
+		collector.export(writer);
+		writer.close();
+
+		List<String> lines = readLines(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0), lines.get(0).startsWith(
+				"{\"table\":\"dataOverview\",\"user\":1,\"events\":1,\"start\":\"1970-01-01T00:00:00.000Z\","));
+		assertTrue(lines.get(0), lines.get(0).contains(",\"activeUse\":"));
+		assertTrue(lines.get(0), lines.get(0).contains(",\"elapsedUse\":"));
+	}
+
+	public void testExportAsCSVFile() throws Exception {
+		File directory = File.createTempFile("usage", "");
+		directory.delete();
+		directory.mkdirs();
+		try {
+			CommandUsageCollector commands = new CommandUsageCollector();
+			SummaryCollector summary = new SummaryCollector();
+			DelegatingUsageCollector collector = new DelegatingUsageCollector();
+			collector.setDelegates(Arrays.asList(new IUsageCollector[] { commands, summary }));
+			collector.consumeEvent(createCommand("cmd1", 0), 1);
+			collector.consumeEvent(createCommand("cmd1", 0), 2);
+			collector.consumeEvent(createCommand("cmd2", 0), 2);
+			collector.exportAsCSVFile(directory.getAbsolutePath());
+
+			List<String> lines = readLines(new FileInputStream(new File(directory, "commandUsage.csv")));
+			assertEquals(Arrays.asList("Command,User,Count", "cmd1,1,1", "cmd1,2,1", "cmd2,2,1"), lines);
+			lines = readLines(new FileInputStream(new File(directory, "summary.csv")));
+			assertEquals(2, lines.size());
+			assertTrue(lines.get(1), lines.get(1).endsWith(",3,3,0,0,0"));
+		} finally {
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+	}
+
+	private List<String> readLines(InputStream in) throws Exception {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+
+	private InteractionEvent createCommand(String originId, long time) {
+		return new InteractionEvent(InteractionEvent.Kind.COMMAND, "null", "null", originId, "null", "null", 1f,
+				new Date(time), new Date(time));
+	}
+
+}
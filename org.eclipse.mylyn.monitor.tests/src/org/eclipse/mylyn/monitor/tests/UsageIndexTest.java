@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.monitor.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.monitor.core.collection.CsvUsageExportWriter;
+import org.eclipse.mylyn.internal.monitor.core.collection.DataOverviewCollector;
+import org.eclipse.mylyn.internal.monitor.core.collection.InteractionByTypeSummary;
+import org.eclipse.mylyn.internal.monitor.core.collection.JsonUsageExportWriter;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageIndex;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageExportWriter;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageIndex.UserRollup;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+public class UsageIndexTest extends TestCase {
+
+	private File file;
+
+	private UsageIndex index;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("usage-index", ".dat");
+		file.delete();
+		index = new UsageIndex(file);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+	}
+
+	public void testConsumeEvent() throws Exception {
+		index.consumeEvent(createCommand("cmd1", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd1", time(1, 10, 1)), 1);
+		index.consumeEvent(createCommand("cmd2", time(1, 10, 2)), 1);
+		index.consumeEvent(createCommand("cmd1", time(1, 10, 3)), 2);
+
+		UserRollup rollup = index.getRollup(1, null, null);
+		assertEquals(3, rollup.getEventCount());
+		assertEquals(2 * 60 * 1000, rollup.getActiveDuration());
+		assertEquals(2, rollup.getCount(InteractionEvent.Kind.COMMAND, "cmd1"));
+		assertEquals(new Date(time(1, 10, 0)), rollup.getFirstEventDate());
+		assertEquals(new Date(time(1, 10, 2)), rollup.getLastEventDate());
+
+		InteractionByTypeSummary summary = index.getSummary(InteractionEvent.Kind.COMMAND, null, null);
+		assertEquals(3, summary.getTotalCount("cmd1"));
+		assertEquals(1, summary.getTotalCount("cmd2"));
+	}
+
+	public void testActiveDurationIgnoresIdleTime() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(1, 10, 4)), 1);
+		index.consumeEvent(createCommand("cmd", time(1, 11, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(1, 11, 1)), 1);
+
+		assertEquals(5 * 60 * 1000, index.getRollup(1, null, null).getActiveDuration());
+	}
+
+	public void testDateRange() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(2, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(2, 11, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(3, 10, 0)), 1);
+
+		assertEquals(2, index.getRollup(1, new Date(time(2, 0, 0)), new Date(time(2, 23, 0))).getEventCount());
+		assertEquals(3, index.getRollup(1, new Date(time(2, 0, 0)), null).getEventCount());
+		assertEquals(1, index.getRollup(1, null, new Date(time(1, 0, 0))).getEventCount());
+		assertEquals(0, index.getRollup(1, new Date(time(3, 0, 0)), new Date(time(1, 0, 0))).getEventCount());
+	}
+
+	public void testFlushAndLoad() throws Exception {
+		index.consumeEvent(createCommand("cmd1", time(1, 10, 0)), 1);
+		index.flush();
+		index.consumeEvent(createCommand("cmd1", time(1, 10, 1)), 1);
+		index.consumeEvent(createCommand("cmd2", time(2, 10, 0)), 2);
+		index.flush();
+		assertEquals(0, index.getPendingEventCount());
+
+		UsageIndex loaded = new UsageIndex(file);
+		loaded.load();
+		assertEquals(2, loaded.getUserIds().size());
+		UserRollup rollup = loaded.getRollup(1, null, null);
+		assertEquals(2, rollup.getEventCount());
+		assertEquals(60 * 1000, rollup.getActiveDuration());
+		assertEquals(2, rollup.getCount(InteractionEvent.Kind.COMMAND, "cmd1"));
+		assertEquals(1, loaded.getRollup(2, null, null).getCount(InteractionEvent.Kind.COMMAND, "cmd2"));
+	}
+
+	public void testLoadRestoresLastEventTime() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(1, 10, 1)), 1);
+		index.flush();
+
+		UsageIndex loaded = new UsageIndex(file);
+		loaded.load();
+		loaded.consumeEvent(createCommand("cmd", time(1, 10, 3)), 1);
+		assertEquals(3 * 60 * 1000, loaded.getRollup(1, null, null).getActiveDuration());
+	}
+
+	public void testCompact() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			index.consumeEvent(createCommand("cmd", time(1, 10, i)), 1);
+			index.flush();
+		}
+		long length = file.length();
+		index.compact();
+		assertTrue(file.length() < length);
+
+		UsageIndex loaded = new UsageIndex(file);
+		loaded.load();
+		assertEquals(10, loaded.getRollup(1, null, null).getEventCount());
+		assertEquals(10, loaded.getRollup(1, null, null).getCount(InteractionEvent.Kind.COMMAND, "cmd"));
+	}
+
+	public void testLoadTruncatedFile() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.flush();
+		long length = file.length();
+		index.consumeEvent(createCommand("cmd", time(1, 10, 1)), 1);
+		index.flush();
+
+		// simulate a partially appended record
+		truncate(file, length + 5);
+
+		UsageIndex loaded = new UsageIndex(file);
+		loaded.load();
+		assertEquals(1, loaded.getRollup(1, null, null).getEventCount());
+
+		loaded.consumeEvent(createCommand("cmd", time(1, 10, 2)), 1);
+		loaded.flush();
+		loaded.load();
+		assertEquals(2, loaded.getRollup(1, null, null).getEventCount());
+	}
+
+	public void testRebuild() throws Exception {
+		index.consumeEvent(createCommand("stale", time(1, 10, 0)), 1);
+		index.flush();
+
+		List<InteractionEvent> events = new ArrayList<InteractionEvent>();
+		events.add(createCommand("cmd", time(1, 10, 0)));
+		events.add(createCommand("cmd", time(1, 10, 1)));
+		index.rebuild(events, 1);
+
+		UsageIndex loaded = new UsageIndex(file);
+		loaded.load();
+		assertEquals(2, loaded.getRollup(1, null, null).getCount(InteractionEvent.Kind.COMMAND, "cmd"));
+		assertEquals(0, loaded.getRollup(1, null, null).getCount(InteractionEvent.Kind.COMMAND, "stale"));
+	}
+
+	public void testRemoveBefore() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(2, 10, 0)), 1);
+		index.removeBefore(new Date(time(2, 0, 0)));
+
+		UsageIndex loaded = new UsageIndex(file);
+		loaded.load();
+		assertEquals(1, loaded.getRollup(1, null, null).getEventCount());
+	}
+
+	public void testDataOverview() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(1, 10, 2)), 1);
+		index.consumeEvent(createCommand("cmd", time(2, 10, 0)), 2);
+
+		DataOverviewCollector collector = index.getDataOverview(null, null);
+		assertEquals(2, collector.getNumberOfUsers());
+		assertEquals(2, collector.getSizeOfHistory(1));
+		assertEquals(2 * 60 * 1000, collector.getActiveUseOfUser(1));
+		assertEquals(2 * 60 * 1000, collector.getDurationUseOfUser(1));
+
+		collector = index.getDataOverview(new Date(time(2, 0, 0)), null);
+		assertEquals(1, collector.getNumberOfUsers());
+		assertEquals(1, collector.getSizeOfHistory(2));
+	}
+
+	public void testExport() throws Exception {
+		index.consumeEvent(createCommand("cmd", time(1, 10, 0)), 1);
+		index.consumeEvent(createCommand("cmd", time(1, 10, 1)), 1);
+
+		StringWriter out = new StringWriter();
+		UsageExportWriter writer = new CsvUsageExportWriter(out);
+		index.export(writer);
+		writer.close();
+		String[] lines = out.toString().split(System.getProperty("line.separator"));
+		assertEquals(5, lines.length);
+		assertEquals("", lines[2]);
+		assertEquals("Day,User,Kind,Origin,Count", lines[3]);
+		assertTrue(lines[4], lines[4].endsWith(",1,command,cmd,2"));
+
+		out = new StringWriter();
+		writer = new JsonUsageExportWriter(out);
+		index.export(writer);
+		writer.close();
+		lines = out.toString().split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[1], lines[1].startsWith("{\"table\":\"dailyUsage\",\"day\":"));
+		assertTrue(lines[1], lines[1].endsWith(",\"user\":1,\"kind\":\"command\",\"origin\":\"cmd\",\"count\":2}"));
+	}
+
+	private void truncate(File file, long length) throws Exception {
+		FileOutputStream out = new FileOutputStream(file, true);
+		try {
+			out.getChannel().truncate(length);
+		} finally {
+			out.close();
+		}
+	}
+
+	private InteractionEvent createCommand(String originId, long time) {
+		return new InteractionEvent(InteractionEvent.Kind.COMMAND, "null", "null", originId, "null", "null", 1f,
+				new Date(time), new Date(time));
+	}
+
+	private long time(int day, int hour, int minute) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2010, Calendar.JANUARY, day, hour, minute);
+		return calendar.getTimeInMillis();
+	}
+
+}
@@ -13,6 +13,7 @@
 package org.eclipse.mylyn.internal.monitor.ui;
 
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -56,6 +57,8 @@ public class ActivityContextManager implements IActivityContextManager {
 
 	private final CheckActivityJob checkJob;
 
+	private final ActivityIntervalAccumulator accumulator;
+
 	private volatile String lastInteractionOrigin;
 
 	private IWorkingSet[] workingSets;
@@ -66,6 +69,11 @@ public class ActivityContextManager implements IActivityContextManager {
 
 	public static final String ACTIVITY_TIMEOUT_ENABLED = "org.eclipse.mylyn.monitor.ui.activity.timeout.enabled"; //$NON-NLS-1$
 
+	/**
+	 * The maximum duration of monitored activity that is accumulated before it is added to the activity context.
+	 */
+	private static final long MAX_PENDING_ACTIVITY = 5 * 60 * 1000;
+
 	private final IPropertyChangeListener WORKING_SET_CHANGE_LISTENER = new IPropertyChangeListener() {
 		public void propertyChange(PropertyChangeEvent event) {
 			if (IWorkingSetManager.CHANGE_WORKING_SET_CONTENT_CHANGE.equals(event.getProperty())) {
@@ -95,6 +103,12 @@ public class ActivityContextManager implements IActivityContextManager {
 		});
 		checkJob.setSystem(true);
 		checkJob.setPriority(Job.INTERACTIVE);
+		accumulator = new ActivityIntervalAccumulator(MAX_PENDING_ACTIVITY) {
+			@Override
+			protected void processInterval(String origin, String structureKind, String handle, long start, long end) {
+				processWorkbenchEvent(origin, structureKind, handle, start, end);
+			}
+		};
 	}
 
 	void init(List<AbstractUserActivityMonitor> monitors) {
@@ -127,6 +141,7 @@ public class ActivityContextManager implements IActivityContextManager {
 				}
 			});
 		}
+		updateEventDriven();
 		updateWorkingSetSelection();
 		if (PlatformUI.isWorkbenchRunning()) {
 			PlatformUI.getWorkbench().getWorkingSetManager().addPropertyChangeListener(WORKING_SET_CHANGE_LISTENER);
@@ -136,6 +151,7 @@ public class ActivityContextManager implements IActivityContextManager {
 
 	public void stop() {
 		checkJob.cancel();
+		flushActivityTime();
 		for (final AbstractUserActivityMonitor monitor : activityMonitors) {
 			SafeRunner.run(new ISafeRunnable() {
 				public void handleException(Throwable e) {
@@ -171,24 +187,37 @@ public class ActivityContextManager implements IActivityContextManager {
 			}
 
 			String handle = getStructureHandle();
+			ActivityIntervalAccumulator.Key[] keys;
 			if (handle == null) {
-				if (workingSets != null && workingSets.length > 0) {
-					for (IWorkingSet workingSet : workingSets) {
-						String workingSetName = workingSet.getName();
-						processWorkbenchEvent(origin, InteractionContextManager.ACTIVITY_STRUCTUREKIND_WORKINGSET,
-								workingSetName, start, end);
+				IWorkingSet[] currentWorkingSets = workingSets;
+				if (currentWorkingSets != null && currentWorkingSets.length > 0) {
+					keys = new ActivityIntervalAccumulator.Key[currentWorkingSets.length];
+					for (int i = 0; i < currentWorkingSets.length; i++) {
+						keys[i] = new ActivityIntervalAccumulator.Key(origin,
+								InteractionContextManager.ACTIVITY_STRUCTUREKIND_WORKINGSET,
+								currentWorkingSets[i].getName());
 					}
 				} else {
-					processWorkbenchEvent(origin, InteractionContextManager.ACTIVITY_STRUCTUREKIND_WORKINGSET,
-							InteractionContextManager.ACTIVITY_HANDLE_NONE, start, end);
+					keys = new ActivityIntervalAccumulator.Key[] { new ActivityIntervalAccumulator.Key(origin,
+							InteractionContextManager.ACTIVITY_STRUCTUREKIND_WORKINGSET,
+							InteractionContextManager.ACTIVITY_HANDLE_NONE) };
 				}
 			} else {
-				processWorkbenchEvent(origin, InteractionContextManager.ACTIVITY_STRUCTUREKIND_TIMING, handle, start,
-						end);
+				keys = new ActivityIntervalAccumulator.Key[] { new ActivityIntervalAccumulator.Key(origin,
+						InteractionContextManager.ACTIVITY_STRUCTUREKIND_TIMING, handle) };
 			}
+			// contiguous ticks for the same handle are merged into a single event
+			accumulator.add(start, end, keys);
 		}
 	}
 
+	/**
+	 * Adds all monitored activity that has been accumulated but not yet added to the activity context.
+	 */
+	public void flushActivityTime() {
+		accumulator.flush();
+	}
+
 	private void processWorkbenchEvent(String origin, String structureKind, String handle, long start, long end) {
 		ContextCorePlugin.getContextManager().processActivityMetaContextEvent(
 				new InteractionEvent(InteractionEvent.Kind.ATTENTION, structureKind, handle, origin, null,
@@ -207,6 +236,8 @@ public class ActivityContextManager implements IActivityContextManager {
 
 	public void removeActivityTime(String handle, long start, long end) {
 		if (handle != null) {
+			// drop activity that has not been added to the activity context yet
+			accumulator.remove(handle, start, end);
 			ContextCorePlugin.getContextManager().processActivityMetaContextEvent(
 					new InteractionEvent(InteractionEvent.Kind.ATTENTION,
 							InteractionContextManager.ACTIVITY_STRUCTUREKIND_TIMING, handle,
@@ -216,6 +247,7 @@ public class ActivityContextManager implements IActivityContextManager {
 	}
 
 	private void fireInactive() {
+		flushActivityTime();
 		for (IUserAttentionListener attentionListener : attentionListeners) {
 			attentionListener.userAttentionLost();
 		}
@@ -255,6 +287,22 @@ public class ActivityContextManager implements IActivityContextManager {
 		StatusHandler.log(new Status(IStatus.WARNING, ContextCorePlugin.ID_PLUGIN, NLS.bind(
 				"Activity monitor ''{0}'' was disabled due to a failure", monitor.getClass()), e)); //$NON-NLS-1$
 		activityMonitors.remove(monitor);
+		updateEventDriven();
+	}
+
+	/**
+	 * Interactions are only reported to the job if the preferred monitor is the {@link WorkbenchUserActivityMonitor}.
+	 * Other monitors, e.g. monitors that track the idle time of the operating system, require periodic checks.
+	 */
+	private void updateEventDriven() {
+		Iterator<AbstractUserActivityMonitor> it = activityMonitors.iterator();
+		AbstractUserActivityMonitor monitor = (it.hasNext()) ? it.next() : null;
+		if (monitor instanceof WorkbenchUserActivityMonitor) {
+			((WorkbenchUserActivityMonitor) monitor).setActivityJob(checkJob);
+			checkJob.setEventDriven(true);
+		} else {
+			checkJob.setEventDriven(false);
+		}
 	}
 
 	public void setInactivityTimeout(int inactivityTimeout) {
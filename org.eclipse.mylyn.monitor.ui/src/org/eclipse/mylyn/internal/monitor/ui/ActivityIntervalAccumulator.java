@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.monitor.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Merges contiguous activity intervals for the same structure handle in memory and passes coalesced intervals to
+ * {@link #processInterval(String, String, String, long, long)} when the handle changes, when activity is not
+ * contiguous, when the accumulated interval exceeds the maximum pending duration or on {@link #flush()}.
+ */
+public abstract class ActivityIntervalAccumulator {
+
+	/**
+	 * Identifies a run of activity by origin, structure kind and handle.
+	 */
+	public static final class Key {
+
+		private final String origin;
+
+		private final String structureKind;
+
+		private final String handle;
+
+		public Key(String origin, String structureKind, String handle) {
+			Assert.isNotNull(origin);
+			Assert.isNotNull(structureKind);
+			Assert.isNotNull(handle);
+			this.origin = origin;
+			this.structureKind = structureKind;
+			this.handle = handle;
+		}
+
+		public String getOrigin() {
+			return origin;
+		}
+
+		public String getStructureKind() {
+			return structureKind;
+		}
+
+		public String getHandle() {
+			return handle;
+		}
+
+		@Override
+		public int hashCode() {
+			return (origin.hashCode() * 31 + structureKind.hashCode()) * 31 + handle.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return origin.equals(other.origin) && structureKind.equals(other.structureKind)
+					&& handle.equals(other.handle);
+		}
+
+		@Override
+		public String toString() {
+			return "Key [origin=" + origin + ", structureKind=" + structureKind + ", handle=" + handle + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+
+	}
+
+	private static class Interval {
+
+		final Key key;
+
+		final long start;
+
+		final long end;
+
+		Interval(Key key, long start, long end) {
+			this.key = key;
+			this.start = start;
+			this.end = end;
+		}
+
+	}
+
+	/**
+	 * Pending runs by key in the order they were started.
+	 */
+	private final Map<Key, long[]> pending = new LinkedHashMap<Key, long[]>();
+
+	private long maxPendingDuration;
+
+	/**
+	 * @param maxPendingDuration
+	 *            the maximum duration in milliseconds that is accumulated before an interval is processed, 0 for no
+	 *            limit
+	 */
+	public ActivityIntervalAccumulator(long maxPendingDuration) {
+		setMaxPendingDuration(maxPendingDuration);
+	}
+
+	public synchronized long getMaxPendingDuration() {
+		return maxPendingDuration;
+	}
+
+	public synchronized void setMaxPendingDuration(long maxPendingDuration) {
+		Assert.isLegal(maxPendingDuration >= 0);
+		this.maxPendingDuration = maxPendingDuration;
+	}
+
+	/**
+	 * Records activity from <code>start</code> to <code>end</code> for each of <code>keys</code>. Pending runs for
+	 * other keys are processed since the handle has changed.
+	 */
+	public void add(long start, long end, Key... keys) {
+		if (end <= start) {
+			return;
+		}
+		List<Interval> completed = new ArrayList<Interval>();
+		synchronized (this) {
+			List<Key> added = new ArrayList<Key>(keys.length);
+			Collections.addAll(added, keys);
+			for (Iterator<Map.Entry<Key, long[]>> it = pending.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<Key, long[]> entry = it.next();
+				if (!added.contains(entry.getKey())) {
+					completed.add(new Interval(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+					it.remove();
+				}
+			}
+			for (Key key : keys) {
+				long[] run = pending.get(key);
+				if (run != null && start >= run[0] && start <= run[1]) {
+					// contiguous or overlapping, extend the run
+					run[1] = Math.max(run[1], end);
+				} else {
+					if (run != null) {
+						completed.add(new Interval(key, run[0], run[1]));
+					}
+					run = new long[] { start, end };
+					pending.put(key, run);
+				}
+				if (maxPendingDuration > 0 && run[1] - run[0] >= maxPendingDuration) {
+					completed.add(new Interval(key, run[0], run[1]));
+					pending.remove(key);
+				}
+			}
+		}
+		process(completed);
+	}
+
+	/**
+	 * Removes activity from <code>start</code> to <code>end</code> for <code>handle</code> from pending runs. A run
+	 * that spans the removed range is split: the part before the range is processed and the part after the range
+	 * remains pending. Activity that was already processed is not affected.
+	 */
+	public void remove(String handle, long start, long end) {
+		if (end <= start) {
+			return;
+		}
+		List<Interval> completed = new ArrayList<Interval>();
+		synchronized (this) {
+			for (Iterator<Map.Entry<Key, long[]>> it = pending.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<Key, long[]> entry = it.next();
+				long[] run = entry.getValue();
+				if (!entry.getKey().getHandle().equals(handle) || end <= run[0] || start >= run[1]) {
+					continue;
+				}
+				if (run[0] < start) {
+					completed.add(new Interval(entry.getKey(), run[0], start));
+				}
+				if (end < run[1]) {
+					run[0] = end;
+				} else {
+					it.remove();
+				}
+			}
+		}
+		process(completed);
+	}
+
+	/**
+	 * Processes all pending runs.
+	 */
+	public void flush() {
+		List<Interval> completed = new ArrayList<Interval>();
+		synchronized (this) {
+			for (Map.Entry<Key, long[]> entry : pending.entrySet()) {
+				completed.add(new Interval(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+			}
+			pending.clear();
+		}
+		process(completed);
+	}
+
+	public synchronized boolean hasPending() {
+		return !pending.isEmpty();
+	}
+
+	private void process(List<Interval> intervals) {
+		for (Interval interval : intervals) {
+			processInterval(interval.key.getOrigin(), interval.key.getStructureKind(), interval.key.getHandle(),
+					interval.start, interval.end);
+		}
+	}
+
+	/**
+	 * Invoked for each coalesced interval outside of the lock of this accumulator.
+	 */
+	protected abstract void processInterval(String origin, String structureKind, String handle, long start, long end);
+
+}
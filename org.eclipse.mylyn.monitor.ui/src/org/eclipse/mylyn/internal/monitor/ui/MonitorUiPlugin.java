@@ -12,6 +12,7 @@
 
 package org.eclipse.mylyn.internal.monitor.ui;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -26,6 +27,8 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.ExtensionPointReader;
 import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageIndex;
+import org.eclipse.mylyn.internal.monitor.core.collection.UsageIndexListener;
 import org.eclipse.mylyn.monitor.core.IInteractionEventListener;
 import org.eclipse.mylyn.monitor.core.InteractionEvent;
 import org.eclipse.mylyn.monitor.ui.AbstractUserActivityMonitor;
@@ -79,6 +82,10 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 
 	public static final String ACTIVITY_TRACKING_ENABLED = "org.eclipse.mylyn.monitor.activity.tracking.enabled"; //$NON-NLS-1$
 
+	public static final String USAGE_INDEX_ENABLED = "org.eclipse.mylyn.monitor.usage.index.enabled"; //$NON-NLS-1$
+
+	private static final String USAGE_INDEX_FILE = "usage-index.dat"; //$NON-NLS-1$
+
 	private IWorkbenchWindow launchingWorkbenchWindow = null;
 
 	private final org.eclipse.jface.util.IPropertyChangeListener PROPERTY_LISTENER = new org.eclipse.jface.util.IPropertyChangeListener() {
@@ -88,6 +95,8 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 				updateActivityTimout();
 			} else if (event.getProperty().equals(ACTIVITY_TRACKING_ENABLED)) {
 				setActivityTrackingEnabled(getPreferenceStore().getBoolean(ACTIVITY_TRACKING_ENABLED));
+			} else if (event.getProperty().equals(USAGE_INDEX_ENABLED)) {
+				setUsageIndexEnabled(getPreferenceStore().getBoolean(USAGE_INDEX_ENABLED));
 			}
 		}
 	};
@@ -98,7 +107,10 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 		}
 
 		public void windowDeactivated(IWorkbenchWindow window) {
-			// ignore
+			// make activity visible while the user is working in another application
+			if (activityContextManager != null) {
+				activityContextManager.flushActivityTime();
+			}
 		}
 
 		public void windowOpened(IWorkbenchWindow window) {
@@ -126,6 +138,8 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 
 	private boolean activityTrackingEnabled;
 
+	private UsageIndexListener usageIndexListener;
+
 	public MonitorUiPlugin() {
 		INSTANCE = this;
 	}
@@ -137,6 +151,7 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 		getPreferenceStore().setDefault(ActivityContextManager.ACTIVITY_TIMEOUT, DEFAULT_ACTIVITY_TIMEOUT);
 		getPreferenceStore().setDefault(ActivityContextManager.ACTIVITY_TIMEOUT_ENABLED, true);
 		getPreferenceStore().setDefault(ACTIVITY_TRACKING_ENABLED, false);
+		getPreferenceStore().setDefault(USAGE_INDEX_ENABLED, false);
 
 		this.activityContextManager = new ActivityContextManager(new ArrayList<AbstractUserActivityMonitor>(0));
 
@@ -161,6 +176,7 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 			if (activityContextManager != null) {
 				activityContextManager.stop();
 			}
+			setUsageIndexEnabled(false);
 			if (Platform.isRunning()) {
 				getPreferenceStore().removePropertyChangeListener(PROPERTY_LISTENER);
 				if (getWorkbench() != null && !getWorkbench().isClosing()) {
@@ -380,6 +396,7 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 
 			activityContextManager.start();
 			setActivityTrackingEnabled(getPreferenceStore().getBoolean(ACTIVITY_TRACKING_ENABLED));
+			setUsageIndexEnabled(getPreferenceStore().getBoolean(USAGE_INDEX_ENABLED));
 
 			getPreferenceStore().addPropertyChangeListener(PROPERTY_LISTENER);
 
@@ -405,6 +422,30 @@ public class MonitorUiPlugin extends AbstractUIPlugin {
 		return activityTrackingEnabled;
 	}
 
+	/**
+	 * If enabled, observed interaction events are aggregated into a {@link UsageIndex} that is persisted in the state
+	 * location of this plug-in.
+	 */
+	public synchronized void setUsageIndexEnabled(boolean enabled) {
+		if (enabled && usageIndexListener == null) {
+			File file = getStateLocation().append(USAGE_INDEX_FILE).toFile();
+			usageIndexListener = new UsageIndexListener(new UsageIndex(file));
+			usageIndexListener.startMonitoring();
+			addInteractionListener(usageIndexListener);
+		} else if (!enabled && usageIndexListener != null) {
+			removeInteractionListener(usageIndexListener);
+			usageIndexListener.stopMonitoring();
+			usageIndexListener = null;
+		}
+	}
+
+	/**
+	 * Returns the index of observed interaction events or <code>null</code>, if the index is not enabled.
+	 */
+	public synchronized UsageIndex getUsageIndex() {
+		return (usageIndexListener != null) ? usageIndexListener.getIndex() : null;
+	}
+
 	/**
 	 * Returns true, if other activity monitors than {@link WorkbenchUserActivityMonitor} have been registered.
 	 */
@@ -28,6 +28,8 @@ public class WorkbenchUserActivityMonitor extends AbstractUserActivityMonitor {
 
 	private Display display;
 
+	private volatile CheckActivityJob activityJob;
+
 	public WorkbenchUserActivityMonitor() {
 	}
 
@@ -37,6 +39,10 @@ public class WorkbenchUserActivityMonitor extends AbstractUserActivityMonitor {
 		interactionActivityListener = new Listener() {
 			public void handleEvent(Event event) {
 				setLastEventTime(System.currentTimeMillis());
+				CheckActivityJob job = activityJob;
+				if (job != null) {
+					job.activityObserved();
+				}
 			}
 		};
 
@@ -51,4 +57,12 @@ public class WorkbenchUserActivityMonitor extends AbstractUserActivityMonitor {
 			display.removeFilter(SWT.MouseUp, interactionActivityListener);
 		}
 	}
+
+	/**
+	 * Sets the job that is notified of interactions.
+	 */
+	void setActivityJob(CheckActivityJob activityJob) {
+		this.activityJob = activityJob;
+	}
+
 }